@@ -1,6 +1,8 @@
 package com.olegtoropoff.petcareappointment.controller;
 
 import com.olegtoropoff.petcareappointment.dto.AppointmentDto;
+import com.olegtoropoff.petcareappointment.dto.CursorPageDto;
+import com.olegtoropoff.petcareappointment.exception.AppointmentConflictException;
 import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
 import com.olegtoropoff.petcareappointment.model.Appointment;
 import com.olegtoropoff.petcareappointment.model.Pet;
@@ -8,25 +10,36 @@ import com.olegtoropoff.petcareappointment.rabbitmq.RabbitMQProducer;
 import com.olegtoropoff.petcareappointment.request.AppointmentUpdateRequest;
 import com.olegtoropoff.petcareappointment.request.BookAppointmentRequest;
 import com.olegtoropoff.petcareappointment.response.CustomApiResponse;
+import com.olegtoropoff.petcareappointment.service.appointment.BookingPipeline;
 import com.olegtoropoff.petcareappointment.service.appointment.IAppointmentService;
+import com.olegtoropoff.petcareappointment.service.appointment.ISlotHoldService;
+import com.olegtoropoff.petcareappointment.service.idempotency.IIdempotencyService;
 import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
 import com.olegtoropoff.petcareappointment.utils.UrlMapping;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 
 import static org.springframework.http.HttpStatus.*;
 
 /**
  * REST controller for managing appointment-related operations.
  * Handles HTTP requests for booking, updating, deleting, and querying appointments.
+ * Booking, approving, cancelling and declining accept an {@code Idempotency-Key} header,
+ * so retried requests do not change the appointment or send notifications again.
  */
 @RestController
 @RequiredArgsConstructor
@@ -34,24 +47,83 @@ import static org.springframework.http.HttpStatus.*;
 public class AppointmentController {
     private final IAppointmentService appointmentService;
     private final RabbitMQProducer rabbitMQProducer;
+    private final IIdempotencyService idempotencyService;
+    private final ISlotHoldService slotHoldService;
+    private final BookingPipeline bookingPipeline;
 
     /**
      * Books a new appointment and sends an event message via RabbitMQ.
+     * The booking is passed through the {@link BookingPipeline}, so the response is completed asynchronously
+     * once the booking has been committed or rejected.
      *
      * @param request the appointment request details.
      * @param senderId the ID of the user booking the appointment.
      * @param recipientId the ID of the recipient of the appointment.
-     * @return a response indicating the success or failure of the operation.
+     * @param idempotencyKey the optional key under which a retry of the request returns the stored response.
+     * @return a deferred response indicating the success or failure of the operation.
      */
     @PostMapping(UrlMapping.BOOK_APPOINTMENT)
-    public ResponseEntity<CustomApiResponse> bookAppointment(
+    public DeferredResult<ResponseEntity<CustomApiResponse>> bookAppointment(
             @RequestBody BookAppointmentRequest request,
             @RequestParam Long senderId,
-            @RequestParam Long recipientId) {
+            @RequestParam Long recipientId,
+            @RequestHeader(value = IIdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        DeferredResult<ResponseEntity<CustomApiResponse>> result = new DeferredResult<>();
+        try {
+            idempotencyService.executeAsync("book:" + senderId + ":" + recipientId, idempotencyKey,
+                            () -> bookingPipeline.book(request, senderId, recipientId).handle(this::toBookingResponse))
+                    .whenComplete((response, e) -> result.setResult(e == null ? response
+                            : ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null))));
+        } catch (Exception e) {
+            result.setResult(ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null)));
+        }
+        return result;
+    }
+
+    /**
+     * Builds the response to a booking and, if the booking succeeded, sends an event message via RabbitMQ.
+     *
+     * @param appointment the created appointment, or {@code null} if the booking failed.
+     * @param failure the exception the booking failed with, or {@code null} if it succeeded.
+     * @return a response indicating the success or failure of the booking.
+     */
+    private ResponseEntity<CustomApiResponse> toBookingResponse(Appointment appointment, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof ResourceNotFoundException) {
+            return ResponseEntity.status(NOT_FOUND).body(new CustomApiResponse(cause.getMessage(), null));
+        }
+        if (cause instanceof IllegalStateException) {
+            return ResponseEntity.status(NOT_ACCEPTABLE).body(new CustomApiResponse(cause.getMessage(), null));
+        }
+        if (cause != null) {
+            return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
+        }
         try {
-            Appointment appointment = appointmentService.createAppointment(request, senderId, recipientId);
             rabbitMQProducer.sendMessage("AppointmentBookedEvent:" + appointment.getVeterinarian().getId());
             return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.APPOINTMENT_BOOKED_SUCCESS, null));
+        } catch (Exception e) {
+            return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
+        }
+    }
+
+    /**
+     * Temporarily holds a veterinarian's time slot for a patient who is filling in the booking form.
+     *
+     * @param senderId the ID of the patient.
+     * @param recipientId the ID of the veterinarian.
+     * @param date the date of the slot.
+     * @param time the time of the slot.
+     * @return a response containing the moment the hold expires or an error message.
+     */
+    @PostMapping(UrlMapping.HOLD_SLOT)
+    public ResponseEntity<CustomApiResponse> holdSlot(
+            @RequestParam Long senderId,
+            @RequestParam Long recipientId,
+            @RequestParam LocalDate date,
+            @RequestParam LocalTime time) {
+        try {
+            LocalDateTime expiresAt = slotHoldService.holdSlot(senderId, recipientId, date, time);
+            return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.SLOT_HOLD_SUCCESS, expiresAt));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(NOT_FOUND).body(new CustomApiResponse(e.getMessage(), null));
         } catch (IllegalStateException e) {
@@ -61,6 +133,29 @@ public class AppointmentController {
         }
     }
 
+    /**
+     * Releases a time slot held by a patient, for example when the booking form is closed.
+     *
+     * @param senderId the ID of the patient.
+     * @param recipientId the ID of the veterinarian.
+     * @param date the date of the slot.
+     * @param time the time of the slot.
+     * @return a response indicating the success or failure of the operation.
+     */
+    @DeleteMapping(UrlMapping.RELEASE_SLOT)
+    public ResponseEntity<CustomApiResponse> releaseSlot(
+            @RequestParam Long senderId,
+            @RequestParam Long recipientId,
+            @RequestParam LocalDate date,
+            @RequestParam LocalTime time) {
+        try {
+            slotHoldService.releaseSlot(senderId, recipientId, date, time);
+            return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.SLOT_HOLD_RELEASED, null));
+        } catch (Exception e) {
+            return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
+        }
+    }
+
     /**
      * Updates an existing appointment.
      *
@@ -79,6 +174,8 @@ public class AppointmentController {
             return ResponseEntity.status(NOT_ACCEPTABLE).body(new CustomApiResponse(e.getMessage(), null));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(NOT_FOUND).body(new CustomApiResponse(e.getMessage(), null));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(CONFLICT).body(new CustomApiResponse(FeedBackMessage.APPOINTMENT_CHANGED_CONCURRENTLY, null));
         } catch (Exception e) {
             return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
         }
@@ -102,6 +199,8 @@ public class AppointmentController {
             return ResponseEntity.status(NOT_ACCEPTABLE).body(new CustomApiResponse(e.getMessage(), null));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(NOT_FOUND).body(new CustomApiResponse(e.getMessage(), null));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(CONFLICT).body(new CustomApiResponse(FeedBackMessage.APPOINTMENT_CHANGED_CONCURRENTLY, null));
         } catch (Exception e) {
             return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
         }
@@ -137,6 +236,30 @@ public class AppointmentController {
         }
     }
 
+    /**
+     * Retrieves all appointments page by page with a cursor. Unlike {@link #getAllAppointments}, a page is found
+     * by seeking to the cursor position instead of skipping the preceding rows, and no count is run by default.
+     *
+     * @param cursor       the cursor returned with the previous page (default: empty string for the first page)
+     * @param size         the number of records per page (default: 10)
+     * @param includeTotal whether to include the estimated total number of appointments (default: false)
+     * @return a page of appointments with the cursor of the next page, or an error message
+     */
+    @GetMapping(UrlMapping.ALL_APPOINTMENT_CURSOR)
+    public ResponseEntity<CustomApiResponse> getAllAppointmentsByCursor(
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            CursorPageDto<AppointmentDto> appointmentPage = appointmentService.getAppointmentsAfter(cursor, size, includeTotal);
+            return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.APPOINTMENTS_FOUND, appointmentPage));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(BAD_REQUEST).body(new CustomApiResponse(e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
+        }
+    }
+
     /**
      * Retrieves an appointment by its ID.
      *
@@ -177,57 +300,78 @@ public class AppointmentController {
      * Cancels an appointment and sends an event message via RabbitMQ.
      *
      * @param id the ID of the appointment to cancel.
+     * @param idempotencyKey the optional key under which a retry of the request returns the stored response.
      * @return the updated appointment details or an error message.
      */
     @PutMapping(UrlMapping.CANCEL_APPOINTMENT)
-    public ResponseEntity<CustomApiResponse> cancelAppointment(@PathVariable Long id) {
-        try {
-            AppointmentDto appointmentDto = appointmentService.cancelAppointment(id);
-            rabbitMQProducer.sendMessage("AppointmentCanceledEvent:" +  appointmentDto.getVeterinarian().getId() + "#" + appointmentDto.getAppointmentNo());
-            return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.APPOINTMENT_CANCELLED_SUCCESS, appointmentDto));
-        } catch (IllegalStateException e) {
-            return ResponseEntity.status(NOT_ACCEPTABLE).body(new CustomApiResponse(e.getMessage(), null));
-        } catch (Exception e) {
-            return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
-        }
+    public ResponseEntity<CustomApiResponse> cancelAppointment(
+            @PathVariable Long id,
+            @RequestHeader(value = IIdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("cancel:" + id, idempotencyKey, () -> {
+            try {
+                AppointmentDto appointmentDto = appointmentService.cancelAppointment(id);
+                rabbitMQProducer.sendMessage("AppointmentCanceledEvent:" +  appointmentDto.getVeterinarian().getId() + "#" + appointmentDto.getAppointmentNo());
+                return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.APPOINTMENT_CANCELLED_SUCCESS, appointmentDto));
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(NOT_ACCEPTABLE).body(new CustomApiResponse(e.getMessage(), null));
+            } catch (AppointmentConflictException e) {
+                return ResponseEntity.status(CONFLICT).body(new CustomApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
+            }
+        });
     }
 
     /**
      * Approves an appointment and sends an event message via RabbitMQ.
      *
      * @param id the ID of the appointment to approve.
+     * @param idempotencyKey the optional key under which a retry of the request returns the stored response.
      * @return the updated appointment details or an error message.
      */
     @PutMapping(UrlMapping.APPROVE_APPOINTMENT)
-    public ResponseEntity<CustomApiResponse> approveAppointment(@PathVariable Long id) {
-        try {
-            AppointmentDto appointmentDto = appointmentService.approveAppointment(id);
-            rabbitMQProducer.sendMessage("AppointmentApprovedEvent:" + appointmentDto.getPatient().getId());
-            return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.APPOINTMENT_APPROVED_SUCCESS, appointmentDto));
-        } catch (IllegalStateException e) {
-            return ResponseEntity.status(NOT_ACCEPTABLE).body(new CustomApiResponse(e.getMessage(), null));
-        } catch (Exception e) {
-            return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
-        }
+    public ResponseEntity<CustomApiResponse> approveAppointment(
+            @PathVariable Long id,
+            @RequestHeader(value = IIdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("approve:" + id, idempotencyKey, () -> {
+            try {
+                AppointmentDto appointmentDto = appointmentService.approveAppointment(id);
+                rabbitMQProducer.sendMessage("AppointmentApprovedEvent:" + appointmentDto.getPatient().getId());
+                return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.APPOINTMENT_APPROVED_SUCCESS, appointmentDto));
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(NOT_ACCEPTABLE).body(new CustomApiResponse(e.getMessage(), null));
+            } catch (AppointmentConflictException e) {
+                return ResponseEntity.status(CONFLICT).body(new CustomApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
+            }
+        });
     }
 
     /**
      * Declines an appointment and sends an event message via RabbitMQ.
      *
      * @param id the ID of the appointment to decline.
+     * @param idempotencyKey the optional key under which a retry of the request returns the stored response.
      * @return the updated appointment details or an error message.
      */
     @PutMapping(UrlMapping.DECLINE_APPOINTMENT)
-    public ResponseEntity<CustomApiResponse> declineAppointment(@PathVariable Long id) {
-        try {
-            AppointmentDto appointmentDto = appointmentService.declineAppointment(id);
-            rabbitMQProducer.sendMessage("AppointmentDeclinedEvent:" + appointmentDto.getPatient().getId());
-            return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.APPOINTMENT_DECLINED_SUCCESS, appointmentDto));
-        } catch (IllegalStateException e) {
-            return ResponseEntity.status(NOT_ACCEPTABLE).body(new CustomApiResponse(e.getMessage(), null));
-        } catch (Exception e) {
-            return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
-        }
+    public ResponseEntity<CustomApiResponse> declineAppointment(
+            @PathVariable Long id,
+            @RequestHeader(value = IIdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("decline:" + id, idempotencyKey, () -> {
+            try {
+                AppointmentDto appointmentDto = appointmentService.declineAppointment(id);
+                rabbitMQProducer.sendMessage("AppointmentDeclinedEvent:" + appointmentDto.getPatient().getId());
+                return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.APPOINTMENT_DECLINED_SUCCESS, appointmentDto));
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(NOT_ACCEPTABLE).body(new CustomApiResponse(e.getMessage(), null));
+            } catch (AppointmentConflictException e) {
+                return ResponseEntity.status(CONFLICT).body(new CustomApiResponse(e.getMessage(), null));
+            } catch (Exception e) {
+                return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
+            }
+        });
     }
 
     /**
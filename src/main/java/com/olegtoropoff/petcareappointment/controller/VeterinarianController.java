@@ -1,5 +1,6 @@
 package com.olegtoropoff.petcareappointment.controller;
 
+import com.olegtoropoff.petcareappointment.dto.AvailableSlotDto;
 import com.olegtoropoff.petcareappointment.dto.UserDto;
 import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
 import com.olegtoropoff.petcareappointment.response.CustomApiResponse;
@@ -15,6 +16,7 @@ import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
@@ -113,6 +115,34 @@ public class VeterinarianController {
         }
     }
 
+    /**
+     * Finds the earliest available appointment slots across all veterinarians of a specialization.
+     *
+     * @param specialization the specialization of the veterinarian
+     * @param limit          the maximum number of slots to return (defaults to 5)
+     * @return a {@link ResponseEntity} containing a {@link CustomApiResponse} with:
+     * <ul>
+     *     <li>{@code 200 OK} - With the earliest free slots, ordered by date and time.</li>
+     *     <li>{@code 400 BAD_REQUEST} - If the limit is out of range.</li>
+     *     <li>{@code 404 NOT_FOUND} - If the specialization is unknown or no free slots are found.</li>
+     * </ul>
+     */
+    @GetMapping(UrlMapping.GET_EARLIEST_AVAILABLE_SLOTS)
+    public ResponseEntity<CustomApiResponse> getEarliestAvailableSlots(@RequestParam String specialization,
+                                                                       @RequestParam(defaultValue = "5") int limit) {
+        try {
+            List<AvailableSlotDto> slots = veterinarianService.findEarliestAvailableSlots(specialization, limit);
+            if (slots.isEmpty()) {
+                return ResponseEntity.status(NOT_FOUND).body(new CustomApiResponse(FeedBackMessage.NO_SLOTS_AVAILABLE, null));
+            }
+            return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.AVAILABLE_TIME_FOR_APPOINTMENT_FOUND, slots));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(BAD_REQUEST).body(new CustomApiResponse(e.getMessage(), null));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(NOT_FOUND).body(new CustomApiResponse(e.getMessage(), null));
+        }
+    }
+
     /**
      * Retrieves a list of all specializations of veterinarians.
      *
@@ -156,4 +186,31 @@ public class VeterinarianController {
             return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
         }
     }
+
+    /**
+     * Retrieves available appointment times of a veterinarian for every day in a date range.
+     *
+     * @param vetId     the ID of the veterinarian
+     * @param startDate the first date of the range (inclusive)
+     * @param endDate   the last date of the range (inclusive)
+     * @return a {@link ResponseEntity} containing a {@link CustomApiResponse} with:
+     * <ul>
+     *     <li>{@code 200 OK} - With the available times grouped by date.</li>
+     *     <li>{@code 400 BAD_REQUEST} - If the range ends before it starts or exceeds the booking horizon.</li>
+     *     <li>{@code 500 INTERNAL_SERVER_ERROR} - If an unexpected error occurs.</li>
+     * </ul>
+     */
+    @GetMapping(UrlMapping.GET_AVAILABLE_TIMES_FOR_DATE_RANGE)
+    public ResponseEntity<CustomApiResponse> getAvailableTimesForDateRange(@PathVariable Long vetId,
+                                                                           @RequestParam LocalDate startDate,
+                                                                           @RequestParam LocalDate endDate) {
+        try {
+            Map<LocalDate, List<LocalTime>> availableTimes = veterinarianService.getAvailableTimesForDateRange(vetId, startDate, endDate);
+            return ResponseEntity.ok(new CustomApiResponse(FeedBackMessage.AVAILABLE_TIME_FOR_APPOINTMENT_FOUND, availableTimes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(BAD_REQUEST).body(new CustomApiResponse(e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(INTERNAL_SERVER_ERROR).body(new CustomApiResponse(FeedBackMessage.ERROR, null));
+        }
+    }
 }
@@ -22,10 +22,12 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Initializes default data for the application.
@@ -51,7 +53,6 @@ public class DefaultDataInitializer implements ApplicationListener<ApplicationRe
     private final PhotoRepository photoRepository;
     private final YandexS3Service yandexS3Service;
     private final AppointmentRepository appointmentRepository;
-    private final PetRepository petRepository;
     private final ReviewRepository reviewRepository;
 
     /**
@@ -260,6 +261,8 @@ public class DefaultDataInitializer implements ApplicationListener<ApplicationRe
      * For each appointment in the provided data, checks if the appointment already exists in the repository.
      * If not, retrieves the corresponding patient and veterinarian from the database by their email addresses,
      * creates an {@link Appointment}, associates it with any related pets, and saves it to the repository.
+     * The pets are saved together with the appointment, and all rows are inserted in JDBC batches
+     * when the initialization transaction is flushed.
      *
      * @param defaultAppointmentData the default appointment data to initialize appointments from.
      */
@@ -271,8 +274,7 @@ public class DefaultDataInitializer implements ApplicationListener<ApplicationRe
 
                 if (patient.isPresent() && veterinarian.isPresent()) {
                     Appointment appointment = createAppointment(appointmentData, patient.get(), veterinarian.get());
-                    List<Pet> pets = savePets(appointmentData.getPets(), appointment);
-                    appointment.setPets(pets);
+                    appointment.setPets(createPets(appointmentData.getPets(), appointment));
                     appointmentRepository.save(appointment);
                 }
             }
@@ -300,17 +302,17 @@ public class DefaultDataInitializer implements ApplicationListener<ApplicationRe
     }
 
     /**
-     * Saves a list of {@link Pet} objects associated with the specified {@link Appointment}.
+     * Creates the {@link Pet} objects associated with the specified {@link Appointment}.
      * <p>
-     * Each pet in the provided list is mapped to a {@link Pet} entity, associated with the given appointment,
-     * and then saved to the repository.
+     * Each pet in the provided list is mapped to a {@link Pet} entity and associated with the given appointment.
+     * The pets are persisted by cascade when the appointment is saved.
      *
-     * @param petsData the list of pet data to save.
+     * @param petsData the list of pet data to create pets from.
      * @param appointment the appointment to associate with the pets.
-     * @return the saved list of {@link Pet} objects.
+     * @return the list of unsaved {@link Pet} objects.
      */
-    private List<Pet> savePets(List<DefaultAppointmentData.PetData> petsData, Appointment appointment) {
-        List<Pet> pets = petsData.stream()
+    private List<Pet> createPets(List<DefaultAppointmentData.PetData> petsData, Appointment appointment) {
+        return petsData.stream()
                 .map(petData -> {
                     Pet pet = new Pet();
                     pet.setName(petData.getName());
@@ -321,8 +323,7 @@ public class DefaultDataInitializer implements ApplicationListener<ApplicationRe
                     pet.setAppointment(appointment);
                     return pet;
                 })
-                .toList();
-        return petRepository.saveAll(pets);
+                .collect(Collectors.toCollection(ArrayList::new));
     }
 
     /**
@@ -0,0 +1,123 @@
+package com.olegtoropoff.petcareappointment.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration class splitting database reads and writes between the primary database and a read replica.
+ * This configuration is only active when {@code spring.datasource.replica.url} is set; otherwise the application
+ * uses the single data source configured by Spring Boot.
+ * <p>
+ * The primary pool is configured by the usual {@code spring.datasource.*} properties and the replica pool by
+ * {@code spring.datasource.replica.*}. Transactions declared with {@code @Transactional(readOnly = true)} are
+ * served by the replica, all other work by the primary. Schema migrations always run on the primary.
+ * <p>
+ * Requires {@code spring.jpa.open-in-view=false}. An entity manager held open for the whole request keeps
+ * the connection of its first transaction, so a request that reads and then writes would write through
+ * the replica connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Connection settings of the primary database, bound to {@code spring.datasource.*}.
+     *
+     * @return the primary {@link DataSourceProperties}.
+     */
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Connection pool of the primary database, tuned by {@code spring.datasource.hikari.*}.
+     *
+     * @param properties the primary connection settings.
+     * @return the primary connection pool.
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Connection settings of the read replica, bound to {@code spring.datasource.replica.*}.
+     *
+     * @return the replica {@link DataSourceProperties}.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Connection pool of the read replica, tuned by {@code spring.datasource.replica.hikari.*}.
+     *
+     * @param properties the replica connection settings.
+     * @return the replica connection pool.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Tracks the recent writes of each user. Registered with the transaction manager as a transaction listener.
+     *
+     * @param windowMillis how long, in milliseconds, the reads of a user stay on the primary after their write
+     *                     (configured via {@code spring.datasource.replica.read-your-writes-window-ms}).
+     * @return the {@link ReadYourWritesTracker}.
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${spring.datasource.replica.read-your-writes-window-ms:5000}") long windowMillis) {
+        return new ReadYourWritesTracker(Duration.ofMillis(windowMillis));
+    }
+
+    /**
+     * The data source used by JPA and the rest of the application.
+     * <p>
+     * A connection is only taken from a pool when the first statement runs, once the transaction has marked
+     * it read-only or not. Read-only connections come from the {@link ReplicaRoutingDataSource}, all others
+     * from the primary.
+     *
+     * @param primary               the primary connection pool.
+     * @param replica               the replica connection pool.
+     * @param readYourWritesTracker the tracker of the recent writes of each user.
+     * @param openInView            whether the entity manager is held open for the whole request.
+     * @return the routing {@link DataSource}.
+     * @throws IllegalStateException if {@code spring.jpa.open-in-view} is not disabled.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("Read replica routing requires spring.jpa.open-in-view=false");
+        }
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, readYourWritesTracker));
+        return dataSource;
+    }
+}
@@ -0,0 +1,76 @@
+package com.olegtoropoff.petcareappointment.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the users who have recently committed a write, so that their following reads are not served
+ * by a replica that has not replicated the write yet.
+ * <p>
+ * Every committed read-write transaction counts as a write of the user authenticated on the committing thread.
+ * Writes of anonymous requests and background jobs are not tracked. The window should exceed the usual
+ * replication lag. Writes are only known to the instance that committed them.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowMillis;
+
+    /**
+     * Creates a tracker keeping the reads of a user on the primary for the given time after each of their writes.
+     *
+     * @param window how long the reads of a user stay on the primary after a write.
+     */
+    public ReadYourWritesTracker(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    /**
+     * Records the write of the current user when an outermost read-write transaction has been committed.
+     *
+     * @param transaction   the committed transaction.
+     * @param commitFailure the commit failure, or {@code null} if the commit succeeded.
+     */
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastWrites.values().removeIf(writtenAt -> writtenAt + windowMillis <= now);
+        lastWrites.put(user, now);
+    }
+
+    /**
+     * Tells whether the current user has committed a write within the window.
+     *
+     * @return {@code true} if reads of the current user must be served by the primary.
+     */
+    public boolean hasRecentWrite() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(user);
+        return writtenAt != null && writtenAt + windowMillis > System.currentTimeMillis();
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,40 @@
+package com.olegtoropoff.petcareappointment.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Data source of read-only transactions.
+ * <p>
+ * Connections come from the replica pool, unless the current user has just written: their reads then go
+ * to the primary until the {@link ReadYourWritesTracker} window has passed.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    /**
+     * Creates a data source routing between the given pools.
+     *
+     * @param primary               the pool of the primary database.
+     * @param replica               the pool of the replica.
+     * @param readYourWritesTracker the tracker of the recent writes of each user.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return readYourWritesTracker.hasRecentWrite() ? Target.PRIMARY : Target.REPLICA;
+    }
+}
@@ -0,0 +1,51 @@
+package com.olegtoropoff.petcareappointment.dto;
+
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.model.Pet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps {@link Appointment} entities to {@link AppointmentDto} objects, together with their
+ * patient, veterinarian and pets.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentDtoMapper implements EntityMapper<Appointment, AppointmentDto> {
+    private final UserDtoMapper userDtoMapper;
+    private final PetDtoMapper petDtoMapper;
+
+    @Override
+    public Class<AppointmentDto> getDtoClass() {
+        return AppointmentDto.class;
+    }
+
+    @Override
+    public AppointmentDto mapEntityToDto(Appointment appointment) {
+        AppointmentDto appointmentDto = new AppointmentDto();
+        appointmentDto.setId(appointment.getId());
+        appointmentDto.setReason(appointment.getReason());
+        appointmentDto.setAppointmentDate(appointment.getAppointmentDate());
+        appointmentDto.setAppointmentTime(appointment.getAppointmentTime());
+        appointmentDto.setAppointmentNo(appointment.getAppointmentNo());
+        appointmentDto.setCreatedAt(appointment.getCreatedAt());
+        appointmentDto.setStatus(appointment.getStatus());
+        if (appointment.getPatient() != null) {
+            appointmentDto.setPatient(userDtoMapper.mapEntityToDto(appointment.getPatient()));
+        }
+        if (appointment.getVeterinarian() != null) {
+            appointmentDto.setVeterinarian(userDtoMapper.mapEntityToDto(appointment.getVeterinarian()));
+        }
+        if (appointment.getPets() != null) {
+            List<PetDto> pets = new ArrayList<>(appointment.getPets().size());
+            for (Pet pet : appointment.getPets()) {
+                pets.add(petDtoMapper.mapEntityToDto(pet));
+            }
+            appointmentDto.setPets(pets);
+        }
+        return appointmentDto;
+    }
+}
@@ -0,0 +1,43 @@
+package com.olegtoropoff.petcareappointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Data Transfer Object (DTO) for representing a free booking slot of a veterinarian.
+ * This class is used to return the earliest available slots found for a specialization.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotDto {
+
+    /**
+     * The unique identifier of the veterinarian.
+     */
+    private Long veterinarianId;
+
+    /**
+     * The first name of the veterinarian.
+     */
+    private String firstName;
+
+    /**
+     * The last name of the veterinarian.
+     */
+    private String lastName;
+
+    /**
+     * The date of the free slot.
+     */
+    private LocalDate date;
+
+    /**
+     * The start time of the free slot.
+     */
+    private LocalTime time;
+}
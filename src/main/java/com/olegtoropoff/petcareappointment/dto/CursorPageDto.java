@@ -0,0 +1,34 @@
+package com.olegtoropoff.petcareappointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a page of a list that is paged with a cursor instead of a page number.
+ *
+ * @param <T> the type of the page items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    /**
+     * The items of the page.
+     */
+    private List<T> content = new ArrayList<>();
+
+    /**
+     * The cursor to pass to fetch the next page, or {@code null} if this is the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * The estimated total number of items, or {@code null} if it was not requested.
+     */
+    private Long totalElements;
+}
@@ -1,24 +1,40 @@
 package com.olegtoropoff.petcareappointment.dto;
 
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * A utility class for converting entities to their corresponding DTO (Data Transfer Object) representations.
- * This class utilizes {@link ModelMapper} to perform object mapping between entities and DTOs.
+ * This class delegates to the {@link EntityMapper} registered for the requested DTO class, so every conversion
+ * is a plain sequence of getter and setter calls without reflection.
  *
  * @param <T> the type of the entity to be converted.
  * @param <D> the type of the DTO to map the entity to.
  */
 @Component
-@RequiredArgsConstructor
 public class EntityConverter<T, D> {
 
     /**
-     * Instance of {@link ModelMapper} used for mapping entities to DTOs.
+     * The registered mappers, keyed by the DTO class they produce.
+     */
+    private final Map<Class<?>, EntityMapper<?, ?>> mappers = new HashMap<>();
+
+    /**
+     * Creates a converter backed by the given mappers.
+     *
+     * @param mappers the entity mappers, at most one per DTO class.
+     * @throws IllegalStateException if two mappers produce the same DTO class.
      */
-    private final ModelMapper modelMapper;
+    public EntityConverter(List<EntityMapper<?, ?>> mappers) {
+        mappers.forEach(mapper -> {
+            if (this.mappers.putIfAbsent(mapper.getDtoClass(), mapper) != null) {
+                throw new IllegalStateException("Duplicate mapper for " + mapper.getDtoClass().getName());
+            }
+        });
+    }
 
     /**
      * Converts an entity to its corresponding DTO representation.
@@ -26,8 +42,17 @@ public class EntityConverter<T, D> {
      * @param entity   the entity to be converted.
      * @param dtoClass the class of the DTO to map the entity to.
      * @return the DTO representation of the given entity.
+     * @throws IllegalArgumentException if the entity is {@code null} or no mapper produces the DTO class.
      */
+    @SuppressWarnings("unchecked")
     public D mapEntityToDto(T entity, Class<D> dtoClass) {
-        return modelMapper.map(entity, dtoClass);
+        if (entity == null) {
+            throw new IllegalArgumentException("entity must not be null");
+        }
+        EntityMapper<T, D> mapper = (EntityMapper<T, D>) mappers.get(dtoClass);
+        if (mapper == null) {
+            throw new IllegalArgumentException("No mapper for " + dtoClass.getName());
+        }
+        return mapper.mapEntityToDto(entity);
     }
 }
@@ -0,0 +1,27 @@
+package com.olegtoropoff.petcareappointment.dto;
+
+/**
+ * A type-safe mapping from an entity to its DTO representation.
+ * <p>
+ * Implementations are registered with {@link EntityConverter}, which selects them by the DTO class they produce.
+ *
+ * @param <T> the type of the entity to be converted.
+ * @param <D> the type of the DTO the entity is mapped to.
+ */
+public interface EntityMapper<T, D> {
+
+    /**
+     * Retrieves the class of the DTO produced by this mapper.
+     *
+     * @return the DTO class.
+     */
+    Class<D> getDtoClass();
+
+    /**
+     * Converts an entity to its DTO representation.
+     *
+     * @param entity the entity to be converted, never {@code null}.
+     * @return the DTO representation of the given entity.
+     */
+    D mapEntityToDto(T entity);
+}
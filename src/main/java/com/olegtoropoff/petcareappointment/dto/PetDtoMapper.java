@@ -0,0 +1,28 @@
+package com.olegtoropoff.petcareappointment.dto;
+
+import com.olegtoropoff.petcareappointment.model.Pet;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps {@link Pet} entities to {@link PetDto} objects.
+ */
+@Component
+public class PetDtoMapper implements EntityMapper<Pet, PetDto> {
+
+    @Override
+    public Class<PetDto> getDtoClass() {
+        return PetDto.class;
+    }
+
+    @Override
+    public PetDto mapEntityToDto(Pet pet) {
+        PetDto petDto = new PetDto();
+        petDto.setId(pet.getId());
+        petDto.setName(pet.getName());
+        petDto.setType(pet.getType());
+        petDto.setColor(pet.getColor());
+        petDto.setBreed(pet.getBreed());
+        petDto.setAge(pet.getAge());
+        return petDto;
+    }
+}
@@ -0,0 +1,106 @@
+package com.olegtoropoff.petcareappointment.dto;
+
+import com.olegtoropoff.petcareappointment.projection.AppointmentSummaryProjection;
+import com.olegtoropoff.petcareappointment.projection.PetSummaryProjection;
+import com.olegtoropoff.petcareappointment.projection.UserSummaryProjection;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A utility class for converting read-only query projections to their corresponding DTO representations.
+ * <p>
+ * Unlike {@link EntityConverter}, it works on the columns selected by listing queries, so listings
+ * do not load managed entities and their associations only to copy a few fields of them.
+ */
+@Component
+public class ProjectionConverter {
+
+    /**
+     * Converts user summary rows to {@link UserDto} objects.
+     * Consecutive rows of the same user are merged, collecting one role from each row.
+     *
+     * @param rows the user summary rows, ordered by user ID.
+     * @return the user DTOs, in the order of the rows.
+     */
+    public List<UserDto> mapUsersToDtos(List<UserSummaryProjection> rows) {
+        Map<Long, UserDto> users = new LinkedHashMap<>();
+        for (UserSummaryProjection row : rows) {
+            UserDto userDto = users.computeIfAbsent(row.getId(), id -> mapUserToDto(row));
+            if (row.getRoleName() != null) {
+                userDto.getRoles().add(row.getRoleName());
+            }
+        }
+        return new ArrayList<>(users.values());
+    }
+
+    /**
+     * Converts an appointment summary to an {@link AppointmentDto}.
+     *
+     * @param appointment  the appointment summary.
+     * @param patient      the patient who booked the appointment, or {@code null} if unknown.
+     * @param veterinarian the veterinarian the appointment is booked with, or {@code null} if unknown.
+     * @param pets         the pets registered for the appointment.
+     * @return the appointment DTO.
+     */
+    public AppointmentDto mapAppointmentToDto(AppointmentSummaryProjection appointment, UserDto patient,
+                                              UserDto veterinarian, List<PetDto> pets) {
+        AppointmentDto appointmentDto = new AppointmentDto();
+        appointmentDto.setId(appointment.getId());
+        appointmentDto.setReason(appointment.getReason());
+        appointmentDto.setAppointmentDate(appointment.getAppointmentDate());
+        appointmentDto.setAppointmentTime(appointment.getAppointmentTime());
+        appointmentDto.setAppointmentNo(appointment.getAppointmentNo());
+        appointmentDto.setCreatedAt(appointment.getCreatedAt());
+        appointmentDto.setStatus(appointment.getStatus());
+        appointmentDto.setPatient(patient);
+        appointmentDto.setVeterinarian(veterinarian);
+        appointmentDto.setPets(pets);
+        return appointmentDto;
+    }
+
+    /**
+     * Converts a pet summary to a {@link PetDto}.
+     *
+     * @param pet the pet summary.
+     * @return the pet DTO.
+     */
+    public PetDto mapPetToDto(PetSummaryProjection pet) {
+        PetDto petDto = new PetDto();
+        petDto.setId(pet.getId());
+        petDto.setName(pet.getName());
+        petDto.setType(pet.getType());
+        petDto.setColor(pet.getColor());
+        petDto.setBreed(pet.getBreed());
+        petDto.setAge(pet.getAge());
+        return petDto;
+    }
+
+    private UserDto mapUserToDto(UserSummaryProjection user) {
+        UserDto userDto = new UserDto();
+        userDto.setId(user.getId());
+        userDto.setFirstName(user.getFirstName());
+        userDto.setLastName(user.getLastName());
+        userDto.setGender(user.getGender());
+        userDto.setPhoneNumber(user.getPhoneNumber());
+        userDto.setEmail(user.getEmail());
+        userDto.setUserType(user.getUserType());
+        userDto.setEnabled(user.isEnabled());
+        userDto.setCreatedAt(user.getCreatedAt());
+        userDto.setSpecialization(user.getSpecialization());
+        userDto.setAppointmentCost(user.getAppointmentCost());
+        userDto.setClinicAddress(user.getClinicAddress());
+        if (user.getPhotoId() != null) {
+            userDto.setPhotoId(user.getPhotoId());
+            userDto.setPhotoUrl(user.getPhotoUrl());
+        }
+        userDto.setAppointments(new ArrayList<>());
+        userDto.setReviews(new ArrayList<>());
+        userDto.setRoles(new HashSet<>());
+        return userDto;
+    }
+}
@@ -0,0 +1,61 @@
+package com.olegtoropoff.petcareappointment.dto;
+
+import com.olegtoropoff.petcareappointment.model.Photo;
+import com.olegtoropoff.petcareappointment.model.Role;
+import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.model.Veterinarian;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Maps {@link User} entities, including veterinarians, patients and admins, to {@link UserDto} objects.
+ * <p>
+ * The veterinarian fields are read through the overridden getters of {@link Veterinarian}, so they are filled
+ * for veterinarians and stay {@code null} for other users. Appointments, reviews and review statistics are not
+ * part of the entity; the services that return them populate the DTO afterwards.
+ */
+@Component
+public class UserDtoMapper implements EntityMapper<User, UserDto> {
+
+    @Override
+    public Class<UserDto> getDtoClass() {
+        return UserDto.class;
+    }
+
+    @Override
+    public UserDto mapEntityToDto(User user) {
+        UserDto userDto = new UserDto();
+        userDto.setId(user.getId());
+        userDto.setFirstName(user.getFirstName());
+        userDto.setLastName(user.getLastName());
+        userDto.setGender(user.getGender());
+        userDto.setPhoneNumber(user.getPhoneNumber());
+        userDto.setEmail(user.getEmail());
+        userDto.setUserType(user.getUserType());
+        userDto.setEnabled(user.isEnabled());
+        userDto.setSpecialization(user.getSpecialization());
+        userDto.setAppointmentCost(user.getAppointmentCost());
+        userDto.setClinicAddress(user.getClinicAddress());
+        userDto.setCreatedAt(user.getCreatedAt());
+        userDto.setAppointments(new ArrayList<>());
+        userDto.setReviews(new ArrayList<>());
+        Photo photo = user.getPhoto();
+        if (photo != null) {
+            if (photo.getId() != null) {
+                userDto.setPhotoId(photo.getId());
+            }
+            userDto.setPhotoUrl(photo.getS3Url());
+        }
+        Set<String> roles = new HashSet<>();
+        if (user.getRoles() != null) {
+            for (Role role : user.getRoles()) {
+                roles.add(role.getName());
+            }
+        }
+        userDto.setRoles(roles);
+        return userDto;
+    }
+}
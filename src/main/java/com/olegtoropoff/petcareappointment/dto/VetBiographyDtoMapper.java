@@ -0,0 +1,24 @@
+package com.olegtoropoff.petcareappointment.dto;
+
+import com.olegtoropoff.petcareappointment.model.VetBiography;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps {@link VetBiography} entities to {@link VetBiographyDto} objects.
+ */
+@Component
+public class VetBiographyDtoMapper implements EntityMapper<VetBiography, VetBiographyDto> {
+
+    @Override
+    public Class<VetBiographyDto> getDtoClass() {
+        return VetBiographyDto.class;
+    }
+
+    @Override
+    public VetBiographyDto mapEntityToDto(VetBiography vetBiography) {
+        VetBiographyDto vetBiographyDto = new VetBiographyDto();
+        vetBiographyDto.setId(vetBiography.getId());
+        vetBiographyDto.setBiography(vetBiography.getBiography());
+        return vetBiographyDto;
+    }
+}
@@ -0,0 +1,45 @@
+package com.olegtoropoff.petcareappointment.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Represents the automatic status transitions an appointment goes through as time passes.
+ * <p>
+ * Each transition moves an appointment from a non-terminal {@link AppointmentStatus} to the next one
+ * once the appointment start or end time is reached.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AppointmentStatusTransition {
+
+    /**
+     * An approved appointment that has not started yet becomes upcoming.
+     */
+    APPROVED_TO_UP_COMING(AppointmentStatus.APPROVED, AppointmentStatus.UP_COMING),
+
+    /**
+     * An upcoming appointment becomes ongoing once its start time is reached.
+     */
+    UP_COMING_TO_ON_GOING(AppointmentStatus.UP_COMING, AppointmentStatus.ON_GOING),
+
+    /**
+     * An ongoing appointment becomes completed once its end time is reached.
+     */
+    ON_GOING_TO_COMPLETED(AppointmentStatus.ON_GOING, AppointmentStatus.COMPLETED),
+
+    /**
+     * An appointment still waiting for approval becomes not approved once its start time is reached.
+     */
+    WAITING_FOR_APPROVAL_TO_NOT_APPROVED(AppointmentStatus.WAITING_FOR_APPROVAL, AppointmentStatus.NOT_APPROVED);
+
+    /**
+     * The status an appointment must have for the transition to apply.
+     */
+    private final AppointmentStatus from;
+
+    /**
+     * The status the appointment is moved to.
+     */
+    private final AppointmentStatus to;
+}
@@ -0,0 +1,86 @@
+package com.olegtoropoff.petcareappointment.event;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.model.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Event published when an appointment has been booked, updated, had its status changed or been deleted.
+ * <p>
+ * The event carries a snapshot of the appointment fields that in-memory views of the appointments,
+ * such as the status scheduler and the availability index, need to keep themselves up to date.
+ *
+ * @param appointmentId           the ID of the appointment.
+ * @param veterinarianId          the ID of the veterinarian, or {@code null} if none is assigned.
+ * @param appointmentDate         the appointment date.
+ * @param appointmentTime         the appointment time.
+ * @param status                  the current status of the appointment.
+ * @param deleted                 {@code true} if the appointment has been deleted.
+ * @param previousAppointmentDate the appointment date before the change if the appointment has been moved
+ *                                to another date, otherwise {@code null}.
+ */
+public record AppointmentChangedEvent(Long appointmentId,
+                                      Long veterinarianId,
+                                      LocalDate appointmentDate,
+                                      LocalTime appointmentTime,
+                                      AppointmentStatus status,
+                                      boolean deleted,
+                                      LocalDate previousAppointmentDate) {
+
+    /**
+     * Creates an event for an appointment that has been booked or modified.
+     *
+     * @param appointment the appointment in its new state.
+     * @return the event.
+     */
+    public static AppointmentChangedEvent changed(Appointment appointment) {
+        return of(appointment, false, null);
+    }
+
+    /**
+     * Creates an event for an appointment whose date or time has been changed.
+     *
+     * @param appointment             the appointment in its new state.
+     * @param previousAppointmentDate the appointment date before the change.
+     * @return the event.
+     */
+    public static AppointmentChangedEvent rescheduled(Appointment appointment, LocalDate previousAppointmentDate) {
+        return of(appointment, false,
+                Objects.equals(previousAppointmentDate, appointment.getAppointmentDate()) ? null : previousAppointmentDate);
+    }
+
+    /**
+     * Creates an event for an appointment whose status has been changed by an update that bypasses the entity.
+     *
+     * @param appointmentId   the ID of the appointment.
+     * @param veterinarianId  the ID of the veterinarian, or {@code null} if none is assigned.
+     * @param appointmentDate the appointment date.
+     * @param appointmentTime the appointment time.
+     * @param status          the new status of the appointment.
+     * @return the event.
+     */
+    public static AppointmentChangedEvent statusChanged(Long appointmentId, Long veterinarianId, LocalDate appointmentDate,
+                                                        LocalTime appointmentTime, AppointmentStatus status) {
+        return new AppointmentChangedEvent(appointmentId, veterinarianId, appointmentDate, appointmentTime, status,
+                false, null);
+    }
+
+    /**
+     * Creates an event for an appointment that has been deleted.
+     *
+     * @param appointment the deleted appointment.
+     * @return the event.
+     */
+    public static AppointmentChangedEvent deleted(Appointment appointment) {
+        return of(appointment, true, null);
+    }
+
+    private static AppointmentChangedEvent of(Appointment appointment, boolean deleted, LocalDate previousAppointmentDate) {
+        Long veterinarianId = appointment.getVeterinarian() != null ? appointment.getVeterinarian().getId() : null;
+        return new AppointmentChangedEvent(appointment.getId(), veterinarianId, appointment.getAppointmentDate(),
+                appointment.getAppointmentTime(), appointment.getStatus(), deleted, previousAppointmentDate);
+    }
+}
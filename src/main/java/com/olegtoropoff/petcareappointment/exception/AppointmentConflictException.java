@@ -0,0 +1,20 @@
+package com.olegtoropoff.petcareappointment.exception;
+
+/**
+ * Exception thrown when an appointment cannot be changed because it has been changed concurrently.
+ * <p>
+ * This exception is typically used when a status transition loses a race: the status of the appointment
+ * was changed by a concurrent transition just before, for example when it is cancelled while the veterinarian
+ * is approving it.
+ */
+public class AppointmentConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code AppointmentConflictException} with the specified detail message.
+     *
+     * @param message the detail message explaining the conflict
+     */
+    public AppointmentConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.olegtoropoff.petcareappointment.exception;
+
+/**
+ * Exception thrown when a new appointment cannot be stored because its number is already taken.
+ * <p>
+ * Appointment numbers are generated without a database round trip, so two instances sharing a node ID can issue
+ * the same number. The booking has been rolled back and can be repeated with a new number.
+ */
+public class AppointmentNumberConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code AppointmentNumberConflictException} with the specified detail message and cause.
+     *
+     * @param message the detail message explaining the conflict
+     * @param cause   the constraint violation reported by the database
+     */
+    public AppointmentNumberConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -35,7 +35,7 @@ public class VeterinarianFactory {
      *                including common user attributes and specialization
      * @return the newly created and persisted {@link Veterinarian} instance
      */
-    @CacheEvict(value = {"veterinarians_with_details", "specializations"}, allEntries = true)
+    @CacheEvict(value = {"veterinarians_with_details", "specializations", "available_veterinarians"}, allEntries = true)
     public Veterinarian createVeterinarian(RegistrationRequest request) {
         Veterinarian veterinarian = new Veterinarian();
         veterinarian.setRoles(roleService.setUserRole("VET"));
@@ -7,21 +7,28 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Represents a veterinary appointment that includes details such as reason, date, time,
  * associated patient and veterinarian, and the list of pets involved in the appointment.
  * <p>
  * This class serves as the central entity for scheduling and managing appointments between patients and veterinarians.
+ * The index on date, time and ID serves the keyset pagination of the appointment list, which is ordered by them.
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_appointment_date_time_id", columnList = "appointment_date, appointment_time, id"),
+        @Index(name = "idx_appointment_recipient_date", columnList = "recipient, appointment_date"),
+        @Index(name = "idx_appointment_sender_status", columnList = "sender, status")})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -31,9 +38,14 @@ public class Appointment {
 
     /**
      * Unique identifier for the appointment.
+     * <p>
+     * Assigned from pooled blocks of the {@code id_generator} table, so appointments saved
+     * in one transaction are inserted in a single JDBC batch.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "appointment_id")
+    @TableGenerator(name = "appointment_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "appointment", allocationSize = 50)
     private Long id;
 
     /**
@@ -54,6 +66,7 @@ public class Appointment {
     /**
      * A unique number assigned to the appointment for reference.
      */
+    @Column(unique = true)
     private String appointmentNo;
 
     /**
@@ -72,6 +85,23 @@ public class Appointment {
     @Enumerated(EnumType.STRING)
     private AppointmentStatus status;
 
+    /**
+     * The moment the status was last changed by a status transition.
+     * <p>
+     * Written by every status transition update, the bulk ones included; {@code null} if the status has not been
+     * changed since creation.
+     */
+    private LocalDateTime statusChangedAt;
+
+    /**
+     * The version of the appointment used for optimistic locking.
+     * <p>
+     * Incremented by every update, including the conditional status updates that bypass the entity.
+     */
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     /**
      * The patient associated with the appointment.
      * <p>
@@ -92,7 +122,9 @@ public class Appointment {
      * List of pets associated with the appointment.
      * <p>
      * Each pet is linked to the appointment, capturing details about the animals involved.
+     * The pets of several appointments are loaded together when a list of appointments is traversed.
      */
+    @BatchSize(size = 50)
     @OneToMany(mappedBy = "appointment", cascade =  CascadeType.ALL, orphanRemoval = true)
     private List<Pet> pets = new ArrayList<>();
 
@@ -125,11 +157,4 @@ public class Appointment {
         }
         recipient.getAppointments().add(this);
     }
-
-    /**
-     * Generates and assigns a unique appointment number.
-     */
-    public void setAppointmentNo() {
-        this.appointmentNo = String.valueOf(new Random().nextLong()).substring(1, 11);
-    }
 }
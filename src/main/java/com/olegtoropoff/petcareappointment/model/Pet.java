@@ -25,9 +25,14 @@ public class Pet {
 
     /**
      * Unique identifier for the pet.
+     * <p>
+     * Allocated by Hibernate in blocks of 50 from the {@code id_generator} table,
+     * so all pets of an appointment go to the database as one batch.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "pet_id")
+    @TableGenerator(name = "pet_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "pet", allocationSize = 50)
     private Long id;
 
     /**
@@ -5,11 +5,16 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a photo entity used to store metadata and reference to the stored image in S3.
+ * <p>
+ * The metadata is loaded together with its user and cached in the {@code photo} region of the second-level cache.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "photo")
 @Getter
 @Setter
 @AllArgsConstructor
@@ -44,6 +49,6 @@ public class Photo {
      */
     private String s3Url;
 
-    @OneToOne(mappedBy = "photo")
+    @OneToOne(mappedBy = "photo", fetch = FetchType.LAZY)
     private User user;
 }
@@ -15,6 +15,7 @@ import java.util.Optional;
  * Each review is linked to a veterinarian and a patient, capturing feedback details and star ratings.
  */
 @Entity
+@Table(indexes = @Index(name = "idx_review_veterinarian_reviewer", columnList = "veterinarian_id, reviewer_id"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -24,9 +25,13 @@ public class Review {
 
     /**
      * Unique identifier for the review.
+     * <p>
+     * Drawn from the {@code id_generator} table, which lets the default reviews be seeded with batched inserts.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "review_id")
+    @TableGenerator(name = "review_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "review", allocationSize = 50)
     private Long id;
 
     /**
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.NaturalId;
 
 import java.util.Collection;
@@ -14,8 +16,12 @@ import java.util.HashSet;
  * <p>
  * A role defines a specific set of permissions or responsibilities that can be assigned to {@link User} entities.
  * Examples of roles include "ADMIN", "VET", and "PATIENT".
+ * <p>
+ * Roles are created once and never modified, so they are kept in the read-only {@code role} region
+ * of the second-level cache.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "role")
 @Getter
 @Setter
 @NoArgsConstructor
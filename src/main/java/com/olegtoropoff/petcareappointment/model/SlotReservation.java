@@ -0,0 +1,78 @@
+package com.olegtoropoff.petcareappointment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Represents a claim of an appointment on a time slot in a veterinarian's schedule.
+ * <p>
+ * A veterinarian's day is divided into 30-minute slots, and every active appointment claims the slots it occupies.
+ * The unique constraint on veterinarian, date and slot guarantees that two overlapping appointments can never be
+ * stored, even if they are booked concurrently.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_slot_reservation_vet_date_slot",
+                columnNames = {"veterinarian_id", "reservation_date", "slot"}),
+        indexes = @Index(name = "idx_slot_reservation_appointment", columnList = "appointment_id"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotReservation {
+
+    /**
+     * Unique identifier for the reservation.
+     * <p>
+     * Assigned from pooled blocks of the {@code id_generator} table, so the reservations of an appointment,
+     * saved together, are inserted in a single JDBC batch.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "slot_reservation_id")
+    @TableGenerator(name = "slot_reservation_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "slot_reservation", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The ID of the veterinarian whose slot is reserved.
+     */
+    @Column(name = "veterinarian_id", nullable = false)
+    private Long veterinarianId;
+
+    /**
+     * The date of the reserved slot.
+     */
+    @Column(name = "reservation_date", nullable = false)
+    private LocalDate reservationDate;
+
+    /**
+     * The index of the reserved 30-minute slot within the day, starting at midnight.
+     */
+    @Column(nullable = false)
+    private int slot;
+
+    /**
+     * The ID of the appointment holding the reservation.
+     */
+    @Column(name = "appointment_id", nullable = false)
+    private Long appointmentId;
+
+    /**
+     * Creates a reservation of a slot for an appointment.
+     *
+     * @param veterinarianId  the ID of the veterinarian.
+     * @param reservationDate the date of the slot.
+     * @param slot            the index of the slot within the day.
+     * @param appointmentId   the ID of the appointment.
+     */
+    public SlotReservation(Long veterinarianId, LocalDate reservationDate, int slot, Long appointmentId) {
+        this.veterinarianId = veterinarianId;
+        this.reservationDate = reservationDate;
+        this.slot = slot;
+        this.appointmentId = appointmentId;
+    }
+}
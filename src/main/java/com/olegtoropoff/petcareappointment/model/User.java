@@ -2,6 +2,9 @@ package com.olegtoropoff.petcareappointment.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
@@ -19,14 +22,18 @@ import java.util.List;
  * authorization, and profile management.
  * <p>
  * This class is part of the persistence layer and is annotated with JPA annotations for ORM mapping.
+ * <p>
+ * The whole hierarchy shares the {@code user} region of the second-level cache, since Hibernate caches
+ * an inheritance hierarchy at its root. This is what keeps {@link Veterinarian} profiles in the cache.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Inheritance(strategy = InheritanceType.JOINED)
 @Setter
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "\"user\"")
+@Table(name = "\"user\"", indexes = @Index(name = "uk_user_email", columnList = "email", unique = true))
 public class User {
 
     /**
@@ -123,15 +130,21 @@ public class User {
     /**
      * The profile photo of the user.
      * Managed as a one-to-one relationship with cascading operations.
+     * Loaded lazily; the screens showing the photo fetch it together with the user.
      */
-    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private Photo photo;
 
     /**
      * Roles assigned to the user for authorization purposes.
      * Managed as a many-to-many relationship.
+     * The roles of several users are loaded together, for example for the patients and veterinarians of a page of appointments.
+     * The role ids of each user are cached in the {@code user_roles} region, the roles themselves in the {@code role} region.
+     * Loaded lazily; authentication fetches them together with the user.
      */
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH})
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user_roles")
+    @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH})
     @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id", referencedColumnName = "id"),
             inverseJoinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"))
     private Collection<Role> roles = new HashSet<>();
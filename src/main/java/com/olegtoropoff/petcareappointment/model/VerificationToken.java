@@ -17,6 +17,7 @@ import java.util.Date;
 @Getter
 @Setter
 @Entity
+@Table(indexes = @Index(name = "uk_verification_token_token", columnList = "token", unique = true))
 @NoArgsConstructor
 public class VerificationToken {
 
@@ -6,13 +6,19 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a biography for a veterinarian.
  * This entity contains information about a veterinarian's professional background,
  * experience, and qualifications. Each veterinarian can have only one associated biography.
+ * <p>
+ * Biographies are shown on every veterinarian profile and edited rarely; they are kept in the
+ * {@code vet_biography} region of the second-level cache.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vet_biography")
 @Getter
 @Setter
 @AllArgsConstructor
@@ -38,9 +44,9 @@ public class VetBiography {
     /**
      * The veterinarian associated with this biography.
      * <p>
-     * Establishes a one-to-one relationship with the {@link Veterinarian} entity.
+     * Establishes a one-to-one relationship with the {@link Veterinarian} entity, loaded lazily.
      */
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "veterinarian_id")
     private Veterinarian veterinarian;
 }
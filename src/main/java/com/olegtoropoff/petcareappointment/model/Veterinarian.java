@@ -53,7 +53,9 @@ public class Veterinarian extends User{
      * details about the veterinarian's qualifications, experience, and background.
      * <p>
      * The relationship is configured as a one-to-one mapping with cascade operations and orphan removal enabled.
+     * As the inverse side of the mapping, it can only be loaded lazily thanks to the bytecode enhancement
+     * of the entities at build time.
      */
-    @OneToOne(mappedBy = "veterinarian", cascade =  CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(mappedBy = "veterinarian", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private VetBiography vetBiography ;
 }
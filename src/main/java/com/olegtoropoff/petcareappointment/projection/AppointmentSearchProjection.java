@@ -0,0 +1,69 @@
+package com.olegtoropoff.petcareappointment.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projection interface for retrieving the searchable fields of an appointment.
+ * <p>
+ * Used to build the in-memory appointment search index from the appointment number and the emails
+ * of the participants, without loading appointment and user entities.
+ */
+public interface AppointmentSearchProjection {
+
+    /**
+     * Retrieves the unique identifier of the appointment.
+     *
+     * @return the ID of the appointment.
+     */
+    Long getId();
+
+    /**
+     * Retrieves the unique number of the appointment.
+     *
+     * @return the appointment number.
+     */
+    String getAppointmentNo();
+
+    /**
+     * Retrieves the date of the appointment.
+     *
+     * @return the appointment date.
+     */
+    LocalDate getAppointmentDate();
+
+    /**
+     * Retrieves the time of the appointment.
+     *
+     * @return the appointment time.
+     */
+    LocalTime getAppointmentTime();
+
+    /**
+     * Retrieves the unique identifier of the patient who booked the appointment.
+     *
+     * @return the ID of the patient, or {@code null} if none is assigned.
+     */
+    Long getPatientId();
+
+    /**
+     * Retrieves the email of the patient who booked the appointment.
+     *
+     * @return the email of the patient, or {@code null} if none is assigned.
+     */
+    String getPatientEmail();
+
+    /**
+     * Retrieves the unique identifier of the veterinarian the appointment is booked with.
+     *
+     * @return the ID of the veterinarian, or {@code null} if none is assigned.
+     */
+    Long getVeterinarianId();
+
+    /**
+     * Retrieves the email of the veterinarian the appointment is booked with.
+     *
+     * @return the email of the veterinarian, or {@code null} if none is assigned.
+     */
+    String getVeterinarianEmail();
+}
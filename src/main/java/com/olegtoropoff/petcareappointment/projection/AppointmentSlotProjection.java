@@ -0,0 +1,50 @@
+package com.olegtoropoff.petcareappointment.projection;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projection interface for retrieving the scheduling data of an appointment.
+ * <p>
+ * Used to build in-memory views of the veterinarians' schedules without loading
+ * appointment entities and their associations.
+ */
+public interface AppointmentSlotProjection {
+
+    /**
+     * Retrieves the unique identifier of the appointment.
+     *
+     * @return the ID of the appointment.
+     */
+    Long getId();
+
+    /**
+     * Retrieves the unique identifier of the veterinarian the appointment is booked with.
+     *
+     * @return the ID of the veterinarian.
+     */
+    Long getVeterinarianId();
+
+    /**
+     * Retrieves the appointment date.
+     *
+     * @return the appointment date.
+     */
+    LocalDate getAppointmentDate();
+
+    /**
+     * Retrieves the appointment time.
+     *
+     * @return the appointment time.
+     */
+    LocalTime getAppointmentTime();
+
+    /**
+     * Retrieves the current status of the appointment.
+     *
+     * @return the appointment status.
+     */
+    AppointmentStatus getStatus();
+}
@@ -0,0 +1,77 @@
+package com.olegtoropoff.petcareappointment.projection;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projection interface for retrieving the columns of an appointment that are returned by appointment listings.
+ * <p>
+ * The patient and the veterinarian are referenced by their IDs and loaded separately.
+ */
+public interface AppointmentSummaryProjection {
+
+    /**
+     * Retrieves the unique identifier of the appointment.
+     *
+     * @return the ID of the appointment.
+     */
+    Long getId();
+
+    /**
+     * Retrieves the reason for the appointment.
+     *
+     * @return the reason.
+     */
+    String getReason();
+
+    /**
+     * Retrieves the appointment date.
+     *
+     * @return the appointment date.
+     */
+    LocalDate getAppointmentDate();
+
+    /**
+     * Retrieves the appointment time.
+     *
+     * @return the appointment time.
+     */
+    LocalTime getAppointmentTime();
+
+    /**
+     * Retrieves the appointment number.
+     *
+     * @return the appointment number.
+     */
+    String getAppointmentNo();
+
+    /**
+     * Retrieves the date the appointment was created.
+     *
+     * @return the creation date.
+     */
+    LocalDate getCreatedAt();
+
+    /**
+     * Retrieves the current status of the appointment.
+     *
+     * @return the appointment status.
+     */
+    AppointmentStatus getStatus();
+
+    /**
+     * Retrieves the unique identifier of the patient who booked the appointment.
+     *
+     * @return the ID of the patient.
+     */
+    Long getPatientId();
+
+    /**
+     * Retrieves the unique identifier of the veterinarian the appointment is booked with.
+     *
+     * @return the ID of the veterinarian.
+     */
+    Long getVeterinarianId();
+}
@@ -0,0 +1,31 @@
+package com.olegtoropoff.petcareappointment.projection;
+
+/**
+ * Projection interface for retrieving everything needed to decide whether a patient may book an appointment.
+ * <p>
+ * Lets a booking validate the sender, the recipient and the sender's active appointments in a single query,
+ * without loading the user entities and their eagerly fetched associations.
+ */
+public interface BookingEligibilityProjection {
+
+    /**
+     * Retrieves the type of the user who books the appointment.
+     *
+     * @return the user type of the sender (e.g., "PATIENT", "VET").
+     */
+    String getSenderType();
+
+    /**
+     * Retrieves whether the user the appointment is booked with exists.
+     *
+     * @return {@code true} if the recipient exists, {@code false} otherwise.
+     */
+    boolean getRecipientExists();
+
+    /**
+     * Retrieves the number of the sender's appointments that are still active.
+     *
+     * @return the number of active appointments of the sender.
+     */
+    long getActiveAppointments();
+}
@@ -0,0 +1,56 @@
+package com.olegtoropoff.petcareappointment.projection;
+
+/**
+ * Projection interface for retrieving the columns of a pet that are returned with an appointment.
+ */
+public interface PetSummaryProjection {
+
+    /**
+     * Retrieves the unique identifier of the pet.
+     *
+     * @return the ID of the pet.
+     */
+    Long getId();
+
+    /**
+     * Retrieves the name of the pet.
+     *
+     * @return the name.
+     */
+    String getName();
+
+    /**
+     * Retrieves the type of the pet (e.g., dog, cat).
+     *
+     * @return the type.
+     */
+    String getType();
+
+    /**
+     * Retrieves the color of the pet.
+     *
+     * @return the color.
+     */
+    String getColor();
+
+    /**
+     * Retrieves the breed of the pet.
+     *
+     * @return the breed.
+     */
+    String getBreed();
+
+    /**
+     * Retrieves the age of the pet.
+     *
+     * @return the age.
+     */
+    int getAge();
+
+    /**
+     * Retrieves the unique identifier of the appointment the pet is registered for.
+     *
+     * @return the ID of the appointment.
+     */
+    Long getAppointmentId();
+}
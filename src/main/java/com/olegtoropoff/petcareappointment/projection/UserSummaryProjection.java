@@ -0,0 +1,118 @@
+package com.olegtoropoff.petcareappointment.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projection interface for retrieving the columns of a user that are returned by user listings.
+ * <p>
+ * Each row carries one role of the user, so a user with several roles spans several consecutive rows.
+ * The veterinarian-specific columns are {@code null} for other users.
+ */
+public interface UserSummaryProjection {
+
+    /**
+     * Retrieves the unique identifier of the user.
+     *
+     * @return the ID of the user.
+     */
+    Long getId();
+
+    /**
+     * Retrieves the first name of the user.
+     *
+     * @return the first name.
+     */
+    String getFirstName();
+
+    /**
+     * Retrieves the last name of the user.
+     *
+     * @return the last name.
+     */
+    String getLastName();
+
+    /**
+     * Retrieves the gender of the user.
+     *
+     * @return the gender.
+     */
+    String getGender();
+
+    /**
+     * Retrieves the phone number of the user.
+     *
+     * @return the phone number.
+     */
+    String getPhoneNumber();
+
+    /**
+     * Retrieves the email address of the user.
+     *
+     * @return the email address.
+     */
+    String getEmail();
+
+    /**
+     * Retrieves the type of the user (e.g., "PATIENT", "VET").
+     *
+     * @return the user type.
+     */
+    String getUserType();
+
+    /**
+     * Retrieves whether the user account is enabled.
+     *
+     * @return {@code true} if the account is enabled, {@code false} otherwise.
+     */
+    boolean isEnabled();
+
+    /**
+     * Retrieves the date the user was created.
+     *
+     * @return the creation date.
+     */
+    LocalDate getCreatedAt();
+
+    /**
+     * Retrieves the unique identifier of the user's photo.
+     *
+     * @return the ID of the photo, or {@code null} if the user has no photo.
+     */
+    Long getPhotoId();
+
+    /**
+     * Retrieves the URL of the user's photo.
+     *
+     * @return the URL of the photo, or {@code null} if the user has no photo.
+     */
+    String getPhotoUrl();
+
+    /**
+     * Retrieves the specialization of the veterinarian.
+     *
+     * @return the specialization, or {@code null} if the user is not a veterinarian.
+     */
+    String getSpecialization();
+
+    /**
+     * Retrieves the cost of an appointment with the veterinarian.
+     *
+     * @return the appointment cost, or {@code null} if it is not set.
+     */
+    BigDecimal getAppointmentCost();
+
+    /**
+     * Retrieves the address where the veterinarian conducts appointments.
+     *
+     * @return the clinic address, or {@code null} if it is not set.
+     */
+    String getClinicAddress();
+
+    /**
+     * Retrieves the name of one of the user's roles.
+     *
+     * @return the role name, or {@code null} if the user has no roles.
+     */
+    String getRoleName();
+}
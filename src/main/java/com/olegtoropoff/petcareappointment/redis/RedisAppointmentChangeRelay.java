@@ -0,0 +1,106 @@
+package com.olegtoropoff.petcareappointment.redis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Relays {@link AppointmentChangedEvent}s between the application instances over a Redis channel.
+ * <p>
+ * Every committed appointment change is published to the channel, and the changes received from the other
+ * instances are published as application events on this one. The in-memory views of the appointments, such as
+ * the availability index, the search index and the status scheduler, therefore see the changes made through every
+ * instance, not only their own. Delivery is best effort: a change missed while an instance was disconnected
+ * is picked up by the periodic rebuild of each view.
+ * This component is only active when the application is not running in the "test" profile.
+ */
+@Profile("!test")
+@Component
+@RequiredArgsConstructor
+public class RedisAppointmentChangeRelay implements MessageListener {
+    private static final Logger logger = LoggerFactory.getLogger(RedisAppointmentChangeRelay.class);
+
+    /**
+     * The Redis channel the appointment changes are published to.
+     */
+    public static final String CHANNEL = "appointment-changes";
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    /**
+     * Set while a received change is published locally, so that it is not sent back to the channel.
+     */
+    private final ThreadLocal<Boolean> relaying = ThreadLocal.withInitial(() -> false);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Publishes a change made through this instance to the other instances once it has been committed.
+     * A failure to publish is logged and does not affect the change itself.
+     *
+     * @param event the appointment change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (relaying.get()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(new RelayedChange(instanceId, event)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Change of appointment {} could not be relayed to the other instances", event.appointmentId(), e);
+        }
+    }
+
+    /**
+     * Publishes a change received from another instance as an application event.
+     * Changes sent by this instance itself are ignored.
+     *
+     * @param message the message received from the channel.
+     * @param pattern the pattern matching the channel, if any.
+     */
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        RelayedChange change;
+        try {
+            change = objectMapper.readValue(message.getBody(), RelayedChange.class);
+        } catch (IOException e) {
+            logger.warn("Relayed appointment change could not be read", e);
+            return;
+        }
+        if (instanceId.equals(change.origin()) || change.event() == null) {
+            return;
+        }
+        relaying.set(true);
+        try {
+            eventPublisher.publishEvent(change.event());
+        } finally {
+            relaying.remove();
+        }
+    }
+
+    /**
+     * An appointment change as sent over the channel.
+     *
+     * @param origin the ID of the instance that made the change.
+     * @param event  the change.
+     */
+    record RelayedChange(String origin, AppointmentChangedEvent event) {
+    }
+}
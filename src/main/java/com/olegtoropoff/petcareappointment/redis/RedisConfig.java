@@ -1,22 +1,35 @@
 package com.olegtoropoff.petcareappointment.redis;
 
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.olegtoropoff.petcareappointment.dto.UserDto;
+import com.olegtoropoff.petcareappointment.service.idempotency.FallbackIdempotencyStore;
+import com.olegtoropoff.petcareappointment.service.idempotency.IdempotencyStore;
+import com.olegtoropoff.petcareappointment.service.idempotency.InMemoryIdempotencyStore;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VetAvailabilityCache;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
 
 /**
  * Configuration class for setting up Redis caching and serialization in the application.
@@ -31,6 +44,12 @@ public class RedisConfig {
     /** Default Time-To-Live (TTL) duration for cache entries. */
     private static final Duration CACHE_TTL = Duration.ofMinutes(60);
 
+    /**
+     * Time-To-Live (TTL) duration for availability cache entries. They are evicted on every appointment change;
+     * the short TTL only bounds staleness caused by changes made outside the application.
+     */
+    private static final Duration AVAILABILITY_CACHE_TTL = Duration.ofMinutes(10);
+
     /**
      * Creates and configures a {@link RedisConnectionFactory} using Lettuce,
      * with the connection settings obtained from the application's properties.
@@ -67,11 +86,33 @@ public class RedisConfig {
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer))
                 .entryTtl(CACHE_TTL);
 
+        TypeFactory typeFactory = objectMapper.getTypeFactory();
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                .withCacheConfiguration(VetAvailabilityCache.AVAILABLE_TIMES, availabilityCacheConfig(
+                        config, objectMapper, typeFactory.constructCollectionType(List.class, LocalTime.class)))
+                .withCacheConfiguration(VetAvailabilityCache.AVAILABLE_VETERINARIANS, availabilityCacheConfig(
+                        config, objectMapper, typeFactory.constructCollectionType(List.class, UserDto.class)))
                 .build();
     }
 
+    /**
+     * Derives the configuration of an availability cache. Values are serialized with their concrete type,
+     * so that cached results are read back as the same objects the service returns.
+     *
+     * @param config       the default cache configuration.
+     * @param objectMapper the object mapper used for JSON serialization.
+     * @param valueType    the type of the cached values.
+     * @return the cache configuration.
+     */
+    private RedisCacheConfiguration availabilityCacheConfig(RedisCacheConfiguration config, ObjectMapper objectMapper,
+                                                            JavaType valueType) {
+        return config
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new Jackson2JsonRedisSerializer<>(objectMapper, valueType)))
+                .entryTtl(AVAILABILITY_CACHE_TTL);
+    }
+
     /**
      * Configures a {@link RedisTemplate} for interacting with Redis storage.
      * This template enables efficient serialization and deserialization of objects using JSON.
@@ -94,6 +135,38 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Configures the {@link RedisMessageListenerContainer} that receives the appointment changes
+     * made through the other application instances.
+     *
+     * @param connectionFactory      the Redis connection factory.
+     * @param appointmentChangeRelay the listener that publishes the received changes on this instance.
+     * @return the listener container.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       RedisAppointmentChangeRelay appointmentChangeRelay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(appointmentChangeRelay, new ChannelTopic(RedisAppointmentChangeRelay.CHANNEL));
+        return container;
+    }
+
+    /**
+     * Configures the {@link IdempotencyStore} used by the application: the Redis store, which is shared by all
+     * instances, with the in-process store as the fallback while Redis is unavailable.
+     *
+     * @param redisIdempotencyStore    the Redis-backed store.
+     * @param inMemoryIdempotencyStore the in-process store.
+     * @return the idempotency store.
+     */
+    @Bean
+    @Primary
+    public IdempotencyStore idempotencyStore(RedisIdempotencyStore redisIdempotencyStore,
+                                             InMemoryIdempotencyStore inMemoryIdempotencyStore) {
+        return new FallbackIdempotencyStore(redisIdempotencyStore, inMemoryIdempotencyStore);
+    }
+
     /**
      * Creates and configures an {@link ObjectMapper} for JSON serialization,
      * including support for Java 8 date and time API.
@@ -0,0 +1,47 @@
+package com.olegtoropoff.petcareappointment.redis;
+
+import com.olegtoropoff.petcareappointment.service.idempotency.FallbackIdempotencyStore;
+import com.olegtoropoff.petcareappointment.service.idempotency.IdempotencyStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Redis-backed {@link IdempotencyStore} shared by all application instances.
+ * <p>
+ * Every entry is a string key with an expiry, so Redis discards outdated entries by itself.
+ * The application uses it through a {@link FallbackIdempotencyStore}, which switches to the in-process store
+ * while Redis is unavailable.
+ * This component is only active when the application is not running in the "test" profile.
+ */
+@Profile("!test")
+@Component
+@RequiredArgsConstructor
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(key));
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, String value, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value, ttl));
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public void remove(String key) {
+        redisTemplate.delete(key);
+    }
+}
@@ -0,0 +1,77 @@
+package com.olegtoropoff.petcareappointment.redis;
+
+import com.olegtoropoff.petcareappointment.scheduler.LeaseRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Redis-backed {@link LeaseRegistry} shared by all application instances.
+ * <p>
+ * A lease is a key holding the owner identifier with an expiry. It is acquired with {@code SET NX PX},
+ * and renewed or released with Lua scripts that first check the owner, so an instance can never
+ * extend or delete a lease that has already been taken over by another instance. A lease with conflicting
+ * leases is acquired with a Lua script that checks the owners of all of them and sets the lease in one step;
+ * all these keys must therefore be in the same hash slot when Redis runs as a cluster.
+ * This component is only active when the application is not running in the "test" profile.
+ */
+@Profile("!test")
+@Component
+@RequiredArgsConstructor
+public class RedisLeaseRegistry implements LeaseRegistry {
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end", Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private static final RedisScript<Long> ACQUIRE_UNLESS_CONFLICTING_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS do " +
+            "local owner = redis.call('get', KEYS[i]) " +
+            "if owner and owner ~= ARGV[1] then return 0 end end " +
+            "redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2]) return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public boolean tryAcquire(String key, String owner, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, owner, ttl));
+    }
+
+    @Override
+    public boolean tryAcquireUnlessConflicting(String key, List<String> conflictingKeys, String owner, Duration ttl) {
+        List<String> keys = new ArrayList<>(conflictingKeys.size() + 1);
+        keys.add(key);
+        keys.addAll(conflictingKeys);
+        Long acquired = redisTemplate.execute(ACQUIRE_UNLESS_CONFLICTING_SCRIPT, keys, owner, String.valueOf(ttl.toMillis()));
+        return acquired != null && acquired > 0;
+    }
+
+    @Override
+    public boolean renew(String key, String owner, Duration ttl) {
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(key), owner, String.valueOf(ttl.toMillis()));
+        return renewed != null && renewed > 0;
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(key), owner);
+    }
+
+    @Override
+    public List<String> findOwners(List<String> keys) {
+        List<String> owners = redisTemplate.opsForValue().multiGet(keys);
+        return owners != null ? owners : Collections.nCopies(keys.size(), null);
+    }
+}
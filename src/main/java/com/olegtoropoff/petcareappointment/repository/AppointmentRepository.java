@@ -3,16 +3,26 @@ package com.olegtoropoff.petcareappointment.repository;
 import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
 import com.olegtoropoff.petcareappointment.model.Appointment;
 import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSearchProjection;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSlotProjection;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSummaryProjection;
+import com.olegtoropoff.petcareappointment.projection.BookingEligibilityProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Repository interface for managing {@link Appointment} entities.
@@ -20,6 +30,24 @@ import java.util.Map;
  */
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
+    /**
+     * Fetch joins that load the patient and the veterinarian of an appointment together with their photos
+     * and the veterinarian's biography, which would otherwise be selected separately for every appointment.
+     * The patient is aliased {@code p} and the veterinarian {@code v}.
+     */
+    String FETCH_PARTICIPANTS = "LEFT JOIN FETCH a.patient p LEFT JOIN FETCH p.photo " +
+                                "LEFT JOIN FETCH a.veterinarian v LEFT JOIN FETCH v.photo " +
+                                "LEFT JOIN FETCH TREAT(v AS Veterinarian).vetBiography ";
+
+    /**
+     * Selects the searchable fields of appointments, aliased for {@link AppointmentSearchProjection}.
+     */
+    String SELECT_SEARCH_ENTRY = "SELECT a.id AS id, a.appointmentNo AS appointmentNo, " +
+                                 "a.appointmentDate AS appointmentDate, a.appointmentTime AS appointmentTime, " +
+                                 "p.id AS patientId, p.email AS patientEmail, " +
+                                 "v.id AS veterinarianId, v.email AS veterinarianEmail " +
+                                 "FROM Appointment a LEFT JOIN a.patient p LEFT JOIN a.veterinarian v ";
+
     /**
      * Finds all appointments associated with a specific user, either as a patient or a veterinarian.
      *
@@ -29,6 +57,19 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT a FROM Appointment a WHERE a.patient.id =:userId OR a.veterinarian.id =:userId")
     List<Appointment> findAllByUserId(@Param("userId") Long userId);
 
+    /**
+     * Retrieves the summaries of all appointments associated with a specific user, either as a patient
+     * or a veterinarian. Only the columns returned by appointment listings are selected.
+     *
+     * @param userId the ID of the user.
+     * @return a list of appointment summaries involving the specified user.
+     */
+    @Query("SELECT a.id AS id, a.reason AS reason, a.appointmentDate AS appointmentDate, " +
+           "a.appointmentTime AS appointmentTime, a.appointmentNo AS appointmentNo, a.createdAt AS createdAt, " +
+           "a.status AS status, a.patient.id AS patientId, a.veterinarian.id AS veterinarianId " +
+           "FROM Appointment a WHERE a.patient.id = :userId OR a.veterinarian.id = :userId ORDER BY a.id")
+    List<AppointmentSummaryProjection> findSummariesByUserId(@Param("userId") Long userId);
+
     /**
      * Finds appointments for a specific veterinarian on a given date.
      *
@@ -49,13 +90,47 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
 
     /**
      * Retrieves all appointments with pagination support.
+     * The patient and the veterinarian of each appointment are fetched in the same query, and the pets
+     * and roles of the page are loaded in batches, so the number of queries does not grow with the page size.
      *
      * @param pageable the pagination information.
      * @return a paginated list of appointments.
      */
     @NonNull
+    @Query(value = "SELECT a FROM Appointment a " + FETCH_PARTICIPANTS,
+           countQuery = "SELECT COUNT(a) FROM Appointment a")
     Page<Appointment> findAll(@NonNull Pageable pageable);
 
+    /**
+     * Retrieves the first page of the appointment list, ordered by date, time and ID, all descending.
+     * No count query is run.
+     *
+     * @param pageable the page size; the page number and sort are ignored.
+     * @return the latest appointments, with their patients and veterinarians.
+     */
+    @Query("SELECT a FROM Appointment a " + FETCH_PARTICIPANTS +
+           "ORDER BY a.appointmentDate DESC, a.appointmentTime DESC, a.id DESC")
+    List<Appointment> findFirstPage(Pageable pageable);
+
+    /**
+     * Retrieves the page of the appointment list that follows the given position, ordered by date, time and ID,
+     * all descending. The row value comparison seeks directly to the position in the date, time and ID index,
+     * so a page takes the same time however deep it is. No count query is run.
+     *
+     * @param appointmentDate the date of the last appointment of the previous page.
+     * @param appointmentTime the time of the last appointment of the previous page.
+     * @param id              the ID of the last appointment of the previous page.
+     * @param pageable        the page size; the page number and sort are ignored.
+     * @return the appointments after the position, with their patients and veterinarians.
+     */
+    @Query("SELECT a FROM Appointment a " + FETCH_PARTICIPANTS +
+           "WHERE (a.appointmentDate, a.appointmentTime, a.id) < (:appointmentDate, :appointmentTime, :id) " +
+           "ORDER BY a.appointmentDate DESC, a.appointmentTime DESC, a.id DESC")
+    List<Appointment> findPageAfter(@Param("appointmentDate") LocalDate appointmentDate,
+                                    @Param("appointmentTime") LocalTime appointmentTime,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
     /**
      * Searches for appointments based on a search term with pagination support.
      * The search term is matched against the patient email, veterinarian email, and appointment number fields.
@@ -65,21 +140,58 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
      * @param pageable the pagination and sorting information.
      * @return a paginated list of appointments that match the search criteria.
      */
-    @Query("SELECT a FROM Appointment a " +
-           "WHERE LOWER(a.patient.email) LIKE %:search% " +
-           "OR LOWER(a.veterinarian.email) LIKE %:search% " +
-           "OR LOWER(a.appointmentNo) LIKE %:search%")
+    @Query(value = "SELECT a FROM Appointment a " + FETCH_PARTICIPANTS +
+                   "WHERE LOWER(p.email) LIKE %:search% " +
+                   "OR LOWER(v.email) LIKE %:search% " +
+                   "OR LOWER(a.appointmentNo) LIKE %:search%",
+           countQuery = "SELECT COUNT(a) FROM Appointment a LEFT JOIN a.patient p LEFT JOIN a.veterinarian v " +
+                        "WHERE LOWER(p.email) LIKE %:search% " +
+                        "OR LOWER(v.email) LIKE %:search% " +
+                        "OR LOWER(a.appointmentNo) LIKE %:search%")
     Page<Appointment> searchAppointments(@Param("search") String search, Pageable pageable);
 
     /**
-     * Counts the number of active appointments for a specific patient, excluding certain statuses.
+     * Retrieves appointments by their IDs, with their patients and veterinarians.
      *
-     * @param senderId the ID of the patient.
-     * @param excludedStatuses the statuses to exclude from the count.
-     * @return the count of active appointments for the patient.
+     * @param ids the IDs of the appointments.
+     * @return the appointments found, in no particular order.
      */
-    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.patient.id = :senderId AND a.status NOT IN :excludedStatuses")
-    int countByPatientIdAndStatusNotIn(@Param("senderId") Long senderId, @Param("excludedStatuses") List<AppointmentStatus> excludedStatuses);
+    @Query("SELECT a FROM Appointment a " + FETCH_PARTICIPANTS + "WHERE a.id IN :ids")
+    List<Appointment> findAllWithParticipantsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the searchable fields of all appointments.
+     *
+     * @return the search entries of all appointments.
+     */
+    @Query(SELECT_SEARCH_ENTRY)
+    List<AppointmentSearchProjection> findAllSearchEntries();
+
+    /**
+     * Retrieves the searchable fields of an appointment.
+     *
+     * @param id the ID of the appointment.
+     * @return an {@link Optional} containing the search entry, or empty if the appointment does not exist.
+     */
+    @Query(SELECT_SEARCH_ENTRY + "WHERE a.id = :id")
+    Optional<AppointmentSearchProjection> findSearchEntryById(@Param("id") Long id);
+
+    /**
+     * Retrieves the data needed to validate a booking: the type of the sender, whether the recipient exists
+     * and the number of the sender's active appointments.
+     *
+     * @param senderId         the ID of the patient (sender).
+     * @param recipientId      the ID of the veterinarian (recipient).
+     * @param excludedStatuses the statuses of appointments that are no longer active.
+     * @return an {@link Optional} containing the booking eligibility, or empty if the sender does not exist.
+     */
+    @Query("SELECT s.userType AS senderType, " +
+           "CASE WHEN EXISTS (SELECT r.id FROM User r WHERE r.id = :recipientId) THEN true ELSE false END AS recipientExists, " +
+           "(SELECT COUNT(a) FROM Appointment a WHERE a.patient.id = s.id AND a.status NOT IN :excludedStatuses) AS activeAppointments " +
+           "FROM User s WHERE s.id = :senderId")
+    Optional<BookingEligibilityProjection> findBookingEligibility(@Param("senderId") Long senderId,
+                                                                  @Param("recipientId") Long recipientId,
+                                                                  @Param("excludedStatuses") List<AppointmentStatus> excludedStatuses);
 
     /**
      * Checks if an appointment exists between a veterinarian and a patient with a specific status.
@@ -99,6 +211,14 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
      */
     boolean existsByAppointmentNo(String appointmentNo);
 
+    /**
+     * Finds an appointment by its unique appointment number.
+     *
+     * @param appointmentNo the unique identifier of the appointment.
+     * @return an {@link Optional} containing the appointment, or empty if none exists.
+     */
+    Optional<Appointment> findByAppointmentNo(String appointmentNo);
+
     /**
      * Retrieves the IDs of all appointments from the database.
      *
@@ -116,4 +236,228 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
      */
     @Query("SELECT a.status AS name, COUNT(a) AS value FROM Appointment a GROUP BY a.status")
     List<Map<String, Object>> getAppointmentSummary();
+
+    /**
+     * Moves all appointments with the given status that start after the given moment to a new status.
+     *
+     * @param from       the status an appointment must currently have.
+     * @param to         the status to set.
+     * @param date       the date of the reference moment.
+     * @param time       the time of the reference moment.
+     * @param shardCount the total number of appointment shards.
+     * @param shards     the shards to update; an appointment belongs to shard {@code id % shardCount}.
+     * @param changedAt  the moment of the change, recorded on every updated appointment.
+     * @return the number of updated appointments.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Appointment a SET a.status = :to, a.statusChangedAt = :changedAt, a.version = a.version + 1 " +
+           "WHERE a.status = :from " +
+           "AND (a.appointmentDate > :date OR (a.appointmentDate = :date AND a.appointmentTime > :time)) " +
+           "AND MOD(a.id, :shardCount) IN :shards")
+    int updateStatusForAppointmentsStartingAfter(@Param("from") AppointmentStatus from,
+                                                 @Param("to") AppointmentStatus to,
+                                                 @Param("date") LocalDate date,
+                                                 @Param("time") LocalTime time,
+                                                 @Param("shardCount") int shardCount,
+                                                 @Param("shards") Collection<Integer> shards,
+                                                 @Param("changedAt") LocalDateTime changedAt);
+
+    /**
+     * Moves all appointments with the given status that start before the given moment to a new status.
+     *
+     * @param from       the status an appointment must currently have.
+     * @param to         the status to set.
+     * @param date       the date of the reference moment.
+     * @param time       the time of the reference moment.
+     * @param shardCount the total number of appointment shards.
+     * @param shards     the shards to update; an appointment belongs to shard {@code id % shardCount}.
+     * @param changedAt  the moment of the change, recorded on every updated appointment.
+     * @return the number of updated appointments.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Appointment a SET a.status = :to, a.statusChangedAt = :changedAt, a.version = a.version + 1 " +
+           "WHERE a.status = :from " +
+           "AND (a.appointmentDate < :date OR (a.appointmentDate = :date AND a.appointmentTime < :time)) " +
+           "AND MOD(a.id, :shardCount) IN :shards")
+    int updateStatusForAppointmentsStartingBefore(@Param("from") AppointmentStatus from,
+                                                  @Param("to") AppointmentStatus to,
+                                                  @Param("date") LocalDate date,
+                                                  @Param("time") LocalTime time,
+                                                  @Param("shardCount") int shardCount,
+                                                  @Param("shards") Collection<Integer> shards,
+                                                  @Param("changedAt") LocalDateTime changedAt);
+
+    /**
+     * Moves all appointments with the given status that start on the given date strictly between two times
+     * to a new status.
+     *
+     * @param from       the status an appointment must currently have.
+     * @param to         the status to set.
+     * @param date       the appointment date.
+     * @param startTime  the lower bound (exclusive) of the appointment time.
+     * @param endTime    the upper bound (exclusive) of the appointment time.
+     * @param shardCount the total number of appointment shards.
+     * @param shards     the shards to update; an appointment belongs to shard {@code id % shardCount}.
+     * @param changedAt  the moment of the change, recorded on every updated appointment.
+     * @return the number of updated appointments.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Appointment a SET a.status = :to, a.statusChangedAt = :changedAt, a.version = a.version + 1 " +
+           "WHERE a.status = :from " +
+           "AND a.appointmentDate = :date AND a.appointmentTime > :startTime AND a.appointmentTime < :endTime " +
+           "AND MOD(a.id, :shardCount) IN :shards")
+    int updateStatusForAppointmentsStartingBetween(@Param("from") AppointmentStatus from,
+                                                   @Param("to") AppointmentStatus to,
+                                                   @Param("date") LocalDate date,
+                                                   @Param("startTime") LocalTime startTime,
+                                                   @Param("endTime") LocalTime endTime,
+                                                   @Param("shardCount") int shardCount,
+                                                   @Param("shards") Collection<Integer> shards,
+                                                   @Param("changedAt") LocalDateTime changedAt);
+
+    /**
+     * Moves a single appointment to a new status, provided it still has the expected current status.
+     * This is the compare-and-set primitive for all status transitions: the check and the write are
+     * a single statement, so of two concurrent transitions from the same status only one succeeds.
+     *
+     * The moment of the change is recorded as the current time.
+     *
+     * @param id   the ID of the appointment.
+     * @param from the status the appointment must currently have.
+     * @param to   the status to set.
+     * @return {@code 1} if the appointment was updated, {@code 0} if it no longer has the expected status.
+     */
+    @Transactional
+    default int updateStatusById(Long id, AppointmentStatus from, AppointmentStatus to) {
+        return updateStatusById(id, from, to, LocalDateTime.now());
+    }
+
+    /**
+     * Moves a single appointment to a new status, provided it still has the expected current status,
+     * and records the moment of the change.
+     *
+     * @param id        the ID of the appointment.
+     * @param from      the status the appointment must currently have.
+     * @param to        the status to set.
+     * @param changedAt the moment of the change.
+     * @return {@code 1} if the appointment was updated, {@code 0} if it no longer has the expected status.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Appointment a SET a.status = :to, a.statusChangedAt = :changedAt, a.version = a.version + 1 " +
+           "WHERE a.id = :id AND a.status = :from")
+    int updateStatusById(@Param("id") Long id,
+                         @Param("from") AppointmentStatus from,
+                         @Param("to") AppointmentStatus to,
+                         @Param("changedAt") LocalDateTime changedAt);
+
+    /**
+     * Tells whether the status of an appointment has been changed by a status transition since the given moment.
+     *
+     * @param id    the ID of the appointment.
+     * @param since the moment to compare with.
+     * @return {@code true} if the status has been changed since the moment, {@code false} if it has not,
+     * or an empty {@link Optional} if the appointment does not exist.
+     */
+    @Query("SELECT CASE WHEN a.statusChangedAt >= :since THEN true ELSE false END FROM Appointment a WHERE a.id = :id")
+    Optional<Boolean> findStatusChangedSinceById(@Param("id") Long id, @Param("since") LocalDateTime since);
+
+    /**
+     * Finds all appointments of the given shards that currently have one of the given statuses.
+     *
+     * @param statuses   the statuses to match.
+     * @param shardCount the total number of appointment shards.
+     * @param shards     the shards to search; an appointment belongs to shard {@code id % shardCount}.
+     * @return a list of appointments with one of the given statuses.
+     */
+    @Query("SELECT a FROM Appointment a WHERE a.status IN :statuses AND MOD(a.id, :shardCount) IN :shards")
+    List<Appointment> findByStatusInAndShardIn(@Param("statuses") List<AppointmentStatus> statuses,
+                                               @Param("shardCount") int shardCount,
+                                               @Param("shards") Collection<Integer> shards);
+
+    /**
+     * Retrieves the scheduling data of the appointments of the given shards that were moved to a status
+     * at the given moment, such as the appointments updated by a single bulk status transition.
+     *
+     * @param status     the status the appointments were moved to.
+     * @param changedAt  the moment of the change.
+     * @param shardCount the total number of appointment shards.
+     * @param shards     the shards to search; an appointment belongs to shard {@code id % shardCount}.
+     * @return a list of appointment slot projections.
+     */
+    @Query("SELECT a.id AS id, a.veterinarian.id AS veterinarianId, a.appointmentDate AS appointmentDate, " +
+           "a.appointmentTime AS appointmentTime, a.status AS status FROM Appointment a " +
+           "WHERE a.status = :status AND a.statusChangedAt = :changedAt AND MOD(a.id, :shardCount) IN :shards")
+    List<AppointmentSlotProjection> findSlotsByStatusChange(@Param("status") AppointmentStatus status,
+                                                            @Param("changedAt") LocalDateTime changedAt,
+                                                            @Param("shardCount") int shardCount,
+                                                            @Param("shards") Collection<Integer> shards);
+
+    /**
+     * Retrieves the scheduling data of all appointments within a date range, excluding certain statuses.
+     *
+     * @param startDate        the first date of the range (inclusive).
+     * @param endDate          the last date of the range (inclusive).
+     * @param excludedStatuses the statuses to exclude.
+     * @return a list of appointment slot projections.
+     */
+    @Query("SELECT a.id AS id, a.veterinarian.id AS veterinarianId, a.appointmentDate AS appointmentDate, " +
+           "a.appointmentTime AS appointmentTime, a.status AS status FROM Appointment a " +
+           "WHERE a.appointmentDate BETWEEN :startDate AND :endDate AND a.status NOT IN :excludedStatuses")
+    List<AppointmentSlotProjection> findSlotsByAppointmentDateBetween(@Param("startDate") LocalDate startDate,
+                                                                      @Param("endDate") LocalDate endDate,
+                                                                      @Param("excludedStatuses") List<AppointmentStatus> excludedStatuses);
+
+    /**
+     * Retrieves the scheduling data of a veterinarian's appointments within a date range, excluding certain statuses.
+     *
+     * @param veterinarianId   the ID of the veterinarian.
+     * @param startDate        the first date of the range (inclusive).
+     * @param endDate          the last date of the range (inclusive).
+     * @param excludedStatuses the statuses to exclude.
+     * @return a list of appointment slot projections.
+     */
+    @Query("SELECT a.id AS id, a.veterinarian.id AS veterinarianId, a.appointmentDate AS appointmentDate, " +
+           "a.appointmentTime AS appointmentTime, a.status AS status FROM Appointment a " +
+           "WHERE a.veterinarian.id = :veterinarianId AND a.appointmentDate BETWEEN :startDate AND :endDate " +
+           "AND a.status NOT IN :excludedStatuses")
+    List<AppointmentSlotProjection> findSlotsByVeterinarianIdAndAppointmentDateBetween(@Param("veterinarianId") Long veterinarianId,
+                                                                                       @Param("startDate") LocalDate startDate,
+                                                                                       @Param("endDate") LocalDate endDate,
+                                                                                       @Param("excludedStatuses") List<AppointmentStatus> excludedStatuses);
+
+    /**
+     * Retrieves the scheduling data of the appointments of several veterinarians on a given date,
+     * excluding certain statuses.
+     *
+     * @param veterinarianIds  the IDs of the veterinarians.
+     * @param date             the appointment date.
+     * @param excludedStatuses the statuses to exclude.
+     * @return a list of appointment slot projections.
+     */
+    @Query("SELECT a.id AS id, a.veterinarian.id AS veterinarianId, a.appointmentDate AS appointmentDate, " +
+           "a.appointmentTime AS appointmentTime, a.status AS status FROM Appointment a " +
+           "WHERE a.veterinarian.id IN :veterinarianIds AND a.appointmentDate = :date " +
+           "AND a.status NOT IN :excludedStatuses")
+    List<AppointmentSlotProjection> findSlotsByVeterinarianIdInAndAppointmentDate(@Param("veterinarianIds") Collection<Long> veterinarianIds,
+                                                                                  @Param("date") LocalDate date,
+                                                                                  @Param("excludedStatuses") List<AppointmentStatus> excludedStatuses);
+
+    /**
+     * Retrieves the scheduling data of all appointments from the given date on that hold no slot reservations,
+     * excluding certain statuses.
+     *
+     * @param date             the first appointment date (inclusive).
+     * @param excludedStatuses the statuses to exclude.
+     * @return a list of appointment slot projections.
+     */
+    @Query("SELECT a.id AS id, a.veterinarian.id AS veterinarianId, a.appointmentDate AS appointmentDate, " +
+           "a.appointmentTime AS appointmentTime, a.status AS status FROM Appointment a " +
+           "WHERE a.appointmentDate >= :date AND a.status NOT IN :excludedStatuses " +
+           "AND NOT EXISTS (SELECT r.id FROM SlotReservation r WHERE r.appointmentId = a.id)")
+    List<AppointmentSlotProjection> findUnreservedSlotsFrom(@Param("date") LocalDate date,
+                                                            @Param("excludedStatuses") List<AppointmentStatus> excludedStatuses);
 }
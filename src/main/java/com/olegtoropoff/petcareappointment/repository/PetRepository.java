@@ -1,9 +1,12 @@
 package com.olegtoropoff.petcareappointment.repository;
 
 import com.olegtoropoff.petcareappointment.model.Pet;
+import com.olegtoropoff.petcareappointment.projection.PetSummaryProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -36,4 +39,14 @@ public interface PetRepository extends JpaRepository<Pet, Long> {
      */
     @Query("SELECT DISTINCT p.breed FROM Pet p WHERE p.type = :petType")
     List<String> getDistinctPetBreedsByPetType(String petType);
+
+    /**
+     * Retrieves the summaries of the pets registered for the given appointments, ordered by ID.
+     *
+     * @param appointmentIds the IDs of the appointments.
+     * @return a list of pet summaries.
+     */
+    @Query("SELECT p.id AS id, p.name AS name, p.type AS type, p.color AS color, p.breed AS breed, p.age AS age, " +
+           "p.appointment.id AS appointmentId FROM Pet p WHERE p.appointment.id IN :appointmentIds ORDER BY p.id")
+    List<PetSummaryProjection> findSummariesByAppointmentIdIn(@Param("appointmentIds") Collection<Long> appointmentIds);
 }
@@ -2,6 +2,7 @@ package com.olegtoropoff.petcareappointment.repository;
 
 import com.olegtoropoff.petcareappointment.model.Review;
 import com.olegtoropoff.petcareappointment.projection.VeterinarianReviewProjection;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,21 +19,28 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     /**
      * Retrieves all reviews for a specific user, including reviews written by the user
      * and reviews of the user as a veterinarian.
+     * The patient and veterinarian of each review are fetched with their photos, which the review details show.
      *
      * @param userId the ID of the user.
      * @return a list of reviews.
      */
+    @EntityGraph(attributePaths = {"patient.photo", "veterinarian.photo"})
     @Query("SELECT r FROM Review r WHERE r.patient.id =:userId OR r.veterinarian.id =:userId")
     List<Review> findAllByUserId(@Param("userId") Long userId);
 
     /**
      * Retrieves a review by the veterinarian and patient IDs, if it exists.
+     * <p>
+     * The IDs are compared with the foreign key columns of the review, not with the joined users,
+     * so the lookup is served by the {@code idx_review_veterinarian_reviewer} index.
      *
      * @param veterinarianId the ID of the veterinarian.
      * @param reviewerId     the ID of the patient who wrote the review.
      * @return an optional containing the review if it exists, or empty if not.
      */
-    Optional<Review> findByVeterinarianIdAndPatientId(Long veterinarianId, Long reviewerId);
+    @Query("SELECT r FROM Review r WHERE r.veterinarian.id = :veterinarianId AND r.patient.id = :reviewerId")
+    Optional<Review> findByVeterinarianIdAndPatientId(@Param("veterinarianId") Long veterinarianId,
+                                                      @Param("reviewerId") Long reviewerId);
 
     /**
      * Retrieves a list of average ratings and total review counts for all veterinarians
@@ -1,10 +1,15 @@
 package com.olegtoropoff.petcareappointment.repository;
 
 import com.olegtoropoff.petcareappointment.model.Role;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 /**
  * Repository interface for managing {@link Role} entities.
  * Extends {@link JpaRepository} to provide basic CRUD operations and custom queries.
@@ -13,9 +18,13 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
 
     /**
      * Finds a role by its name.
+     * <p>
+     * The result is kept in the {@code role_by_name} query cache, as it is looked up on every registration.
      *
      * @param roleName the name of the role to find
      * @return an {@link Optional} containing the role if found, or {@link Optional#empty()} if not found
      */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "role_by_name")})
     Optional<Role> findByName(String roleName);
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.olegtoropoff.petcareappointment.repository;
+
+import com.olegtoropoff.petcareappointment.model.SlotReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Repository interface for managing {@link SlotReservation} entities.
+ */
+public interface SlotReservationRepository extends JpaRepository<SlotReservation, Long> {
+
+    /**
+     * Deletes all slot reservations held by an appointment.
+     *
+     * @param appointmentId the ID of the appointment.
+     * @return the number of deleted reservations.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SlotReservation r WHERE r.appointmentId = :appointmentId")
+    int deleteByAppointmentId(@Param("appointmentId") Long appointmentId);
+
+    /**
+     * Deletes all slot reservations for dates before the given date.
+     *
+     * @param date the first date whose reservations are kept.
+     * @return the number of deleted reservations.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SlotReservation r WHERE r.reservationDate < :date")
+    int deleteByReservationDateBefore(@Param("date") LocalDate date);
+}
@@ -1,6 +1,8 @@
 package com.olegtoropoff.petcareappointment.repository;
 
 import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.projection.UserSummaryProjection;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +10,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,6 +21,19 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Select clause of the user summary queries: the columns returned by user listings, one row per role.
+     * The veterinarian columns are joined through the {@code veterinarian} table and are {@code null} for other users.
+     */
+    String SELECT_USER_SUMMARY = "SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName, " +
+                                 "u.gender AS gender, u.phoneNumber AS phoneNumber, u.email AS email, " +
+                                 "u.userType AS userType, u.isEnabled AS enabled, u.createdAt AS createdAt, " +
+                                 "ph.id AS photoId, ph.s3Url AS photoUrl, v.specialization AS specialization, " +
+                                 "v.appointmentCost AS appointmentCost, v.clinicAddress AS clinicAddress, " +
+                                 "r.name AS roleName " +
+                                 "FROM User u LEFT JOIN u.photo ph LEFT JOIN u.roles r " +
+                                 "LEFT JOIN Veterinarian v ON v.id = u.id ";
+
     /**
      * Checks if a user exists with the specified email.
      *
@@ -51,5 +68,42 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return an {@link Optional} containing the {@link User} if found, or empty if not found.
      */
     Optional<User> findByEmail(String email);
-}
 
+    /**
+     * Finds a user by their email together with their roles, in a single query.
+     * Used to authenticate the user, which needs nothing but the roles.
+     *
+     * @param email the email of the user to retrieve.
+     * @return an {@link Optional} containing the {@link User} with their roles if found, or empty if not found.
+     */
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByEmail(String email);
+
+    /**
+     * Finds a user by their ID together with their photo and roles, in a single query.
+     * Used by the user details screen.
+     *
+     * @param userId the ID of the user to retrieve.
+     * @return an {@link Optional} containing the {@link User} with their photo and roles if found, or empty if not found.
+     */
+    @EntityGraph(attributePaths = {"photo", "roles"})
+    @Query("SELECT u FROM User u WHERE u.id = :userId")
+    Optional<User> findWithDetailsById(@Param("userId") Long userId);
+
+    /**
+     * Retrieves the summaries of all patients, ordered by ID.
+     *
+     * @return a list of user summary rows, one row per role of each patient.
+     */
+    @Query(SELECT_USER_SUMMARY + "WHERE TYPE(u) = Patient ORDER BY u.id")
+    List<UserSummaryProjection> findPatientSummaries();
+
+    /**
+     * Retrieves the summaries of the users with the given IDs, ordered by ID.
+     *
+     * @param userIds the IDs of the users.
+     * @return a list of user summary rows, one row per role of each user.
+     */
+    @Query(SELECT_USER_SUMMARY + "WHERE u.id IN :userIds ORDER BY u.id")
+    List<UserSummaryProjection> findSummariesByIdIn(@Param("userIds") Collection<Long> userIds);
+}
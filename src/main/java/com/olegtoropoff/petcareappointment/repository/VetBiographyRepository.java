@@ -1,10 +1,15 @@
 package com.olegtoropoff.petcareappointment.repository;
 
 import com.olegtoropoff.petcareappointment.model.VetBiography;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 /**
  * Repository interface for managing veterinarian biographies.
  * Provides methods for accessing and manipulating {@link VetBiography} entities.
@@ -13,9 +18,14 @@ public interface VetBiographyRepository extends JpaRepository<VetBiography, Long
 
     /**
      * Retrieves the biography of a veterinarian by their ID.
+     * <p>
+     * The result is cached in the {@code vet_biography_by_veterinarian} query region; Hibernate discards it
+     * as soon as any biography is saved or deleted.
      *
      * @param veterinarianId the ID of the veterinarian.
      * @return an {@link Optional} containing the {@link VetBiography} if found, or an empty {@link Optional} otherwise.
      */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "vet_biography_by_veterinarian")})
     Optional<VetBiography> getVetBiographyByVeterinarianId(Long veterinarianId);
 }
@@ -1,6 +1,8 @@
 package com.olegtoropoff.petcareappointment.repository;
 
 import com.olegtoropoff.petcareappointment.model.Veterinarian;
+import com.olegtoropoff.petcareappointment.projection.UserSummaryProjection;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,6 +16,18 @@ import java.util.Optional;
  */
 public interface VeterinarianRepository extends JpaRepository<Veterinarian, Long> {
 
+    /**
+     * Select clause of the veterinarian summary queries: the columns returned by veterinarian listings,
+     * one row per role.
+     */
+    String SELECT_VETERINARIAN_SUMMARY = "SELECT v.id AS id, v.firstName AS firstName, v.lastName AS lastName, " +
+                                         "v.gender AS gender, v.phoneNumber AS phoneNumber, v.email AS email, " +
+                                         "v.userType AS userType, v.isEnabled AS enabled, v.createdAt AS createdAt, " +
+                                         "ph.id AS photoId, ph.s3Url AS photoUrl, v.specialization AS specialization, " +
+                                         "v.appointmentCost AS appointmentCost, v.clinicAddress AS clinicAddress, " +
+                                         "r.name AS roleName " +
+                                         "FROM Veterinarian v LEFT JOIN v.photo ph LEFT JOIN v.roles r ";
+
     /**
      * Retrieves a list of veterinarians filtered by user type and enabled status.
      * This method fetches all records where the user type matches the specified value
@@ -27,11 +41,14 @@ public interface VeterinarianRepository extends JpaRepository<Veterinarian, Long
 
     /**
      * Finds all veterinarians by their specialization and enabled status.
+     * The photo, roles and biography of each veterinarian are fetched in the same query,
+     * so the number of queries does not grow with the number of veterinarians.
      *
      * @param specialization the specialization of the veterinarian (e.g., "Dentistry", "Surgery").
      * @param isEnabled a flag indicating whether the veterinarian is active (`true`) or disabled (`false`).
      * @return a {@link List} of veterinarians matching the specialization and enabled status.
      */
+    @EntityGraph(attributePaths = {"photo", "roles", "vetBiography"})
     List<Veterinarian> findBySpecializationAndIsEnabled(String specialization, boolean isEnabled);
 
     /**
@@ -59,12 +76,42 @@ public interface VeterinarianRepository extends JpaRepository<Veterinarian, Long
     List<Object[]> countVetsBySpecialization();
 
     /**
-     * Retrieves a veterinarian by their ID along with their associated photo.
-     * Uses a **LEFT JOIN FETCH** to eagerly fetch the `photo` entity and avoid the **N+1 query problem**.
+     * Retrieves a veterinarian by their ID along with their associated photo and roles.
+     * Uses a **LEFT JOIN FETCH** to eagerly fetch the `photo` entity and the `roles` collection and avoid the **N+1 query problem**.
      *
      * @param vetId the ID of the veterinarian to retrieve.
-     * @return an {@link Optional} containing the veterinarian with their photo if found, otherwise empty.
+     * @return an {@link Optional} containing the veterinarian with their photo and roles if found, otherwise empty.
      */
-    @Query("SELECT v FROM Veterinarian v LEFT JOIN FETCH v.photo WHERE v.id = :vetId")
+    @Query("SELECT v FROM Veterinarian v LEFT JOIN FETCH v.photo LEFT JOIN FETCH v.roles WHERE v.id = :vetId")
     Optional<Veterinarian> findVeterinarianWithPhotoById(@Param("vetId") Long vetId);
+
+    /**
+     * Retrieves the specialization of a veterinarian.
+     *
+     * @param vetId the ID of the veterinarian.
+     * @return an {@link Optional} containing the specialization if the veterinarian is found, otherwise empty.
+     */
+    @Query("SELECT v.specialization FROM Veterinarian v WHERE v.id = :vetId")
+    Optional<String> findSpecializationById(@Param("vetId") Long vetId);
+
+    /**
+     * Retrieves the summaries of all veterinarians, ordered by ID.
+     * Only the columns returned by veterinarian listings are selected.
+     *
+     * @return a list of user summary rows, one row per role of each veterinarian.
+     */
+    @Query(SELECT_VETERINARIAN_SUMMARY + "ORDER BY v.id")
+    List<UserSummaryProjection> findSummaries();
+
+    /**
+     * Retrieves the summaries of the veterinarians with the given user type and enabled status, ordered by ID.
+     * Only the columns returned by veterinarian listings are selected.
+     *
+     * @param userType  the type of user to filter by (e.g., "VET").
+     * @param isEnabled the status indicating whether the user is enabled.
+     * @return a list of user summary rows, one row per role of each veterinarian.
+     */
+    @Query(SELECT_VETERINARIAN_SUMMARY + "WHERE v.userType = :userType AND v.isEnabled = :isEnabled ORDER BY v.id")
+    List<UserSummaryProjection> findSummariesByUserTypeAndIsEnabled(@Param("userType") String userType,
+                                                                    @Param("isEnabled") boolean isEnabled);
 }
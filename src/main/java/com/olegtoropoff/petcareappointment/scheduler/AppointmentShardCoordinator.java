@@ -0,0 +1,133 @@
+package com.olegtoropoff.petcareappointment.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coordinates which application instance runs the appointment status job for which appointments.
+ * <p>
+ * Appointments are split into {@code appointment.scheduler.shards} shards by {@code id % shards}, and every
+ * shard is guarded by a lease in the {@link LeaseRegistry}. An instance only reconciles the shards it holds
+ * a lease for, renews its leases periodically and picks up shards whose leases have expired because their
+ * owner stopped renewing them. With the default single shard this is plain leader election.
+ * <p>
+ * The number of shards one instance may hold is limited by {@code appointment.scheduler.max-shards-per-node};
+ * it defaults to all shards, so a single surviving instance takes over the whole job. To spread the work
+ * across {@code N} instances, set it to about {@code shards / N} plus a spare shard for takeover.
+ */
+@Component
+public class AppointmentShardCoordinator {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentShardCoordinator.class);
+
+    private static final String LEASE_KEY_PREFIX = "appointment-status-job:shard:";
+
+    private final LeaseRegistry leaseRegistry;
+    private final int shardCount;
+    private final int maxShardsPerNode;
+    private final Duration leaseTtl;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<Integer> ownedShards = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the coordinator.
+     *
+     * @param leaseRegistry    the registry that stores the shard leases.
+     * @param shardCount       the total number of shards.
+     * @param maxShardsPerNode the maximum number of shards this instance may hold, or {@code 0} for all shards.
+     * @param leaseTtlSeconds  the time-to-live of a shard lease; must be longer than the renewal interval.
+     */
+    public AppointmentShardCoordinator(LeaseRegistry leaseRegistry,
+                                       @Value("${appointment.scheduler.shards:1}") int shardCount,
+                                       @Value("${appointment.scheduler.max-shards-per-node:0}") int maxShardsPerNode,
+                                       @Value("${appointment.scheduler.lease-ttl-seconds:30}") long leaseTtlSeconds) {
+        this.leaseRegistry = leaseRegistry;
+        this.shardCount = Math.max(1, shardCount);
+        this.maxShardsPerNode = maxShardsPerNode > 0 ? Math.min(maxShardsPerNode, this.shardCount) : this.shardCount;
+        this.leaseTtl = Duration.ofSeconds(leaseTtlSeconds);
+    }
+
+    /**
+     * Renews the leases of the shards held by this instance and tries to acquire free shards
+     * until the per-node limit is reached. Shards whose lease could not be renewed are dropped.
+     * If the lease registry is unavailable, all shards are dropped so that this instance does not
+     * work on shards another instance may have taken over.
+     *
+     * @return the shards acquired by this call, which have to be reconciled by their new owner.
+     */
+    public synchronized Set<Integer> maintainLeases() {
+        Set<Integer> acquired = new TreeSet<>();
+        try {
+            ownedShards.removeIf(shard -> !leaseRegistry.renew(leaseKey(shard), nodeId, leaseTtl));
+            int offset = Math.floorMod(nodeId.hashCode(), shardCount);
+            for (int i = 0; i < shardCount && ownedShards.size() < maxShardsPerNode; i++) {
+                int shard = (offset + i) % shardCount;
+                if (!ownedShards.contains(shard) && leaseRegistry.tryAcquire(leaseKey(shard), nodeId, leaseTtl)) {
+                    ownedShards.add(shard);
+                    acquired.add(shard);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to maintain appointment shard leases, dropping shards {}", ownedShards, e);
+            ownedShards.clear();
+            return Set.of();
+        }
+        if (!acquired.isEmpty()) {
+            logger.info("Node {} acquired appointment shards {}, now owns {}", nodeId, acquired, ownedShards);
+        }
+        return acquired;
+    }
+
+    /**
+     * Releases all leases held by this instance so that other instances can take over immediately.
+     */
+    @PreDestroy
+    public synchronized void releaseAll() {
+        try {
+            ownedShards.forEach(shard -> leaseRegistry.release(leaseKey(shard), nodeId));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to release appointment shard leases {}", ownedShards, e);
+        }
+        ownedShards.clear();
+    }
+
+    /**
+     * Returns the shards currently held by this instance.
+     *
+     * @return a snapshot of the owned shards.
+     */
+    public Set<Integer> getOwnedShards() {
+        return new TreeSet<>(ownedShards);
+    }
+
+    /**
+     * Determines whether an appointment belongs to one of the shards currently held by this instance.
+     *
+     * @param appointmentId the ID of the appointment.
+     * @return {@code true} if the shard {@code appointmentId % shardCount} is owned by this instance.
+     */
+    public boolean owns(Long appointmentId) {
+        return appointmentId != null && ownedShards.contains((int) Math.floorMod(appointmentId, (long) shardCount));
+    }
+
+    /**
+     * Returns the total number of shards.
+     *
+     * @return the shard count.
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    private String leaseKey(int shard) {
+        return LEASE_KEY_PREFIX + shardCount + ":" + shard;
+    }
+}
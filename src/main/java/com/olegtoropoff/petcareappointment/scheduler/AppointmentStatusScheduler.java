@@ -0,0 +1,293 @@
+package com.olegtoropoff.petcareappointment.scheduler;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatusTransition;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VeterinarianService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event-time driven scheduler for appointment status transitions.
+ * <p>
+ * For every live appointment the scheduler computes the instant of its next status transition from
+ * {@code appointmentDate}, {@code appointmentTime} and {@link VeterinarianService#APPOINTMENT_DURATION_MINUTES}
+ * and keeps it in a {@link DelayQueue}. A single worker thread takes each transition exactly when it is due,
+ * applies it with a conditional single-row update, publishes an {@link AppointmentChangedEvent} for the change
+ * and schedules the following transition of the same appointment.
+ * <p>
+ * Each appointment has at most one pending transition. Rescheduling an appointment replaces its pending entry;
+ * superseded entries stay in the queue and are skipped when they expire.
+ * <p>
+ * Only appointments in the shards leased by this instance through the {@link AppointmentShardCoordinator}
+ * are scheduled, and the transitions of a shard are dropped once its lease is lost, so every transition
+ * is fired by the current owner of its shard alone.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentStatusScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentStatusScheduler.class);
+
+    /**
+     * Statuses that still have an automatic transition ahead of them.
+     */
+    private static final List<AppointmentStatus> LIVE_STATUSES = List.of(
+            AppointmentStatus.WAITING_FOR_APPROVAL,
+            AppointmentStatus.APPROVED,
+            AppointmentStatus.UP_COMING,
+            AppointmentStatus.ON_GOING);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentShardCoordinator shardCoordinator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final DelayQueue<ScheduledTransition> queue = new DelayQueue<>();
+    private final Map<Long, ScheduledTransition> pending = new ConcurrentHashMap<>();
+    private Thread worker;
+
+    /**
+     * Starts the worker thread that fires due transitions.
+     */
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::run, "appointment-status-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops the worker thread.
+     */
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Keeps the schedule up to date when an appointment is booked, updated, has its status changed
+     * or is deleted. Transactional changes are applied once they have been committed.
+     * Appointments in shards not leased by this instance are left to the owner of their shard.
+     *
+     * @param event the appointment change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.deleted() || !shardCoordinator.owns(event.appointmentId())) {
+            unschedule(event.appointmentId());
+        } else {
+            schedule(event.appointmentId(), event.veterinarianId(), event.status(),
+                    event.appointmentDate(), event.appointmentTime());
+        }
+    }
+
+    /**
+     * Schedules the next status transition of the given appointment, replacing any transition
+     * previously scheduled for it. Appointments without a pending transition are unscheduled.
+     *
+     * @param appointment the appointment whose status, date or time has changed.
+     */
+    public void schedule(Appointment appointment) {
+        schedule(appointment.getId(), appointment.getVeterinarian() != null ? appointment.getVeterinarian().getId() : null,
+                appointment.getStatus(), appointment.getAppointmentDate(), appointment.getAppointmentTime());
+    }
+
+    /**
+     * Removes the pending transition of an appointment, for example after it has been deleted.
+     *
+     * @param appointmentId the ID of the appointment.
+     */
+    public void unschedule(Long appointmentId) {
+        pending.remove(appointmentId);
+    }
+
+    /**
+     * Rebuilds the schedule from the database by scheduling the next transition of every live appointment
+     * of the given shards.
+     *
+     * @param shardCount the total number of appointment shards.
+     * @param shards     the shards to load; an appointment belongs to shard {@code id % shardCount}.
+     * @return the number of appointments that have a pending transition after the rebuild.
+     */
+    public int rebuild(int shardCount, Collection<Integer> shards) {
+        appointmentRepository.findByStatusInAndShardIn(LIVE_STATUSES, shardCount, shards).forEach(this::schedule);
+        logger.info("Appointment status schedule rebuilt: {} pending transition(s)", pending.size());
+        return pending.size();
+    }
+
+    /**
+     * Drops the pending transitions of the appointments in shards this instance no longer holds a lease for.
+     *
+     * @return the number of dropped transitions.
+     */
+    public int dropUnownedShards() {
+        int pendingBefore = pending.size();
+        pending.keySet().removeIf(appointmentId -> !shardCoordinator.owns(appointmentId));
+        int dropped = Math.max(0, pendingBefore - pending.size());
+        if (dropped > 0) {
+            logger.info("Appointment status schedule dropped {} transition(s) of shards no longer owned", dropped);
+        }
+        return dropped;
+    }
+
+    /**
+     * Returns the number of appointments that currently have a pending transition.
+     *
+     * @return the number of pending transitions.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the number of queued transitions, superseded ones included.
+     *
+     * @return the number of queued transitions.
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Computes the next automatic transition of an appointment.
+     * <ul>
+     *     <li>WAITING_FOR_APPROVAL -> NOT_APPROVED at the appointment start.</li>
+     *     <li>APPROVED -> UP_COMING immediately if the appointment has not started yet.</li>
+     *     <li>UP_COMING -> ON_GOING at the appointment start.</li>
+     *     <li>ON_GOING -> COMPLETED at the appointment end.</li>
+     * </ul>
+     *
+     * @param appointmentId  the ID of the appointment.
+     * @param veterinarianId the ID of the veterinarian of the appointment.
+     * @param status         the current status of the appointment.
+     * @param start          the start of the appointment.
+     * @param now            the current moment.
+     * @return the next transition, or {@code null} if the appointment has none.
+     */
+    static ScheduledTransition nextTransition(Long appointmentId, Long veterinarianId, AppointmentStatus status,
+                                              LocalDateTime start, LocalDateTime now) {
+        if (status == null) {
+            return null;
+        }
+        return switch (status) {
+            case WAITING_FOR_APPROVAL -> new ScheduledTransition(appointmentId, veterinarianId,
+                    AppointmentStatusTransition.WAITING_FOR_APPROVAL_TO_NOT_APPROVED, start, start);
+            case APPROVED -> start.isAfter(now)
+                    ? new ScheduledTransition(appointmentId, veterinarianId, AppointmentStatusTransition.APPROVED_TO_UP_COMING, start, now)
+                    : null;
+            case UP_COMING -> new ScheduledTransition(appointmentId, veterinarianId,
+                    AppointmentStatusTransition.UP_COMING_TO_ON_GOING, start, start);
+            case ON_GOING -> new ScheduledTransition(appointmentId, veterinarianId,
+                    AppointmentStatusTransition.ON_GOING_TO_COMPLETED,
+                    start, start.plusMinutes(VeterinarianService.APPOINTMENT_DURATION_MINUTES));
+            default -> null;
+        };
+    }
+
+    /**
+     * Applies a due transition if it is still the pending one for its appointment and schedules the next one.
+     * The update only succeeds if the appointment still has the transition's source status, so a transition
+     * racing with a user action never overwrites it, and the same transition fired by several instances
+     * is applied only once. Only an applied transition is published as an {@link AppointmentChangedEvent}.
+     *
+     * @param transition the due transition.
+     */
+    void fire(ScheduledTransition transition) {
+        if (!pending.remove(transition.appointmentId(), transition)) {
+            return;
+        }
+        AppointmentStatusTransition statusTransition = transition.transition();
+        int updated = appointmentRepository.updateStatusById(
+                transition.appointmentId(), statusTransition.getFrom(), statusTransition.getTo());
+        if (updated > 0) {
+            schedule(nextTransition(transition.appointmentId(), transition.veterinarianId(), statusTransition.getTo(),
+                    transition.start(), LocalDateTime.now()), transition.appointmentId());
+            eventPublisher.publishEvent(AppointmentChangedEvent.statusChanged(transition.appointmentId(),
+                    transition.veterinarianId(), transition.start().toLocalDate(), transition.start().toLocalTime(),
+                    statusTransition.getTo()));
+        }
+    }
+
+    private void schedule(Long appointmentId, Long veterinarianId, AppointmentStatus status, LocalDate date, LocalTime time) {
+        if (appointmentId == null || date == null || time == null) {
+            return;
+        }
+        schedule(nextTransition(appointmentId, veterinarianId, status, LocalDateTime.of(date, time), LocalDateTime.now()),
+                appointmentId);
+    }
+
+    /**
+     * Makes a transition the pending one of its appointment. A transition that is already pending is not queued
+     * again, as happens when the change published for a fired transition comes back to this scheduler.
+     */
+    private void schedule(ScheduledTransition transition, Long appointmentId) {
+        if (transition == null) {
+            pending.remove(appointmentId);
+            return;
+        }
+        if (!transition.equals(pending.put(appointmentId, transition))) {
+            queue.offer(transition);
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                fire(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("Failed to apply appointment status transition", e);
+            }
+        }
+    }
+
+    /**
+     * A status transition of a single appointment that becomes due at a given moment.
+     *
+     * @param appointmentId  the ID of the appointment.
+     * @param veterinarianId the ID of the veterinarian of the appointment, published with the change.
+     * @param transition     the transition to apply.
+     * @param start          the start of the appointment, used to compute the following transition.
+     * @param dueAt          the moment the transition becomes due.
+     */
+    record ScheduledTransition(Long appointmentId, Long veterinarianId, AppointmentStatusTransition transition,
+                               LocalDateTime start, LocalDateTime dueAt) implements Delayed {
+
+        @Override
+        public long getDelay(@NonNull TimeUnit unit) {
+            long dueAtMillis = dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(@NonNull Delayed other) {
+            if (other instanceof ScheduledTransition transition) {
+                return dueAt.compareTo(transition.dueAt());
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
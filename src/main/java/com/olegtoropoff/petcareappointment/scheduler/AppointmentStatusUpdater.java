@@ -1,21 +1,31 @@
 package com.olegtoropoff.petcareappointment.scheduler;
 
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatusTransition;
 import com.olegtoropoff.petcareappointment.service.appointment.IAppointmentService;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * Scheduler component for automating the update of appointment statuses.
+ * Scheduler component for keeping appointment statuses up to date.
  * <p>
- * This class runs a scheduled task to periodically check and update the status of
- * appointments in the system. It uses a cron expression to define the schedule.
+ * Individual transitions are fired on time by the {@link AppointmentStatusScheduler}. This component
+ * applies all overdue transitions in bulk and rebuilds that schedule from the database, and repeats
+ * the same reconciliation on a long interval as a safety net for changes the scheduler has not been told about.
+ * <p>
+ * When several instances are running, each one only reconciles the appointment shards it holds a lease for,
+ * as coordinated by the {@link AppointmentShardCoordinator}. Leases are renewed periodically; a shard is
+ * reconciled as soon as an instance acquires it, including at startup and on takeover from a failed instance.
  */
 @Component
 @RequiredArgsConstructor
 public class AppointmentStatusUpdater {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentStatusUpdater.class);
 
     /**
      * Service for managing appointments.
@@ -23,34 +33,81 @@ public class AppointmentStatusUpdater {
     private final IAppointmentService appointmentService;
 
     /**
-     * Cron expression to schedule the task.
+     * Scheduler that fires individual status transitions when they become due.
+     */
+    private final AppointmentStatusScheduler appointmentStatusScheduler;
+
+    /**
+     * Coordinator of the appointment shards owned by this instance.
+     */
+    private final AppointmentShardCoordinator shardCoordinator;
+
+    /**
+     * Cron expression to schedule the reconciliation task.
      * <p>
-     * The cron expression {@code "0 0/5 * 1/1 * ?"} specifies the following:
+     * The cron expression {@code "0 0 * * * ?"} specifies the following:
      * <ul>
      *     <li><strong>Seconds:</strong> {@code 0} - Task runs at the 0th second of the minute.</li>
-     *     <li><strong>Minutes:</strong> {@code 0/5} - Task runs every 5 minutes.</li>
+     *     <li><strong>Minutes:</strong> {@code 0} - Task runs at the 0th minute of the hour.</li>
      *     <li><strong>Hours:</strong> {@code *} - Task runs every hour.</li>
-     *     <li><strong>Day of month:</strong> {@code 1/1} - Task runs every day of the month.</li>
+     *     <li><strong>Day of month:</strong> {@code *} - Task runs every day of the month.</li>
      *     <li><strong>Month:</strong> {@code *} - Task runs every month.</li>
      *     <li><strong>Day of week:</strong> {@code ?} - Task runs on any day of the week.</li>
      * </ul>
-     * As a result, this task is executed every 5 minutes.
+     * As a result, this task is executed once an hour.
      */
-    private static final String CRON_EXPRESSION = "0 0/5 * 1/1 * ?";
+    private static final String CRON_EXPRESSION = "0 0 * * * ?";
 
     /**
-     * Scheduled task to automate the update of appointment statuses.
+     * Scheduled task to renew the shard leases of this instance and acquire free shards.
+     * Newly acquired shards are reconciled immediately, and the pending transitions of lost shards are dropped.
      * <p>
-     * This method retrieves all appointment IDs and updates their statuses
-     * by delegating to the {@link IAppointmentService}.
+     * The task runs every {@code appointment.scheduler.lease-renew-interval-ms} milliseconds, 10 seconds by default,
+     * starting {@code appointment.scheduler.lease-initial-delay-ms} milliseconds after the application context
+     * is initialized, right away by default.
+     */
+    @Scheduled(fixedDelayString = "${appointment.scheduler.lease-renew-interval-ms:10000}",
+               initialDelayString = "${appointment.scheduler.lease-initial-delay-ms:0}")
+    public void maintainShardLeases() {
+        Set<Integer> previouslyOwnedShards = shardCoordinator.getOwnedShards();
+        Set<Integer> acquiredShards = shardCoordinator.maintainLeases();
+        if (!shardCoordinator.getOwnedShards().containsAll(previouslyOwnedShards)) {
+            appointmentStatusScheduler.dropUnownedShards();
+        }
+        if (!acquiredShards.isEmpty()) {
+            reconcile(acquiredShards);
+        }
+    }
+
+    /**
+     * Scheduled task to reconcile the statuses of all appointments in the shards owned by this instance.
      * <p>
      * The task runs according to the defined {@link #CRON_EXPRESSION}.
      */
     @Scheduled(cron = CRON_EXPRESSION)
     public void automateAppointmentStatusUpdate(){
-        List<Long> appointmentIds = appointmentService.getAppointmentIds();
-        for(Long appointmentId : appointmentIds){
-            appointmentService.setAppointmentStatus(appointmentId);
+        Set<Integer> ownedShards = shardCoordinator.getOwnedShards();
+        if (!ownedShards.isEmpty()) {
+            reconcile(ownedShards);
         }
     }
+
+    /**
+     * Applies every overdue transition in the given shards with a single set-based update per transition,
+     * logs how many appointments each transition moved and rebuilds the {@link AppointmentStatusScheduler}
+     * for those shards.
+     *
+     * @param shards the shards to reconcile.
+     */
+    private void reconcile(Set<Integer> shards) {
+        int shardCount = shardCoordinator.getShardCount();
+        Map<AppointmentStatusTransition, Integer> updatedCounts =
+                appointmentService.updateAppointmentStatuses(shardCount, shards);
+        updatedCounts.forEach((transition, count) -> {
+            if (count > 0) {
+                logger.info("Appointment status transition {}: {} appointment(s) updated", transition, count);
+            }
+        });
+        appointmentStatusScheduler.rebuild(shardCount, shards);
+    }
 }
@@ -0,0 +1,62 @@
+package com.olegtoropoff.petcareappointment.scheduler;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Registry of time-limited, exclusively owned leases shared by all application instances.
+ * <p>
+ * A lease is identified by a key and held by a single owner until it is released or its time-to-live
+ * expires without being renewed, after which any other owner may acquire it.
+ */
+public interface LeaseRegistry {
+
+    /**
+     * Acquires a lease if it is not currently held by anyone.
+     *
+     * @param key   the lease key.
+     * @param owner the identifier of the acquiring owner.
+     * @param ttl   the time-to-live of the lease.
+     * @return {@code true} if the lease was acquired, otherwise {@code false}.
+     */
+    boolean tryAcquire(String key, String owner, Duration ttl);
+
+    /**
+     * Acquires a lease, or extends it if it is already held by the given owner, provided that none of the
+     * conflicting leases is held by another owner. The check and the acquisition are a single atomic step,
+     * so of two owners acquiring conflicting leases concurrently at most one succeeds.
+     *
+     * @param key             the lease key.
+     * @param conflictingKeys the keys of the leases that must not be held by another owner.
+     * @param owner           the identifier of the acquiring owner.
+     * @param ttl             the time-to-live of the lease.
+     * @return {@code true} if the lease is now held by the owner, otherwise {@code false}.
+     */
+    boolean tryAcquireUnlessConflicting(String key, List<String> conflictingKeys, String owner, Duration ttl);
+
+    /**
+     * Extends a lease held by the given owner.
+     *
+     * @param key   the lease key.
+     * @param owner the identifier of the owner.
+     * @param ttl   the new time-to-live of the lease.
+     * @return {@code true} if the lease is still held by the owner and was extended, otherwise {@code false}.
+     */
+    boolean renew(String key, String owner, Duration ttl);
+
+    /**
+     * Releases a lease if it is held by the given owner.
+     *
+     * @param key   the lease key.
+     * @param owner the identifier of the owner.
+     */
+    void release(String key, String owner);
+
+    /**
+     * Looks up the current owners of several leases at once.
+     *
+     * @param keys the lease keys.
+     * @return the owner of each lease in the order of the keys, or {@code null} for a lease that is not held.
+     */
+    List<String> findOwners(List<String> keys);
+}
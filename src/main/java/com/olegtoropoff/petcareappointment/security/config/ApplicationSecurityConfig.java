@@ -3,6 +3,7 @@ package com.olegtoropoff.petcareappointment.security.config;
 import com.olegtoropoff.petcareappointment.security.jwt.AuthTokenFilter;
 import com.olegtoropoff.petcareappointment.security.jwt.JwtAuthEntryPoint;
 import com.olegtoropoff.petcareappointment.security.user.UPCUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,6 +42,8 @@ public class ApplicationSecurityConfig {
 
     private static final List<String> SECURED_URLS = List.of(
             "/api/v1/appointments/book-appointment",
+            "/api/v1/appointments/hold-slot",
+            "/api/v1/appointments/release-slot",
             "/api/v1/reviews/**");
 
     /**
@@ -90,6 +93,8 @@ public class ApplicationSecurityConfig {
 
     /**
      * Configures the security filter chain for HTTP security.
+     * Asynchronous dispatches are permitted, since they only write the response of a request
+     * that has already been authorized.
      *
      * @param http the {@link HttpSecurity} object
      * @return the {@link SecurityFilterChain} bean
@@ -102,7 +107,8 @@ public class ApplicationSecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(authEntryPoint))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authorizeHttpRequests(auth -> auth.requestMatchers(SECURED_URLS.toArray(String[]::new)).authenticated()
+                .authorizeHttpRequests(auth -> auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(SECURED_URLS.toArray(String[]::new)).authenticated()
                         .anyRequest().permitAll());
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authTokenFilter(), UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,70 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Cached estimate of the total number of appointments, shown alongside the cursor-paged appointment list.
+ * <p>
+ * Counting all appointments scans the whole table, so the count is taken at most once per time-to-live and may
+ * lag behind the actual number by the appointments booked or deleted since.
+ */
+@Component
+public class AppointmentCountEstimate {
+
+    private final AppointmentRepository appointmentRepository;
+    private final Duration ttl;
+    private final Clock clock;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Creates the estimate.
+     *
+     * @param appointmentRepository the repository used to count the appointments.
+     * @param ttlSeconds            how long a count is served before it is taken again.
+     */
+    @Autowired
+    public AppointmentCountEstimate(AppointmentRepository appointmentRepository,
+                                    @Value("${appointment.count-estimate.ttl-seconds:60}") long ttlSeconds) {
+        this(appointmentRepository, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    AppointmentCountEstimate(AppointmentRepository appointmentRepository, Duration ttl, Clock clock) {
+        this.appointmentRepository = appointmentRepository;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the estimated number of appointments, counting them again if the cached count has expired.
+     * Concurrent callers wait for a single count instead of each scanning the table.
+     *
+     * @return the estimated number of appointments.
+     */
+    public long get() {
+        Snapshot current = snapshot;
+        if (current != null && current.isFresh(clock.instant())) {
+            return current.count();
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || !current.isFresh(clock.instant())) {
+                current = new Snapshot(appointmentRepository.count(), clock.instant().plus(ttl));
+                snapshot = current;
+            }
+            return current.count();
+        }
+    }
+
+    private record Snapshot(long count, Instant expiresAt) {
+        boolean isFresh(Instant now) {
+            return now.isBefore(expiresAt);
+        }
+    }
+}
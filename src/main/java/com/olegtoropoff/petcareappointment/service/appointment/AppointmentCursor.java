@@ -0,0 +1,64 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the appointment list, which is ordered by date, time and ID, all descending.
+ * <p>
+ * A cursor points at the last appointment of a page; the next page starts right after it. Clients receive it as an
+ * opaque URL-safe string and pass it back unchanged.
+ *
+ * @param appointmentDate the date of the last appointment of the page.
+ * @param appointmentTime the time of the last appointment of the page.
+ * @param id              the ID of the last appointment of the page.
+ */
+public record AppointmentCursor(LocalDate appointmentDate, LocalTime appointmentTime, Long id) {
+
+    private static final String SEPARATOR = ",";
+
+    /**
+     * Creates the cursor that points at the given appointment.
+     *
+     * @param appointment the last appointment of a page.
+     * @return the cursor.
+     */
+    public static AppointmentCursor of(Appointment appointment) {
+        return new AppointmentCursor(appointment.getAppointmentDate(), appointment.getAppointmentTime(), appointment.getId());
+    }
+
+    /**
+     * Decodes a cursor previously returned by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static AppointmentCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(FeedBackMessage.INVALID_APPOINTMENT_CURSOR);
+            }
+            return new AppointmentCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(FeedBackMessage.INVALID_APPOINTMENT_CURSOR, e);
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe string.
+     *
+     * @return the encoded cursor.
+     */
+    public String encode() {
+        String value = appointmentDate + SEPARATOR + appointmentTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
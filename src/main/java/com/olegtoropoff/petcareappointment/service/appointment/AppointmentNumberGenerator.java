@@ -0,0 +1,22 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+/**
+ * Generator of the reference numbers assigned to new appointments.
+ */
+public interface AppointmentNumberGenerator {
+
+    /**
+     * Generates a new appointment number that has not been issued before.
+     *
+     * @return the appointment number.
+     */
+    String nextAppointmentNo();
+
+    /**
+     * Checks whether a string is a well-formed appointment number issued by this generator.
+     *
+     * @param appointmentNo the string to check.
+     * @return {@code true} if the string has the format and a valid check digit.
+     */
+    boolean isValid(String appointmentNo);
+}
@@ -0,0 +1,296 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSearchProjection;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index for the substring search of the admin appointment list.
+ * <p>
+ * The emails of the patients and veterinarians and the appointment numbers are split into overlapping
+ * three-character grams, each mapped to the users or appointments whose value contains it. A search term is
+ * looked up by intersecting the postings of its grams and confirming the remaining candidates with a substring
+ * check, so no table is scanned. Terms shorter than a gram are matched against the indexed values directly.
+ * <p>
+ * The index is built from the database at startup, kept up to date with {@link AppointmentChangedEvent}s
+ * and rebuilt periodically to pick up changes made outside the application. The events include the changes made
+ * through the other instances of the application, which are relayed between the instances, so a booking is found
+ * on every instance right after it has been committed; only a relayed change that got lost waits for the next
+ * rebuild. Emails are indexed once per user, since they never change after registration.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentSearchIndex implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentSearchIndex.class);
+
+    /**
+     * The length of the grams the indexed values are split into.
+     */
+    static final int GRAM_LENGTH = 3;
+
+    /**
+     * The order of the admin appointment list: date, time and ID, all descending.
+     */
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing(Entry::appointmentDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Entry::appointmentTime, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Entry::id, Comparator.reverseOrder());
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state;
+
+    /**
+     * Builds the index once the application is ready.
+     *
+     * @param event the event signaling that the application is ready.
+     */
+    @Override
+    public void onApplicationEvent(@NonNull ApplicationReadyEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the index from the database.
+     * Runs every hour to pick up changes made outside the application.
+     */
+    @Scheduled(cron = "0 45 * * * ?")
+    public synchronized void rebuild() {
+        List<AppointmentSearchProjection> entries = appointmentRepository.findAllSearchEntries();
+        State newState = new State();
+        entries.forEach(newState::put);
+        lock.writeLock().lock();
+        try {
+            state = newState;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Appointment search index rebuilt: {} appointment(s)", entries.size());
+    }
+
+    /**
+     * Updates the index when an appointment is booked, rescheduled or deleted.
+     * Status changes do not touch any indexed field and are skipped without a database lookup.
+     * Transactional changes are applied once they have been committed.
+     *
+     * @param event the appointment change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (state == null) {
+            return;
+        }
+        if (event.deleted()) {
+            update(current -> current.remove(event.appointmentId()));
+            return;
+        }
+        Entry entry;
+        lock.readLock().lock();
+        try {
+            entry = state.appointments.get(event.appointmentId());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (entry != null && Objects.equals(entry.appointmentDate(), event.appointmentDate())
+            && Objects.equals(entry.appointmentTime(), event.appointmentTime())) {
+            return;
+        }
+        Optional<AppointmentSearchProjection> row = appointmentRepository.findSearchEntryById(event.appointmentId());
+        update(current -> row.ifPresentOrElse(current::put, () -> current.remove(event.appointmentId())));
+    }
+
+    /**
+     * Finds the appointments whose patient email, veterinarian email or appointment number contains a term.
+     *
+     * @param term the lower-case search term.
+     * @return the IDs of the matching appointments ordered by date, time and ID, all descending,
+     * or an empty result if the index has not been built yet.
+     */
+    public Optional<List<Long>> search(String term) {
+        lock.readLock().lock();
+        try {
+            return state != null ? Optional.of(state.search(term)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a value into its distinct overlapping grams.
+     *
+     * @param value the value.
+     * @return the grams of the value, empty if it is shorter than {@link #GRAM_LENGTH}.
+     */
+    static Set<String> grams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * The searchable fields of an appointment.
+     */
+    private record Entry(Long id, LocalDate appointmentDate, LocalTime appointmentTime, Long patientId,
+                         Long veterinarianId) {
+    }
+
+    /**
+     * The contents of the index. Modified only while holding the write lock.
+     */
+    private static final class State {
+        private final Map<Long, Entry> appointments = new HashMap<>();
+        private final Map<Long, String> numbers = new HashMap<>();
+        private final Map<String, Set<Long>> appointmentsByGram = new HashMap<>();
+        private final Map<Long, String> emails = new HashMap<>();
+        private final Map<String, Set<Long>> usersByGram = new HashMap<>();
+        private final Map<Long, Set<Long>> appointmentsByUser = new HashMap<>();
+
+        void put(AppointmentSearchProjection row) {
+            remove(row.getId());
+            appointments.put(row.getId(), new Entry(row.getId(), row.getAppointmentDate(), row.getAppointmentTime(),
+                    row.getPatientId(), row.getVeterinarianId()));
+            if (row.getAppointmentNo() != null) {
+                String number = row.getAppointmentNo().toLowerCase();
+                numbers.put(row.getId(), number);
+                addPostings(appointmentsByGram, number, row.getId());
+            }
+            addParticipant(row.getPatientId(), row.getPatientEmail(), row.getId());
+            addParticipant(row.getVeterinarianId(), row.getVeterinarianEmail(), row.getId());
+        }
+
+        void remove(Long appointmentId) {
+            Entry entry = appointments.remove(appointmentId);
+            if (entry == null) {
+                return;
+            }
+            String number = numbers.remove(appointmentId);
+            if (number != null) {
+                removePostings(appointmentsByGram, number, appointmentId);
+            }
+            removeParticipant(entry.patientId(), appointmentId);
+            removeParticipant(entry.veterinarianId(), appointmentId);
+        }
+
+        List<Long> search(String term) {
+            Set<Long> matches = new HashSet<>(find(appointmentsByGram, numbers, term));
+            for (Long userId : find(usersByGram, emails, term)) {
+                matches.addAll(appointmentsByUser.getOrDefault(userId, Set.of()));
+            }
+            return matches.stream()
+                    .map(appointments::get)
+                    .filter(Objects::nonNull)
+                    .sorted(NEWEST_FIRST)
+                    .map(Entry::id)
+                    .toList();
+        }
+
+        private void addParticipant(Long userId, String email, Long appointmentId) {
+            if (userId == null) {
+                return;
+            }
+            appointmentsByUser.computeIfAbsent(userId, id -> new HashSet<>()).add(appointmentId);
+            if (email != null && !emails.containsKey(userId)) {
+                String value = email.toLowerCase();
+                emails.put(userId, value);
+                addPostings(usersByGram, value, userId);
+            }
+        }
+
+        private void removeParticipant(Long userId, Long appointmentId) {
+            Set<Long> userAppointments = userId != null ? appointmentsByUser.get(userId) : null;
+            if (userAppointments == null) {
+                return;
+            }
+            userAppointments.remove(appointmentId);
+            if (userAppointments.isEmpty()) {
+                appointmentsByUser.remove(userId);
+                String email = emails.remove(userId);
+                if (email != null) {
+                    removePostings(usersByGram, email, userId);
+                }
+            }
+        }
+
+        private static Set<Long> find(Map<String, Set<Long>> postings, Map<Long, String> values, String term) {
+            Set<Long> matches = new HashSet<>();
+            if (term.length() < GRAM_LENGTH) {
+                values.forEach((id, value) -> {
+                    if (value.contains(term)) {
+                        matches.add(id);
+                    }
+                });
+                return matches;
+            }
+            List<Set<Long>> candidateSets = new ArrayList<>();
+            for (String gram : grams(term)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return matches;
+                }
+                candidateSets.add(ids);
+            }
+            candidateSets.sort(Comparator.comparingInt(Set::size));
+            for (Long id : candidateSets.get(0)) {
+                if (values.get(id).contains(term)) {
+                    matches.add(id);
+                }
+            }
+            return matches;
+        }
+
+        private static void addPostings(Map<String, Set<Long>> postings, String value, Long id) {
+            for (String gram : grams(value)) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+            }
+        }
+
+        private static void removePostings(Map<String, Set<Long>> postings, String value, Long id) {
+            for (String gram : grams(value)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+}
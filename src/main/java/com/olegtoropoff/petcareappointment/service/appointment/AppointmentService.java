@@ -1,13 +1,24 @@
 package com.olegtoropoff.petcareappointment.service.appointment;
 
 import com.olegtoropoff.petcareappointment.dto.AppointmentDto;
+import com.olegtoropoff.petcareappointment.dto.CursorPageDto;
 import com.olegtoropoff.petcareappointment.dto.EntityConverter;
+import com.olegtoropoff.petcareappointment.dto.PetDto;
+import com.olegtoropoff.petcareappointment.dto.ProjectionConverter;
+import com.olegtoropoff.petcareappointment.dto.UserDto;
 import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatusTransition;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import com.olegtoropoff.petcareappointment.exception.AppointmentConflictException;
+import com.olegtoropoff.petcareappointment.exception.AppointmentNumberConflictException;
 import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
 import com.olegtoropoff.petcareappointment.model.Appointment;
 import com.olegtoropoff.petcareappointment.model.Pet;
-import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSummaryProjection;
+import com.olegtoropoff.petcareappointment.projection.BookingEligibilityProjection;
+import com.olegtoropoff.petcareappointment.projection.PetSummaryProjection;
 import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import com.olegtoropoff.petcareappointment.repository.PetRepository;
 import com.olegtoropoff.petcareappointment.repository.UserRepository;
 import com.olegtoropoff.petcareappointment.request.AppointmentUpdateRequest;
 import com.olegtoropoff.petcareappointment.request.BookAppointmentRequest;
@@ -15,19 +26,32 @@ import com.olegtoropoff.petcareappointment.service.pet.IPetService;
 import com.olegtoropoff.petcareappointment.service.veterinarian.VeterinarianService;
 import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing appointments.
@@ -38,73 +62,126 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class AppointmentService implements IAppointmentService {
     private static final int MAX_ACTIVE_APPOINTMENTS = 2;
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final List<AppointmentStatus> INACTIVE_STATUSES =
+            List.of(AppointmentStatus.COMPLETED, AppointmentStatus.CANCELLED, AppointmentStatus.NOT_APPROVED);
+    /**
+     * How recently the status of an appointment must have changed for a failed transition to count as a lost race.
+     * Also covers the clock difference between the application instances.
+     */
+    static final Duration CONCURRENT_CHANGE_WINDOW = Duration.ofSeconds(5);
+
+    /**
+     * The name of the unique constraint on the appointment number.
+     */
+    private static final String APPOINTMENT_NO_CONSTRAINT = "uk_appointment_appointment_no";
 
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final IPetService petService;
+    private final PetRepository petRepository;
     private final EntityConverter<Appointment, AppointmentDto> entityConverter;
-    private final ModelMapper modelMapper;
+    private final ProjectionConverter projectionConverter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ISlotReservationService slotReservationService;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final AppointmentNumberGenerator appointmentNumberGenerator;
+    private final AppointmentCountEstimate appointmentCountEstimate;
+    private final AppointmentSearchIndex appointmentSearchIndex;
 
     /**
      * Creates a new appointment and associates pets with it.
      * Validates the sender and recipient, and ensures the sender does not exceed the maximum number of active appointments.
+     * The time slot is reserved in the veterinarian's schedule, so concurrent bookings of the same time cannot both succeed.
+     * A slot held by another patient is rejected right away; a slot held by the sender is booked and its hold released.
+     * <p>
+     * The sender, the recipient and the active appointment limit are checked with a single query, and the users are
+     * attached as references without being loaded. The pets are saved together with the appointment.
+     * <p>
+     * The appointment is flushed before its slots are reserved, so a violation of the unique appointment number is
+     * told apart from a slot conflict. It is reported as an {@link AppointmentNumberConflictException}, after which
+     * the booking can be repeated with a new number.
      *
      * @param request     the appointment and pet details.
      * @param senderId    the ID of the patient (sender).
      * @param recipientId the ID of the veterinarian (recipient).
      * @return the created appointment.
+     * @throws AppointmentNumberConflictException if the generated appointment number is already taken.
      */
     @Transactional
     @Override
     public Appointment createAppointment(BookAppointmentRequest request, Long senderId, Long recipientId) {
-        Optional<User> sender = userRepository.findById(senderId);
-
-        if (sender.isPresent() && sender.get().getUserType().equals("VET")) {
+        BookingEligibilityProjection eligibility = appointmentRepository
+                .findBookingEligibility(senderId, recipientId, INACTIVE_STATUSES)
+                .orElseThrow(() -> new ResourceNotFoundException(FeedBackMessage.SENDER_RECIPIENT_NOT_FOUND));
+        if ("VET".equals(eligibility.getSenderType())) {
             throw new IllegalStateException(FeedBackMessage.VET_APPOINTMENT_NOT_ALLOWED);
         }
+        if (!eligibility.getRecipientExists()) {
+            throw new ResourceNotFoundException(FeedBackMessage.SENDER_RECIPIENT_NOT_FOUND);
+        }
+        if (eligibility.getActiveAppointments() >= MAX_ACTIVE_APPOINTMENTS) {
+            throw new IllegalStateException(FeedBackMessage.TOO_MANY_ACTIVE_APPOINTMENTS);
+        }
 
-        Optional<User> recipient = userRepository.findById(recipientId);
-
-        if (sender.isPresent() && recipient.isPresent()) {
-            int activeAppointmentsCount = countActiveAppointments(senderId);
-            if (activeAppointmentsCount >= MAX_ACTIVE_APPOINTMENTS) {
-                throw new IllegalStateException(FeedBackMessage.TOO_MANY_ACTIVE_APPOINTMENTS);
-            }
-
-            Appointment appointment = request.getAppointment();
-            List<Pet> pets = request.getPets();
-            pets.forEach(pet -> pet.setAppointment(appointment));
-            List<Pet> savedPets = petService.savePetForAppointment(pets);
+        Appointment appointment = request.getAppointment();
+        if (slotHoldRegistry.isHeldByAnotherPatient(senderId, recipientId,
+                appointment.getAppointmentDate(), appointment.getAppointmentTime())) {
+            throw new IllegalStateException(FeedBackMessage.SLOT_HELD_BY_ANOTHER_PATIENT);
+        }
+        List<Pet> pets = request.getPets();
+        pets.forEach(pet -> pet.setAppointment(appointment));
 
-            appointment.setPets(savedPets);
-            appointment.addPatient(sender.get());
-            appointment.addVeterinarian(recipient.get());
-            appointment.setAppointmentNo();
-            appointment.setStatus(AppointmentStatus.WAITING_FOR_APPROVAL);
+        appointment.setPets(pets);
+        appointment.setPatient(userRepository.getReferenceById(senderId));
+        appointment.setVeterinarian(userRepository.getReferenceById(recipientId));
+        appointment.setAppointmentNo(appointmentNumberGenerator.nextAppointmentNo());
+        appointment.setStatus(AppointmentStatus.WAITING_FOR_APPROVAL);
 
-            return appointmentRepository.save(appointment);
+        Appointment savedAppointment;
+        try {
+            savedAppointment = appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            if (isAppointmentNoViolation(e)) {
+                throw new AppointmentNumberConflictException(
+                        "Appointment number " + appointment.getAppointmentNo() + " is already taken", e);
+            }
+            throw e;
         }
+        slotReservationService.reserve(savedAppointment);
+        slotHoldRegistry.release(senderId, recipientId, appointment.getAppointmentDate(), appointment.getAppointmentTime());
+        eventPublisher.publishEvent(AppointmentChangedEvent.changed(savedAppointment));
+        return savedAppointment;
+    }
 
-        throw new ResourceNotFoundException(FeedBackMessage.SENDER_RECIPIENT_NOT_FOUND);
+    private static boolean isAppointmentNoViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(APPOINTMENT_NO_CONSTRAINT);
     }
 
     /**
      * Updates an existing appointment's date, time, and reason.
+     * The previously reserved time slot is released and the new one is reserved.
      *
      * @param id      the ID of the appointment to update.
      * @param request the updated appointment details.
      * @return the updated appointment.
      */
+    @Transactional
     @Override
     public AppointmentDto updateAppointment(Long id, AppointmentUpdateRequest request) {
         Appointment existingAppointment = getAppointmentById(id);
         if (!Objects.equals(existingAppointment.getStatus(), AppointmentStatus.WAITING_FOR_APPROVAL)) {
             throw new IllegalStateException(FeedBackMessage.APPOINTMENT_UPDATE_NOT_ALLOWED);
         }
+        LocalDate previousDate = existingAppointment.getAppointmentDate();
         existingAppointment.setAppointmentDate(LocalDate.parse(request.getAppointmentDate()));
         existingAppointment.setAppointmentTime(LocalTime.parse(request.getAppointmentTime()));
         existingAppointment.setReason(request.getReason());
         Appointment updatedAppointment = appointmentRepository.save(existingAppointment);
+        slotReservationService.release(updatedAppointment.getId());
+        slotReservationService.reserve(updatedAppointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.rescheduled(updatedAppointment, previousDate));
         return entityConverter.mapEntityToDto(updatedAppointment, AppointmentDto.class);
     }
 
@@ -115,6 +192,7 @@ public class AppointmentService implements IAppointmentService {
      * @param pet the pet details to add.
      * @return the updated appointment.
      */
+    @Transactional
     @Override
     public AppointmentDto addPetForAppointment(Long id, Pet pet) {
         Appointment existingAppointment = getAppointmentById(id);
@@ -135,24 +213,92 @@ public class AppointmentService implements IAppointmentService {
      * @param pageable the pagination details.
      * @return a page of appointment DTOs.
      */
+    @Transactional(readOnly = true)
     @Override
     public Page<AppointmentDto> getAllAppointments(Pageable pageable) {
         return appointmentRepository.findAll(pageable)
-                .map(appointment -> modelMapper.map(appointment, AppointmentDto.class));
+                .map(appointment -> entityConverter.mapEntityToDto(appointment, AppointmentDto.class));
+    }
+
+    /**
+     * Retrieves a page of all appointments, starting after the position of a cursor.
+     * <p>
+     * The page is read with a seek on the date, time and ID index instead of an offset, so deep pages are as fast
+     * as the first one. One appointment more than the page size is read to tell whether a next page exists, and
+     * the total is served from {@link AppointmentCountEstimate} instead of counting on every request.
+     *
+     * @param cursor       the cursor returned with the previous page, or {@code null} or blank for the first page.
+     * @param size         the maximum number of appointments on the page.
+     * @param includeTotal whether to include the estimated total number of appointments.
+     * @return the page, with the cursor of the next page if there is one.
+     * @throws IllegalArgumentException if the cursor is malformed or the size is out of range.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDto<AppointmentDto> getAppointmentsAfter(String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format(FeedBackMessage.INVALID_PAGE_SIZE, MAX_CURSOR_PAGE_SIZE));
+        }
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<Appointment> appointments;
+        if (cursor == null || cursor.isBlank()) {
+            appointments = appointmentRepository.findFirstPage(limit);
+        } else {
+            AppointmentCursor position = AppointmentCursor.decode(cursor);
+            appointments = appointmentRepository.findPageAfter(
+                    position.appointmentDate(), position.appointmentTime(), position.id(), limit);
+        }
+        boolean hasNext = appointments.size() > size;
+        List<Appointment> page = hasNext ? appointments.subList(0, size) : appointments;
+        String nextCursor = hasNext ? AppointmentCursor.of(page.get(size - 1)).encode() : null;
+        List<AppointmentDto> content = page.stream()
+                .map(appointment -> entityConverter.mapEntityToDto(appointment, AppointmentDto.class))
+                .toList();
+        return new CursorPageDto<>(content, nextCursor, includeTotal ? appointmentCountEstimate.get() : null);
     }
 
     /**
      * Searches for appointments based on a search term with pagination support.
+     * A complete appointment number is looked up through the unique index instead of a substring search.
+     * <p>
+     * Other terms are resolved to the IDs of the matching appointments by {@link AppointmentSearchIndex}, which
+     * orders them by date, time and ID, all descending; only the appointments of the requested page are then
+     * loaded by ID. Until the index has been built, the search falls back to a substring query on the database.
+     * The index of every instance receives the appointment changes made through the other instances, see
+     * {@link AppointmentSearchIndex}.
      *
      * @param search   the search term used to filter appointments. It is case-insensitive and may match
      *                 fields such as patient email, veterinarian email, or appointment number
      * @param pageable the pagination and sorting information
      * @return a paginated list of appointments matching the search criteria, mapped to AppointmentDto objects
      */
+    @Transactional(readOnly = true)
     @Override
     public Page<AppointmentDto> searchAppointments(String search, Pageable pageable) {
-        return appointmentRepository.searchAppointments(search.toLowerCase(), pageable)
-                .map(appointment -> modelMapper.map(appointment, AppointmentDto.class));
+        if (appointmentNumberGenerator.isValid(search)) {
+            List<Appointment> appointments = appointmentRepository.findByAppointmentNo(search).stream().toList();
+            return new PageImpl<>(pageable.getOffset() < appointments.size() ? appointments : List.of(),
+                    pageable, appointments.size())
+                    .map(appointment -> entityConverter.mapEntityToDto(appointment, AppointmentDto.class));
+        }
+        String term = search.toLowerCase();
+        Optional<List<Long>> matchingIds = appointmentSearchIndex.search(term);
+        if (matchingIds.isEmpty()) {
+            return appointmentRepository.searchAppointments(term, pageable)
+                    .map(appointment -> entityConverter.mapEntityToDto(appointment, AppointmentDto.class));
+        }
+        List<Long> ids = matchingIds.get();
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        List<Long> pageIds = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+        Map<Long, Appointment> appointments = pageIds.isEmpty() ? Map.of() :
+                appointmentRepository.findAllWithParticipantsByIdIn(pageIds).stream()
+                        .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+        List<AppointmentDto> content = pageIds.stream()
+                .map(appointments::get)
+                .filter(Objects::nonNull)
+                .map(appointment -> entityConverter.mapEntityToDto(appointment, AppointmentDto.class))
+                .toList();
+        return new PageImpl<>(content, pageable, ids.size());
     }
 
     /**
@@ -164,6 +310,7 @@ public class AppointmentService implements IAppointmentService {
      * @return the {@code AppointmentDto} containing the appointment details.
      * @throws ResourceNotFoundException if the appointment with the given ID is not found.
      */
+    @Transactional(readOnly = true)
     @Override
     public AppointmentDto getAppointmentDtoById(Long id) {
         Appointment appointment = getAppointmentById(id);
@@ -175,25 +322,54 @@ public class AppointmentService implements IAppointmentService {
      *
      * @param id the ID of the appointment to delete.
      */
+    @Transactional
     @Override
     public void deleteAppointment(Long id) {
         appointmentRepository.findById(id)
-                .ifPresentOrElse(appointmentRepository::delete, () -> {
+                .ifPresentOrElse(appointment -> {
+                    appointmentRepository.delete(appointment);
+                    slotReservationService.release(appointment.getId());
+                    eventPublisher.publishEvent(AppointmentChangedEvent.deleted(appointment));
+                }, () -> {
                     throw new ResourceNotFoundException(FeedBackMessage.APPOINTMENT_NOT_FOUND);
                 });
     }
 
     /**
      * Retrieves all appointments for a specific user.
+     * <p>
+     * The appointments, their participants and their pets are read as column projections with one query each,
+     * independent of the number of appointments, and mapped to DTOs without loading any entities.
      *
      * @param userId the ID of the user.
      * @return a list of appointment DTOs.
      */
+    @Transactional(readOnly = true)
     @Override
     public List<AppointmentDto> getUserAppointments(Long userId) {
-        List<Appointment> appointments = appointmentRepository.findAllByUserId(userId);
+        List<AppointmentSummaryProjection> appointments = appointmentRepository.findSummariesByUserId(userId);
+        if (appointments.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> participantIds = new HashSet<>();
+        appointments.forEach(appointment -> {
+            participantIds.add(appointment.getPatientId());
+            participantIds.add(appointment.getVeterinarianId());
+        });
+        participantIds.remove(null);
+        Map<Long, UserDto> participants = projectionConverter
+                .mapUsersToDtos(userRepository.findSummariesByIdIn(participantIds)).stream()
+                .collect(Collectors.toMap(UserDto::getId, Function.identity()));
+        List<Long> appointmentIds = appointments.stream().map(AppointmentSummaryProjection::getId).toList();
+        Map<Long, List<PetDto>> pets = petRepository.findSummariesByAppointmentIdIn(appointmentIds).stream()
+                .collect(Collectors.groupingBy(PetSummaryProjection::getAppointmentId,
+                        Collectors.mapping(projectionConverter::mapPetToDto, Collectors.toList())));
         return appointments.stream()
-                .map(appointment -> entityConverter.mapEntityToDto(appointment, AppointmentDto.class)).toList();
+                .map(appointment -> projectionConverter.mapAppointmentToDto(appointment,
+                        participants.get(appointment.getPatientId()),
+                        participants.get(appointment.getVeterinarianId()),
+                        pets.getOrDefault(appointment.getId(), new ArrayList<>())))
+                .toList();
     }
 
     /**
@@ -201,16 +377,17 @@ public class AppointmentService implements IAppointmentService {
      *
      * @param appointmentId the ID of the appointment to cancel.
      * @return the updated appointment with CANCELLED status.
+     * @throws IllegalStateException        if the appointment does not exist or is not waiting for approval.
+     * @throws AppointmentConflictException if the appointment has been changed concurrently.
      */
+    @Transactional
     @Override
     public AppointmentDto cancelAppointment(Long appointmentId) {
-        return appointmentRepository.findById(appointmentId)
-                .filter(appointment -> appointment.getStatus().equals(AppointmentStatus.WAITING_FOR_APPROVAL))
-                .map(appointment -> {
-                    appointment.setStatus(AppointmentStatus.CANCELLED);
-                    Appointment updatedAppointment = appointmentRepository.saveAndFlush(appointment);
-                    return entityConverter.mapEntityToDto(updatedAppointment, AppointmentDto.class);
-                }).orElseThrow(() -> new IllegalStateException(FeedBackMessage.APPOINTMENT_UPDATE_NOT_ALLOWED));
+        Appointment updatedAppointment = transitionStatus(appointmentId,
+                AppointmentStatus.WAITING_FOR_APPROVAL, AppointmentStatus.CANCELLED, FeedBackMessage.APPOINTMENT_UPDATE_NOT_ALLOWED);
+        slotReservationService.release(updatedAppointment.getId());
+        eventPublisher.publishEvent(AppointmentChangedEvent.changed(updatedAppointment));
+        return entityConverter.mapEntityToDto(updatedAppointment, AppointmentDto.class);
     }
 
     /**
@@ -218,17 +395,16 @@ public class AppointmentService implements IAppointmentService {
      *
      * @param appointmentId the ID of the appointment to approve.
      * @return the updated appointment with APPROVED status.
-     * @throws IllegalStateException if the operation is not allowed due to the current appointment status.
+     * @throws IllegalStateException        if the appointment does not exist or is not waiting for approval.
+     * @throws AppointmentConflictException if the appointment has been changed concurrently.
      */
+    @Transactional
     @Override
     public AppointmentDto approveAppointment(Long appointmentId) {
-        return appointmentRepository.findById(appointmentId)
-                .filter(appointment -> appointment.getStatus().equals(AppointmentStatus.WAITING_FOR_APPROVAL))
-                .map(appointment -> {
-                    appointment.setStatus(AppointmentStatus.APPROVED);
-                    Appointment updatedAppointment = appointmentRepository.saveAndFlush(appointment);
-                    return entityConverter.mapEntityToDto(updatedAppointment, AppointmentDto.class);
-                }).orElseThrow(() -> new IllegalStateException(FeedBackMessage.OPERATION_NOT_ALLOWED));
+        Appointment updatedAppointment = transitionStatus(appointmentId,
+                AppointmentStatus.WAITING_FOR_APPROVAL, AppointmentStatus.APPROVED, FeedBackMessage.OPERATION_NOT_ALLOWED);
+        eventPublisher.publishEvent(AppointmentChangedEvent.changed(updatedAppointment));
+        return entityConverter.mapEntityToDto(updatedAppointment, AppointmentDto.class);
     }
 
     /**
@@ -236,17 +412,17 @@ public class AppointmentService implements IAppointmentService {
      *
      * @param appointmentId the ID of the appointment to decline.
      * @return the updated appointment with NOT_APPROVED status.
-     * @throws IllegalStateException if the operation is not allowed due to the current appointment status.
+     * @throws IllegalStateException        if the appointment does not exist or is not waiting for approval.
+     * @throws AppointmentConflictException if the appointment has been changed concurrently.
      */
+    @Transactional
     @Override
     public AppointmentDto declineAppointment(Long appointmentId) {
-        return appointmentRepository.findById(appointmentId)
-                .filter(appointment -> appointment.getStatus().equals(AppointmentStatus.WAITING_FOR_APPROVAL))
-                .map(appointment -> {
-                    appointment.setStatus(AppointmentStatus.NOT_APPROVED);
-                    Appointment updatedAppointment = appointmentRepository.saveAndFlush(appointment);
-                    return entityConverter.mapEntityToDto(updatedAppointment, AppointmentDto.class);
-                }).orElseThrow(() -> new IllegalStateException(FeedBackMessage.OPERATION_NOT_ALLOWED));
+        Appointment updatedAppointment = transitionStatus(appointmentId,
+                AppointmentStatus.WAITING_FOR_APPROVAL, AppointmentStatus.NOT_APPROVED, FeedBackMessage.OPERATION_NOT_ALLOWED);
+        slotReservationService.release(updatedAppointment.getId());
+        eventPublisher.publishEvent(AppointmentChangedEvent.changed(updatedAppointment));
+        return entityConverter.mapEntityToDto(updatedAppointment, AppointmentDto.class);
     }
 
     /**
@@ -254,6 +430,7 @@ public class AppointmentService implements IAppointmentService {
      *
      * @return the total number of appointments.
      */
+    @Transactional(readOnly = true)
     @Override
     public long countAppointments() {
         return appointmentRepository.count();
@@ -265,6 +442,7 @@ public class AppointmentService implements IAppointmentService {
      *
      * @return a list of maps, where each map contains the status and the count.
      */
+    @Transactional(readOnly = true)
     @Override
     public List<Map<String, Object>> getAppointmentSummary() {
         return appointmentRepository.getAppointmentSummary();
@@ -275,6 +453,7 @@ public class AppointmentService implements IAppointmentService {
      *
      * @return a list of appointment IDs.
      */
+    @Transactional(readOnly = true)
     @Override
     public List<Long> getAppointmentIds() {
         return appointmentRepository.findAllIds();
@@ -287,6 +466,8 @@ public class AppointmentService implements IAppointmentService {
      * - UP_COMING -> ON_GOING if the appointment is currently taking place.
      * - ON_GOING -> COMPLETED if the appointment has ended.
      * - WAITING_FOR_APPROVAL -> NOT_APPROVED if the appointment time has passed without approval.
+     * The new status is written with a conditional update, so a concurrent change of the status is never overwritten.
+     * An {@link AppointmentChangedEvent} is published if the status has been changed.
      *
      * @param appointmentId the ID of the appointment to update.
      */
@@ -297,35 +478,129 @@ public class AppointmentService implements IAppointmentService {
         LocalTime currentTime = LocalTime.now();
         LocalTime appointmentEndTime = appointment.getAppointmentTime()
                 .plusMinutes(VeterinarianService.APPOINTMENT_DURATION_MINUTES).truncatedTo(ChronoUnit.MINUTES);
+        AppointmentStatus newStatus = null;
         switch (appointment.getStatus()) {
             case APPROVED:
                 if (currentDate.isBefore(appointment.getAppointmentDate()) ||
                     (currentDate.equals(appointment.getAppointmentDate()) && currentTime.isBefore(appointment.getAppointmentTime()))) {
-                    appointment.setStatus(AppointmentStatus.UP_COMING);
+                    newStatus = AppointmentStatus.UP_COMING;
                 }
                 break;
 
             case UP_COMING:
                 if (currentDate.equals(appointment.getAppointmentDate()) &&
                     currentTime.isAfter(appointment.getAppointmentTime()) && currentTime.isBefore(appointmentEndTime)) {
-                    appointment.setStatus(AppointmentStatus.ON_GOING);
+                    newStatus = AppointmentStatus.ON_GOING;
                 }
                 break;
             case ON_GOING:
                 if (currentDate.isAfter(appointment.getAppointmentDate()) ||
                     (currentDate.equals(appointment.getAppointmentDate()) && currentTime.isAfter(appointmentEndTime))) {
-                    appointment.setStatus(AppointmentStatus.COMPLETED);
+                    newStatus = AppointmentStatus.COMPLETED;
                 }
                 break;
 
             case WAITING_FOR_APPROVAL:
                 if (currentDate.isAfter(appointment.getAppointmentDate()) ||
                     (currentDate.equals(appointment.getAppointmentDate()) && currentTime.isAfter(appointment.getAppointmentTime()))) {
-                    appointment.setStatus(AppointmentStatus.NOT_APPROVED);
+                    newStatus = AppointmentStatus.NOT_APPROVED;
                 }
                 break;
         }
-        appointmentRepository.save(appointment);
+        if (newStatus != null && appointmentRepository.updateStatusById(appointmentId, appointment.getStatus(), newStatus) > 0) {
+            eventPublisher.publishEvent(AppointmentChangedEvent.statusChanged(appointmentId,
+                    appointment.getVeterinarian() != null ? appointment.getVeterinarian().getId() : null,
+                    appointment.getAppointmentDate(), appointment.getAppointmentTime(), newStatus));
+        }
+    }
+
+    /**
+     * Moves every appointment whose status is outdated to its next status.
+     * <p>
+     * Instead of loading appointments one by one, each {@link AppointmentStatusTransition} is applied with a single
+     * conditional update that only touches rows with the transition's source status and a matching date window:
+     * <ul>
+     *     <li>APPROVED -> UP_COMING if the appointment has not started yet.</li>
+     *     <li>UP_COMING -> ON_GOING if the appointment has started but not ended.</li>
+     *     <li>ON_GOING -> COMPLETED if the appointment has ended.</li>
+     *     <li>WAITING_FOR_APPROVAL -> NOT_APPROVED if the appointment time has passed without approval.</li>
+     * </ul>
+     * Appointments in a terminal status are never read or written. Only appointments of the given shards are
+     * updated, so that nodes owning different shards never touch the same rows.
+     * <p>
+     * Every update records the same moment of change on the rows it moves, so the moved appointments are then
+     * read back with one query per transition that moved any, and an {@link AppointmentChangedEvent} is published
+     * for each of them.
+     *
+     * @param shardCount the total number of appointment shards.
+     * @param shards     the shards to update; an appointment belongs to shard {@code id % shardCount}.
+     * @return the number of appointments moved by each transition.
+     */
+    @Transactional
+    @Override
+    public Map<AppointmentStatusTransition, Integer> updateAppointmentStatuses(int shardCount, Collection<Integer> shards) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDate currentDate = now.toLocalDate();
+        LocalTime currentTime = now.toLocalTime();
+        LocalDateTime endedBefore = now.minusMinutes(VeterinarianService.APPOINTMENT_DURATION_MINUTES);
+        LocalTime startedAfter = endedBefore.toLocalDate().isBefore(currentDate) ? LocalTime.MIN : endedBefore.toLocalTime();
+
+        Map<AppointmentStatusTransition, Integer> updatedCounts = new EnumMap<>(AppointmentStatusTransition.class);
+        for (AppointmentStatusTransition transition : AppointmentStatusTransition.values()) {
+            AppointmentStatus from = transition.getFrom();
+            AppointmentStatus to = transition.getTo();
+            int updated = switch (transition) {
+                case APPROVED_TO_UP_COMING ->
+                        appointmentRepository.updateStatusForAppointmentsStartingAfter(from, to, currentDate, currentTime, shardCount, shards, now);
+                case UP_COMING_TO_ON_GOING ->
+                        appointmentRepository.updateStatusForAppointmentsStartingBetween(from, to, currentDate, startedAfter, currentTime, shardCount, shards, now);
+                case ON_GOING_TO_COMPLETED ->
+                        appointmentRepository.updateStatusForAppointmentsStartingBefore(from, to, endedBefore.toLocalDate(), endedBefore.toLocalTime(), shardCount, shards, now);
+                case WAITING_FOR_APPROVAL_TO_NOT_APPROVED ->
+                        appointmentRepository.updateStatusForAppointmentsStartingBefore(from, to, currentDate, currentTime, shardCount, shards, now);
+            };
+            updatedCounts.put(transition, updated);
+            if (updated > 0) {
+                appointmentRepository.findSlotsByStatusChange(to, now, shardCount, shards)
+                        .forEach(appointment -> eventPublisher.publishEvent(AppointmentChangedEvent.statusChanged(
+                                appointment.getId(), appointment.getVeterinarianId(), appointment.getAppointmentDate(),
+                                appointment.getAppointmentTime(), appointment.getStatus())));
+            }
+        }
+        return updatedCounts;
+    }
+
+    /**
+     * Moves an appointment from one status to another.
+     * <p>
+     * The check of the current status and the write of the new one are a single conditional update, so of two
+     * concurrent transitions of the same appointment only one succeeds. When nothing is updated, the appointment
+     * is looked up only to report why: a status changed within {@link #CONCURRENT_CHANGE_WINDOW} means the
+     * transition lost a race to a concurrent one, any other status means the transition is not allowed.
+     * The updated appointment is read afterwards, since the caller returns it.
+     *
+     * @param appointmentId     the ID of the appointment.
+     * @param from              the status the appointment must currently have.
+     * @param to                the status to set.
+     * @param notAllowedMessage the message reported when the appointment does not have the expected status.
+     * @return the updated appointment.
+     * @throws IllegalStateException        if the appointment does not exist or does not have the expected status.
+     * @throws AppointmentConflictException if the status of the appointment has just been changed concurrently.
+     */
+    private Appointment transitionStatus(Long appointmentId, AppointmentStatus from, AppointmentStatus to,
+                                         String notAllowedMessage) {
+        LocalDateTime now = LocalDateTime.now();
+        if (appointmentRepository.updateStatusById(appointmentId, from, to, now) == 0) {
+            boolean changedConcurrently = appointmentRepository
+                    .findStatusChangedSinceById(appointmentId, now.minus(CONCURRENT_CHANGE_WINDOW))
+                    .orElse(false);
+            if (changedConcurrently) {
+                throw new AppointmentConflictException(FeedBackMessage.APPOINTMENT_CHANGED_CONCURRENTLY);
+            }
+            throw new IllegalStateException(notAllowedMessage);
+        }
+        return appointmentRepository.findById(appointmentId)
+                .orElseThrow(() -> new IllegalStateException(notAllowedMessage));
     }
 
     /**
@@ -338,18 +613,4 @@ public class AppointmentService implements IAppointmentService {
         return appointmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(FeedBackMessage.APPOINTMENT_NOT_FOUND));
     }
-
-    /**
-     * Counts the number of active appointments for a specific patient.
-     * An active appointment is defined as one whose status is neither COMPLETED, CANCELLED, nor NOT_APPROVED.
-     *
-     * @param senderId the ID of the patient whose active appointments are being counted.
-     * @return the count of active appointments for the given patient.
-     */
-    private int countActiveAppointments(Long senderId) {
-        return appointmentRepository.countByPatientIdAndStatusNotIn(
-                senderId,
-                List.of(AppointmentStatus.COMPLETED, AppointmentStatus.CANCELLED, AppointmentStatus.NOT_APPROVED)
-        );
-    }
 }
@@ -0,0 +1,292 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.exception.AppointmentNumberConflictException;
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.request.BookAppointmentRequest;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VetAvailabilityIndex;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VeterinarianService;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Booking pipeline that lets a single thread write all bookings of a veterinarian.
+ * <p>
+ * When the pipeline is enabled, veterinarians are striped by their ID over a fixed number of workers. Each worker
+ * has its own mailbox, which it drains in micro-batches:
+ * <ul>
+ *     <li>Every booking of a batch is first checked against the {@link VetAvailabilityIndex} and the bookings
+ *     accepted earlier in the same batch, so a burst of requests for one slot is rejected in memory. A slot the
+ *     index reports as blocked is confirmed against the database once per day and batch before its bookings are
+ *     rejected, since the index may not have seen a cancellation made through another instance yet.</li>
+ *     <li>The remaining bookings are committed in a single transaction.</li>
+ *     <li>If that transaction fails, it is rolled back and the bookings are committed one by one,
+ *     so a failing booking does not affect the others of its batch.</li>
+ * </ul>
+ * Bookings of the same veterinarian therefore never compete for the same rows, while bookings of different
+ * veterinarians are still written in parallel. The database constraints stay in place for bookings made by
+ * other instances of the application.
+ * <p>
+ * The pipeline is disabled by default; bookings are then created directly in the calling thread.
+ * <p>
+ * A booking whose generated appointment number turns out to be taken is repeated with a new number, up to
+ * {@value #MAX_APPOINTMENT_NO_ATTEMPTS} times, whether or not the pipeline is enabled.
+ */
+@Component
+public class BookingPipeline implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(BookingPipeline.class);
+
+    private static final long POLL_INTERVAL_MS = 500;
+
+    /**
+     * The number of times a booking is attempted when its appointment number is already taken.
+     */
+    static final int MAX_APPOINTMENT_NO_ATTEMPTS = 3;
+
+    private final IAppointmentService appointmentService;
+    private final VetAvailabilityIndex availabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final List<Worker> workers;
+
+    /**
+     * Creates the pipeline and, if it is enabled, starts its workers.
+     *
+     * @param appointmentService the service that creates the appointments.
+     * @param availabilityIndex  the in-memory index of the veterinarians' schedules.
+     * @param transactionManager the transaction manager used to commit a batch in one transaction.
+     * @param enabled            whether bookings are passed through the pipeline.
+     * @param workerCount        the number of workers the veterinarians are striped over.
+     * @param batchSize          the maximum number of bookings committed in one transaction.
+     */
+    public BookingPipeline(IAppointmentService appointmentService,
+                           VetAvailabilityIndex availabilityIndex,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${appointment.booking-pipeline.enabled:false}") boolean enabled,
+                           @Value("${appointment.booking-pipeline.workers:8}") int workerCount,
+                           @Value("${appointment.booking-pipeline.batch-size:16}") int batchSize) {
+        if (enabled && (workerCount < 1 || batchSize < 1)) {
+            throw new IllegalArgumentException("Booking pipeline needs at least one worker and a positive batch size");
+        }
+        this.appointmentService = appointmentService;
+        this.availabilityIndex = availabilityIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.workers = enabled ? IntStream.range(0, workerCount).mapToObj(Worker::new).toList() : List.of();
+        this.workers.forEach(Worker::start);
+    }
+
+    /**
+     * Books an appointment.
+     * <p>
+     * When the pipeline is enabled, the booking is handed over to the worker of the veterinarian and the returned
+     * future completes once the booking has been committed or rejected. Otherwise the booking is created right away
+     * and the returned future is already completed.
+     *
+     * @param request     the appointment and pet details.
+     * @param senderId    the ID of the patient (sender).
+     * @param recipientId the ID of the veterinarian (recipient).
+     * @return a future of the created appointment, completed exceptionally with the exception thrown by
+     * {@link IAppointmentService#createAppointment} if the booking is rejected.
+     */
+    public CompletableFuture<Appointment> book(BookAppointmentRequest request, Long senderId, Long recipientId) {
+        if (workers.isEmpty()) {
+            try {
+                return CompletableFuture.completedFuture(createAppointment(request, senderId, recipientId));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        Booking booking = new Booking(request, senderId, recipientId, new CompletableFuture<>());
+        workers.get(Math.floorMod(recipientId.hashCode(), workers.size())).submit(booking);
+        return booking.result();
+    }
+
+    /**
+     * Stops the workers. Bookings still waiting in the mailboxes are rejected.
+     */
+    @Override
+    public void destroy() {
+        workers.forEach(Worker::stop);
+    }
+
+    private void process(List<Booking> batch) {
+        List<Booking> accepted = new ArrayList<>();
+        List<Booking> conflicting = new ArrayList<>();
+        Map<SlotDay, Integer> blockedInBatch = new HashMap<>();
+        Map<SlotDay, Integer> confirmedBlocked = new HashMap<>();
+        for (Booking booking : batch) {
+            Appointment appointment = booking.request().getAppointment();
+            int slot = appointment != null ? VeterinarianService.BOOKING_SLOTS.indexOf(appointment.getAppointmentTime()) : -1;
+            if (slot < 0 || appointment.getAppointmentDate() == null) {
+                accepted.add(booking);
+                continue;
+            }
+            SlotDay day = new SlotDay(booking.recipientId(), appointment.getAppointmentDate());
+            int slotBit = 1 << slot;
+            if ((availabilityIndex.getBlockedSlots(day.veterinarianId(), day.date()).orElse(0) & slotBit) != 0
+                && (confirmedBlocked.computeIfAbsent(day, key -> availabilityIndex.refresh(key.veterinarianId(), key.date())) & slotBit) != 0) {
+                booking.result().completeExceptionally(new IllegalStateException(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED));
+            } else if ((blockedInBatch.getOrDefault(day, 0) & slotBit) != 0) {
+                conflicting.add(booking);
+            } else {
+                accepted.add(booking);
+                blockedInBatch.merge(day, VetAvailabilityIndex.blockedSlotMask(
+                        AppointmentStatus.WAITING_FOR_APPROVAL, appointment.getAppointmentTime()) | slotBit, (a, b) -> a | b);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<Appointment> appointments;
+        try {
+            appointments = transactionTemplate.execute(status -> accepted.stream()
+                    .map(booking -> appointmentService.createAppointment(booking.request(), booking.senderId(), booking.recipientId()))
+                    .toList());
+        } catch (RuntimeException e) {
+            logger.debug("Booking batch of {} failed, committing the bookings one by one", accepted.size(), e);
+            batch.stream()
+                    .filter(booking -> !booking.result().isDone())
+                    .forEach(this::bookAlone);
+            return;
+        }
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).result().complete(appointments.get(i));
+        }
+        conflicting.forEach(booking -> booking.result()
+                .completeExceptionally(new IllegalStateException(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED)));
+    }
+
+    private void bookAlone(Booking booking) {
+        resetIds(booking.request());
+        try {
+            booking.result().complete(createAppointment(booking.request(), booking.senderId(), booking.recipientId()));
+        } catch (RuntimeException e) {
+            booking.result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Creates an appointment in a transaction of its own, repeating the booking with a new appointment number
+     * while the generated one is already taken.
+     */
+    private Appointment createAppointment(BookAppointmentRequest request, Long senderId, Long recipientId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return appointmentService.createAppointment(request, senderId, recipientId);
+            } catch (AppointmentNumberConflictException e) {
+                if (attempt >= MAX_APPOINTMENT_NO_ATTEMPTS) {
+                    throw e;
+                }
+                logger.warn("{}, booking again with a new number", e.getMessage());
+                resetIds(request);
+            }
+        }
+    }
+
+    /**
+     * Clears the IDs assigned to the entities of a rolled back booking, so they are inserted again.
+     */
+    private static void resetIds(BookAppointmentRequest request) {
+        if (request.getAppointment() != null) {
+            request.getAppointment().setId(null);
+        }
+        if (request.getPets() != null) {
+            request.getPets().forEach(pet -> pet.setId(null));
+        }
+    }
+
+    /**
+     * A booking waiting in a mailbox, together with the future of its result.
+     */
+    private record Booking(BookAppointmentRequest request, Long senderId, Long recipientId,
+                           CompletableFuture<Appointment> result) {
+    }
+
+    /**
+     * A single day in a veterinarian's schedule.
+     */
+    private record SlotDay(Long veterinarianId, LocalDate date) {
+    }
+
+    /**
+     * A thread that processes the bookings of its stripe of veterinarians one batch at a time.
+     */
+    private final class Worker implements Runnable {
+        private final BlockingQueue<Booking> mailbox = new LinkedBlockingQueue<>();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        Worker(int index) {
+            this.thread = new Thread(this, "booking-pipeline-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        void submit(Booking booking) {
+            if (!running) {
+                booking.result().completeExceptionally(new RejectedExecutionException("Booking pipeline is stopped"));
+                return;
+            }
+            mailbox.add(booking);
+        }
+
+        void stop() {
+            running = false;
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            mailbox.forEach(booking -> booking.result()
+                    .completeExceptionally(new RejectedExecutionException("Booking pipeline is stopped")));
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                Booking first;
+                try {
+                    first = mailbox.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (first == null) {
+                    continue;
+                }
+                List<Booking> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                mailbox.drainTo(batch, batchSize - 1);
+                try {
+                    process(batch);
+                } catch (RuntimeException e) {
+                    logger.error("Booking pipeline worker {} failed to process a batch", thread.getName(), e);
+                    batch.forEach(booking -> booking.result().completeExceptionally(e));
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.olegtoropoff.petcareappointment.service.appointment;
 
 import com.olegtoropoff.petcareappointment.dto.AppointmentDto;
+import com.olegtoropoff.petcareappointment.dto.CursorPageDto;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatusTransition;
+import com.olegtoropoff.petcareappointment.exception.AppointmentConflictException;
 import com.olegtoropoff.petcareappointment.model.Appointment;
 import com.olegtoropoff.petcareappointment.model.Pet;
 import com.olegtoropoff.petcareappointment.request.AppointmentUpdateRequest;
@@ -8,6 +11,7 @@ import com.olegtoropoff.petcareappointment.request.BookAppointmentRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -53,6 +57,18 @@ public interface IAppointmentService {
      */
     Page<AppointmentDto> getAllAppointments(Pageable pageable);
 
+    /**
+     * Retrieves a page of all appointments, starting after the position of a cursor.
+     * Appointments are ordered by date, time and ID, all descending.
+     *
+     * @param cursor       the cursor returned with the previous page, or {@code null} or blank for the first page.
+     * @param size         the maximum number of appointments on the page.
+     * @param includeTotal whether to include the estimated total number of appointments.
+     * @return the page, with the cursor of the next page if there is one.
+     * @throws IllegalArgumentException if the cursor is malformed or the size is out of range.
+     */
+    CursorPageDto<AppointmentDto> getAppointmentsAfter(String cursor, int size, boolean includeTotal);
+
     /**
      * Searches for appointments based on a search term with pagination support.
      *
@@ -92,6 +108,8 @@ public interface IAppointmentService {
      *
      * @param appointmentId the ID of the appointment to cancel.
      * @return the updated Appointment with a "CANCELLED" status.
+     * @throws IllegalStateException if the appointment does not exist or is not waiting for approval.
+     * @throws AppointmentConflictException if the appointment has been changed concurrently.
      */
     AppointmentDto cancelAppointment(Long appointmentId);
 
@@ -101,6 +119,8 @@ public interface IAppointmentService {
      *
      * @param appointmentId the ID of the appointment to approve.
      * @return the updated Appointment with an "APPROVED" status.
+     * @throws IllegalStateException if the appointment does not exist or is not waiting for approval.
+     * @throws AppointmentConflictException if the appointment has been changed concurrently.
      */
     AppointmentDto approveAppointment(Long appointmentId);
 
@@ -110,6 +130,8 @@ public interface IAppointmentService {
      *
      * @param appointmentId the ID of the appointment to decline.
      * @return the updated Appointment with a "NOT_APPROVED" status.
+     * @throws IllegalStateException if the appointment does not exist or is not waiting for approval.
+     * @throws AppointmentConflictException if the appointment has been changed concurrently.
      */
     AppointmentDto declineAppointment(Long appointmentId);
 
@@ -140,4 +162,14 @@ public interface IAppointmentService {
      * @param appointmentId the ID of the appointment to update.
      */
     void setAppointmentStatus(Long appointmentId);
+
+    /**
+     * Moves all appointments of the given shards with an outdated status to their next status
+     * using set-based updates.
+     *
+     * @param shardCount the total number of appointment shards.
+     * @param shards     the shards to update; an appointment belongs to shard {@code id % shardCount}.
+     * @return the number of appointments moved by each transition.
+     */
+    Map<AppointmentStatusTransition, Integer> updateAppointmentStatuses(int shardCount, Collection<Integer> shards);
 }
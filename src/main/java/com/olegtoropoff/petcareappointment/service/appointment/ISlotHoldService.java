@@ -0,0 +1,35 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Interface for the slot hold service, which lets patients keep a time slot free while completing a booking.
+ */
+public interface ISlotHoldService {
+
+    /**
+     * Holds a free time slot of a veterinarian for a patient for a few minutes.
+     * Holding a slot the patient already holds extends the hold.
+     *
+     * @param patientId the ID of the patient.
+     * @param vetId     the ID of the veterinarian.
+     * @param date      the date of the slot.
+     * @param time      the time of the slot.
+     * @return the moment the hold expires.
+     * @throws com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException if the patient or veterinarian is not found.
+     * @throws IllegalStateException if the slot is not available or the user is a veterinarian.
+     */
+    LocalDateTime holdSlot(Long patientId, Long vetId, LocalDate date, LocalTime time);
+
+    /**
+     * Releases a slot held by a patient.
+     *
+     * @param patientId the ID of the patient.
+     * @param vetId     the ID of the veterinarian.
+     * @param date      the date of the slot.
+     * @param time      the time of the slot.
+     */
+    void releaseSlot(Long patientId, Long vetId, LocalDate date, LocalTime time);
+}
@@ -0,0 +1,24 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.model.Appointment;
+
+/**
+ * Interface for the slot reservation service, which prevents overlapping appointments of a veterinarian.
+ */
+public interface ISlotReservationService {
+
+    /**
+     * Reserves the slots occupied by an appointment in its veterinarian's schedule.
+     *
+     * @param appointment the saved appointment.
+     * @throws IllegalStateException if one of the slots is already reserved by another appointment.
+     */
+    void reserve(Appointment appointment);
+
+    /**
+     * Releases all slots reserved by an appointment.
+     *
+     * @param appointmentId the ID of the appointment.
+     */
+    void release(Long appointmentId);
+}
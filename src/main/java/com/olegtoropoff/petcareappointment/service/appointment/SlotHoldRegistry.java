@@ -0,0 +1,197 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.scheduler.LeaseRegistry;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VetAvailabilityIndex;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VeterinarianService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of temporary holds that patients place on a veterinarian's time slots while filling in the booking form.
+ * <p>
+ * A hold is a lease in the {@link LeaseRegistry} keyed by veterinarian, date and time and owned by the patient,
+ * so it disappears by itself when its time-to-live expires. Two holds conflict when an appointment at one time
+ * would overlap an appointment at the other; a hold is only placed if no conflicting slot is held by another
+ * patient, and the check and the hold are a single atomic step of the registry.
+ * Holds are only placed on the times of {@link VeterinarianService#BOOKING_SLOTS}. The keys of a veterinarian's
+ * day share a Redis hash tag, so that they can be checked together.
+ */
+@Component
+public class SlotHoldRegistry {
+
+    private static final String KEY_PREFIX = "slot-hold:";
+
+    private final LeaseRegistry leaseRegistry;
+    private final Duration holdTtl;
+
+    /**
+     * Creates the registry.
+     *
+     * @param leaseRegistry  the registry that stores the holds.
+     * @param holdTtlMinutes how long a hold lasts unless it is placed again.
+     */
+    public SlotHoldRegistry(LeaseRegistry leaseRegistry,
+                            @Value("${appointment.slot-hold.ttl-minutes:5}") long holdTtlMinutes) {
+        this.leaseRegistry = leaseRegistry;
+        this.holdTtl = Duration.ofMinutes(holdTtlMinutes);
+    }
+
+    /**
+     * Places a hold on a slot, or extends the hold if it is already held by the same patient.
+     *
+     * @param patientId the ID of the patient.
+     * @param vetId     the ID of the veterinarian.
+     * @param date      the date of the slot.
+     * @param time      the time of the slot.
+     * @return {@code true} if the slot is now held by the patient, {@code false} if it or a conflicting slot
+     * is held by another patient.
+     */
+    public boolean hold(Long patientId, Long vetId, LocalDate date, LocalTime time) {
+        List<String> conflictingKeys = new ArrayList<>();
+        int conflictingSlots = conflictingSlotMask(time);
+        for (int slot = 0; slot < VeterinarianService.BOOKING_SLOTS.size(); slot++) {
+            if ((conflictingSlots & (1 << slot)) != 0) {
+                conflictingKeys.add(holdKey(vetId, date, VeterinarianService.BOOKING_SLOTS.get(slot)));
+            }
+        }
+        return leaseRegistry.tryAcquireUnlessConflicting(holdKey(vetId, date, time), conflictingKeys,
+                patientId.toString(), holdTtl);
+    }
+
+    /**
+     * Releases a hold placed by a patient. Holds of other patients are left untouched.
+     *
+     * @param patientId the ID of the patient.
+     * @param vetId     the ID of the veterinarian.
+     * @param date      the date of the slot.
+     * @param time      the time of the slot.
+     */
+    public void release(Long patientId, Long vetId, LocalDate date, LocalTime time) {
+        leaseRegistry.release(holdKey(vetId, date, time), patientId.toString());
+    }
+
+    /**
+     * Finds the held slots of a veterinarian on a date with a single lookup.
+     *
+     * @param vetId the ID of the veterinarian.
+     * @param date  the date.
+     * @return a map from each held time, in ascending order, to the ID of the patient holding it.
+     */
+    public Map<LocalTime, Long> findHolds(Long vetId, LocalDate date) {
+        return findHolds(vetId, date, date).getOrDefault(date, Map.of());
+    }
+
+    /**
+     * Finds the held slots of a veterinarian on every date of a range with a single lookup.
+     *
+     * @param vetId     the ID of the veterinarian.
+     * @param startDate the first date of the range (inclusive).
+     * @param endDate   the last date of the range (inclusive).
+     * @return a map from each date with held slots to its holds, as returned by {@link #findHolds(Long, LocalDate)}.
+     */
+    public Map<LocalDate, Map<LocalTime, Long>> findHolds(Long vetId, LocalDate startDate, LocalDate endDate) {
+        List<LocalTime> times = VeterinarianService.BOOKING_SLOTS;
+        List<String> keys = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            for (LocalTime time : times) {
+                keys.add(holdKey(vetId, date, time));
+            }
+        }
+        List<String> owners = leaseRegistry.findOwners(keys);
+        Map<LocalDate, Map<LocalTime, Long>> holds = new LinkedHashMap<>();
+        int index = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            for (LocalTime time : times) {
+                String owner = owners.get(index++);
+                if (owner != null) {
+                    holds.computeIfAbsent(date, key -> new LinkedHashMap<>()).put(time, Long.valueOf(owner));
+                }
+            }
+        }
+        return holds;
+    }
+
+    /**
+     * Computes the slots that cannot be booked or held because of the given holds.
+     *
+     * @param holds the holds of a veterinarian's day, as returned by {@link #findHolds(Long, LocalDate)}.
+     * @return a bitmask over {@link VeterinarianService#BOOKING_SLOTS} with a bit set for every slot
+     * that conflicts with a hold.
+     */
+    public static int heldSlotMask(Map<LocalTime, Long> holds) {
+        int mask = 0;
+        for (LocalTime heldTime : holds.keySet()) {
+            mask |= conflictingSlotMask(heldTime);
+        }
+        return mask;
+    }
+
+    /**
+     * Checks whether a veterinarian has any held slots on a date.
+     *
+     * @param vetId the ID of the veterinarian.
+     * @param date  the date.
+     * @return {@code true} if at least one slot is held.
+     */
+    public boolean hasHolds(Long vetId, LocalDate date) {
+        return !findHolds(vetId, date).isEmpty();
+    }
+
+    /**
+     * Checks whether an appointment at the given time would overlap a slot held by another patient.
+     *
+     * @param patientId the ID of the patient booking the appointment.
+     * @param vetId     the ID of the veterinarian.
+     * @param date      the date of the appointment.
+     * @param time      the time of the appointment.
+     * @return {@code true} if another patient holds the time or a slot overlapping it.
+     */
+    public boolean isHeldByAnotherPatient(Long patientId, Long vetId, LocalDate date, LocalTime time) {
+        int slots = conflictingSlotMask(time);
+        return findHolds(vetId, date).entrySet().stream()
+                .filter(hold -> !hold.getValue().equals(patientId))
+                .anyMatch(hold -> hold.getKey().equals(time)
+                        || (slots & (1 << VeterinarianService.BOOKING_SLOTS.indexOf(hold.getKey()))) != 0);
+    }
+
+    /**
+     * Returns the time-to-live of a hold.
+     *
+     * @return the duration a hold lasts after it has been placed.
+     */
+    public Duration getHoldTtl() {
+        return holdTtl;
+    }
+
+    /**
+     * Computes the slots that conflict with a hold or an appointment at the given time: the slots an appointment
+     * at that time would overlap, and the slots whose appointment would overlap it.
+     *
+     * @param time the time of the hold.
+     * @return a bitmask over {@link VeterinarianService#BOOKING_SLOTS}.
+     */
+    private static int conflictingSlotMask(LocalTime time) {
+        int mask = VetAvailabilityIndex.blockedSlotMask(AppointmentStatus.WAITING_FOR_APPROVAL, time);
+        int slot = VeterinarianService.BOOKING_SLOTS.indexOf(time);
+        for (int other = 0; slot >= 0 && other < VeterinarianService.BOOKING_SLOTS.size(); other++) {
+            LocalTime otherTime = VeterinarianService.BOOKING_SLOTS.get(other);
+            if ((VetAvailabilityIndex.blockedSlotMask(AppointmentStatus.WAITING_FOR_APPROVAL, otherTime) & (1 << slot)) != 0) {
+                mask |= 1 << other;
+            }
+        }
+        return mask;
+    }
+
+    private static String holdKey(Long vetId, LocalDate date, LocalTime time) {
+        return KEY_PREFIX + "{" + vetId + ":" + date + "}:" + time;
+    }
+}
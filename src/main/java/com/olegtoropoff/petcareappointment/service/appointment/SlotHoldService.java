@@ -0,0 +1,71 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
+import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.repository.UserRepository;
+import com.olegtoropoff.petcareappointment.service.veterinarian.IVeterinarianService;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VetAvailabilityCache;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Service for temporary holds on veterinarians' time slots during the booking flow.
+ * <p>
+ * A patient holds a slot when opening the booking form. While the hold lasts the slot is reported as busy to
+ * other patients, and {@link AppointmentService#createAppointment} books it without checking availability again.
+ */
+@Service
+@RequiredArgsConstructor
+public class SlotHoldService implements ISlotHoldService {
+
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final IVeterinarianService veterinarianService;
+    private final UserRepository userRepository;
+    private final VetAvailabilityCache availabilityCache;
+
+    /**
+     * Holds a free time slot of a veterinarian for a patient.
+     * <p>
+     * The slot must be one of the times returned by {@link IVeterinarianService#getAvailableTimeForBookAppointment},
+     * unless the patient already holds it. The cached available times of the veterinarian on that date are evicted.
+     *
+     * @param patientId the ID of the patient.
+     * @param vetId     the ID of the veterinarian.
+     * @param date      the date of the slot.
+     * @param time      the time of the slot.
+     * @return the moment the hold expires.
+     */
+    @Override
+    public LocalDateTime holdSlot(Long patientId, Long vetId, LocalDate date, LocalTime time) {
+        User patient = userRepository.findById(patientId)
+                .orElseThrow(() -> new ResourceNotFoundException(FeedBackMessage.SENDER_RECIPIENT_NOT_FOUND));
+        if (Objects.equals(patient.getUserType(), "VET")) {
+            throw new IllegalStateException(FeedBackMessage.VET_APPOINTMENT_NOT_ALLOWED);
+        }
+        if (!userRepository.existsById(vetId)) {
+            throw new ResourceNotFoundException(FeedBackMessage.SENDER_RECIPIENT_NOT_FOUND);
+        }
+
+        boolean heldByPatient = patientId.equals(slotHoldRegistry.findHolds(vetId, date).get(time));
+        if (!heldByPatient && !veterinarianService.getAvailableTimeForBookAppointment(vetId, date).contains(time)) {
+            throw new IllegalStateException(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED);
+        }
+        if (!slotHoldRegistry.hold(patientId, vetId, date, time)) {
+            throw new IllegalStateException(FeedBackMessage.SLOT_HELD_BY_ANOTHER_PATIENT);
+        }
+        availabilityCache.evictAvailableTimes(vetId, date);
+        return LocalDateTime.now().plus(slotHoldRegistry.getHoldTtl());
+    }
+
+    @Override
+    public void releaseSlot(Long patientId, Long vetId, LocalDate date, LocalTime time) {
+        slotHoldRegistry.release(patientId, vetId, date, time);
+        availabilityCache.evictAvailableTimes(vetId, date);
+    }
+}
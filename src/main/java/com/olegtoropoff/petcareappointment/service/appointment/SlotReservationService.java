@@ -0,0 +1,154 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.model.SlotReservation;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSlotProjection;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import com.olegtoropoff.petcareappointment.repository.SlotReservationRepository;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VeterinarianService;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service that guards veterinarians' schedules against overlapping appointments.
+ * <p>
+ * A day is divided into {@link #SLOT_MINUTES}-minute slots. Every active appointment reserves the slots covered
+ * by the appointment itself and the buffer after it, and the unique constraint of {@link SlotReservation} rejects
+ * a second reservation of the same slot. For appointments on the booking grid two appointments conflict exactly
+ * when {@link VeterinarianService} would report the later one as unavailable.
+ * <p>
+ * Booking takes no locks: the reservations are inserted in the booking transaction, and a conflicting concurrent
+ * booking fails on the constraint and is rolled back.
+ */
+@Service
+@RequiredArgsConstructor
+public class SlotReservationService implements ISlotReservationService, ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger logger = LoggerFactory.getLogger(SlotReservationService.class);
+
+    /**
+     * The length of a reservation slot in minutes.
+     */
+    static final int SLOT_MINUTES = 30;
+
+    /**
+     * The time in minutes an appointment occupies in the schedule: the appointment itself and the buffer after it.
+     */
+    private static final int OCCUPIED_MINUTES =
+            VeterinarianService.APPOINTMENT_DURATION_MINUTES + VeterinarianService.UNAVAILABLE_AFTER_END_MINUTES;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Statuses of appointments that do not hold reservations.
+     */
+    private static final List<AppointmentStatus> RELEASED_STATUSES =
+            List.of(AppointmentStatus.CANCELLED, AppointmentStatus.NOT_APPROVED, AppointmentStatus.COMPLETED);
+
+    private final SlotReservationRepository slotReservationRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    /**
+     * Reserves the slots of upcoming appointments that have no reservations yet, such as appointments
+     * booked before reservations were introduced. Existing overlaps are logged and left as they are.
+     *
+     * @param event the event signaling that the application is ready.
+     */
+    @Override
+    public void onApplicationEvent(@NonNull ApplicationReadyEvent event) {
+        List<AppointmentSlotProjection> appointments =
+                appointmentRepository.findUnreservedSlotsFrom(LocalDate.now(), RELEASED_STATUSES);
+        int conflicts = 0;
+        for (AppointmentSlotProjection appointment : appointments) {
+            try {
+                reserve(appointment.getId(), appointment.getVeterinarianId(),
+                        appointment.getAppointmentDate(), appointment.getAppointmentTime());
+            } catch (IllegalStateException e) {
+                conflicts++;
+                logger.warn("Appointment {} overlaps another appointment and could not reserve its slots", appointment.getId());
+            }
+        }
+        if (!appointments.isEmpty()) {
+            logger.info("Slot reservations created for {} appointment(s), {} conflict(s)", appointments.size(), conflicts);
+        }
+    }
+
+    /**
+     * Reserves the slots occupied by an appointment in its veterinarian's schedule.
+     * Appointments without a veterinarian, date or time do not reserve anything.
+     *
+     * @param appointment the saved appointment.
+     * @throws IllegalStateException if one of the slots is already reserved by another appointment.
+     */
+    @Override
+    public void reserve(Appointment appointment) {
+        if (appointment.getVeterinarian() == null) {
+            return;
+        }
+        reserve(appointment.getId(), appointment.getVeterinarian().getId(),
+                appointment.getAppointmentDate(), appointment.getAppointmentTime());
+    }
+
+    /**
+     * Releases all slots reserved by an appointment, for example after it has been cancelled, declined,
+     * rescheduled or deleted.
+     *
+     * @param appointmentId the ID of the appointment.
+     */
+    @Override
+    public void release(Long appointmentId) {
+        slotReservationRepository.deleteByAppointmentId(appointmentId);
+    }
+
+    /**
+     * Deletes the reservations of past days. Runs every night.
+     */
+    @Scheduled(cron = "0 15 3 * * ?")
+    public void purgeExpiredReservations() {
+        int deleted = slotReservationRepository.deleteByReservationDateBefore(LocalDate.now());
+        logger.info("Expired slot reservations deleted: {}", deleted);
+    }
+
+    /**
+     * Computes the slots occupied by an appointment starting at the given time.
+     *
+     * @param time the start time of the appointment.
+     * @return the indexes of the occupied slots within the day, in ascending order.
+     */
+    static List<Integer> occupiedSlots(LocalTime time) {
+        int start = time.toSecondOfDay() / 60;
+        int end = Math.min(start + OCCUPIED_MINUTES, MINUTES_PER_DAY);
+        List<Integer> slots = new ArrayList<>();
+        for (int slot = start / SLOT_MINUTES; slot * SLOT_MINUTES < end; slot++) {
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    private void reserve(Long appointmentId, Long veterinarianId, LocalDate date, LocalTime time) {
+        if (veterinarianId == null || date == null || time == null) {
+            return;
+        }
+        List<SlotReservation> reservations = occupiedSlots(time).stream()
+                .map(slot -> new SlotReservation(veterinarianId, date, slot, appointmentId))
+                .toList();
+        try {
+            slotReservationRepository.saveAllAndFlush(reservations);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED, e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link AppointmentNumberGenerator} issuing time-ordered numbers that are unique across application instances
+ * without a database round trip.
+ * <p>
+ * A number is a 63-bit value made of the milliseconds since {@link #EPOCH}, the node ID of the instance and a
+ * per-millisecond sequence, written as 19 zero-padded decimal digits and followed by a Luhn check digit.
+ * Numbers of one instance increase strictly, and numbers of all instances are ordered by creation time to the
+ * millisecond, so new index entries are appended at the end of the appointment number index.
+ * <p>
+ * Every instance must have its own node ID, configured with {@code appointment.number.node-id}. If it is not set,
+ * the ID is derived from the host name and process ID, which is only unlikely, not guaranteed, to be unique.
+ * A number issued twice is rejected by the unique constraint on the appointment number, and the
+ * {@link BookingPipeline} books the appointment again with a new one.
+ * If the clock moves backwards, numbers continue from the last issued timestamp instead of repeating.
+ */
+@Component
+public class TimeOrderedAppointmentNumberGenerator implements AppointmentNumberGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(TimeOrderedAppointmentNumberGenerator.class);
+
+    /**
+     * The moment the timestamp part of the numbers counts from.
+     */
+    static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE_ID = (1 << NODE_ID_BITS) - 1;
+    private static final int SEQUENCE_MASK = (1 << SEQUENCE_BITS) - 1;
+
+    /**
+     * The number of digits before the check digit.
+     */
+    private static final int PAYLOAD_DIGITS = 19;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    /**
+     * Creates the generator.
+     *
+     * @param nodeId the node ID of this instance, from 0 to {@value #MAX_NODE_ID}, or a negative value to derive it.
+     */
+    @Autowired
+    public TimeOrderedAppointmentNumberGenerator(@Value("${appointment.number.node-id:-1}") int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TimeOrderedAppointmentNumberGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must not exceed " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId >= 0 ? nodeId : deriveNodeId();
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextAppointmentNo() {
+        long number;
+        synchronized (this) {
+            long timestamp = Math.max(clock.getAsLong() - EPOCH, lastTimestamp);
+            if (timestamp == lastTimestamp) {
+                sequence = (sequence + 1) & SEQUENCE_MASK;
+                if (sequence == 0) {
+                    timestamp++;
+                }
+            } else {
+                sequence = 0;
+            }
+            lastTimestamp = timestamp;
+            number = (timestamp << (NODE_ID_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+        }
+        char[] digits = new char[PAYLOAD_DIGITS + 1];
+        for (int i = PAYLOAD_DIGITS - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        digits[PAYLOAD_DIGITS] = (char) ('0' + checkDigit(digits, PAYLOAD_DIGITS));
+        return new String(digits);
+    }
+
+    @Override
+    public boolean isValid(String appointmentNo) {
+        if (appointmentNo == null || appointmentNo.length() != PAYLOAD_DIGITS + 1) {
+            return false;
+        }
+        char[] digits = appointmentNo.toCharArray();
+        for (char digit : digits) {
+            if (digit < '0' || digit > '9') {
+                return false;
+            }
+        }
+        return digits[PAYLOAD_DIGITS] - '0' == checkDigit(digits, PAYLOAD_DIGITS);
+    }
+
+    /**
+     * Computes the Luhn check digit of the first {@code length} digits.
+     *
+     * @param digits the digits.
+     * @param length the number of digits to include.
+     * @return the check digit.
+     */
+    static int checkDigit(char[] digits, int length) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = length - 1; i >= 0; i--) {
+            int digit = digits[i] - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static int deriveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        int nodeId = (host.hashCode() * 31 + Long.hashCode(ProcessHandle.current().pid())) & MAX_NODE_ID;
+        logger.warn("appointment.number.node-id is not set, using node ID {} derived from host {}", nodeId, host);
+        return nodeId;
+    }
+}
@@ -0,0 +1,83 @@
+package com.olegtoropoff.petcareappointment.service.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * {@link IdempotencyStore} that uses a shared store and falls back to an in-process one while the shared
+ * store is unavailable.
+ * <p>
+ * Every operation is tried on the shared store first; if it fails, the operation is applied to the fallback
+ * store instead, so duplicates are still rejected during an outage, although only among the requests received
+ * by the same instance. Keys are also looked up in the fallback store, so that claims and responses written
+ * during an outage are still seen once the shared store is back.
+ */
+public class FallbackIdempotencyStore implements IdempotencyStore {
+    private static final Logger logger = LoggerFactory.getLogger(FallbackIdempotencyStore.class);
+
+    private final IdempotencyStore sharedStore;
+    private final IdempotencyStore fallbackStore;
+
+    /**
+     * Creates the store.
+     *
+     * @param sharedStore   the store shared by all application instances.
+     * @param fallbackStore the in-process store used while the shared store is unavailable.
+     */
+    public FallbackIdempotencyStore(IdempotencyStore sharedStore, IdempotencyStore fallbackStore) {
+        this.sharedStore = sharedStore;
+        this.fallbackStore = fallbackStore;
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        Optional<String> fallbackValue = fallbackStore.get(key);
+        if (fallbackValue.isPresent()) {
+            return fallbackValue;
+        }
+        return withFallback(key, () -> sharedStore.get(key), () -> Optional.empty());
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, String value, Duration ttl) {
+        if (fallbackStore.get(key).isPresent()) {
+            return false;
+        }
+        return withFallback(key, () -> sharedStore.putIfAbsent(key, value, ttl),
+                () -> fallbackStore.putIfAbsent(key, value, ttl));
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        withFallback(key, () -> {
+            sharedStore.put(key, value, ttl);
+            fallbackStore.remove(key);
+            return null;
+        }, () -> {
+            fallbackStore.put(key, value, ttl);
+            return null;
+        });
+    }
+
+    @Override
+    public void remove(String key) {
+        fallbackStore.remove(key);
+        withFallback(key, () -> {
+            sharedStore.remove(key);
+            return null;
+        }, () -> null);
+    }
+
+    private <T> T withFallback(String key, Supplier<T> sharedOperation, Supplier<T> fallbackOperation) {
+        try {
+            return sharedOperation.get();
+        } catch (RuntimeException e) {
+            logger.warn("Shared idempotency store is unavailable, using the in-process store for {}", key, e);
+            return fallbackOperation.get();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.olegtoropoff.petcareappointment.service.idempotency;
+
+import com.olegtoropoff.petcareappointment.response.CustomApiResponse;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Interface for the idempotency service, which lets clients safely retry state-changing requests.
+ */
+public interface IIdempotencyService {
+
+    /**
+     * The name of the request header carrying the idempotency key chosen by the client.
+     */
+    String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Executes a request at most once per idempotency key.
+     * <p>
+     * The first request with a key is executed and its response is stored; a retry with the same key
+     * returns the stored response without executing the request again. Requests without a key are
+     * always executed.
+     *
+     * @param operation      the operation and the resource it is applied to, for example {@code "cancel:5"}.
+     * @param idempotencyKey the key supplied by the client, or {@code null}.
+     * @param request        the request to execute.
+     * @return the response of the request, either fresh or stored.
+     */
+    ResponseEntity<CustomApiResponse> execute(String operation, String idempotencyKey,
+                                              Supplier<ResponseEntity<CustomApiResponse>> request);
+
+    /**
+     * Executes a request that completes asynchronously at most once per idempotency key.
+     * <p>
+     * Behaves like {@link #execute}, except that the response is stored once the returned future completes.
+     *
+     * @param operation      the operation and the resource it is applied to, for example {@code "book:5:9"}.
+     * @param idempotencyKey the key supplied by the client, or {@code null}.
+     * @param request        the request to execute.
+     * @return a future of the response of the request, either fresh or stored.
+     */
+    CompletableFuture<ResponseEntity<CustomApiResponse>> executeAsync(
+            String operation, String idempotencyKey,
+            Supplier<CompletableFuture<ResponseEntity<CustomApiResponse>>> request);
+}
@@ -0,0 +1,205 @@
+package com.olegtoropoff.petcareappointment.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olegtoropoff.petcareappointment.response.CustomApiResponse;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+
+/**
+ * Service that executes state-changing requests at most once per client-supplied idempotency key.
+ * <p>
+ * Before a request is executed its key is claimed in the {@link IdempotencyStore} with a short expiry,
+ * so a concurrent duplicate is rejected with {@code 409 Conflict} instead of being executed twice.
+ * After the request completes, its response replaces the claim and is kept for the configured time.
+ * Server errors are not stored: the claim is removed, so the client can retry with the same key.
+ * <p>
+ * A store that is unavailable is expected to fall back by itself, as the {@link FallbackIdempotencyStore} does.
+ * If the store still fails, requests are executed without replay protection rather than failed,
+ * the same as requests without a key.
+ */
+@Service
+public class IdempotencyService implements IIdempotencyService {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+
+    /**
+     * How long a claim blocks duplicates of a request that has not completed yet.
+     */
+    private static final Duration IN_PROGRESS_TTL = Duration.ofMinutes(1);
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final Duration responseTtl;
+
+    /**
+     * Creates the service.
+     *
+     * @param idempotencyStore the store that keeps claims and responses.
+     * @param objectMapper     the mapper used to serialize stored responses.
+     * @param responseTtlHours how long a response is returned for retries with the same key.
+     */
+    public IdempotencyService(IdempotencyStore idempotencyStore,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.response-ttl-hours:24}") long responseTtlHours) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.responseTtl = Duration.ofHours(responseTtlHours);
+    }
+
+    @Override
+    public ResponseEntity<CustomApiResponse> execute(String operation, String idempotencyKey,
+                                                     Supplier<ResponseEntity<CustomApiResponse>> request) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return request.get();
+        }
+        String key = KEY_PREFIX + operation + ":" + idempotencyKey;
+        Optional<ResponseEntity<CustomApiResponse>> previousResponse;
+        try {
+            previousResponse = claim(key);
+        } catch (RuntimeException e) {
+            logger.warn("Idempotency store is unavailable, executing {} without replay protection", key, e);
+            return request.get();
+        }
+        if (previousResponse.isPresent()) {
+            return previousResponse.get();
+        }
+
+        ResponseEntity<CustomApiResponse> response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            release(key);
+            throw e;
+        }
+        return complete(key, response);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<CustomApiResponse>> executeAsync(
+            String operation, String idempotencyKey,
+            Supplier<CompletableFuture<ResponseEntity<CustomApiResponse>>> request) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return request.get();
+        }
+        String key = KEY_PREFIX + operation + ":" + idempotencyKey;
+        Optional<ResponseEntity<CustomApiResponse>> previousResponse;
+        try {
+            previousResponse = claim(key);
+        } catch (RuntimeException e) {
+            logger.warn("Idempotency store is unavailable, executing {} without replay protection", key, e);
+            return request.get();
+        }
+        if (previousResponse.isPresent()) {
+            return CompletableFuture.completedFuture(previousResponse.get());
+        }
+
+        CompletableFuture<ResponseEntity<CustomApiResponse>> response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            release(key);
+            throw e;
+        }
+        return response
+                .whenComplete((result, failure) -> {
+                    if (failure != null) {
+                        release(key);
+                    }
+                })
+                .thenApply(result -> complete(key, result));
+    }
+
+    /**
+     * Claims a key for a request that is about to be executed.
+     *
+     * @param key the key in the store.
+     * @return an empty result if the key has been claimed, otherwise the stored response of a completed request
+     * or a conflict response if the request is still in progress.
+     */
+    private Optional<ResponseEntity<CustomApiResponse>> claim(String key) {
+        if (idempotencyStore.putIfAbsent(key, IN_PROGRESS, IN_PROGRESS_TTL)) {
+            return Optional.empty();
+        }
+        return Optional.of(idempotencyStore.get(key)
+                .filter(value -> !IN_PROGRESS.equals(value))
+                .flatMap(this::readResponse)
+                .orElseGet(() -> ResponseEntity.status(CONFLICT)
+                        .body(new CustomApiResponse(FeedBackMessage.REQUEST_ALREADY_IN_PROGRESS, null))));
+    }
+
+    /**
+     * Replaces the claim of a key with the response of the completed request, unless it is a server error.
+     *
+     * @param key      the key in the store.
+     * @param response the response of the request.
+     * @return the response.
+     */
+    private ResponseEntity<CustomApiResponse> complete(String key, ResponseEntity<CustomApiResponse> response) {
+        if (response.getStatusCode().is5xxServerError()) {
+            release(key);
+            return response;
+        }
+        try {
+            idempotencyStore.put(key, writeResponse(response), responseTtl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Response for idempotency key {} could not be stored", key, e);
+            release(key);
+        }
+        return response;
+    }
+
+    /**
+     * Removes the claim of a key, so that the request can be retried with the same key.
+     * A failure of the store is logged; the claim then expires by itself.
+     *
+     * @param key the key in the store.
+     */
+    private void release(String key) {
+        try {
+            idempotencyStore.remove(key);
+        } catch (RuntimeException e) {
+            logger.warn("Claim of idempotency key {} could not be removed", key, e);
+        }
+    }
+
+    private String writeResponse(ResponseEntity<CustomApiResponse> response) throws JsonProcessingException {
+        CustomApiResponse body = response.getBody();
+        return objectMapper.writeValueAsString(new StoredResponse(response.getStatusCode().value(),
+                body != null ? body.getMessage() : null, body != null ? body.getData() : null));
+    }
+
+    private Optional<ResponseEntity<CustomApiResponse>> readResponse(String value) {
+        try {
+            StoredResponse stored = objectMapper.readValue(value, StoredResponse.class);
+            return Optional.of(ResponseEntity.status(stored.status())
+                    .body(new CustomApiResponse(stored.message(), stored.data())));
+        } catch (JsonProcessingException e) {
+            logger.warn("Stored response could not be read", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The part of a response kept for replaying it to retries.
+     *
+     * @param status  the HTTP status code.
+     * @param message the response message.
+     * @param data    the response data, replayed as plain JSON values.
+     */
+    record StoredResponse(int status, String message, Object data) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.olegtoropoff.petcareappointment.service.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Key-value store with per-entry expiry that keeps the outcome of idempotent requests.
+ * The store is normally shared by all application instances, so a retry is recognized whichever instance receives it.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Retrieves the value stored under a key.
+     *
+     * @param key the key.
+     * @return the value, or an empty {@link Optional} if the key is absent or has expired.
+     */
+    Optional<String> get(String key);
+
+    /**
+     * Stores a value only if the key is absent or has expired.
+     *
+     * @param key   the key.
+     * @param value the value to store.
+     * @param ttl   the time-to-live of the entry.
+     * @return {@code true} if the value was stored, otherwise {@code false}.
+     */
+    boolean putIfAbsent(String key, String value, Duration ttl);
+
+    /**
+     * Stores a value, replacing any existing one.
+     *
+     * @param key   the key.
+     * @param value the value to store.
+     * @param ttl   the time-to-live of the entry.
+     */
+    void put(String key, String value, Duration ttl);
+
+    /**
+     * Removes the entry stored under a key.
+     *
+     * @param key the key.
+     */
+    void remove(String key);
+}
@@ -0,0 +1,66 @@
+package com.olegtoropoff.petcareappointment.service.idempotency;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process {@link IdempotencyStore}.
+ * <p>
+ * Entries are only visible to the same instance. It is the store on its own when Redis is not configured,
+ * as in the "test" profile, and the fallback of the {@link FallbackIdempotencyStore} while Redis is unavailable.
+ * Expired entries are removed when they are accessed and by a periodic purge.
+ */
+@Component
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<String> get(String key) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.computeIfPresent(key, (k, current) -> current.expiresAt() > now ? current : null);
+        return Optional.ofNullable(entry).map(Entry::value);
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, String value, Duration ttl) {
+        long now = System.currentTimeMillis();
+        AtomicBoolean stored = new AtomicBoolean();
+        entries.compute(key, (k, current) -> {
+            if (current != null && current.expiresAt() > now) {
+                return current;
+            }
+            stored.set(true);
+            return new Entry(value, now + ttl.toMillis());
+        });
+        return stored.get();
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes the expired entries, so that keys that are never accessed again do not accumulate.
+     */
+    @Scheduled(cron = "0 */5 * * * ?")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private record Entry(String value, long expiresAt) {
+    }
+}
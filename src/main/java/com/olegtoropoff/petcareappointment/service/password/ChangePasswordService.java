@@ -9,6 +9,7 @@ import com.olegtoropoff.petcareappointment.validation.PasswordValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service implementation for handling user password changes.
@@ -35,6 +36,7 @@ public class ChangePasswordService implements IChangePasswordService {
      *                                          <li>The new password and confirmation password do not match</li>
      *                                      </ul>
      */
+    @Transactional
     @Override
     public void changePassword(Long userId, ChangePasswordRequest request) {
         if (request.getCurrentPassword() == null || request.getNewPassword() == null || request.getConfirmNewPassword() == null) {
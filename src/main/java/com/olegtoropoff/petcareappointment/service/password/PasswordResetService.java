@@ -13,6 +13,7 @@ import com.olegtoropoff.petcareappointment.validation.PasswordValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -39,6 +40,7 @@ public class PasswordResetService implements IPasswordResetService {
      * @return the {@link User} associated with the token
      * @throws IllegalArgumentException if the token is invalid or if the password does not meet validation criteria
      */
+    @Transactional(readOnly = true)
     @Override
     public User findUserByPasswordResetToken(String token, String password) {
         if (token == null || token.trim().isEmpty()) {
@@ -1,12 +1,11 @@
 package com.olegtoropoff.petcareappointment.service.patient;
 
-import com.olegtoropoff.petcareappointment.dto.EntityConverter;
+import com.olegtoropoff.petcareappointment.dto.ProjectionConverter;
 import com.olegtoropoff.petcareappointment.dto.UserDto;
-import com.olegtoropoff.petcareappointment.model.Patient;
-import com.olegtoropoff.petcareappointment.model.User;
-import com.olegtoropoff.petcareappointment.repository.PatientRepository;
+import com.olegtoropoff.petcareappointment.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,18 +16,18 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class PatientService implements IPatientService {
-    private final PatientRepository patientRepository;
-    private final EntityConverter<User, UserDto> entityConverter;
+    private final UserRepository userRepository;
+    private final ProjectionConverter projectionConverter;
 
     /**
      * Retrieves all patients and converts them to {@link UserDto}.
+     * Only the columns returned to the client are selected; no patient entities are loaded.
      *
      * @return a list of {@link UserDto} objects representing all patients.
      */
+    @Transactional(readOnly = true)
     @Override
     public List<UserDto> getPatients() {
-        List<Patient> patients = patientRepository.findAll();
-        return patients.stream()
-                .map(p -> entityConverter.mapEntityToDto(p, UserDto.class)).toList();
+        return projectionConverter.mapUsersToDtos(userRepository.findPatientSummaries());
     }
 }
\ No newline at end of file
@@ -53,6 +53,7 @@ public class PetService implements IPetService {
      * @param petId the ID of the pet to be updated
      * @return the updated pet
      */
+    @Transactional
     @Override
     public PetDto updatePet(Pet pet, Long petId) {
         Pet existingPet = getPetById(petId);
@@ -95,6 +96,7 @@ public class PetService implements IPetService {
      *
      * @return a list of distinct pet types
      */
+    @Transactional(readOnly = true)
     @Override
     public List<String> getPetTypes() {
         return petRepository.getDistinctPetTypes();
@@ -105,6 +107,7 @@ public class PetService implements IPetService {
      *
      * @return a list of distinct pet colors
      */
+    @Transactional(readOnly = true)
     @Override
     public List<String> getPetColors() {
         return petRepository.getDistinctPetColors();
@@ -116,6 +119,7 @@ public class PetService implements IPetService {
      * @param petType the type of pet to filter breeds by
      * @return a list of distinct pet breeds for the given pet type
      */
+    @Transactional(readOnly = true)
     @Override
     public List<String> getPetBreeds(String petType) {
         return petRepository.getDistinctPetBreedsByPetType(petType);
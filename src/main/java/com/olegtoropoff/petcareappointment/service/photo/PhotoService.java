@@ -44,6 +44,7 @@ public class PhotoService implements IPhotoService {
      * @throws IOException if an I/O error occurs while reading the file
      * @throws ResourceNotFoundException if the user with the specified ID is not found
      */
+    @Transactional
     @Override
     public Long savePhoto(MultipartFile file, Long userId) throws IOException {
         File tempFile = convertMultipartFileToFile(file);
@@ -86,6 +87,7 @@ public class PhotoService implements IPhotoService {
      * @return the S3 URL of the photo
      * @throws ResourceNotFoundException if the photo with the specified ID is not found
      */
+    @Transactional(readOnly = true)
     @Override
     public String getPhotoUrlById(Long id) {
         Photo photo = photoRepository.findById(id)
@@ -128,6 +130,7 @@ public class PhotoService implements IPhotoService {
      * @throws IOException if an I/O error occurs while reading the file
      * @throws ResourceNotFoundException if the photo with the specified ID is not found
      */
+    @Transactional
     @Override
     public Long updatePhoto(Long id, MultipartFile file) throws IOException {
         Photo photo = photoRepository.findById(id)
@@ -46,7 +46,7 @@ public class ReviewService implements IReviewService {
      * If all conditions are met, the review is saved and associated with both the veterinarian and the patient.
      * <p>
      * <b>Cache Eviction:</b>
-     * - Clears `veterinarians_with_details` caches to ensure fresh data.
+     * - Clears `veterinarians_with_details` and `available_veterinarians` caches to ensure fresh data.
      *
      * @param review         the review to save.
      * @param reviewerId     the ID of the patient submitting the review.
@@ -58,7 +58,7 @@ public class ReviewService implements IReviewService {
      * @throws IllegalStateException     if the patient has no completed appointments with the veterinarian.
      */
     @Caching(evict = {
-            @CacheEvict(value = "veterinarians_with_details", allEntries = true),
+            @CacheEvict(value = {"veterinarians_with_details", "available_veterinarians"}, allEntries = true),
     })
     @Transactional
     @Override
@@ -94,12 +94,13 @@ public class ReviewService implements IReviewService {
      * Deletes a review by its ID.
      * <p>
      * <b>Cache Eviction:</b>
-     * - Clears `veterinarians_with_details` caches.
+     * - Clears `veterinarians_with_details` and `available_veterinarians` caches.
      *
      * @param reviewId the ID of the review to delete.
      * @throws ResourceNotFoundException if the review does not exist.
      */
-    @CacheEvict(value = "veterinarians_with_details", allEntries = true)
+    @CacheEvict(value = {"veterinarians_with_details", "available_veterinarians"}, allEntries = true)
+    @Transactional
     @Override
     public void deleteReview(Long reviewId) {
         Review review = reviewRepository.findById(reviewId)
@@ -125,6 +126,7 @@ public class ReviewService implements IReviewService {
      * </ul>
      * @return a {@link Map} containing the average rating and review count for each veterinarian.
      */
+    @Transactional(readOnly = true)
     @Override
     public Map<Long, VeterinarianReviewProjection> getAverageRatingsAndTotalReviews() {
         List<VeterinarianReviewProjection> averageRatingsAndTotalReviews = reviewRepository.findAllAverageRatingsAndTotalReviews();
@@ -140,6 +142,7 @@ public class ReviewService implements IReviewService {
      * @param userId the ID of the user whose reviews are to be retrieved.
      * @return a {@link List} of {@link Review} containing all reviews for the specified user.
      */
+    @Transactional(readOnly = true)
     @Override
     public List<Review> findAllReviewsByUserId(Long userId) {
         return reviewRepository.findAllByUserId(userId);
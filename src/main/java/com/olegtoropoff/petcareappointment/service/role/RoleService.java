@@ -6,6 +6,7 @@ import com.olegtoropoff.petcareappointment.repository.RoleRepository;
 import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -25,6 +26,7 @@ public class RoleService implements IRoleService {
      * @param roleName the name of the role
      * @return the role with the given name, or {@code null} if not found
      */
+    @Transactional(readOnly = true)
     @Override
     public Role getRoleByName(String roleName) {
         return roleRepository.findByName(roleName).orElse(null);
@@ -37,6 +39,7 @@ public class RoleService implements IRoleService {
      * @return a set of roles assigned to the user
      * @throws ResourceNotFoundException if the role corresponding to the user type is not found
      */
+    @Transactional(readOnly = true)
     @Override
     public Set<Role> setUserRole(String userType) {
         Set<Role> userRoles = new HashSet<>();
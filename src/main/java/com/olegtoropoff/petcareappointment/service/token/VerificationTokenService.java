@@ -9,6 +9,7 @@ import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
 import com.olegtoropoff.petcareappointment.utils.SystemUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
@@ -29,6 +30,7 @@ public class VerificationTokenService implements IVerificationTokenService {
      * @param token the token to validate.
      * @return a message indicating the result of the validation process.
      */
+    @Transactional
     @Override
     public String validateToken(String token) {
         Optional<VerificationToken> theToken = findByToken(token);
@@ -66,6 +68,7 @@ public class VerificationTokenService implements IVerificationTokenService {
      * @return the newly generated verification token.
      * @throws IllegalArgumentException if the old token is invalid.
      */
+    @Transactional
     @Override
     public VerificationToken generateNewVerificationToken(String oldToken) {
         Optional<VerificationToken> theToken = findByToken(oldToken);
@@ -85,6 +88,7 @@ public class VerificationTokenService implements IVerificationTokenService {
      * @param token the token to check.
      * @return true if the token is expired, false otherwise.
      */
+    @Transactional(readOnly = true)
     @Override
     public boolean isTokenExpired(String token) {
         Optional<VerificationToken> theToken = findByToken(token);
@@ -102,6 +106,7 @@ public class VerificationTokenService implements IVerificationTokenService {
      * @return the latest verification token associated with the user.
      * @throws ResourceNotFoundException if no token is found for the user.
      */
+    @Transactional(readOnly = true)
     @Override
     public VerificationToken findTokenByUserId(Long userId) {
         return tokenRepository.findAllByUserId(userId).stream()
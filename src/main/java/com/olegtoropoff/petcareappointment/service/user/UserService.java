@@ -4,6 +4,7 @@ import com.olegtoropoff.petcareappointment.dto.AppointmentDto;
 import com.olegtoropoff.petcareappointment.dto.EntityConverter;
 import com.olegtoropoff.petcareappointment.dto.ReviewDto;
 import com.olegtoropoff.petcareappointment.dto.UserDto;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
 import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
 import com.olegtoropoff.petcareappointment.factory.UserFactory;
 import com.olegtoropoff.petcareappointment.model.Appointment;
@@ -22,7 +23,9 @@ import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
 import com.olegtoropoff.petcareappointment.validation.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Month;
 import java.time.format.TextStyle;
@@ -46,6 +49,7 @@ public class UserService implements IUserService {
     private final ReviewRepository reviewRepository;
     private final AppointmentRepository appointmentRepository;
     private final IVerificationTokenService tokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Registers a new user based on the provided registration request.
@@ -54,6 +58,7 @@ public class UserService implements IUserService {
      * @param request the registration request containing user details.
      * @return the registered {@link UserDto}.
      */
+    @Transactional
     @Override
     public UserDto register(RegistrationRequest request) {
         validateRegistrationRequest(request);
@@ -77,7 +82,7 @@ public class UserService implements IUserService {
      * <p>
      * <b>Cache Eviction:</b>
      * <ul>
-     *     <li>Clears `veterinarians_with_details` and `specializations` caches to ensure the updated user data is reflected.</li>
+     *     <li>Clears `veterinarians_with_details`, `specializations` and `available_veterinarians` caches to ensure the updated user data is reflected.</li>
      * </ul>
      *
      * @param userId  the ID of the user to update.
@@ -86,7 +91,8 @@ public class UserService implements IUserService {
      * @throws ResourceNotFoundException if the user does not exist.
      * @throws IllegalArgumentException  if the update request is invalid.
      */
-    @CacheEvict(value = {"veterinarians_with_details", "specializations"}, allEntries = true)
+    @CacheEvict(value = {"veterinarians_with_details", "specializations", "available_veterinarians"}, allEntries = true)
+    @Transactional
     @Override
     public UserDto update(Long userId, UserUpdateRequest request) {
         validateUserUpdateRequest(request);
@@ -103,6 +109,7 @@ public class UserService implements IUserService {
      * @return the {@link User} with the specified ID.
      * @throws ResourceNotFoundException if the user is not found.
      */
+    @Transactional(readOnly = true)
     @Override
     public User findById(Long userId) {
         return userRepository.findById(userId)
@@ -116,21 +123,22 @@ public class UserService implements IUserService {
      * <ul>
      *     <li>Finds the user by their ID.</li>
      *     <li>Deletes all reviews associated with the user.</li>
-     *     <li>Deletes all appointments linked to the user.</li>
+     *     <li>Deletes all appointments linked to the user and publishes their deletion to the in-memory appointment views.</li>
      *     <li>If the user has an associated photo, deletes the photo.</li>
      *     <li>Removes the user from the database.</li>
      * </ul>
      * <p>
      * <b>Cache Eviction:</b>
      * <ul>
-     *     <li>Clears `veterinarians_with_details` and `specializations` caches.</li>
+     *     <li>Clears `veterinarians_with_details`, `specializations` and `available_veterinarians` caches.</li>
      * </ul>
      *
      * @param userId the ID of the user to delete.
      * @throws ResourceNotFoundException if the user is not found.
      */
 
-    @CacheEvict(value = {"veterinarians_with_details", "specializations"}, allEntries = true)
+    @CacheEvict(value = {"veterinarians_with_details", "specializations", "available_veterinarians"}, allEntries = true)
+    @Transactional
     @Override
     public void deleteById(Long userId) {
         userRepository.findById(userId)
@@ -139,6 +147,7 @@ public class UserService implements IUserService {
                     reviewRepository.deleteAll(reviews);
                     List<Appointment> appointments = new ArrayList<>(appointmentRepository.findAllByUserId(userId));
                     appointmentRepository.deleteAll(appointments);
+                    appointments.forEach(appointment -> eventPublisher.publishEvent(AppointmentChangedEvent.deleted(appointment)));
                     if (userToDelete.getPhoto() != null) {
                         photoService.deletePhoto(userToDelete.getPhoto().getId(), userId);
                     }
@@ -154,9 +163,11 @@ public class UserService implements IUserService {
      * @param userId the ID of the user to retrieve.
      * @return a {@link UserDto} containing user details, including links to photos, appointments, and reviews.
      */
+    @Transactional(readOnly = true)
     @Override
     public UserDto getUserWithDetails(Long userId) {
-        User user = findById(userId);
+        User user = userRepository.findWithDetailsById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(FeedBackMessage.USER_NOT_FOUND));
         UserDto userDto = entityConverter.mapEntityToDto(user, UserDto.class);
         setUserAppointments(userDto);
         populateUserReviewDetails(userDto, userId);
@@ -178,6 +189,7 @@ public class UserService implements IUserService {
      * @param userDto the {@link UserDto} to populate with review details.
      * @param userId  the ID of the user whose review details should be populated.
      */
+    @Transactional(readOnly = true)
     @Override
     public void populateUserReviewDetails(UserDto userDto, Long userId) {
         List<Review> review = reviewService.findAllReviewsByUserId(userId);
@@ -196,6 +208,7 @@ public class UserService implements IUserService {
      *
      * @return the total count of veterinarians in the system.
      */
+    @Transactional(readOnly = true)
     @Override
     public long countVeterinarians() {
         return userRepository.countByUserType("VET");
@@ -206,6 +219,7 @@ public class UserService implements IUserService {
      *
      * @return the total count of patients in the system.
      */
+    @Transactional(readOnly = true)
     @Override
     public long countPatients() {
         return userRepository.countByUserType("PATIENT");
@@ -216,6 +230,7 @@ public class UserService implements IUserService {
      *
      * @return the total count of all users.
      */
+    @Transactional(readOnly = true)
     @Override
     public long countAllUsers() {
         return userRepository.count();
@@ -227,6 +242,7 @@ public class UserService implements IUserService {
      * @return a nested map where the key is the month, the value is another map
      * where the key is the user type and the value is the count of users.
      */
+    @Transactional(readOnly = true)
     @Override
     public Map<String, Map<String, Long>> aggregateUsersByMonthAndType() {
         List<User> users = userRepository.findAll();
@@ -244,6 +260,7 @@ public class UserService implements IUserService {
      * and the value is another map where the key is the user type and the value
      * is the count of users.
      */
+    @Transactional(readOnly = true)
     @Override
     public Map<String, Map<String, Long>> aggregateUsersByEnabledStatusAndType() {
         List<User> users = userRepository.findAll();
@@ -259,11 +276,11 @@ public class UserService implements IUserService {
      * The operation is typically used for administrative actions such as suspending a veterinarian.
      * <p>
      * <b>Cache Eviction:</b>
-     * - Clears `veterinarians_with_details` cache to ensure that locked users do not appear in cached lists.
+     * - Clears `veterinarians_with_details` and `available_veterinarians` caches to ensure that locked users do not appear in cached lists.
      *
      * @param userId the ID of the user whose account will be locked.
      */
-    @CacheEvict(value = {"veterinarians_with_details"}, allEntries = true)
+    @CacheEvict(value = {"veterinarians_with_details", "available_veterinarians"}, allEntries = true)
     @Override
     public void lockUserAccount(Long userId) {
         userRepository.updateUserEnabledStatus(userId, false);
@@ -276,11 +293,11 @@ public class UserService implements IUserService {
      * This operation is typically used for reactivating suspended accounts.
      * <p>
      * <b>Cache Eviction:</b>
-     * - Clears `veterinarians_with_details` cache to ensure that unlocked users are visible in cached lists.
+     * - Clears `veterinarians_with_details` and `available_veterinarians` caches to ensure that unlocked users are visible in cached lists.
      *
      * @param userId the ID of the user whose account will be unlocked.
      */
-    @CacheEvict(value = {"veterinarians_with_details"}, allEntries = true)
+    @CacheEvict(value = {"veterinarians_with_details", "available_veterinarians"}, allEntries = true)
     @Override
     public void unLockUserAccount(Long userId) {
         userRepository.updateUserEnabledStatus(userId, true);
@@ -295,6 +312,7 @@ public class UserService implements IUserService {
      * @return the URL of the user's photo, or {@code null} if the user has no associated photo.
      * @throws ResourceNotFoundException if the user with the specified ID does not exist.
      */
+    @Transactional(readOnly = true)
     @Override
     public String getPhotoUrlByUserId(Long userId) {
         User user = findById(userId);
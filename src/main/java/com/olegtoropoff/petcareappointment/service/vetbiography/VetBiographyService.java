@@ -10,6 +10,7 @@ import com.olegtoropoff.petcareappointment.repository.VeterinarianRepository;
 import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service class for managing veterinarian biographies.
@@ -31,6 +32,7 @@ public class VetBiographyService implements IVetBiographyService {
      * @return the {@link VetBiographyDto} associated with the veterinarian.
      * @throws ResourceNotFoundException if the biography is not found.
      */
+    @Transactional(readOnly = true)
     @Override
     public VetBiographyDto getVetBiographyByVetId(Long vetId) {
         VetBiography vetBiography = vetBiographyRepository.getVetBiographyByVeterinarianId(vetId)
@@ -49,6 +51,7 @@ public class VetBiographyService implements IVetBiographyService {
      * @return the saved {@link VetBiographyDto}.
      * @throws ResourceNotFoundException if the veterinarian is not found.
      */
+    @Transactional
     @Override
     public VetBiographyDto saveVetBiography(VetBiography vetBiography, Long vetId) {
         Veterinarian veterinarian = veterinarianRepository.findById(vetId)
@@ -69,6 +72,7 @@ public class VetBiographyService implements IVetBiographyService {
      * @return the updated {@link VetBiographyDto}.
      * @throws ResourceNotFoundException if the biography is not found.
      */
+    @Transactional
     @Override
     public VetBiographyDto updateVetBiography(VetBiography vetBiography, Long id) {
         VetBiography existingVetBiography = vetBiographyRepository.findById(id)
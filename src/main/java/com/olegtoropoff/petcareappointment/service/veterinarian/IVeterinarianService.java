@@ -1,5 +1,6 @@
 package com.olegtoropoff.petcareappointment.service.veterinarian;
 
+import com.olegtoropoff.petcareappointment.dto.AvailableSlotDto;
 import com.olegtoropoff.petcareappointment.dto.UserDto;
 
 import java.time.LocalDate;
@@ -68,6 +69,25 @@ public interface IVeterinarianService {
      */
     List<LocalTime> getAvailableTimeForBookAppointment(Long vetId, LocalDate date);
 
+    /**
+     * Retrieves available time slots for booking an appointment with a veterinarian for every day in a date range.
+     *
+     * @param vetId     the ID of the veterinarian.
+     * @param startDate the first date of the range (inclusive).
+     * @param endDate   the last date of the range (inclusive); the range may not exceed the booking horizon.
+     * @return a map from each date of the range, in ascending order, to the available time slots on that date.
+     */
+    Map<LocalDate, List<LocalTime>> getAvailableTimesForDateRange(Long vetId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Finds the earliest free slots of all veterinarians with a given specialization within the booking horizon.
+     *
+     * @param specialization the specialization required for the appointment.
+     * @param limit          the maximum number of slots to return.
+     * @return a list of {@link AvailableSlotDto} ordered from the earliest slot.
+     */
+    List<AvailableSlotDto> findEarliestAvailableSlots(String specialization, int limit);
+
     /**
      * Retrieves a list of all veterinarians as {@link UserDto} objects.
      *
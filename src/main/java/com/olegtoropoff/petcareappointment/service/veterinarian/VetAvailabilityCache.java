@@ -0,0 +1,116 @@
+package com.olegtoropoff.petcareappointment.service.veterinarian;
+
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import com.olegtoropoff.petcareappointment.repository.VeterinarianRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Keys and invalidation of the cached availability results of {@link VeterinarianService}.
+ * <p>
+ * Available times are cached per veterinarian and date, and the results of the veterinarian search per
+ * specialization, date and time. Only future dates and times on the booking grid are cached, since results
+ * for the current date depend on the time of the request.
+ * <p>
+ * Whenever an appointment changes, only the entries of its veterinarian for the affected dates are evicted:
+ * the available times of the veterinarian and the search results for their specialization at every slot
+ * of those dates.
+ */
+@Component
+@RequiredArgsConstructor
+public class VetAvailabilityCache {
+
+    /**
+     * Name of the cache holding the available times of a veterinarian on a date.
+     */
+    public static final String AVAILABLE_TIMES = "available_times";
+
+    /**
+     * Name of the cache holding the veterinarians available for a specialization, date and time.
+     */
+    public static final String AVAILABLE_VETERINARIANS = "available_veterinarians";
+
+    private final CacheManager cacheManager;
+    private final VeterinarianRepository veterinarianRepository;
+
+    /**
+     * Builds the key of the available times of a veterinarian on a date.
+     *
+     * @param vetId the ID of the veterinarian.
+     * @param date  the date.
+     * @return the cache key.
+     */
+    public static String availableTimesKey(Long vetId, LocalDate date) {
+        return vetId + ":" + date;
+    }
+
+    /**
+     * Builds the key of the veterinarians available for a specialization at a date and time.
+     *
+     * @param specialization the specialization.
+     * @param date           the date.
+     * @param time           the time.
+     * @return the cache key.
+     */
+    public static String availableVeterinariansKey(String specialization, LocalDate date, LocalTime time) {
+        return specialization + ":" + date + ":" + time;
+    }
+
+    /**
+     * Determines whether availability results for a date and, optionally, a time may be cached.
+     *
+     * @param date the requested date.
+     * @param time the requested time, or {@code null} if the result does not depend on a time.
+     * @return {@code true} if the date lies after the current date and the time, if given, is a booking slot.
+     */
+    public static boolean isCacheable(LocalDate date, LocalTime time) {
+        return date != null && date.isAfter(LocalDate.now())
+               && (time == null || VeterinarianService.BOOKING_SLOTS.contains(time));
+    }
+
+    /**
+     * Evicts the availability results affected by an appointment change once it has been committed.
+     *
+     * @param event the appointment change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.veterinarianId() == null) {
+            return;
+        }
+        Optional<String> specialization = veterinarianRepository.findSpecializationById(event.veterinarianId());
+        Stream.of(event.appointmentDate(), event.previousAppointmentDate())
+                .filter(date -> isCacheable(date, null))
+                .forEach(date -> evict(event.veterinarianId(), specialization.orElse(null), date));
+    }
+
+    /**
+     * Evicts the cached available times of a veterinarian on a date.
+     *
+     * @param vetId the ID of the veterinarian.
+     * @param date  the date.
+     */
+    public void evictAvailableTimes(Long vetId, LocalDate date) {
+        Cache availableTimes = cacheManager.getCache(AVAILABLE_TIMES);
+        if (availableTimes != null) {
+            availableTimes.evict(availableTimesKey(vetId, date));
+        }
+    }
+
+    private void evict(Long vetId, String specialization, LocalDate date) {
+        evictAvailableTimes(vetId, date);
+        Cache availableVeterinarians = cacheManager.getCache(AVAILABLE_VETERINARIANS);
+        if (availableVeterinarians != null && specialization != null) {
+            VeterinarianService.BOOKING_SLOTS.forEach(time ->
+                    availableVeterinarians.evict(availableVeterinariansKey(specialization, date, time)));
+        }
+    }
+}
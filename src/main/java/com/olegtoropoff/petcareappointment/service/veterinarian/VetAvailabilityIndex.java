@@ -0,0 +1,234 @@
+package com.olegtoropoff.petcareappointment.service.veterinarian;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSlotProjection;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the booking slots blocked in each veterinarian's schedule.
+ * <p>
+ * For every veterinarian and every day of the booking horizon the index keeps a bitmask over
+ * {@link VeterinarianService#BOOKING_SLOTS}: bit {@code i} is set if slot {@code i} overlaps an active appointment,
+ * including the buffers around it. Availability lookups within the horizon are therefore answered with bit
+ * operations and no database access; dates outside the horizon are not covered and have to be checked against
+ * the database.
+ * <p>
+ * The index is built from the database at startup, kept up to date with {@link AppointmentChangedEvent}s
+ * and rebuilt periodically, which also moves the horizon forward. Changes committed by other instances of the
+ * application reach the index through the same events once they have been relayed between the instances; until
+ * then the index may report a slot as blocked that has just been freed, so a blocked slot is only a hint and
+ * is confirmed with {@link #refresh} before a booking is rejected.
+ */
+@Component
+@RequiredArgsConstructor
+public class VetAvailabilityIndex implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger logger = LoggerFactory.getLogger(VetAvailabilityIndex.class);
+
+    /**
+     * The number of days, starting today, covered by the index.
+     */
+    static final int BOOKING_HORIZON_DAYS = 30;
+
+    private final AppointmentRepository appointmentRepository;
+
+    private volatile Map<SlotDay, DaySlots> slotsByDay = new ConcurrentHashMap<>();
+    private volatile Map<Long, SlotDay> dayByAppointment = new ConcurrentHashMap<>();
+    private volatile LocalDate horizonStart;
+    private volatile LocalDate horizonEnd;
+
+    /**
+     * Builds the index once the application is ready.
+     *
+     * @param event the event signaling that the application is ready.
+     */
+    @Override
+    public void onApplicationEvent(@NonNull ApplicationReadyEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the index from the database for the booking horizon starting today.
+     * Runs every hour to move the horizon forward and to pick up changes made outside the application.
+     */
+    @Scheduled(cron = "0 30 * * * ?")
+    public synchronized void rebuild() {
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(BOOKING_HORIZON_DAYS);
+        Map<SlotDay, DaySlots> newSlotsByDay = new ConcurrentHashMap<>();
+        Map<Long, SlotDay> newDayByAppointment = new ConcurrentHashMap<>();
+        List<AppointmentSlotProjection> appointments =
+                appointmentRepository.findSlotsByAppointmentDateBetween(start, end, VeterinarianService.NON_BLOCKING_STATUSES);
+        for (AppointmentSlotProjection appointment : appointments) {
+            if (appointment.getVeterinarianId() == null || appointment.getAppointmentTime() == null) {
+                continue;
+            }
+            SlotDay day = new SlotDay(appointment.getVeterinarianId(), appointment.getAppointmentDate());
+            newSlotsByDay.computeIfAbsent(day, key -> new DaySlots())
+                    .put(appointment.getId(), blockedSlotMask(appointment.getStatus(), appointment.getAppointmentTime()));
+            newDayByAppointment.put(appointment.getId(), day);
+        }
+        slotsByDay = newSlotsByDay;
+        dayByAppointment = newDayByAppointment;
+        horizonStart = start;
+        horizonEnd = end;
+        logger.info("Veterinarian availability index rebuilt for {} - {}: {} appointment(s)", start, end, appointments.size());
+    }
+
+    /**
+     * Updates the index when an appointment is booked, updated, has its status changed or is deleted.
+     * Transactional changes are applied once they have been committed.
+     *
+     * @param event the appointment change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAppointmentChanged(AppointmentChangedEvent event) {
+        SlotDay previousDay = dayByAppointment.remove(event.appointmentId());
+        if (previousDay != null) {
+            DaySlots previousSlots = slotsByDay.get(previousDay);
+            if (previousSlots != null) {
+                previousSlots.remove(event.appointmentId());
+            }
+        }
+        if (event.deleted() || event.veterinarianId() == null || event.appointmentTime() == null
+            || !covers(event.appointmentDate())) {
+            return;
+        }
+        int mask = blockedSlotMask(event.status(), event.appointmentTime());
+        if (mask != 0) {
+            SlotDay day = new SlotDay(event.veterinarianId(), event.appointmentDate());
+            slotsByDay.computeIfAbsent(day, key -> new DaySlots()).put(event.appointmentId(), mask);
+            dayByAppointment.put(event.appointmentId(), day);
+        }
+    }
+
+    /**
+     * Reloads a single day of a veterinarian's schedule from the database and replaces it in the index.
+     * Dates outside the horizon are only loaded, not indexed.
+     *
+     * @param veterinarianId the ID of the veterinarian.
+     * @param date           the date.
+     * @return a bitmask over {@link VeterinarianService#BOOKING_SLOTS} with a bit set for every slot blocked
+     * according to the database.
+     */
+    public synchronized int refresh(Long veterinarianId, LocalDate date) {
+        DaySlots newSlots = new DaySlots();
+        List<AppointmentSlotProjection> appointments = appointmentRepository
+                .findSlotsByVeterinarianIdAndAppointmentDateBetween(veterinarianId, date, date, VeterinarianService.NON_BLOCKING_STATUSES);
+        for (AppointmentSlotProjection appointment : appointments) {
+            if (appointment.getAppointmentTime() != null) {
+                newSlots.put(appointment.getId(), blockedSlotMask(appointment.getStatus(), appointment.getAppointmentTime()));
+            }
+        }
+        if (covers(date)) {
+            SlotDay day = new SlotDay(veterinarianId, date);
+            DaySlots previousSlots = slotsByDay.put(day, newSlots);
+            if (previousSlots != null) {
+                previousSlots.masks.keySet().forEach(appointmentId -> dayByAppointment.remove(appointmentId, day));
+            }
+            newSlots.masks.keySet().forEach(appointmentId -> {
+                SlotDay previousDay = dayByAppointment.put(appointmentId, day);
+                if (previousDay != null && !previousDay.equals(day)) {
+                    DaySlots slots = slotsByDay.get(previousDay);
+                    if (slots != null) {
+                        slots.remove(appointmentId);
+                    }
+                }
+            });
+        }
+        return newSlots.getBlocked();
+    }
+
+    /**
+     * Returns the slots blocked in a veterinarian's schedule on a given date.
+     *
+     * @param veterinarianId the ID of the veterinarian.
+     * @param date           the date.
+     * @return a bitmask over {@link VeterinarianService#BOOKING_SLOTS} with a bit set for every blocked slot,
+     * or an empty result if the date is not covered by the index.
+     */
+    public OptionalInt getBlockedSlots(Long veterinarianId, LocalDate date) {
+        if (!covers(date)) {
+            return OptionalInt.empty();
+        }
+        DaySlots slots = slotsByDay.get(new SlotDay(veterinarianId, date));
+        return OptionalInt.of(slots != null ? slots.getBlocked() : 0);
+    }
+
+    /**
+     * Computes the slots blocked by a single appointment.
+     *
+     * @param status          the status of the appointment.
+     * @param appointmentTime the start time of the appointment.
+     * @return a bitmask over {@link VeterinarianService#BOOKING_SLOTS} with a bit set for every slot that overlaps
+     * the appointment, or {@code 0} if the appointment does not block the schedule.
+     */
+    public static int blockedSlotMask(AppointmentStatus status, LocalTime appointmentTime) {
+        int mask = 0;
+        for (int slot = 0; slot < VeterinarianService.BOOKING_SLOTS.size(); slot++) {
+            LocalTime slotStart = VeterinarianService.BOOKING_SLOTS.get(slot);
+            LocalTime slotEnd = slotStart.plusMinutes(VeterinarianService.APPOINTMENT_DURATION_MINUTES);
+            if (VeterinarianService.doesAppointmentOverLap(status, appointmentTime, slotStart, slotEnd)) {
+                mask |= 1 << slot;
+            }
+        }
+        return mask;
+    }
+
+    private boolean covers(LocalDate date) {
+        LocalDate start = horizonStart;
+        LocalDate end = horizonEnd;
+        return date != null && start != null && !date.isBefore(start) && !date.isAfter(end);
+    }
+
+    /**
+     * A single day in a veterinarian's schedule.
+     */
+    private record SlotDay(Long veterinarianId, LocalDate date) {
+    }
+
+    /**
+     * The slots blocked by each appointment of a day, together with their union.
+     * Modified only while holding the index lock; the union is read without locking.
+     */
+    private static final class DaySlots {
+        private final Map<Long, Integer> masks = new HashMap<>();
+        private volatile int blocked;
+
+        void put(Long appointmentId, int mask) {
+            masks.put(appointmentId, mask);
+            blocked |= mask;
+        }
+
+        void remove(Long appointmentId) {
+            if (masks.remove(appointmentId) != null) {
+                int union = 0;
+                for (int mask : masks.values()) {
+                    union |= mask;
+                }
+                blocked = union;
+            }
+        }
+
+        int getBlocked() {
+            return blocked;
+        }
+    }
+}
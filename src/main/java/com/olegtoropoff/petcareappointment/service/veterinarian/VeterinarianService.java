@@ -1,24 +1,38 @@
 package com.olegtoropoff.petcareappointment.service.veterinarian;
 
+import com.olegtoropoff.petcareappointment.dto.AvailableSlotDto;
 import com.olegtoropoff.petcareappointment.dto.EntityConverter;
+import com.olegtoropoff.petcareappointment.dto.ProjectionConverter;
 import com.olegtoropoff.petcareappointment.dto.UserDto;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
 import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
 import com.olegtoropoff.petcareappointment.model.Appointment;
 import com.olegtoropoff.petcareappointment.model.Veterinarian;
 import com.olegtoropoff.petcareappointment.projection.VeterinarianReviewProjection;
 import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
 import com.olegtoropoff.petcareappointment.repository.VeterinarianRepository;
+import com.olegtoropoff.petcareappointment.service.appointment.SlotHoldRegistry;
 import com.olegtoropoff.petcareappointment.service.review.IReviewService;
 import com.olegtoropoff.petcareappointment.service.user.IUserService;
 import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -46,7 +60,7 @@ public class VeterinarianService implements IVeterinarianService {
     /**
      * The buffer time in minutes after the end of an appointment during which the slot is considered unavailable.
      */
-    private static final int UNAVAILABLE_AFTER_END_MINUTES = 10;
+    public static final int UNAVAILABLE_AFTER_END_MINUTES = 10;
 
     /**
      * The start time of the working day.
@@ -76,17 +90,38 @@ public class VeterinarianService implements IVeterinarianService {
      */
     private static final int MINIMUM_HOURS_FROM_NOW_FOR_APPOINTMENT = 2;
 
+    /**
+     * Statuses of appointments that do not block the veterinarian's schedule.
+     */
+    static final List<AppointmentStatus> NON_BLOCKING_STATUSES = List.of(CANCELLED, NOT_APPROVED);
+
+    /**
+     * The start times of all slots that can be booked during a working day, in ascending order.
+     */
+    public static final List<LocalTime> BOOKING_SLOTS = Stream.iterate(BEGINNING_OF_WORKING_DAY,
+                    time -> time.isBefore(END_OF_WORKING_DAY.minusMinutes(UNAVAILABLE_BEFORE_END_OF_WORKING_DAY)),
+                    time -> time.plusMinutes(AVAILABLE_PERIOD_FOR_BOOK_APPOINTMENT))
+            .toList();
+
+    /**
+     * The maximum number of slots returned by a single earliest available slot search.
+     */
+    static final int MAX_EARLIEST_SLOTS = 20;
+
     private final EntityConverter<Veterinarian, UserDto> entityConverter;
     private final IReviewService reviewService;
     private final AppointmentRepository appointmentRepository;
     private final VeterinarianRepository veterinarianRepository;
+    private final ProjectionConverter projectionConverter;
     private final IUserService userService;
+    private final VetAvailabilityIndex availabilityIndex;
+    private final SlotHoldRegistry slotHoldRegistry;
 
 
     /**
      * Retrieves a list of all enabled veterinarians with detailed information.
-     * This method fetches veterinarians with the user type "VET" and {@code isEnabled} status set to {@code true},
-     * then maps them to {@link UserDto} objects. During the mapping process, additional details such as
+     * This method selects the listed columns of veterinarians with the user type "VET" and {@code isEnabled} status
+     * set to {@code true}, then maps them to {@link UserDto} objects. During the mapping process, additional details such as
      * average rating and total number of reviews for each veterinarian are included.
      * <p>
      * The method leverages caching to store the resulting list of enabled veterinarians for faster subsequent access.
@@ -102,13 +137,14 @@ public class VeterinarianService implements IVeterinarianService {
      * including their average ratings and total review counts.
      */
     @Cacheable(value = "veterinarians_with_details", unless = "#result == null or #result.isEmpty()")
+    @Transactional(readOnly = true)
     @Override
     public List<UserDto> getAllVeterinariansWithDetails() {
-        List<Veterinarian> veterinarians = veterinarianRepository.findAllByUserTypeAndIsEnabled("VET", true);
+        List<UserDto> veterinarians = projectionConverter.mapUsersToDtos(
+                veterinarianRepository.findSummariesByUserTypeAndIsEnabled("VET", true));
         Map<Long, VeterinarianReviewProjection> statsMap = reviewService.getAverageRatingsAndTotalReviews();
-        return veterinarians.stream()
-                .map(vet -> mapVeterinarianToUserDto(vet, statsMap))
-                .toList();
+        veterinarians.forEach(userDto -> populateReviewStats(userDto, statsMap));
+        return veterinarians;
     }
 
     /**
@@ -116,7 +152,7 @@ public class VeterinarianService implements IVeterinarianService {
      * <p>
      * This method:
      * <ul>
-     *     <li>Fetches a veterinarian by their ID, including their photo.</li>
+     *     <li>Fetches a veterinarian by their ID, including their photo and roles.</li>
      *     <li>Throws an exception if the veterinarian is not found.</li>
      *     <li>Converts the veterinarian entity into a {@link UserDto}.</li>
      *     <li>Populates the DTO with review details, including average rating and total reviews.</li>
@@ -126,6 +162,7 @@ public class VeterinarianService implements IVeterinarianService {
      * @return the {@link UserDto} containing veterinarian details, photo, and reviews.
      * @throws ResourceNotFoundException if the veterinarian is not found.
      */
+    @Transactional(readOnly = true)
     @Override
     public UserDto getVeterinarianWithDetailsAndReview(Long vetId) {
         Veterinarian veterinarian = veterinarianRepository.findVeterinarianWithPhotoById(vetId)
@@ -153,6 +190,7 @@ public class VeterinarianService implements IVeterinarianService {
      * The list is empty if no specializations are found.
      */
     @Cacheable(value = "specializations", unless = "#result == null or #result.isEmpty()")
+    @Transactional(readOnly = true)
     @Override
     public List<String> getSpecializations() {
         return veterinarianRepository.getSpecializations();
@@ -160,12 +198,20 @@ public class VeterinarianService implements IVeterinarianService {
 
     /**
      * Finds available veterinarians based on specialization, date, and time.
+     * <p>
+     * Results for future dates are cached under the cache name "available_veterinarians", keyed by
+     * specialization, date and time. Entries are evicted by {@link VetAvailabilityCache} when an appointment
+     * of a veterinarian with that specialization changes on that date.
      *
      * @param specialization the specialization to filter veterinarians.
      * @param date           the date for the appointment.
      * @param time           the time for the appointment.
      * @return a list of {@link UserDto} representing available veterinarians.
      */
+    @Cacheable(value = VetAvailabilityCache.AVAILABLE_VETERINARIANS,
+            key = "T(com.olegtoropoff.petcareappointment.service.veterinarian.VetAvailabilityCache).availableVeterinariansKey(#specialization, #date, #time)",
+            condition = "T(com.olegtoropoff.petcareappointment.service.veterinarian.VetAvailabilityCache).isCacheable(#date, #time)")
+    @Transactional(readOnly = true)
     @Override
     public List<UserDto> findAvailableVeterinariansForAppointments(String specialization, LocalDate date, LocalTime time) {
         List<Veterinarian> filteredVets = getAvailableVeterinarians(specialization, date, time);
@@ -180,6 +226,7 @@ public class VeterinarianService implements IVeterinarianService {
      *
      * @return a list of maps containing specialization and veterinarian count.
      */
+    @Transactional(readOnly = true)
     @Override
     public List<Map<String, Object>> aggregateVetsBySpecialization() {
         List<Object[]> results = veterinarianRepository.countVetsBySpecialization();
@@ -190,43 +237,119 @@ public class VeterinarianService implements IVeterinarianService {
 
     /**
      * Retrieves available times for booking an appointment with a veterinarian on a specific date.
+     * <p>
+     * Within the booking horizon the blocked slots are taken from the {@link VetAvailabilityIndex};
+     * for other dates they are computed from the veterinarian's appointments in the database.
+     * Slots held by patients in the {@link SlotHoldRegistry} are blocked like booked appointments.
+     * <p>
+     * Results for future dates are cached under the cache name "available_times", keyed by veterinarian and date,
+     * unless the veterinarian has held slots on that date, since holds expire without notice.
+     * Entries are evicted by {@link VetAvailabilityCache} when an appointment of the veterinarian changes on that date
+     * or a slot is held.
      *
      * @param vetId the veterinarian's ID.
      * @param date  the date to check availability.
      * @return a list of {@link LocalTime} representing available time slots.
      */
+    @Cacheable(value = VetAvailabilityCache.AVAILABLE_TIMES,
+            key = "T(com.olegtoropoff.petcareappointment.service.veterinarian.VetAvailabilityCache).availableTimesKey(#vetId, #date)",
+            condition = "T(com.olegtoropoff.petcareappointment.service.veterinarian.VetAvailabilityCache).isCacheable(#date, null)",
+            unless = "@slotHoldRegistry.hasHolds(#vetId, #date)")
+    @Transactional(readOnly = true)
     @Override
     public List<LocalTime> getAvailableTimeForBookAppointment(Long vetId, LocalDate date) {
-        List<Appointment> appointments = appointmentRepository.findByVeterinarianIdAndAppointmentDate(vetId, date);
+        int blockedSlots = getBlockedSlots(vetId, date) | SlotHoldRegistry.heldSlotMask(slotHoldRegistry.findHolds(vetId, date));
+        return getAvailableTimes(date, blockedSlots);
+    }
 
-        LocalTime currentTime = LocalTime.now();
-        LocalDate currentDate = LocalDate.now();
+    /**
+     * Retrieves available times for booking an appointment with a veterinarian for every day in a date range.
+     * <p>
+     * The veterinarian's appointments for the whole range are loaded with a single query, and the blocked slots
+     * of each day are computed with the same overlap rules as for a single date. The slots held by patients
+     * in the whole range are looked up at once and blocked as well.
+     *
+     * @param vetId     the veterinarian's ID.
+     * @param startDate the first date of the range (inclusive).
+     * @param endDate   the last date of the range (inclusive).
+     * @return a map from each date of the range, in ascending order, to the available time slots on that date.
+     * @throws IllegalArgumentException if the range ends before it starts or exceeds the booking horizon.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public Map<LocalDate, List<LocalTime>> getAvailableTimesForDateRange(Long vetId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)
+            || ChronoUnit.DAYS.between(startDate, endDate) > VetAvailabilityIndex.BOOKING_HORIZON_DAYS) {
+            throw new IllegalArgumentException(
+                    String.format(FeedBackMessage.INVALID_DATE_RANGE, VetAvailabilityIndex.BOOKING_HORIZON_DAYS));
+        }
+        Map<LocalDate, Integer> blockedSlotsByDate = new HashMap<>();
+        appointmentRepository.findSlotsByVeterinarianIdAndAppointmentDateBetween(vetId, startDate, endDate, NON_BLOCKING_STATUSES)
+                .forEach(appointment -> blockedSlotsByDate.merge(appointment.getAppointmentDate(),
+                        VetAvailabilityIndex.blockedSlotMask(appointment.getStatus(), appointment.getAppointmentTime()),
+                        (left, right) -> left | right));
 
-        return Stream.iterate(BEGINNING_OF_WORKING_DAY,
-                        time -> time.isBefore(END_OF_WORKING_DAY.minusMinutes(UNAVAILABLE_BEFORE_END_OF_WORKING_DAY)),
-                        time -> time.plusMinutes(AVAILABLE_PERIOD_FOR_BOOK_APPOINTMENT))
-                .filter(time -> {
-                    if (date.equals(currentDate)) {
-                        return time.isAfter(currentTime.plusHours(MINIMUM_HOURS_FROM_NOW_FOR_APPOINTMENT));
-                    }
-                    return true;
-                })
-                .filter(time -> appointments.stream().noneMatch(appointment ->
-                        doesAppointmentOverLap(appointment, time, time.plusMinutes(APPOINTMENT_DURATION_MINUTES))
-                ))
-                .collect(Collectors.toList());
+        slotHoldRegistry.findHolds(vetId, startDate, endDate).forEach((date, holds) ->
+                blockedSlotsByDate.merge(date, SlotHoldRegistry.heldSlotMask(holds), (left, right) -> left | right));
+
+        Map<LocalDate, List<LocalTime>> availableTimes = new LinkedHashMap<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            availableTimes.put(date, getAvailableTimes(date, blockedSlotsByDate.getOrDefault(date, 0)));
+        }
+        return availableTimes;
+    }
+
+    /**
+     * Finds the earliest free slots of all enabled veterinarians with a given specialization within the booking horizon.
+     * <p>
+     * Every veterinarian contributes a stream of free slots in chronological order. The streams are merged with
+     * a priority queue ordered by date, time and veterinarian ID, so the search only inspects the days it needs
+     * and stops as soon as {@code limit} slots have been found. Slots held by patients are not free.
+     *
+     * @param specialization the specialization to filter veterinarians.
+     * @param limit          the maximum number of slots to return, between 1 and {@link #MAX_EARLIEST_SLOTS}.
+     * @return a list of {@link AvailableSlotDto} ordered by date, time and veterinarian ID.
+     * @throws IllegalArgumentException  if the limit is out of range.
+     * @throws ResourceNotFoundException if no veterinarians with the given specialization are found.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<AvailableSlotDto> findEarliestAvailableSlots(String specialization, int limit) {
+        if (limit < 1 || limit > MAX_EARLIEST_SLOTS) {
+            throw new IllegalArgumentException(String.format(FeedBackMessage.INVALID_SLOT_LIMIT, MAX_EARLIEST_SLOTS));
+        }
+        LocalDate firstDate = LocalDate.now();
+        LocalDate lastDate = firstDate.plusDays(VetAvailabilityIndex.BOOKING_HORIZON_DAYS);
+        LocalDateTime earliestStart = LocalDateTime.now().plusHours(MINIMUM_HOURS_FROM_NOW_FOR_APPOINTMENT);
+
+        PriorityQueue<FreeSlotCursor> cursors = new PriorityQueue<>();
+        for (Veterinarian veterinarian : getVeterinariansBySpecialization(specialization)) {
+            FreeSlotCursor cursor = new FreeSlotCursor(veterinarian, firstDate, lastDate, earliestStart);
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        List<AvailableSlotDto> slots = new ArrayList<>(limit);
+        while (slots.size() < limit && !cursors.isEmpty()) {
+            FreeSlotCursor cursor = cursors.poll();
+            slots.add(cursor.toDto());
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        return slots;
     }
 
     /**
      * Retrieves all veterinarians and converts them to {@link UserDto}.
+     * Only the columns returned to the client are selected; no veterinarian entities are loaded.
      *
      * @return a list of {@link UserDto} objects representing all veterinarians.
      */
+    @Transactional(readOnly = true)
     @Override
     public List<UserDto> getVeterinarians() {
-        List<Veterinarian> veterinarians = veterinarianRepository.findAll();
-        return veterinarians.stream()
-                .map(v -> entityConverter.mapEntityToDto(v, UserDto.class)).toList();
+        return projectionConverter.mapUsersToDtos(veterinarianRepository.findSummaries());
     }
 
     /**
@@ -252,7 +375,19 @@ public class VeterinarianService implements IVeterinarianService {
      */
     private UserDto mapVeterinarianToUserDto(Veterinarian veterinarian, Map<Long, VeterinarianReviewProjection> statsMap) {
         UserDto userDto = entityConverter.mapEntityToDto(veterinarian, UserDto.class);
-        VeterinarianReviewProjection stats = statsMap.get(veterinarian.getId());
+        populateReviewStats(userDto, statsMap);
+        return userDto;
+    }
+
+    /**
+     * Sets the average rating and total reviewers of a veterinarian on the given {@link UserDto}.
+     * Veterinarians without reviews get a rating of 0 and no reviewers.
+     *
+     * @param userDto  the veterinarian DTO to populate.
+     * @param statsMap the review statistics of all veterinarians, keyed by veterinarian ID.
+     */
+    private void populateReviewStats(UserDto userDto, Map<Long, VeterinarianReviewProjection> statsMap) {
+        VeterinarianReviewProjection stats = statsMap.get(userDto.getId());
         if (stats != null) {
             userDto.setAverageRating(stats.getAverageRating() != null ? stats.getAverageRating() : 0.0);
             userDto.setTotalReviewers(stats.getTotalReviewers());
@@ -260,7 +395,6 @@ public class VeterinarianService implements IVeterinarianService {
             userDto.setAverageRating(0.0);
             userDto.setTotalReviewers(0L);
         }
-        return userDto;
     }
 
     /**
@@ -273,45 +407,177 @@ public class VeterinarianService implements IVeterinarianService {
      */
     private List<Veterinarian> getAvailableVeterinarians(String specialization, LocalDate date, LocalTime time) {
         List<Veterinarian> veterinarians = getVeterinariansBySpecialization(specialization);
+        if (date == null || time == null || veterinarians.isEmpty()) {
+            return veterinarians;
+        }
+        Set<Long> unavailableVetIds = getUnavailableVeterinarianIds(veterinarians, date, time);
         return veterinarians.stream()
-                .filter(vet -> isVetAvailable(vet, date, time))
+                .filter(vet -> !unavailableVetIds.contains(vet.getId()))
                 .toList();
     }
 
     /**
-     * Checks if a veterinarian is available for an appointment on a specific date and time.
+     * Determines which of the given veterinarians are busy on a specific date and time.
+     * <p>
+     * Veterinarians whose schedule for the date is covered by the {@link VetAvailabilityIndex} are checked
+     * with a bit test. The appointments of all remaining veterinarians are loaded with a single query
+     * and checked for overlaps in memory, so the number of queries does not depend on the number of veterinarians.
      *
-     * @param veterinarian  the veterinarian to check.
+     * @param veterinarians the veterinarians to check.
      * @param requestedDate the date of the requested appointment.
      * @param requestedTime the time of the requested appointment.
-     * @return {@code true} if the veterinarian is available; {@code false} otherwise.
+     * @return the IDs of the veterinarians that are not available.
      */
-    private boolean isVetAvailable(Veterinarian veterinarian, LocalDate requestedDate, LocalTime requestedTime) {
-        if (requestedDate != null && requestedTime != null) {
+    private Set<Long> getUnavailableVeterinarianIds(List<Veterinarian> veterinarians, LocalDate requestedDate, LocalTime requestedTime) {
+        Set<Long> unavailableVetIds = new HashSet<>();
+        List<Long> uncheckedVetIds = new ArrayList<>();
+        int slot = BOOKING_SLOTS.indexOf(requestedTime);
+        for (Veterinarian veterinarian : veterinarians) {
+            OptionalInt blockedSlots = slot >= 0
+                    ? availabilityIndex.getBlockedSlots(veterinarian.getId(), requestedDate)
+                    : OptionalInt.empty();
+            if (blockedSlots.isEmpty()) {
+                uncheckedVetIds.add(veterinarian.getId());
+            } else if ((blockedSlots.getAsInt() & (1 << slot)) != 0) {
+                unavailableVetIds.add(veterinarian.getId());
+            }
+        }
+        if (!uncheckedVetIds.isEmpty()) {
             LocalTime requestedEndTime = requestedTime.plusMinutes(APPOINTMENT_DURATION_MINUTES);
-            return appointmentRepository.findByVeterinarianAndAppointmentDate(veterinarian, requestedDate)
+            appointmentRepository.findSlotsByVeterinarianIdInAndAppointmentDate(uncheckedVetIds, requestedDate, NON_BLOCKING_STATUSES)
                     .stream()
-                    .noneMatch(existingAppointment -> doesAppointmentOverLap(existingAppointment, requestedTime, requestedEndTime));
+                    .filter(appointment -> doesAppointmentOverLap(appointment.getStatus(),
+                            appointment.getAppointmentTime(), requestedTime, requestedEndTime))
+                    .forEach(appointment -> unavailableVetIds.add(appointment.getVeterinarianId()));
+        }
+        return unavailableVetIds;
+    }
+
+    /**
+     * Lists the booking slots of a date that are not blocked. On the current date only slots at least
+     * {@link #MINIMUM_HOURS_FROM_NOW_FOR_APPOINTMENT} hours from now are returned.
+     *
+     * @param date         the date of the slots.
+     * @param blockedSlots a bitmask over {@link #BOOKING_SLOTS} with a bit set for every blocked slot.
+     * @return a list of {@link LocalTime} representing available time slots.
+     */
+    private List<LocalTime> getAvailableTimes(LocalDate date, int blockedSlots) {
+        boolean today = date.equals(LocalDate.now());
+        LocalTime earliestTime = LocalTime.now().plusHours(MINIMUM_HOURS_FROM_NOW_FOR_APPOINTMENT);
+
+        List<LocalTime> availableTimes = new ArrayList<>(BOOKING_SLOTS.size());
+        for (int slot = 0; slot < BOOKING_SLOTS.size(); slot++) {
+            LocalTime time = BOOKING_SLOTS.get(slot);
+            if ((blockedSlots & (1 << slot)) == 0 && (!today || time.isAfter(earliestTime))) {
+                availableTimes.add(time);
+            }
+        }
+        return availableTimes;
+    }
+
+    /**
+     * Determines the booking slots blocked in a veterinarian's schedule on a specific date.
+     * Within the booking horizon they are taken from the {@link VetAvailabilityIndex},
+     * for other dates they are computed from the database.
+     *
+     * @param vetId the veterinarian's ID.
+     * @param date  the date to check.
+     * @return a bitmask over {@link #BOOKING_SLOTS} with a bit set for every blocked slot.
+     */
+    private int getBlockedSlots(Long vetId, LocalDate date) {
+        OptionalInt indexedSlots = availabilityIndex.getBlockedSlots(vetId, date);
+        return indexedSlots.isPresent() ? indexedSlots.getAsInt() : loadBlockedSlots(vetId, date);
+    }
+
+    /**
+     * Computes the booking slots blocked by a veterinarian's appointments on a specific date from the database.
+     *
+     * @param vetId the veterinarian's ID.
+     * @param date  the date to check.
+     * @return a bitmask over {@link #BOOKING_SLOTS} with a bit set for every blocked slot.
+     */
+    private int loadBlockedSlots(Long vetId, LocalDate date) {
+        int blockedSlots = 0;
+        for (Appointment appointment : appointmentRepository.findByVeterinarianIdAndAppointmentDate(vetId, date)) {
+            blockedSlots |= VetAvailabilityIndex.blockedSlotMask(appointment.getStatus(), appointment.getAppointmentTime());
         }
-        return true;
+        return blockedSlots;
     }
 
     /**
      * Determines whether a new appointment time overlaps with an existing appointment's time.
      *
-     * @param existingAppointment the existing appointment to compare against.
-     * @param requestedStartTime  the start time of the requested appointment.
-     * @param requestedEndTime    the end time of the requested appointment.
+     * @param existingStatus     the status of the existing appointment.
+     * @param existingStartTime  the start time of the existing appointment.
+     * @param requestedStartTime the start time of the requested appointment.
+     * @param requestedEndTime   the end time of the requested appointment.
      * @return {@code true} if the requested appointment overlaps; {@code false} otherwise.
      */
-    private boolean doesAppointmentOverLap(Appointment existingAppointment, LocalTime requestedStartTime, LocalTime requestedEndTime) {
-        if (existingAppointment.getStatus() == CANCELLED || existingAppointment.getStatus() == NOT_APPROVED) {
+    static boolean doesAppointmentOverLap(AppointmentStatus existingStatus, LocalTime existingStartTime,
+                                          LocalTime requestedStartTime, LocalTime requestedEndTime) {
+        if (existingStatus == CANCELLED || existingStatus == NOT_APPROVED) {
             return false;
         }
-        LocalTime existingStartTime = existingAppointment.getAppointmentTime();
         LocalTime existingEndTime = existingStartTime.plusMinutes(APPOINTMENT_DURATION_MINUTES);
         LocalTime unavailableStartTime = existingStartTime.minusMinutes(UNAVAILABLE_BEFORE_START_MINUTES);
         LocalTime unavailableEndTime = existingEndTime.plusMinutes(UNAVAILABLE_AFTER_END_MINUTES);
         return !(requestedEndTime.isBefore(unavailableStartTime) || requestedStartTime.isAfter(unavailableEndTime));
     }
+
+    /**
+     * Iterates over the free slots of a single veterinarian in chronological order.
+     * The blocked and held slots of a day are looked up only when the cursor reaches that day.
+     */
+    private final class FreeSlotCursor implements Comparable<FreeSlotCursor> {
+        private final Veterinarian veterinarian;
+        private final LocalDate lastDate;
+        private final LocalDateTime earliestStart;
+        private LocalDate date;
+        private int blockedSlots;
+        private int slot = -1;
+
+        FreeSlotCursor(Veterinarian veterinarian, LocalDate firstDate, LocalDate lastDate, LocalDateTime earliestStart) {
+            this.veterinarian = veterinarian;
+            this.date = firstDate;
+            this.lastDate = lastDate;
+            this.earliestStart = earliestStart;
+        }
+
+        /**
+         * Moves the cursor to the next free slot.
+         *
+         * @return {@code true} if a free slot was found, {@code false} if the booking horizon is exhausted.
+         */
+        boolean advance() {
+            while (!date.isAfter(lastDate)) {
+                if (slot < 0) {
+                    blockedSlots = getBlockedSlots(veterinarian.getId(), date)
+                                   | SlotHoldRegistry.heldSlotMask(slotHoldRegistry.findHolds(veterinarian.getId(), date));
+                }
+                for (slot++; slot < BOOKING_SLOTS.size(); slot++) {
+                    if ((blockedSlots & (1 << slot)) == 0
+                        && LocalDateTime.of(date, BOOKING_SLOTS.get(slot)).isAfter(earliestStart)) {
+                        return true;
+                    }
+                }
+                date = date.plusDays(1);
+                slot = -1;
+            }
+            return false;
+        }
+
+        AvailableSlotDto toDto() {
+            return new AvailableSlotDto(veterinarian.getId(), veterinarian.getFirstName(), veterinarian.getLastName(),
+                    date, BOOKING_SLOTS.get(slot));
+        }
+
+        @Override
+        public int compareTo(FreeSlotCursor other) {
+            int result = date.compareTo(other.date);
+            if (result == 0) {
+                result = Integer.compare(slot, other.slot);
+            }
+            return result != 0 ? result : veterinarian.getId().compareTo(other.veterinarian.getId());
+        }
+    }
 }
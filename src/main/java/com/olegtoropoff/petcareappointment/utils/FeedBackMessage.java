@@ -74,6 +74,12 @@ public class FeedBackMessage {
      */
     public static final String AVAILABLE_TIME_FOR_APPOINTMENT_FOUND = "Доступное время для приема успешно найдено";
 
+    /**
+     * Message indicating that the requested date range for available times is invalid:
+     * it ends before it starts or exceeds the booking horizon.
+     */
+    public static final String INVALID_DATE_RANGE = "Некорректный период: дата окончания должна быть не раньше даты начала, а период не длиннее %d дней";
+
     /**
      * Message indicating an invalid name format, suggesting the user check the input.
      */
@@ -160,6 +166,17 @@ public class FeedBackMessage {
      */
     public static final String APPOINTMENTS_FOUND = "Записи найдены";
 
+    /**
+     * Message indicating that the cursor of an appointment page is malformed.
+     */
+    public static final String INVALID_APPOINTMENT_CURSOR = "Некорректный курсор страницы записей";
+
+    /**
+     * Message indicating that the requested page size is out of range.
+     * Includes the maximum page size in the message.
+     */
+    public static final String INVALID_PAGE_SIZE = "Размер страницы должен быть от 1 до %d";
+
     /**
      * Message indicating that the specified appointment could not be found.
      */
@@ -170,6 +187,36 @@ public class FeedBackMessage {
      */
     public static final String APPOINTMENT_UPDATE_NOT_ALLOWED = "Невозможно обновить или отменить запись";
 
+    /**
+     * Message indicating that the selected time of the veterinarian is already taken by another appointment.
+     */
+    public static final String APPOINTMENT_SLOT_ALREADY_BOOKED = "Выбранное время у ветеринара уже занято. Пожалуйста, выберите другое время";
+
+    /**
+     * Message indicating that the appointment has been changed by another request in the meantime.
+     */
+    public static final String APPOINTMENT_CHANGED_CONCURRENTLY = "Запись уже была изменена. Обновите страницу и повторите попытку";
+
+    /**
+     * Message indicating that the selected time is temporarily held by another patient.
+     */
+    public static final String SLOT_HELD_BY_ANOTHER_PATIENT = "Выбранное время временно удерживается другим пациентом. Пожалуйста, выберите другое время";
+
+    /**
+     * Message indicating that a time slot has been held for the patient.
+     */
+    public static final String SLOT_HOLD_SUCCESS = "Время удерживается за вами. Завершите запись, пока бронь не истекла";
+
+    /**
+     * Message indicating that a held time slot has been released.
+     */
+    public static final String SLOT_HOLD_RELEASED = "Удержание времени снято";
+
+    /**
+     * Message indicating that a request with the same idempotency key is still being processed.
+     */
+    public static final String REQUEST_ALREADY_IN_PROGRESS = "Запрос уже обрабатывается. Пожалуйста, повторите попытку позже";
+
     /**
      * Message indicating that veterinarians are not allowed to book appointments for themselves.
      */
@@ -244,6 +291,17 @@ public class FeedBackMessage {
      */
     public static final String NO_VETS_AVAILABLE = "По выбранной специальности на указанную дату и время нет доступных ветеринаров";
 
+    /**
+     * Message indicating that no veterinarian of the selected specialization has free slots within the booking horizon.
+     */
+    public static final String NO_SLOTS_AVAILABLE = "По выбранной специальности в ближайшие дни нет свободного времени для приема";
+
+    /**
+     * Message indicating that the requested number of slots is out of range.
+     * Includes the maximum number of slots in the message.
+     */
+    public static final String INVALID_SLOT_LIMIT = "Количество запрашиваемых вариантов времени должно быть от 1 до %d";
+
     /**
      * Message indicating that the review was successfully submitted.
      */
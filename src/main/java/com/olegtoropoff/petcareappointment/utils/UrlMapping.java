@@ -98,6 +98,16 @@ public class UrlMapping {
      */
     public static final String BOOK_APPOINTMENT = "/book-appointment";
 
+    /**
+     * Endpoint for temporarily holding a time slot while booking an appointment.
+     */
+    public static final String HOLD_SLOT = "/hold-slot";
+
+    /**
+     * Endpoint for releasing a held time slot.
+     */
+    public static final String RELEASE_SLOT = "/release-slot";
+
     /**
      * Endpoint for updating an appointment by its ID.
      */
@@ -113,6 +123,11 @@ public class UrlMapping {
      */
     public static final String ALL_APPOINTMENT = "/all";
 
+    /**
+     * Endpoint for retrieving all appointments page by page with a cursor.
+     */
+    public static final String ALL_APPOINTMENT_CURSOR = "/all/cursor";
+
     /**
      * Endpoint for fetching an appointment by its ID.
      */
@@ -260,6 +275,16 @@ public class UrlMapping {
      * Endpoint for retrieving available times for a specific veterinarian to book an appointment.
      */
     public static final String GET_AVAILABLE_TIME_FOR_BOOK_APPOINTMENT = "/{vetId}/available-times";
+
+    /**
+     * Endpoint for retrieving available times for a specific veterinarian for every day in a date range.
+     */
+    public static final String GET_AVAILABLE_TIMES_FOR_DATE_RANGE = "/{vetId}/available-times/range";
+
+    /**
+     * Endpoint for retrieving the earliest available slots across all veterinarians of a specialization.
+     */
+    public static final String GET_EARLIEST_AVAILABLE_SLOTS = "/earliest-available-slots";
     /*============================ End Veterinarian API ===================================*/
 
     /*============================ Start Patient ===================================*/
@@ -0,0 +1,118 @@
+-- Baseline schema of the Pet Care Appointment database, as created by spring.jpa.hibernate.ddl-auto=update
+-- before the schema was managed by migrations. Existing databases are baselined at this version.
+
+CREATE TABLE photo (
+    id        BIGINT NOT NULL AUTO_INCREMENT,
+    file_name VARCHAR(255),
+    file_type VARCHAR(255),
+    s3url     VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE `user` (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    gender     VARCHAR(255),
+    mobile     VARCHAR(255),
+    email      VARCHAR(255),
+    password   VARCHAR(255),
+    user_type  VARCHAR(255),
+    is_enabled BIT    NOT NULL,
+    created_at DATE,
+    photo_id   BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_photo UNIQUE (photo_id),
+    CONSTRAINT fk_user_photo FOREIGN KEY (photo_id) REFERENCES photo (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE admin (
+    admin_id BIGINT NOT NULL,
+    PRIMARY KEY (admin_id),
+    CONSTRAINT fk_admin_user FOREIGN KEY (admin_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE patient (
+    patient_id BIGINT NOT NULL,
+    PRIMARY KEY (patient_id),
+    CONSTRAINT fk_patient_user FOREIGN KEY (patient_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE veterinarian (
+    veterinarian_id  BIGINT NOT NULL,
+    specialization   VARCHAR(255),
+    appointment_cost DECIMAL(38, 2),
+    clinic_address   VARCHAR(255),
+    PRIMARY KEY (veterinarian_id),
+    CONSTRAINT fk_veterinarian_user FOREIGN KEY (veterinarian_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE vet_biography (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    biography       TEXT,
+    veterinarian_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_vet_biography_veterinarian UNIQUE (veterinarian_id),
+    CONSTRAINT fk_vet_biography_veterinarian FOREIGN KEY (veterinarian_id) REFERENCES veterinarian (veterinarian_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE role (
+    id   BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_role_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES `user` (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES role (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE verification_token (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    token           VARCHAR(255),
+    expiration_date DATETIME(6),
+    user_id         BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_verification_token_user FOREIGN KEY (user_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE appointment (
+    id               BIGINT NOT NULL AUTO_INCREMENT,
+    reason           VARCHAR(255),
+    appointment_date DATE,
+    appointment_time TIME(6),
+    appointment_no   VARCHAR(255),
+    created_at       DATE,
+    status           ENUM ('APPROVED','CANCELLED','COMPLETED','NOT_APPROVED','ON_GOING','UP_COMING','WAITING_FOR_APPROVAL'),
+    sender           BIGINT,
+    recipient        BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_appointment_sender FOREIGN KEY (sender) REFERENCES `user` (id),
+    CONSTRAINT fk_appointment_recipient FOREIGN KEY (recipient) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE pet (
+    id             BIGINT  NOT NULL AUTO_INCREMENT,
+    name           VARCHAR(255),
+    type           VARCHAR(255),
+    color          VARCHAR(255),
+    breed          VARCHAR(255),
+    age            INTEGER NOT NULL,
+    appointment_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pet_appointment FOREIGN KEY (appointment_id) REFERENCES appointment (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE review (
+    id              BIGINT  NOT NULL AUTO_INCREMENT,
+    feedback        TEXT,
+    stars           INTEGER NOT NULL,
+    veterinarian_id BIGINT,
+    reviewer_id     BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_review_veterinarian FOREIGN KEY (veterinarian_id) REFERENCES `user` (id),
+    CONSTRAINT fk_review_reviewer FOREIGN KEY (reviewer_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
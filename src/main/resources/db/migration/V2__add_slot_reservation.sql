@@ -0,0 +1,16 @@
+-- One row per 30-minute slot occupied by an active appointment of a veterinarian.
+-- The unique constraint makes the database reject a second booking of an overlapping time.
+-- Upcoming appointments booked before this table existed get their reservations on application startup.
+
+CREATE TABLE slot_reservation (
+    id               BIGINT  NOT NULL AUTO_INCREMENT,
+    veterinarian_id  BIGINT  NOT NULL,
+    reservation_date DATE    NOT NULL,
+    slot             INTEGER NOT NULL,
+    appointment_id   BIGINT  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_slot_reservation_vet_date_slot UNIQUE (veterinarian_id, reservation_date, slot)
+) ENGINE = InnoDB;
+
+-- Releasing the slots of a cancelled, declined, rescheduled or deleted appointment: WHERE appointment_id = ?
+CREATE INDEX idx_slot_reservation_appointment ON slot_reservation (appointment_id);
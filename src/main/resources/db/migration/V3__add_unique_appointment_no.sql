@@ -0,0 +1,3 @@
+-- Appointment numbers are generated to be unique across instances; the constraint guards against collisions.
+
+ALTER TABLE appointment ADD CONSTRAINT uk_appointment_appointment_no UNIQUE (appointment_no);
@@ -0,0 +1,4 @@
+-- Optimistic locking version of an appointment, also compared by the status transition updates.
+-- Existing rows start at version 0.
+
+ALTER TABLE appointment ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,3 @@
+-- Keyset pagination of the admin appointment list: ORDER BY appointment_date, appointment_time, id
+
+CREATE INDEX idx_appointment_date_time_id ON appointment (appointment_date, appointment_time, id);
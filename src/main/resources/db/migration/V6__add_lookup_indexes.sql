@@ -0,0 +1,19 @@
+-- Indexes for the lookups the application runs on every request.
+
+-- Veterinarian schedule and availability checks: WHERE recipient = ? AND appointment_date ...
+-- Also serves the recipient foreign key.
+CREATE INDEX idx_appointment_recipient_date ON appointment (recipient, appointment_date);
+
+-- Active appointment limit of a patient when booking: WHERE sender = ? AND status NOT IN (...)
+-- Also serves the sender foreign key.
+CREATE INDEX idx_appointment_sender_status ON appointment (sender, status);
+
+-- Login and registration: WHERE email = ?
+CREATE UNIQUE INDEX uk_user_email ON `user` (email);
+
+-- Email verification and password reset: WHERE token = ?
+CREATE UNIQUE INDEX uk_verification_token_token ON verification_token (token);
+
+-- Duplicate review check: WHERE veterinarian_id = ? AND reviewer_id = ?
+-- Also serves the veterinarian foreign key.
+CREATE INDEX idx_review_veterinarian_reviewer ON review (veterinarian_id, reviewer_id);
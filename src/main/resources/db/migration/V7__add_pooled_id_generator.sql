@@ -0,0 +1,24 @@
+-- Pooled id generation for the entities written in bulk, so Hibernate can batch their inserts.
+-- Each row holds the upper bound of the next block of ids; a block spans allocationSize (50) ids.
+-- The id columns lose AUTO_INCREMENT: a database-assigned id could collide with a block already handed out
+-- to a running application. Rows inserted by hand must take their ids from id_generator as well.
+
+CREATE TABLE id_generator (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+INSERT INTO id_generator (sequence_name, next_val) SELECT 'appointment', COALESCE(MAX(id), 0) + 50 FROM appointment;
+INSERT INTO id_generator (sequence_name, next_val) SELECT 'pet', COALESCE(MAX(id), 0) + 50 FROM pet;
+INSERT INTO id_generator (sequence_name, next_val) SELECT 'review', COALESCE(MAX(id), 0) + 50 FROM review;
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'slot_reservation', COALESCE(MAX(id), 0) + 50 FROM slot_reservation;
+
+-- pet.appointment_id references appointment.id; the column type itself does not change
+SET FOREIGN_KEY_CHECKS = 0;
+ALTER TABLE appointment MODIFY id BIGINT NOT NULL;
+ALTER TABLE pet MODIFY id BIGINT NOT NULL;
+ALTER TABLE review MODIFY id BIGINT NOT NULL;
+ALTER TABLE slot_reservation MODIFY id BIGINT NOT NULL;
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,5 @@
+-- Moment of the last status transition of an appointment, written by the conditional status updates.
+-- Tells a transition that lost a race to a concurrent one apart from a transition requested on a stale status.
+-- Existing rows have no recorded transition.
+
+ALTER TABLE appointment ADD COLUMN status_changed_at DATETIME(6);
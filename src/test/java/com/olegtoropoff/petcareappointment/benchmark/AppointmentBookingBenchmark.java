@@ -0,0 +1,168 @@
+package com.olegtoropoff.petcareappointment.benchmark;
+
+import com.olegtoropoff.petcareappointment.PetCareAppointmentApplication;
+import com.olegtoropoff.petcareappointment.config.TestConfig;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.model.Pet;
+import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import com.olegtoropoff.petcareappointment.repository.UserRepository;
+import com.olegtoropoff.petcareappointment.request.BookAppointmentRequest;
+import com.olegtoropoff.petcareappointment.service.appointment.AppointmentNumberGenerator;
+import com.olegtoropoff.petcareappointment.service.appointment.IAppointmentService;
+import com.olegtoropoff.petcareappointment.service.appointment.ISlotReservationService;
+import com.olegtoropoff.petcareappointment.service.pet.IPetService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the booking latency of {@link IAppointmentService#createAppointment} with the former
+ * booking path, which loaded the sender and the recipient, counted the active appointments in a separate query
+ * and saved the pets before the appointment.
+ * <p>
+ * The application runs with the {@code test} profile against the in-memory H2 database, loaded with the
+ * integration test data. Every booking is rolled back, so all invocations book the same free slot.
+ * The sample time mode reports the p50 and p99 latencies.
+ * <p>
+ * Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:<test classpath> com.olegtoropoff.petcareappointment.benchmark.AppointmentBookingBenchmark},
+ * or directly from the IDE.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppointmentBookingBenchmark {
+
+    private static final Long PATIENT_ID = 5L;
+    private static final Long VET_ID = 7L;
+    private static final LocalDate DATE = LocalDate.now().plusDays(7);
+    private static final LocalTime TIME = LocalTime.of(10, 0);
+
+    private ConfigurableApplicationContext context;
+    private IAppointmentService appointmentService;
+    private UserRepository userRepository;
+    private AppointmentRepository appointmentRepository;
+    private IPetService petService;
+    private ISlotReservationService slotReservationService;
+    private AppointmentNumberGenerator appointmentNumberGenerator;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PetCareAppointmentApplication.class, TestConfig.class)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "frontend.base.url=http://localhost",
+                        "cloud.aws.s3.endpoint=http://localhost")
+                .run();
+        new ResourceDatabasePopulator(new ClassPathResource("clean_database.sql"),
+                new ClassPathResource("test_pet_care_data.sql"))
+                .execute(context.getBean(DataSource.class));
+
+        appointmentService = context.getBean(IAppointmentService.class);
+        userRepository = context.getBean(UserRepository.class);
+        appointmentRepository = context.getBean(AppointmentRepository.class);
+        petService = context.getBean(IPetService.class);
+        slotReservationService = context.getBean(ISlotReservationService.class);
+        appointmentNumberGenerator = context.getBean(AppointmentNumberGenerator.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Appointment createAppointment() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            Appointment appointment = appointmentService.createAppointment(bookingRequest(), PATIENT_ID, VET_ID);
+            entityManager.flush();
+            return appointment;
+        });
+    }
+
+    @Benchmark
+    public Appointment legacyCreateAppointment() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            BookAppointmentRequest request = bookingRequest();
+            User sender = userRepository.findById(PATIENT_ID).orElseThrow();
+            if (sender.getUserType().equals("VET")) {
+                throw new IllegalStateException();
+            }
+            User recipient = userRepository.findById(VET_ID).orElseThrow();
+            long activeAppointments = entityManager.createQuery("SELECT COUNT(a) FROM Appointment a " +
+                            "WHERE a.patient.id = :senderId AND a.status NOT IN :excludedStatuses", Long.class)
+                    .setParameter("senderId", PATIENT_ID)
+                    .setParameter("excludedStatuses",
+                            List.of(AppointmentStatus.COMPLETED, AppointmentStatus.CANCELLED, AppointmentStatus.NOT_APPROVED))
+                    .getSingleResult();
+            if (activeAppointments >= 2) {
+                throw new IllegalStateException();
+            }
+            Appointment appointment = request.getAppointment();
+            List<Pet> pets = request.getPets();
+            pets.forEach(pet -> pet.setAppointment(appointment));
+            appointment.setPets(petService.savePetForAppointment(pets));
+            appointment.addPatient(sender);
+            appointment.addVeterinarian(recipient);
+            appointment.setAppointmentNo(appointmentNumberGenerator.nextAppointmentNo());
+            appointment.setStatus(AppointmentStatus.WAITING_FOR_APPROVAL);
+            Appointment savedAppointment = appointmentRepository.save(appointment);
+            slotReservationService.reserve(savedAppointment);
+            entityManager.flush();
+            return savedAppointment;
+        });
+    }
+
+    private BookAppointmentRequest bookingRequest() {
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(DATE);
+        appointment.setAppointmentTime(TIME);
+        appointment.setReason("Плановый осмотр");
+        Pet pet = new Pet();
+        pet.setName("Барсик");
+        pet.setType("Кошка");
+        pet.setBreed("Сибирская");
+        pet.setColor("Черный");
+        pet.setAge(3);
+        BookAppointmentRequest request = new BookAppointmentRequest();
+        request.setAppointment(appointment);
+        request.setPets(List.of(pet));
+        return request;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AppointmentBookingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
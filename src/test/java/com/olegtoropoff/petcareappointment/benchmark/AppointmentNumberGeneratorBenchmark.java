@@ -0,0 +1,51 @@
+package com.olegtoropoff.petcareappointment.benchmark;
+
+import com.olegtoropoff.petcareappointment.service.appointment.TimeOrderedAppointmentNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the time-ordered appointment number generator with the former
+ * {@code new Random().nextLong()} based numbers, single-threaded and under contention.
+ * <p>
+ * Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:<test classpath> com.olegtoropoff.petcareappointment.benchmark.AppointmentNumberGeneratorBenchmark},
+ * or directly from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppointmentNumberGeneratorBenchmark {
+
+    private final TimeOrderedAppointmentNumberGenerator generator = new TimeOrderedAppointmentNumberGenerator(1);
+
+    @Benchmark
+    public String timeOrdered() {
+        return generator.nextAppointmentNo();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String timeOrderedContended() {
+        return generator.nextAppointmentNo();
+    }
+
+    @Benchmark
+    public String legacyRandom() {
+        return String.valueOf(new Random().nextLong()).substring(1, 11);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AppointmentNumberGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,159 @@
+package com.olegtoropoff.petcareappointment.benchmark;
+
+import com.olegtoropoff.petcareappointment.PetCareAppointmentApplication;
+import com.olegtoropoff.petcareappointment.config.TestConfig;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.model.Pet;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import com.olegtoropoff.petcareappointment.repository.UserRepository;
+import com.olegtoropoff.petcareappointment.service.appointment.AppointmentNumberGenerator;
+import com.olegtoropoff.petcareappointment.service.pet.IPetService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark measuring the throughput of bulk pet and appointment inserts with and without JDBC batching.
+ * <p>
+ * A batch size of 1 sends every row in its own statement execution, which is what the former
+ * {@code IDENTITY} id generation forced on every insert. A batch size of 50 matches the application
+ * configuration, where the ids are taken from pooled blocks of the {@code id_generator} table.
+ * <p>
+ * The application runs with the {@code test} profile against the in-memory H2 database, loaded with the
+ * integration test data. Every invocation is rolled back. H2 has no network round trips, so the gain
+ * measured here is a lower bound of the gain against MySQL with {@code rewriteBatchedStatements}.
+ * <p>
+ * Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:<test classpath> com.olegtoropoff.petcareappointment.benchmark.BulkInsertBenchmark},
+ * or directly from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    private static final Long PATIENT_ID = 5L;
+    private static final Long VET_ID = 7L;
+    private static final Long APPOINTMENT_ID = 1L;
+    private static final int APPOINTMENTS = 100;
+    private static final int PETS_PER_APPOINTMENT = 2;
+    private static final int PETS = 200;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private AppointmentRepository appointmentRepository;
+    private UserRepository userRepository;
+    private IPetService petService;
+    private AppointmentNumberGenerator appointmentNumberGenerator;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PetCareAppointmentApplication.class, TestConfig.class)
+                .profiles("test")
+                .properties("frontend.base.url=http://localhost",
+                        "cloud.aws.s3.endpoint=http://localhost")
+                // Passed as arguments to take precedence over the SQL logging enabled in application-test.properties
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        new ResourceDatabasePopulator(new ClassPathResource("clean_database.sql"),
+                new ClassPathResource("test_pet_care_data.sql"))
+                .execute(context.getBean(DataSource.class));
+
+        appointmentRepository = context.getBean(AppointmentRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        petService = context.getBean(IPetService.class);
+        appointmentNumberGenerator = context.getBean(AppointmentNumberGenerator.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Appointment> insertAppointmentsWithPets() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            List<Appointment> appointments = new ArrayList<>();
+            for (int i = 0; i < APPOINTMENTS; i++) {
+                Appointment appointment = new Appointment();
+                appointment.setAppointmentDate(LocalDate.now().plusDays(7 + i));
+                appointment.setAppointmentTime(LocalTime.of(10, 0));
+                appointment.setReason("Плановый осмотр");
+                appointment.setAppointmentNo(appointmentNumberGenerator.nextAppointmentNo());
+                appointment.setStatus(AppointmentStatus.WAITING_FOR_APPROVAL);
+                appointment.setPatient(userRepository.getReferenceById(PATIENT_ID));
+                appointment.setVeterinarian(userRepository.getReferenceById(VET_ID));
+                for (int j = 0; j < PETS_PER_APPOINTMENT; j++) {
+                    appointment.getPets().add(pet(appointment));
+                }
+                appointments.add(appointment);
+            }
+            List<Appointment> saved = appointmentRepository.saveAll(appointments);
+            entityManager.flush();
+            return saved;
+        });
+    }
+
+    @Benchmark
+    public List<Pet> insertPets() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            Appointment appointment = appointmentRepository.getReferenceById(APPOINTMENT_ID);
+            List<Pet> pets = new ArrayList<>();
+            for (int i = 0; i < PETS; i++) {
+                pets.add(pet(appointment));
+            }
+            List<Pet> saved = petService.savePetForAppointment(pets);
+            entityManager.flush();
+            return saved;
+        });
+    }
+
+    private Pet pet(Appointment appointment) {
+        Pet pet = new Pet();
+        pet.setName("Барсик");
+        pet.setType("Кошка");
+        pet.setBreed("Сибирская");
+        pet.setColor("Черный");
+        pet.setAge(3);
+        pet.setAppointment(appointment);
+        return pet;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,125 @@
+package com.olegtoropoff.petcareappointment.benchmark;
+
+import com.olegtoropoff.petcareappointment.dto.AppointmentDto;
+import com.olegtoropoff.petcareappointment.dto.AppointmentDtoMapper;
+import com.olegtoropoff.petcareappointment.dto.EntityConverter;
+import com.olegtoropoff.petcareappointment.dto.PetDtoMapper;
+import com.olegtoropoff.petcareappointment.dto.UserDto;
+import com.olegtoropoff.petcareappointment.dto.UserDtoMapper;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.model.Patient;
+import com.olegtoropoff.petcareappointment.model.Pet;
+import com.olegtoropoff.petcareappointment.model.Photo;
+import com.olegtoropoff.petcareappointment.model.Role;
+import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.model.Veterinarian;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the hand-written mappers behind {@link EntityConverter} with the former
+ * {@link ModelMapper} based conversion, for a veterinarian and for an appointment with its participants and pets.
+ * <p>
+ * Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:<test classpath> com.olegtoropoff.petcareappointment.benchmark.EntityConverterBenchmark},
+ * or directly from the IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityConverterBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final UserDtoMapper userDtoMapper = new UserDtoMapper();
+    private final EntityConverter<User, UserDto> userConverter = new EntityConverter<>(List.of(userDtoMapper));
+    private final EntityConverter<Appointment, AppointmentDto> appointmentConverter =
+            new EntityConverter<>(List.of(new AppointmentDtoMapper(userDtoMapper, new PetDtoMapper())));
+
+    private Veterinarian veterinarian;
+    private Appointment appointment;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        veterinarian = new Veterinarian();
+        veterinarian.setId(7L);
+        veterinarian.setFirstName("Иван");
+        veterinarian.setLastName("Петров");
+        veterinarian.setEmail("vet@gmail.com");
+        veterinarian.setUserType("VET");
+        veterinarian.setEnabled(true);
+        veterinarian.setCreatedAt(LocalDate.of(2025, 1, 10));
+        veterinarian.setSpecialization("Хирург");
+        veterinarian.setAppointmentCost(new BigDecimal("1500.00"));
+        veterinarian.setClinicAddress("ул. Ленина, 1");
+        Photo photo = new Photo();
+        photo.setId(3L);
+        photo.setS3Url("https://storage.example.com/photo.jpg");
+        veterinarian.setPhoto(photo);
+        veterinarian.setRoles(Set.of(new Role("ROLE_VET")));
+
+        Patient patient = new Patient();
+        patient.setId(2L);
+        patient.setFirstName("Анна");
+        patient.setLastName("Смирнова");
+        patient.setEmail("patient@gmail.com");
+        patient.setUserType("PATIENT");
+        patient.setEnabled(true);
+        patient.setRoles(Set.of(new Role("ROLE_PATIENT")));
+
+        appointment = new Appointment();
+        appointment.setId(1L);
+        appointment.setReason("Плановый осмотр");
+        appointment.setAppointmentDate(LocalDate.of(2025, 3, 1));
+        appointment.setAppointmentTime(LocalTime.of(10, 0));
+        appointment.setAppointmentNo("12345678901234567890");
+        appointment.setStatus(AppointmentStatus.APPROVED);
+        appointment.setPatient(patient);
+        appointment.setVeterinarian(veterinarian);
+        Pet cat = new Pet(5L, "Барсик", "Кошка", "Черный", "Сибирская", 3, appointment);
+        Pet dog = new Pet(6L, "Шарик", "Собака", "Белый", "Лайка", 5, appointment);
+        appointment.setPets(List.of(cat, dog));
+
+        modelMapper.map(veterinarian, UserDto.class);
+        modelMapper.map(appointment, AppointmentDto.class);
+    }
+
+    @Benchmark
+    public UserDto veterinarian() {
+        return userConverter.mapEntityToDto(veterinarian, UserDto.class);
+    }
+
+    @Benchmark
+    public UserDto modelMapperVeterinarian() {
+        return modelMapper.map(veterinarian, UserDto.class);
+    }
+
+    @Benchmark
+    public AppointmentDto appointment() {
+        return appointmentConverter.mapEntityToDto(appointment, AppointmentDto.class);
+    }
+
+    @Benchmark
+    public AppointmentDto modelMapperAppointment() {
+        return modelMapper.map(appointment, AppointmentDto.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EntityConverterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,191 @@
+package com.olegtoropoff.petcareappointment.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olegtoropoff.petcareappointment.config.TestConfig;
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.model.Pet;
+import com.olegtoropoff.petcareappointment.request.BookAppointmentRequest;
+import com.olegtoropoff.petcareappointment.service.appointment.AppointmentNumberGenerator;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import com.olegtoropoff.petcareappointment.utils.JwtTestUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.olegtoropoff.petcareappointment.utils.UrlMapping.APPOINTMENTS;
+import static com.olegtoropoff.petcareappointment.utils.UrlMapping.BOOK_APPOINTMENT;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Tag("integration")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/clean_database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/test_pet_care_data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Import(TestConfig.class)
+class AppointmentBookingConcurrencyIntegrationTest {
+
+    private static final int CONCURRENT_BOOKINGS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTestUtils jwtTestUtils;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private AppointmentNumberGenerator appointmentNumberGenerator;
+
+    @Test
+    void bookAppointment_WhenSameSlotBookedConcurrently_OnlyOneBookingSucceeds() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(3);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_BOOKINGS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_BOOKINGS; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return book(1L, 10L, date, LocalTime.of(12, 0));
+                }));
+            }
+            start.countDown();
+
+            int booked = 0;
+            for (Future<MockHttpServletResponse> future : responses) {
+                MockHttpServletResponse response = future.get(30, TimeUnit.SECONDS);
+                if (response.getStatus() == 200) {
+                    booked++;
+                } else {
+                    assertEquals(406, response.getStatus());
+                    assertTrue(response.getContentAsString(StandardCharsets.UTF_8)
+                            .contains(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED));
+                }
+            }
+            assertEquals(1, booked);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void bookAppointment_WhenSlotOverlapsExistingAppointment_ReturnsNotAcceptable() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(4);
+        assertEquals(200, book(6L, 9L, date, LocalTime.of(15, 0)).getStatus());
+
+        performBooking(post(APPOINTMENTS + BOOK_APPOINTMENT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("senderId", "1")
+                        .param("recipientId", "9")
+                        .content(objectMapper.writeValueAsString(bookingRequest(date, LocalTime.of(15, 30))))
+                        .header("Authorization", jwtTestUtils.generateDefaultToken("admin@petcare.com", 1L, "ROLE_ADMIN")))
+                .andExpect(status().isNotAcceptable())
+                .andExpect(jsonPath("$.message", is(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED)));
+    }
+
+    @Test
+    void bookAppointment_WhenSlotFreedWithoutThisInstanceNoticing_BooksSlot() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(5);
+        assertEquals(200, book(1L, 9L, date, LocalTime.of(10, 0)).getStatus());
+        Long appointmentId = jdbcTemplate.queryForObject(
+                "SELECT id FROM appointment WHERE recipient = 9 AND appointment_date = ? AND appointment_time = ?",
+                Long.class, date, LocalTime.of(10, 0));
+        // Cancelled as if through another instance: no appointment change event reaches this one
+        jdbcTemplate.update("UPDATE appointment SET status = 'CANCELLED' WHERE id = ?", appointmentId);
+        jdbcTemplate.update("DELETE FROM slot_reservation WHERE appointment_id = ?", appointmentId);
+
+        assertEquals(200, book(1L, 9L, date, LocalTime.of(10, 0)).getStatus());
+    }
+
+    @Test
+    void bookAppointment_WhenGeneratedNumberAlreadyTaken_BooksWithNewNumber() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(6);
+        // Issued as if by another instance sharing this instance's node ID
+        String takenNo = appointmentNumberGenerator.nextAppointmentNo();
+        jdbcTemplate.update("UPDATE appointment SET appointment_no = ? WHERE id = 1", takenNo);
+        doReturn(takenNo).doCallRealMethod().when(appointmentNumberGenerator).nextAppointmentNo();
+
+        assertEquals(200, book(5L, 11L, date, LocalTime.of(10, 0)).getStatus());
+
+        String bookedNo = jdbcTemplate.queryForObject(
+                "SELECT appointment_no FROM appointment WHERE recipient = 11 AND appointment_date = ? AND appointment_time = ?",
+                String.class, date, LocalTime.of(10, 0));
+        assertNotEquals(takenNo, bookedNo);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM appointment WHERE appointment_no = ?", Integer.class, takenNo));
+    }
+
+    private MockHttpServletResponse book(Long senderId, Long vetId, LocalDate date, LocalTime time) throws Exception {
+        return performBooking(post(APPOINTMENTS + BOOK_APPOINTMENT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("senderId", senderId.toString())
+                        .param("recipientId", vetId.toString())
+                        .content(objectMapper.writeValueAsString(bookingRequest(date, time)))
+                        .header("Authorization", jwtTestUtils.generateDefaultToken("admin@petcare.com", 1L, "ROLE_ADMIN")))
+                .andReturn()
+                .getResponse();
+    }
+
+    private BookAppointmentRequest bookingRequest(LocalDate date, LocalTime time) {
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(date);
+        appointment.setAppointmentTime(time);
+
+        Pet pet = new Pet();
+        pet.setName("Рекс");
+
+        BookAppointmentRequest request = new BookAppointmentRequest();
+        request.setAppointment(appointment);
+        request.setPets(List.of(pet));
+        return request;
+    }
+
+    /**
+     * Performs a booking request and the asynchronous dispatch that writes its response.
+     */
+    private ResultActions performBooking(MockHttpServletRequestBuilder booking) throws Exception {
+        MvcResult result = mockMvc.perform(booking)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,13 @@
+package com.olegtoropoff.petcareappointment.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the concurrent booking scenarios with the per-veterinarian booking pipeline enabled.
+ */
+@TestPropertySource(properties = {
+        "appointment.booking-pipeline.enabled=true",
+        "appointment.booking-pipeline.workers=2"
+})
+class AppointmentBookingPipelineIntegrationTest extends AppointmentBookingConcurrencyIntegrationTest {
+}
@@ -1,33 +1,44 @@
 package com.olegtoropoff.petcareappointment.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.olegtoropoff.petcareappointment.config.TestConfig;
 import com.olegtoropoff.petcareappointment.model.Appointment;
 import com.olegtoropoff.petcareappointment.rabbitmq.RabbitMQProducer;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
 import com.olegtoropoff.petcareappointment.request.AppointmentUpdateRequest;
 import com.olegtoropoff.petcareappointment.request.BookAppointmentRequest;
 import com.olegtoropoff.petcareappointment.model.Pet;
+import com.olegtoropoff.petcareappointment.service.appointment.AppointmentSearchIndex;
 import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
 import com.olegtoropoff.petcareappointment.utils.JwtTestUtils;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.olegtoropoff.petcareappointment.utils.UrlMapping.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -52,6 +63,17 @@ class AppointmentControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private AppointmentSearchIndex appointmentSearchIndex;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        appointmentSearchIndex.rebuild();
+    }
+
     @Test
     void bookAppointment_ReturnsSuccessResponse() throws Exception {
         Appointment appointment = new Appointment();
@@ -67,7 +89,7 @@ class AppointmentControllerIntegrationTest {
 
         doNothing().when(rabbitMQProducer).sendMessage(anyString());
 
-        mockMvc.perform(post(APPOINTMENTS + BOOK_APPOINTMENT)
+        performBooking(post(APPOINTMENTS + BOOK_APPOINTMENT)
                         .contentType(MediaType.APPLICATION_JSON)
                         .param("senderId", "5")
                         .param("recipientId", "9")
@@ -78,6 +100,36 @@ class AppointmentControllerIntegrationTest {
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
+    @Test
+    void bookAppointment_WhenRetriedWithSameIdempotencyKey_BooksOnceAndSendsOneEvent() throws Exception {
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(LocalDate.now().plusDays(2));
+        appointment.setAppointmentTime(LocalTime.of(10, 0));
+
+        Pet pet = new Pet();
+        pet.setName("Бобик");
+
+        BookAppointmentRequest request = new BookAppointmentRequest();
+        request.setAppointment(appointment);
+        request.setPets(List.of(pet));
+
+        clearInvocations(rabbitMQProducer);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            performBooking(post(APPOINTMENTS + BOOK_APPOINTMENT)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .param("senderId", "1")
+                            .param("recipientId", "11")
+                            .content(objectMapper.writeValueAsString(request))
+                            .header("Idempotency-Key", "booking-retry-key")
+                            .header("Authorization", jwtTestUtils.generateDefaultToken("admin@petcare.com", 1L, "ROLE_ADMIN")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message", is(FeedBackMessage.APPOINTMENT_BOOKED_SUCCESS)));
+        }
+
+        verify(rabbitMQProducer, times(1)).sendMessage("AppointmentBookedEvent:11");
+    }
+
     @Test
     void bookAppointment_ThrowsResourceNotFound() throws Exception {
         Appointment appointment = new Appointment();
@@ -93,7 +145,7 @@ class AppointmentControllerIntegrationTest {
 
         doNothing().when(rabbitMQProducer).sendMessage(anyString());
 
-        mockMvc.perform(post(APPOINTMENTS + BOOK_APPOINTMENT)
+        performBooking(post(APPOINTMENTS + BOOK_APPOINTMENT)
                         .contentType(MediaType.APPLICATION_JSON)
                         .param("senderId", "3")
                         .param("recipientId", "100")
@@ -119,7 +171,7 @@ class AppointmentControllerIntegrationTest {
 
         doNothing().when(rabbitMQProducer).sendMessage(anyString());
 
-        mockMvc.perform(post(APPOINTMENTS + BOOK_APPOINTMENT)
+        performBooking(post(APPOINTMENTS + BOOK_APPOINTMENT)
                         .contentType(MediaType.APPLICATION_JSON)
                         .param("senderId", "2")
                         .param("recipientId", "7")
@@ -232,6 +284,72 @@ class AppointmentControllerIntegrationTest {
                 .andExpect(jsonPath("$.data").isNotEmpty());
     }
 
+    @Test
+    void getAllAppointments_WithSearch_MatchesSameAppointmentsAsDatabaseSearch() throws Exception {
+        for (String term : List.of("gmail.com", "alexey", "@", "ru")) {
+            List<Long> expectedIds = appointmentRepository.searchAppointments(term, Pageable.unpaged()).stream()
+                    .map(Appointment::getId)
+                    .sorted()
+                    .toList();
+            MvcResult result = mockMvc.perform(get(APPOINTMENTS + ALL_APPOINTMENT)
+                            .param("page", "0")
+                            .param("size", "100")
+                            .param("search", term))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString()).get("data");
+            List<Long> actualIds = appointmentIds(page).stream().sorted().toList();
+
+            assertEquals(expectedIds, actualIds, "Search term: " + term);
+            assertEquals(expectedIds.size(), page.get("totalElements").asLong());
+        }
+    }
+
+    @Test
+    void getAllAppointmentsByCursor_WalksAllPagesInOrderWithoutGapsOrDuplicates() throws Exception {
+        JsonNode allAtOnce = getCursorPage("", 100, true);
+        List<Long> expectedIds = appointmentIds(allAtOnce);
+        assertTrue(allAtOnce.get("nextCursor").isNull());
+        assertEquals(expectedIds.size(), allAtOnce.get("totalElements").asLong());
+
+        List<Long> walkedIds = new ArrayList<>();
+        String cursor = "";
+        do {
+            JsonNode page = getCursorPage(cursor, 3, false);
+            assertTrue(page.get("totalElements").isNull());
+            walkedIds.addAll(appointmentIds(page));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(expectedIds, walkedIds);
+    }
+
+    @Test
+    void getAllAppointmentsByCursor_WhenCursorInvalid_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get(APPOINTMENTS + ALL_APPOINTMENT_CURSOR)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is(FeedBackMessage.INVALID_APPOINTMENT_CURSOR)))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    private JsonNode getCursorPage(String cursor, int size, boolean includeTotal) throws Exception {
+        MvcResult result = mockMvc.perform(get(APPOINTMENTS + ALL_APPOINTMENT_CURSOR)
+                        .param("cursor", cursor)
+                        .param("size", String.valueOf(size))
+                        .param("includeTotal", String.valueOf(includeTotal)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is(FeedBackMessage.APPOINTMENTS_FOUND)))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("data");
+    }
+
+    private List<Long> appointmentIds(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("content").forEach(appointment -> ids.add(appointment.get("id").asLong()));
+        return ids;
+    }
+
     @Test
     void getAppointmentById_ReturnsSuccessResponse() throws Exception {
         mockMvc.perform(get(APPOINTMENTS + GET_APPOINTMENT_BY_ID, 8L))
@@ -247,6 +365,54 @@ class AppointmentControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", is(FeedBackMessage.APPOINTMENT_NOT_FOUND)));
     }
 
+    @Test
+    void holdSlot_WhenSlotHeld_HidesSlotAndRejectsBookingByAnotherPatient() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(5);
+
+        mockMvc.perform(post(APPOINTMENTS + HOLD_SLOT)
+                        .param("senderId", "1")
+                        .param("recipientId", "8")
+                        .param("date", date.toString())
+                        .param("time", "11:00")
+                        .header("Authorization", jwtTestUtils.generateDefaultToken("admin@petcare.com", 1L, "ROLE_ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is(FeedBackMessage.SLOT_HOLD_SUCCESS)))
+                .andExpect(jsonPath("$.data").exists());
+
+        mockMvc.perform(get(VETERINARIANS + GET_AVAILABLE_TIME_FOR_BOOK_APPOINTMENT, 8L)
+                        .param("date", date.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", not(hasItem("11:00:00"))))
+                .andExpect(jsonPath("$.data", hasItem("12:00:00")));
+
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(date);
+        appointment.setAppointmentTime(LocalTime.of(11, 0));
+        Pet pet = new Pet();
+        pet.setName("Пушок");
+        BookAppointmentRequest request = new BookAppointmentRequest();
+        request.setAppointment(appointment);
+        request.setPets(List.of(pet));
+
+        performBooking(post(APPOINTMENTS + BOOK_APPOINTMENT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("senderId", "6")
+                        .param("recipientId", "8")
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Authorization", jwtTestUtils.generateDefaultToken("maria@gmail.com", 3L, "ROLE_PATIENT")))
+                .andExpect(status().isNotAcceptable())
+                .andExpect(jsonPath("$.message", is(FeedBackMessage.SLOT_HELD_BY_ANOTHER_PATIENT)));
+
+        mockMvc.perform(delete(APPOINTMENTS + RELEASE_SLOT)
+                        .param("senderId", "1")
+                        .param("recipientId", "8")
+                        .param("date", date.toString())
+                        .param("time", "11:00")
+                        .header("Authorization", jwtTestUtils.generateDefaultToken("admin@petcare.com", 1L, "ROLE_ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is(FeedBackMessage.SLOT_HOLD_RELEASED)));
+    }
+
     @Test
     void deleteAppointmentById_ReturnsSuccessResponse() throws Exception {
         mockMvc.perform(delete(APPOINTMENTS + DELETE_APPOINTMENT, 4L))
@@ -289,6 +455,16 @@ class AppointmentControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", is(FeedBackMessage.OPERATION_NOT_ALLOWED)));
     }
 
+    @Test
+    void declineAppointment_WhenJustApproved_ReturnsConflict() throws Exception {
+        mockMvc.perform(put(APPOINTMENTS + APPROVE_APPOINTMENT, 7L))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put(APPOINTMENTS + DECLINE_APPOINTMENT, 7L))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", is(FeedBackMessage.APPOINTMENT_CHANGED_CONCURRENTLY)));
+    }
+
     @Test
     void declineAppointment_ReturnsSuccessResponse() throws Exception {
         mockMvc.perform(put(APPOINTMENTS + DECLINE_APPOINTMENT, 14L))
@@ -317,4 +493,14 @@ class AppointmentControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", is(FeedBackMessage.SUCCESS)))
                 .andExpect(jsonPath("$.data").isArray());
     }
+
+    /**
+     * Performs a booking request and the asynchronous dispatch that writes its response.
+     */
+    private ResultActions performBooking(MockHttpServletRequestBuilder booking) throws Exception {
+        MvcResult result = mockMvc.perform(booking)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
@@ -1,7 +1,10 @@
 package com.olegtoropoff.petcareappointment.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.olegtoropoff.petcareappointment.dto.AppointmentDto;
+import com.olegtoropoff.petcareappointment.dto.CursorPageDto;
 import com.olegtoropoff.petcareappointment.dto.UserDto;
+import com.olegtoropoff.petcareappointment.exception.AppointmentConflictException;
 import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
 import com.olegtoropoff.petcareappointment.model.Appointment;
 import com.olegtoropoff.petcareappointment.model.Pet;
@@ -10,22 +13,34 @@ import com.olegtoropoff.petcareappointment.rabbitmq.RabbitMQProducer;
 import com.olegtoropoff.petcareappointment.request.AppointmentUpdateRequest;
 import com.olegtoropoff.petcareappointment.request.BookAppointmentRequest;
 import com.olegtoropoff.petcareappointment.response.CustomApiResponse;
+import com.olegtoropoff.petcareappointment.service.appointment.BookingPipeline;
 import com.olegtoropoff.petcareappointment.service.appointment.IAppointmentService;
+import com.olegtoropoff.petcareappointment.service.appointment.ISlotHoldService;
+import com.olegtoropoff.petcareappointment.service.idempotency.IIdempotencyService;
+import com.olegtoropoff.petcareappointment.service.idempotency.IdempotencyService;
+import com.olegtoropoff.petcareappointment.service.idempotency.InMemoryIdempotencyStore;
 import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -44,6 +59,16 @@ class AppointmentControllerTest {
     @Mock
     private RabbitMQProducer rabbitMQProducer;
 
+    @Mock
+    private ISlotHoldService slotHoldService;
+
+    @Mock
+    private BookingPipeline bookingPipeline;
+
+    @Spy
+    private IIdempotencyService idempotencyService =
+            new IdempotencyService(new InMemoryIdempotencyStore(), new ObjectMapper().findAndRegisterModules(), 24);
+
     @Test
     void bookAppointment_ReturnsSuccessResponse() {
         BookAppointmentRequest request = new BookAppointmentRequest();
@@ -55,10 +80,10 @@ class AppointmentControllerTest {
         Long senderId = 1L;
         Long recipientId = 2L;
 
-        when(appointmentService.createAppointment(request, senderId, recipientId)).thenReturn(appointment);
+        when(bookingPipeline.book(request, senderId, recipientId)).thenReturn(CompletableFuture.completedFuture(appointment));
         doNothing().when(rabbitMQProducer).sendMessage(anyString());
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.bookAppointment(request, senderId, recipientId);
+        ResponseEntity<CustomApiResponse> response = getResult(appointmentController.bookAppointment(request, senderId, recipientId, null));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(FeedBackMessage.APPOINTMENT_BOOKED_SUCCESS, Objects.requireNonNull(response.getBody()).getMessage());
@@ -72,10 +97,10 @@ class AppointmentControllerTest {
         Long recipientId = 2L;
         String errorMessage = FeedBackMessage.SENDER_RECIPIENT_NOT_FOUND;
 
-        when(appointmentService.createAppointment(request, senderId, recipientId))
-                .thenThrow(new ResourceNotFoundException(errorMessage));
+        when(bookingPipeline.book(request, senderId, recipientId))
+                .thenReturn(CompletableFuture.failedFuture(new ResourceNotFoundException(errorMessage)));
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.bookAppointment(request, senderId, recipientId);
+        ResponseEntity<CustomApiResponse> response = getResult(appointmentController.bookAppointment(request, senderId, recipientId, null));
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
@@ -90,10 +115,10 @@ class AppointmentControllerTest {
         Long recipientId = 1L;
         String errorMessage = FeedBackMessage.VET_APPOINTMENT_NOT_ALLOWED;
 
-        when(appointmentService.createAppointment(request, senderId, recipientId))
-                .thenThrow(new IllegalStateException(errorMessage));
+        when(bookingPipeline.book(request, senderId, recipientId))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException(errorMessage)));
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.bookAppointment(request, senderId, recipientId);
+        ResponseEntity<CustomApiResponse> response = getResult(appointmentController.bookAppointment(request, senderId, recipientId, null));
 
         assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
         assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
@@ -107,10 +132,10 @@ class AppointmentControllerTest {
         Long senderId = 1L;
         Long recipientId = 2L;
 
-        when(appointmentService.createAppointment(request, senderId, recipientId))
-                .thenThrow(new RuntimeException(FeedBackMessage.ERROR));
+        when(bookingPipeline.book(request, senderId, recipientId))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException(FeedBackMessage.ERROR)));
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.bookAppointment(request, senderId, recipientId);
+        ResponseEntity<CustomApiResponse> response = getResult(appointmentController.bookAppointment(request, senderId, recipientId, null));
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals(FeedBackMessage.ERROR, Objects.requireNonNull(response.getBody()).getMessage());
@@ -119,6 +144,33 @@ class AppointmentControllerTest {
     }
 
 
+    @Test
+    void holdSlot_ReturnsExpiryOfHold() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalTime time = LocalTime.of(12, 0);
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(5);
+        when(slotHoldService.holdSlot(1L, 2L, date, time)).thenReturn(expiresAt);
+
+        ResponseEntity<CustomApiResponse> response = appointmentController.holdSlot(1L, 2L, date, time);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(FeedBackMessage.SLOT_HOLD_SUCCESS, Objects.requireNonNull(response.getBody()).getMessage());
+        assertEquals(expiresAt, response.getBody().getData());
+    }
+
+    @Test
+    void holdSlot_WhenSlotUnavailable_ReturnsNotAcceptable() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalTime time = LocalTime.of(12, 0);
+        when(slotHoldService.holdSlot(1L, 2L, date, time))
+                .thenThrow(new IllegalStateException(FeedBackMessage.SLOT_HELD_BY_ANOTHER_PATIENT));
+
+        ResponseEntity<CustomApiResponse> response = appointmentController.holdSlot(1L, 2L, date, time);
+
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+        assertEquals(FeedBackMessage.SLOT_HELD_BY_ANOTHER_PATIENT, Objects.requireNonNull(response.getBody()).getMessage());
+    }
+
     @Test
     void updateAppointment_ReturnsSuccessResponse() {
         AppointmentUpdateRequest request = new AppointmentUpdateRequest();
@@ -147,6 +199,20 @@ class AppointmentControllerTest {
         assertNull(response.getBody().getData());
     }
 
+    @Test
+    void updateAppointment_WhenChangedConcurrently_ReturnsConflict() {
+        AppointmentUpdateRequest request = new AppointmentUpdateRequest();
+
+        when(appointmentService.updateAppointment(1L, request))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Appointment.class, 1L));
+
+        ResponseEntity<CustomApiResponse> response = appointmentController.updateAppointment(1L, request);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(FeedBackMessage.APPOINTMENT_CHANGED_CONCURRENTLY, Objects.requireNonNull(response.getBody()).getMessage());
+        assertNull(response.getBody().getData());
+    }
+
     @Test
     void updateAppointment_ThrowsResourceNotFoundException() {
         AppointmentUpdateRequest request = new AppointmentUpdateRequest();
@@ -213,6 +279,31 @@ class AppointmentControllerTest {
         assertNull(response.getBody().getData());
     }
 
+    @Test
+    void getAllAppointmentsByCursor_ReturnsPage() {
+        CursorPageDto<AppointmentDto> page = new CursorPageDto<>(Collections.emptyList(), "next", null);
+
+        when(appointmentService.getAppointmentsAfter("", 10, false)).thenReturn(page);
+
+        ResponseEntity<CustomApiResponse> response = appointmentController.getAllAppointmentsByCursor("", 10, false);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(FeedBackMessage.APPOINTMENTS_FOUND, Objects.requireNonNull(response.getBody()).getMessage());
+        assertEquals(page, response.getBody().getData());
+    }
+
+    @Test
+    void getAllAppointmentsByCursor_WhenCursorInvalid_ReturnsBadRequest() {
+        when(appointmentService.getAppointmentsAfter("broken", 10, false))
+                .thenThrow(new IllegalArgumentException(FeedBackMessage.INVALID_APPOINTMENT_CURSOR));
+
+        ResponseEntity<CustomApiResponse> response = appointmentController.getAllAppointmentsByCursor("broken", 10, false);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(FeedBackMessage.INVALID_APPOINTMENT_CURSOR, Objects.requireNonNull(response.getBody()).getMessage());
+        assertNull(response.getBody().getData());
+    }
+
     @Test
     void getAppointmentById_ReturnsSuccessResponse() {
         AppointmentDto appointmentDto = new AppointmentDto();
@@ -304,7 +395,7 @@ class AppointmentControllerTest {
         when(appointmentService.approveAppointment(1L)).thenReturn(appointmentDto);
         doNothing().when(rabbitMQProducer).sendMessage(anyString());
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.approveAppointment(1L);
+        ResponseEntity<CustomApiResponse> response = appointmentController.approveAppointment(1L, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(FeedBackMessage.APPOINTMENT_APPROVED_SUCCESS, Objects.requireNonNull(response.getBody()).getMessage());
@@ -318,13 +409,27 @@ class AppointmentControllerTest {
 
         when(appointmentService.approveAppointment(appointmentId)).thenThrow(new IllegalStateException(errorMessage));
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.approveAppointment(appointmentId);
+        ResponseEntity<CustomApiResponse> response = appointmentController.approveAppointment(appointmentId, null);
 
         assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
         assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
         assertNull(response.getBody().getData());
     }
 
+    @Test
+    void approveAppointment_ThrowsAppointmentConflictException() {
+        Long appointmentId = 1L;
+        String errorMessage = FeedBackMessage.APPOINTMENT_CHANGED_CONCURRENTLY;
+
+        when(appointmentService.approveAppointment(appointmentId)).thenThrow(new AppointmentConflictException(errorMessage));
+
+        ResponseEntity<CustomApiResponse> response = appointmentController.approveAppointment(appointmentId, null);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
+        assertNull(response.getBody().getData());
+    }
+
     @Test
     void approveAppointment_ThrowsGenericException() {
         Long appointmentId = 1L;
@@ -332,7 +437,7 @@ class AppointmentControllerTest {
 
         when(appointmentService.approveAppointment(appointmentId)).thenThrow(new RuntimeException(errorMessage));
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.approveAppointment(appointmentId);
+        ResponseEntity<CustomApiResponse> response = appointmentController.approveAppointment(appointmentId, null);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
@@ -385,7 +490,7 @@ class AppointmentControllerTest {
         when(appointmentService.declineAppointment(appointmentId)).thenReturn(appointmentDto);
         doNothing().when(rabbitMQProducer).sendMessage(anyString());
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.declineAppointment(appointmentId);
+        ResponseEntity<CustomApiResponse> response = appointmentController.declineAppointment(appointmentId, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(FeedBackMessage.APPOINTMENT_DECLINED_SUCCESS, Objects.requireNonNull(response.getBody()).getMessage());
@@ -399,13 +504,27 @@ class AppointmentControllerTest {
 
         when(appointmentService.declineAppointment(appointmentId)).thenThrow(new IllegalStateException(errorMessage));
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.declineAppointment(appointmentId);
+        ResponseEntity<CustomApiResponse> response = appointmentController.declineAppointment(appointmentId, null);
 
         assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
         assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
         assertNull(response.getBody().getData());
     }
 
+    @Test
+    void declineAppointment_ThrowsAppointmentConflictException() {
+        Long appointmentId = 1L;
+        String errorMessage = FeedBackMessage.APPOINTMENT_CHANGED_CONCURRENTLY;
+
+        when(appointmentService.declineAppointment(appointmentId)).thenThrow(new AppointmentConflictException(errorMessage));
+
+        ResponseEntity<CustomApiResponse> response = appointmentController.declineAppointment(appointmentId, null);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
+        assertNull(response.getBody().getData());
+    }
+
     @Test
     void declineAppointment_ThrowsGenericException() {
         Long appointmentId = 1L;
@@ -413,7 +532,7 @@ class AppointmentControllerTest {
 
         when(appointmentService.declineAppointment(appointmentId)).thenThrow(new RuntimeException(errorMessage));
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.declineAppointment(appointmentId);
+        ResponseEntity<CustomApiResponse> response = appointmentController.declineAppointment(appointmentId, null);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals(FeedBackMessage.ERROR, Objects.requireNonNull(response.getBody()).getMessage());
@@ -433,13 +552,34 @@ class AppointmentControllerTest {
         when(appointmentService.cancelAppointment(appointmentId)).thenReturn(appointmentDto);
         doNothing().when(rabbitMQProducer).sendMessage(anyString());
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.cancelAppointment(appointmentId);
+        ResponseEntity<CustomApiResponse> response = appointmentController.cancelAppointment(appointmentId, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(FeedBackMessage.APPOINTMENT_CANCELLED_SUCCESS, Objects.requireNonNull(response.getBody()).getMessage());
         verify(rabbitMQProducer, times(1)).sendMessage("AppointmentCanceledEvent:2#12345");
     }
 
+    @Test
+    void cancelAppointment_WhenRetriedWithSameIdempotencyKey_ReturnsStoredResponse() {
+        Long appointmentId = 1L;
+        AppointmentDto appointmentDto = new AppointmentDto();
+        UserDto vet = new UserDto();
+        vet.setId(2L);
+        appointmentDto.setId(appointmentId);
+        appointmentDto.setVeterinarian(vet);
+        appointmentDto.setAppointmentNo("12345");
+
+        when(appointmentService.cancelAppointment(appointmentId)).thenReturn(appointmentDto);
+
+        ResponseEntity<CustomApiResponse> response = appointmentController.cancelAppointment(appointmentId, "retry-key");
+        ResponseEntity<CustomApiResponse> retryResponse = appointmentController.cancelAppointment(appointmentId, "retry-key");
+
+        assertEquals(HttpStatus.OK, retryResponse.getStatusCode());
+        assertEquals(Objects.requireNonNull(response.getBody()).getMessage(), Objects.requireNonNull(retryResponse.getBody()).getMessage());
+        verify(appointmentService, times(1)).cancelAppointment(appointmentId);
+        verify(rabbitMQProducer, times(1)).sendMessage("AppointmentCanceledEvent:2#12345");
+    }
+
     @Test
     void cancelAppointment_ThrowsIllegalStateException() {
         Long appointmentId = 1L;
@@ -447,13 +587,27 @@ class AppointmentControllerTest {
 
         when(appointmentService.cancelAppointment(appointmentId)).thenThrow(new IllegalStateException(errorMessage));
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.cancelAppointment(appointmentId);
+        ResponseEntity<CustomApiResponse> response = appointmentController.cancelAppointment(appointmentId, null);
 
         assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
         assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
         assertNull(response.getBody().getData());
     }
 
+    @Test
+    void cancelAppointment_ThrowsAppointmentConflictException() {
+        Long appointmentId = 1L;
+        String errorMessage = FeedBackMessage.APPOINTMENT_CHANGED_CONCURRENTLY;
+
+        when(appointmentService.cancelAppointment(appointmentId)).thenThrow(new AppointmentConflictException(errorMessage));
+
+        ResponseEntity<CustomApiResponse> response = appointmentController.cancelAppointment(appointmentId, null);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
+        assertNull(response.getBody().getData());
+    }
+
     @Test
     void cancelAppointment_ThrowsGenericException() {
         Long appointmentId = 1L;
@@ -461,7 +615,7 @@ class AppointmentControllerTest {
 
         when(appointmentService.cancelAppointment(appointmentId)).thenThrow(new RuntimeException(errorMessage));
 
-        ResponseEntity<CustomApiResponse> response = appointmentController.cancelAppointment(appointmentId);
+        ResponseEntity<CustomApiResponse> response = appointmentController.cancelAppointment(appointmentId, null);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
@@ -529,4 +683,9 @@ class AppointmentControllerTest {
         assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
         assertNull(response.getBody().getData());
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<CustomApiResponse> getResult(DeferredResult<ResponseEntity<CustomApiResponse>> result) {
+        return (ResponseEntity<CustomApiResponse>) result.getResult();
+    }
+}
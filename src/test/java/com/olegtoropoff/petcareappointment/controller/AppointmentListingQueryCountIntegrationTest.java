@@ -0,0 +1,93 @@
+package com.olegtoropoff.petcareappointment.controller;
+
+import com.olegtoropoff.petcareappointment.config.TestConfig;
+import com.olegtoropoff.petcareappointment.service.appointment.AppointmentSearchIndex;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.olegtoropoff.petcareappointment.utils.UrlMapping.ALL_APPOINTMENT;
+import static com.olegtoropoff.petcareappointment.utils.UrlMapping.APPOINTMENTS;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Locks in the number of SQL statements needed to list a page of appointments, so walking the patient,
+ * veterinarian and pets of every row does not fall back to per-row selects.
+ */
+@Tag("integration")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql(scripts = "/clean_database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/test_pet_care_data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Import(TestConfig.class)
+class AppointmentListingQueryCountIntegrationTest {
+
+    private static final long MAX_STATEMENTS_PER_PAGE = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AppointmentSearchIndex appointmentSearchIndex;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        appointmentSearchIndex.rebuild();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getAllAppointments_RunsSameNumberOfStatementsForAnyPageSize() throws Exception {
+        long smallPage = countStatements("2", "", 2);
+        long fullPage = countStatements("10", "", 10);
+
+        assertEquals(smallPage, fullPage);
+        assertTrue(fullPage <= MAX_STATEMENTS_PER_PAGE, "Statements per page: " + fullPage);
+    }
+
+    @Test
+    void searchAppointments_RunsSameNumberOfStatementsForAnyPageSize() throws Exception {
+        long smallPage = countStatements("2", "gmail.com", 2);
+        long fullPage = countStatements("10", "gmail.com", 10);
+
+        assertEquals(smallPage, fullPage);
+        assertTrue(fullPage <= MAX_STATEMENTS_PER_PAGE, "Statements per page: " + fullPage);
+    }
+
+    private long countStatements(String size, String search, int expectedRows) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(APPOINTMENTS + ALL_APPOINTMENT)
+                        .param("page", "0")
+                        .param("size", size)
+                        .param("search", search))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is(FeedBackMessage.APPOINTMENTS_FOUND)))
+                .andExpect(jsonPath("$.data.content", hasSize(expectedRows)));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,197 @@
+package com.olegtoropoff.petcareappointment.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olegtoropoff.petcareappointment.config.TestConfig;
+import com.olegtoropoff.petcareappointment.model.VetBiography;
+import com.olegtoropoff.petcareappointment.request.PasswordResetRequest;
+import com.olegtoropoff.petcareappointment.request.UserUpdateRequest;
+import com.olegtoropoff.petcareappointment.service.user.IUserService;
+import com.olegtoropoff.petcareappointment.service.vetbiography.IVetBiographyService;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.olegtoropoff.petcareappointment.utils.UrlMapping.AUTH;
+import static com.olegtoropoff.petcareappointment.utils.UrlMapping.RESET_PASSWORD;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the routing of reads to the replica and of writes to the primary, with a second H2 database
+ * standing in for the replica.
+ * <p>
+ * The replica holds the same data as the primary except for the last name of the veterinarian with id 7,
+ * which tells which database served a read.
+ */
+@Tag("integration")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.replica.url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.replica.driver-class-name=org.h2.Driver",
+        "spring.datasource.replica.username=sa",
+        "spring.datasource.replica.password="
+})
+@Import(TestConfig.class)
+@Sql(scripts = "/clean_database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/test_pet_care_data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final String PRIMARY_LAST_NAME = "Сергеев";
+    private static final String REPLICA_LAST_NAME = "Реплика";
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private IVetBiographyService vetBiographyService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        new ResourceDatabasePopulator(new ClassPathResource("clean_database.sql"),
+                new ClassPathResource("test_pet_care_data.sql"))
+                .execute(replicaDataSource);
+        new JdbcTemplate(replicaDataSource).update("UPDATE \"user\" SET last_name = ? WHERE id = ?", REPLICA_LAST_NAME, 7L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void findById_InReadOnlyTransaction_ReadsFromReplica() {
+        assertEquals(REPLICA_LAST_NAME, userService.findById(7L).getLastName());
+    }
+
+    @Test
+    void findById_InsideReadWriteTransaction_ReadsFromPrimary() {
+        String lastName = new TransactionTemplate(transactionManager)
+                .execute(status -> userService.findById(7L).getLastName());
+
+        assertEquals(PRIMARY_LAST_NAME, lastName);
+    }
+
+    @Test
+    void update_WritesToPrimaryOnly() {
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setFirstName("Наталья");
+        request.setLastName("Воронова");
+        request.setGender("Female");
+        request.setPhoneNumber("89126666666");
+        request.setSpecialization("Терапевт");
+        request.setAppointmentCost(new BigDecimal("1500.00"));
+        request.setClinicAddress("Москва");
+
+        userService.update(8L, request);
+
+        assertEquals("Воронова", lastNameOf(primaryDataSource, 8L));
+        assertEquals("Федорова", lastNameOf(replicaDataSource, 8L));
+    }
+
+    @Test
+    void findById_AfterOwnWrite_ReadsFromPrimary() {
+        authenticate("dmitry@gmail.com");
+        assertEquals(REPLICA_LAST_NAME, userService.findById(7L).getLastName());
+
+        vetBiographyService.updateVetBiography(new VetBiography(null, "Обновленная биография", null), 3L);
+
+        assertEquals(PRIMARY_LAST_NAME, userService.findById(7L).getLastName());
+    }
+
+    @Test
+    void findById_AfterWriteOfAnotherUser_ReadsFromReplica() {
+        authenticate("natalia@gmail.com");
+        vetBiographyService.updateVetBiography(new VetBiography(null, "Обновленная биография", null), 4L);
+
+        authenticate("maria@gmail.com");
+
+        assertEquals(REPLICA_LAST_NAME, userService.findById(7L).getLastName());
+    }
+
+    @Test
+    void resetPassword_ReadsTokenFromReplicaAndWritesPasswordToPrimary() throws Exception {
+        // The token only exists on the replica, so the request succeeds only if its lookup is served there
+        String replicaPassword = passwordOf(replicaDataSource, 2L);
+        new JdbcTemplate(replicaDataSource).update(
+                "INSERT INTO verification_token (token, expiration_date, user_id) VALUES (?, ?, ?)",
+                "replica-reset-token", LocalDateTime.now().plusHours(1), 2L);
+
+        PasswordResetRequest request = new PasswordResetRequest();
+        request.setToken("replica-reset-token");
+        request.setNewPassword("NewPassword123");
+
+        mockMvc.perform(post(AUTH + RESET_PASSWORD)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is(FeedBackMessage.PASSWORD_RESET_SUCCESS)));
+
+        assertTrue(passwordEncoder.matches("NewPassword123", passwordOf(primaryDataSource, 2L)));
+        assertEquals(replicaPassword, passwordOf(replicaDataSource, 2L));
+    }
+
+    private void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private String lastNameOf(DataSource dataSource, Long userId) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT last_name FROM \"user\" WHERE id = ?", String.class, userId);
+    }
+
+    private String passwordOf(DataSource dataSource, Long userId) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT password FROM \"user\" WHERE id = ?", String.class, userId);
+    }
+}
@@ -0,0 +1,134 @@
+package com.olegtoropoff.petcareappointment.controller;
+
+import com.olegtoropoff.petcareappointment.config.TestConfig;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import com.olegtoropoff.petcareappointment.repository.ReviewRepository;
+import com.olegtoropoff.petcareappointment.repository.UserRepository;
+import com.olegtoropoff.petcareappointment.repository.VerificationTokenRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the lookups run on every request are served by the indexes defined in the schema migrations.
+ * <p>
+ * The SQL generated by Hibernate for each repository method is recorded and explained by H2,
+ * whose plan names the index used for every table.
+ */
+@Tag("integration")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.olegtoropoff.petcareappointment.controller.RepositoryIndexUsageIntegrationTest$RecordingStatementInspector")
+@Import(TestConfig.class)
+class RepositoryIndexUsageIntegrationTest {
+
+    private static final List<AppointmentStatus> EXCLUDED_STATUSES =
+            List.of(AppointmentStatus.COMPLETED, AppointmentStatus.CANCELLED, AppointmentStatus.NOT_APPROVED);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VerificationTokenRepository verificationTokenRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findSlotsByVeterinarianIdAndAppointmentDateBetween_UsesRecipientDateIndex() {
+        String plan = explain(() -> appointmentRepository.findSlotsByVeterinarianIdAndAppointmentDateBetween(
+                7L, LocalDate.now(), LocalDate.now().plusDays(7), EXCLUDED_STATUSES));
+
+        assertUsesIndex(plan, "idx_appointment_recipient_date");
+    }
+
+    @Test
+    void findBookingEligibility_UsesSenderStatusIndex() {
+        String plan = explain(() -> appointmentRepository.findBookingEligibility(2L, 7L, EXCLUDED_STATUSES));
+
+        assertUsesIndex(plan, "idx_appointment_sender_status");
+    }
+
+    @Test
+    void findByAppointmentNo_UsesAppointmentNumberIndex() {
+        String plan = explain(() -> appointmentRepository.findByAppointmentNo("12345678901234567890"));
+
+        assertUsesIndex(plan, "uk_appointment_appointment_no");
+    }
+
+    @Test
+    void findByEmail_UsesEmailIndex() {
+        String plan = explain(() -> userRepository.findByEmail("alexey@gmail.com"));
+
+        assertUsesIndex(plan, "uk_user_email");
+    }
+
+    @Test
+    void findByToken_UsesTokenIndex() {
+        String plan = explain(() -> verificationTokenRepository.findByToken("token"));
+
+        assertUsesIndex(plan, "uk_verification_token_token");
+    }
+
+    @Test
+    void findByVeterinarianIdAndPatientId_UsesVeterinarianReviewerIndex() {
+        String plan = explain(() -> reviewRepository.findByVeterinarianIdAndPatientId(7L, 2L));
+
+        assertUsesIndex(plan, "idx_review_veterinarian_reviewer");
+    }
+
+    private String explain(Runnable query) {
+        RecordingStatementInspector.STATEMENTS.get().clear();
+        query.run();
+        String sql = RecordingStatementInspector.STATEMENTS.get().get(0);
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+
+    private void assertUsesIndex(String plan, String indexName) {
+        assertTrue(plan.contains("public." + indexName), "Expected " + indexName + " in plan:\n" + plan);
+    }
+
+    /**
+     * Records the SQL statements prepared by Hibernate on each thread, in order,
+     * so statements of scheduled tasks do not mix with those of the test.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+    }
+}
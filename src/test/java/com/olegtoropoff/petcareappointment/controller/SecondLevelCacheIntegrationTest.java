@@ -0,0 +1,151 @@
+package com.olegtoropoff.petcareappointment.controller;
+
+import com.olegtoropoff.petcareappointment.config.TestConfig;
+import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.model.VetBiography;
+import com.olegtoropoff.petcareappointment.model.Veterinarian;
+import com.olegtoropoff.petcareappointment.repository.RoleRepository;
+import com.olegtoropoff.petcareappointment.repository.UserRepository;
+import com.olegtoropoff.petcareappointment.request.UserUpdateRequest;
+import com.olegtoropoff.petcareappointment.service.user.IUserService;
+import com.olegtoropoff.petcareappointment.service.vetbiography.IVetBiographyService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the second-level and query cache configured for the reference entities.
+ * <p>
+ * The cache is disabled in the {@code test} profile and enabled here with the same settings as the application,
+ * so the region sizes of {@code application.conf} are validated as well. Changes are made through the services,
+ * the way the application makes them, and must be visible in the next read without any explicit eviction.
+ */
+@Tag("integration")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(TestConfig.class)
+@Sql(scripts = "/clean_database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/test_pet_care_data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private IVetBiographyService vetBiographyService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByName_WhenRepeated_IsServedFromQueryCache() {
+        roleRepository.findByName("ROLE_VET");
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals("ROLE_VET", roleRepository.findByName("ROLE_VET").orElseThrow().getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryRegionStatistics("role_by_name").getHitCount());
+    }
+
+    @Test
+    void findById_WhenRepeated_ReadsVeterinarianProfileAndRolesFromCache() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> userRepository.findById(7L).orElseThrow().getRoles().size());
+        long statements = statistics.getPrepareStatementCount();
+
+        transaction.executeWithoutResult(status -> {
+            User veterinarian = userRepository.findById(7L).orElseThrow();
+
+            assertInstanceOf(Veterinarian.class, veterinarian);
+            assertEquals("Терапевт", ((Veterinarian) veterinarian).getSpecialization());
+            assertEquals("ROLE_VET", veterinarian.getRoles().iterator().next().getName());
+        });
+        assertEquals(1, statistics.getDomainDataRegionStatistics("user").getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("user_roles").getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("role").getHitCount());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getVetBiographyByVetId_AfterUpdate_ReturnsUpdatedBiography() {
+        vetBiographyService.getVetBiographyByVetId(8L);
+        vetBiographyService.getVetBiographyByVetId(8L);
+        assertEquals(1, statistics.getQueryRegionStatistics("vet_biography_by_veterinarian").getHitCount());
+
+        vetBiographyService.updateVetBiography(new VetBiography(null, "Обновленная биография", null), 4L);
+
+        assertEquals("Обновленная биография", vetBiographyService.getVetBiographyByVetId(8L).getBiography());
+    }
+
+    @Test
+    void findById_AfterUpdate_ReturnsUpdatedProfileFromCache() {
+        userRepository.findById(9L);
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setFirstName("Константин");
+        request.setLastName("Воронов");
+        request.setGender("Male");
+        request.setPhoneNumber("89127777777");
+        request.setSpecialization("Хирург");
+        request.setAppointmentCost(new BigDecimal("2500.00"));
+        request.setClinicAddress("Москва");
+
+        userService.update(9L, request);
+        long misses = statistics.getDomainDataRegionStatistics("user").getMissCount();
+        User veterinarian = userRepository.findById(9L).orElseThrow();
+
+        assertEquals("Воронов", veterinarian.getLastName());
+        assertEquals(misses, statistics.getDomainDataRegionStatistics("user").getMissCount());
+    }
+
+    @Test
+    void findById_AfterAccountLocked_ReturnsLockedUser() {
+        assertTrue(userRepository.findById(3L).orElseThrow().isEnabled());
+
+        userService.lockUserAccount(3L);
+
+        assertFalse(userRepository.findById(3L).orElseThrow().isEnabled());
+    }
+}
@@ -0,0 +1,115 @@
+package com.olegtoropoff.petcareappointment.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olegtoropoff.petcareappointment.config.TestConfig;
+import com.olegtoropoff.petcareappointment.request.LoginRequest;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static com.olegtoropoff.petcareappointment.utils.UrlMapping.*;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Locks in the number of SQL statements of the screens that load users, so associations a screen
+ * does not show are not loaded with every user.
+ */
+@Tag("integration")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql(scripts = "/clean_database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/test_pet_care_data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Import(TestConfig.class)
+class UserFetchQueryCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void login_LoadsUserWithRolesOnly() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("dmitry@gmail.com");
+        loginRequest.setPassword("Password12345");
+
+        long statements = countStatements(post(AUTH + LOGIN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)), FeedBackMessage.AUTHENTICATION_SUCCESS);
+
+        assertTrue(statements <= 1, "Statements: " + statements);
+    }
+
+    @Test
+    void getAllVeterinarians_RunsFixedNumberOfStatements() throws Exception {
+        long statements = countStatements(get(VETERINARIANS + GET_ALL_VETERINARIANS), FeedBackMessage.RESOURCE_FOUND);
+
+        assertTrue(statements <= 2, "Statements: " + statements);
+    }
+
+    @Test
+    void getVeterinarianById_RunsFixedNumberOfStatements() throws Exception {
+        long statements = countStatements(get(VETERINARIANS + GET_VETERINARIAN_BY_ID, 7L), FeedBackMessage.USER_FOUND);
+
+        assertTrue(statements <= 2, "Statements: " + statements);
+    }
+
+    @Test
+    void getUserById_ForVeterinarian_RunsFixedNumberOfStatements() throws Exception {
+        long statements = countStatements(get(USERS + GET_USER_BY_ID, 7L), FeedBackMessage.USER_FOUND);
+
+        assertTrue(statements <= 5, "Statements: " + statements);
+    }
+
+    @Test
+    void getUserById_ForPatient_RunsFixedNumberOfStatements() throws Exception {
+        long statements = countStatements(get(USERS + GET_USER_BY_ID, 2L), FeedBackMessage.USER_FOUND);
+
+        assertTrue(statements <= 5, "Statements: " + statements);
+    }
+
+    private long countStatements(RequestBuilder request, String expectedMessage) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is(expectedMessage)));
+        return statistics.getPrepareStatementCount();
+    }
+}
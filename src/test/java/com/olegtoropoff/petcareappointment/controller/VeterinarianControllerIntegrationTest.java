@@ -1,6 +1,11 @@
 package com.olegtoropoff.petcareappointment.controller;
 
+import com.olegtoropoff.petcareappointment.model.Veterinarian;
+import com.olegtoropoff.petcareappointment.repository.VeterinarianRepository;
 import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,9 +17,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.olegtoropoff.petcareappointment.utils.UrlMapping.*;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -30,6 +39,12 @@ public class VeterinarianControllerIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
     @Test
     public void getAllVeterinarians_ReturnsVeterinariansWithDetails() throws Exception {
         mockMvc.perform(get(VETERINARIANS + GET_ALL_VETERINARIANS))
@@ -67,6 +82,25 @@ public class VeterinarianControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value(FeedBackMessage.NO_VETS_AVAILABLE));
     }
 
+    @Test
+    public void searchVeterinariansForAppointment_QueryCountDoesNotDependOnVeterinarianCount() throws Exception {
+        String specialization = "Кардиолог";
+        List<Veterinarian> addedVets = new ArrayList<>();
+        try {
+            addedVets.add(veterinarianRepository.save(createVeterinarian(specialization, 1)));
+            long singleVetQueries = countSearchQueries(specialization, 1);
+
+            for (int i = 2; i <= 5; i++) {
+                addedVets.add(veterinarianRepository.save(createVeterinarian(specialization, i)));
+            }
+            long multipleVetsQueries = countSearchQueries(specialization, 5);
+
+            assertEquals(singleVetQueries, multipleVetsQueries);
+        } finally {
+            veterinarianRepository.deleteAll(addedVets);
+        }
+    }
+
     @Test
     public void getAllSpecializations_ReturnsSpecializations() throws Exception {
         mockMvc.perform(get(VETERINARIANS + GET_ALL_SPECIALIZATIONS))
@@ -100,4 +134,75 @@ public class VeterinarianControllerIntegrationTest {
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data", hasItems("10:00:00", "11:00:00")));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getAvailableTimesForDateRange_ReturnsAvailableTimesForEveryDay() throws Exception {
+        mockMvc.perform(get(VETERINARIANS + GET_AVAILABLE_TIMES_FOR_DATE_RANGE, 7L)
+                        .param("startDate", "2025-01-04")
+                        .param("endDate", "2025-01-07"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value(FeedBackMessage.AVAILABLE_TIME_FOR_APPOINTMENT_FOUND))
+                .andExpect(jsonPath("$.data.length()").value(4))
+                .andExpect(jsonPath("$.data['2025-01-04']", hasItems("14:30:00", "15:00:00")))
+                .andExpect(jsonPath("$.data['2025-01-05']", hasItems("14:00:00", "16:00:00")))
+                .andExpect(jsonPath("$.data['2025-01-05']", not(hasItems("14:30:00"))))
+                .andExpect(jsonPath("$.data['2025-01-07']", not(hasItems("15:00:00"))));
+    }
+
+    @Test
+    public void getAvailableTimesForDateRange_WhenRangeExceedsHorizon_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get(VETERINARIANS + GET_AVAILABLE_TIMES_FOR_DATE_RANGE, 7L)
+                        .param("startDate", "2025-01-01")
+                        .param("endDate", "2025-03-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @Test
+    public void getEarliestAvailableSlots_ReturnsRequestedNumberOfSlots() throws Exception {
+        mockMvc.perform(get(VETERINARIANS + GET_EARLIEST_AVAILABLE_SLOTS)
+                        .param("specialization", "Хирург")
+                        .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value(FeedBackMessage.AVAILABLE_TIME_FOR_APPOINTMENT_FOUND))
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].veterinarianId").exists())
+                .andExpect(jsonPath("$.data[0].time").exists());
+    }
+
+    @Test
+    public void getEarliestAvailableSlots_WhenSpecializationUnknown_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get(VETERINARIANS + GET_EARLIEST_AVAILABLE_SLOTS)
+                        .param("specialization", "Астролог"))
+                .andExpect(status().isNotFound());
+    }
+
+    private long countSearchQueries(String specialization, int expectedVets) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        mockMvc.perform(get(VETERINARIANS + SEARCH_VETERINARIAN_FOR_APPOINTMENT)
+                        .param("date", LocalDate.of(2024, 12, 20).toString())
+                        .param("time", LocalTime.of(14, 30).toString())
+                        .param("specialization", specialization))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(expectedVets));
+        long queries = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        return queries;
+    }
+
+    private Veterinarian createVeterinarian(String specialization, int number) {
+        Veterinarian veterinarian = new Veterinarian();
+        veterinarian.setFirstName("Врач" + number);
+        veterinarian.setLastName("Кардиолог");
+        veterinarian.setGender("Male");
+        veterinarian.setPhoneNumber("8900000000" + number);
+        veterinarian.setEmail("cardiologist" + number + "@gmail.com");
+        veterinarian.setPassword("password");
+        veterinarian.setUserType("VET");
+        veterinarian.setEnabled(true);
+        veterinarian.setSpecialization(specialization);
+        return veterinarian;
+    }
+}
@@ -1,5 +1,6 @@
 package com.olegtoropoff.petcareappointment.controller;
 
+import com.olegtoropoff.petcareappointment.dto.AvailableSlotDto;
 import com.olegtoropoff.petcareappointment.dto.UserDto;
 import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
 import com.olegtoropoff.petcareappointment.response.CustomApiResponse;
@@ -224,6 +225,73 @@ public class VeterinarianControllerTest {
         assertNull(response.getBody().getData());
     }
 
+    @Test
+    public void getAvailableTimesForDateRange_WhenSuccess_ReturnsAvailableTimesByDate() {
+        Long vetId = 1L;
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = startDate.plusDays(1);
+        Map<LocalDate, List<LocalTime>> availableTimes = Map.of(
+                startDate, List.of(LocalTime.of(10, 0)),
+                endDate, List.of(LocalTime.of(11, 0)));
+        when(veterinarianService.getAvailableTimesForDateRange(vetId, startDate, endDate)).thenReturn(availableTimes);
+
+        ResponseEntity<CustomApiResponse> response = veterinarianController.getAvailableTimesForDateRange(vetId, startDate, endDate);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(FeedBackMessage.AVAILABLE_TIME_FOR_APPOINTMENT_FOUND, Objects.requireNonNull(response.getBody()).getMessage());
+        assertEquals(availableTimes, response.getBody().getData());
+    }
+
+    @Test
+    public void getAvailableTimesForDateRange_WhenRangeInvalid_ReturnsBadRequest() {
+        Long vetId = 1L;
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = startDate.minusDays(1);
+        String errorMessage = String.format(FeedBackMessage.INVALID_DATE_RANGE, 30);
+        when(veterinarianService.getAvailableTimesForDateRange(vetId, startDate, endDate))
+                .thenThrow(new IllegalArgumentException(errorMessage));
+
+        ResponseEntity<CustomApiResponse> response = veterinarianController.getAvailableTimesForDateRange(vetId, startDate, endDate);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
+        assertNull(response.getBody().getData());
+    }
+
+    @Test
+    public void getEarliestAvailableSlots_WhenSlotsFound_ReturnsSlots() {
+        List<AvailableSlotDto> slots = List.of(
+                new AvailableSlotDto(1L, "John", "Doe", LocalDate.now().plusDays(1), LocalTime.of(9, 0)));
+        when(veterinarianService.findEarliestAvailableSlots("Surgery", 5)).thenReturn(slots);
+
+        ResponseEntity<CustomApiResponse> response = veterinarianController.getEarliestAvailableSlots("Surgery", 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(FeedBackMessage.AVAILABLE_TIME_FOR_APPOINTMENT_FOUND, Objects.requireNonNull(response.getBody()).getMessage());
+        assertEquals(slots, response.getBody().getData());
+    }
+
+    @Test
+    public void getEarliestAvailableSlots_WhenNoSlots_ReturnsNotFound() {
+        when(veterinarianService.findEarliestAvailableSlots("Surgery", 5)).thenReturn(Collections.emptyList());
+
+        ResponseEntity<CustomApiResponse> response = veterinarianController.getEarliestAvailableSlots("Surgery", 5);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(FeedBackMessage.NO_SLOTS_AVAILABLE, Objects.requireNonNull(response.getBody()).getMessage());
+    }
+
+    @Test
+    public void getEarliestAvailableSlots_WhenLimitInvalid_ReturnsBadRequest() {
+        String errorMessage = String.format(FeedBackMessage.INVALID_SLOT_LIMIT, 20);
+        when(veterinarianService.findEarliestAvailableSlots("Surgery", 0)).thenThrow(new IllegalArgumentException(errorMessage));
+
+        ResponseEntity<CustomApiResponse> response = veterinarianController.getEarliestAvailableSlots("Surgery", 0);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(errorMessage, Objects.requireNonNull(response.getBody()).getMessage());
+    }
+
     @Test
     void getById_ReturnsVeterinarian_WhenFound() {
         Long vetId = 1L;
@@ -0,0 +1,158 @@
+package com.olegtoropoff.petcareappointment.dto;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.model.Patient;
+import com.olegtoropoff.petcareappointment.model.Pet;
+import com.olegtoropoff.petcareappointment.model.Photo;
+import com.olegtoropoff.petcareappointment.model.Role;
+import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.model.VetBiography;
+import com.olegtoropoff.petcareappointment.model.Veterinarian;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the hand-written mappers produce the same DTOs as the {@link ModelMapper} based conversion they replace.
+ */
+@Tag("unit")
+class EntityConverterTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final UserDtoMapper userDtoMapper = new UserDtoMapper();
+    private final PetDtoMapper petDtoMapper = new PetDtoMapper();
+
+    @Test
+    void mapEntityToDto_Veterinarian_MatchesModelMapper() {
+        Veterinarian veterinarian = veterinarian();
+        EntityConverter<User, UserDto> converter = new EntityConverter<>(List.of(userDtoMapper));
+
+        UserDto result = converter.mapEntityToDto(veterinarian, UserDto.class);
+
+        assertEquals(modelMapper.map(veterinarian, UserDto.class), result);
+        assertEquals("Хирург", result.getSpecialization());
+        assertEquals(3L, result.getPhotoId());
+        assertEquals(Set.of("ROLE_VET", "ROLE_USER"), result.getRoles());
+    }
+
+    @Test
+    void mapEntityToDto_PatientWithoutPhoto_MatchesModelMapper() {
+        Patient patient = patient();
+        EntityConverter<User, UserDto> converter = new EntityConverter<>(List.of(userDtoMapper));
+
+        UserDto result = converter.mapEntityToDto(patient, UserDto.class);
+
+        assertEquals(modelMapper.map(patient, UserDto.class), result);
+        assertEquals(0L, result.getPhotoId());
+        assertNull(result.getPhotoUrl());
+    }
+
+    @Test
+    void mapEntityToDto_Appointment_MatchesModelMapper() {
+        Appointment appointment = new Appointment();
+        appointment.setId(1L);
+        appointment.setReason("Плановый осмотр");
+        appointment.setAppointmentDate(LocalDate.of(2025, 3, 1));
+        appointment.setAppointmentTime(LocalTime.of(10, 0));
+        appointment.setAppointmentNo("12345678901234567890");
+        appointment.setCreatedAt(LocalDate.of(2025, 2, 1));
+        appointment.setStatus(AppointmentStatus.APPROVED);
+        appointment.setPatient(patient());
+        appointment.setVeterinarian(veterinarian());
+        Pet pet = pet();
+        pet.setAppointment(appointment);
+        appointment.setPets(List.of(pet));
+        EntityConverter<Appointment, AppointmentDto> converter =
+                new EntityConverter<>(List.of(new AppointmentDtoMapper(userDtoMapper, petDtoMapper)));
+
+        AppointmentDto result = converter.mapEntityToDto(appointment, AppointmentDto.class);
+
+        assertEquals(modelMapper.map(appointment, AppointmentDto.class), result);
+        assertEquals(1, result.getPets().size());
+    }
+
+    @Test
+    void mapEntityToDto_Pet_MatchesModelMapper() {
+        Pet pet = pet();
+        EntityConverter<Pet, PetDto> converter = new EntityConverter<>(List.of(petDtoMapper));
+
+        assertEquals(modelMapper.map(pet, PetDto.class), converter.mapEntityToDto(pet, PetDto.class));
+    }
+
+    @Test
+    void mapEntityToDto_VetBiography_MatchesModelMapper() {
+        VetBiography vetBiography = new VetBiography(4L, "Опыт работы 10 лет", veterinarian());
+        EntityConverter<VetBiography, VetBiographyDto> converter =
+                new EntityConverter<>(List.of(new VetBiographyDtoMapper()));
+
+        assertEquals(modelMapper.map(vetBiography, VetBiographyDto.class),
+                converter.mapEntityToDto(vetBiography, VetBiographyDto.class));
+    }
+
+    @Test
+    void mapEntityToDto_WhenNoMapperForDtoClass_ThrowsIllegalArgumentException() {
+        EntityConverter<Pet, PetDto> converter = new EntityConverter<>(List.of(userDtoMapper));
+
+        assertThrows(IllegalArgumentException.class, () -> converter.mapEntityToDto(pet(), PetDto.class));
+    }
+
+    @Test
+    void constructor_WhenTwoMappersProduceSameDto_ThrowsIllegalStateException() {
+        assertThrows(IllegalStateException.class,
+                () -> new EntityConverter<>(List.of(userDtoMapper, new UserDtoMapper())));
+    }
+
+    private Veterinarian veterinarian() {
+        Veterinarian veterinarian = new Veterinarian();
+        veterinarian.setId(7L);
+        veterinarian.setFirstName("Иван");
+        veterinarian.setLastName("Петров");
+        veterinarian.setGender("Male");
+        veterinarian.setPhoneNumber("89001234567");
+        veterinarian.setEmail("vet@gmail.com");
+        veterinarian.setUserType("VET");
+        veterinarian.setEnabled(true);
+        veterinarian.setCreatedAt(LocalDate.of(2025, 1, 10));
+        veterinarian.setSpecialization("Хирург");
+        veterinarian.setAppointmentCost(new BigDecimal("1500.00"));
+        veterinarian.setClinicAddress("ул. Ленина, 1");
+        Photo photo = new Photo();
+        photo.setId(3L);
+        photo.setS3Url("https://storage.example.com/photo.jpg");
+        veterinarian.setPhoto(photo);
+        veterinarian.setRoles(Set.of(new Role("ROLE_VET"), new Role("ROLE_USER")));
+        return veterinarian;
+    }
+
+    private Patient patient() {
+        Patient patient = new Patient();
+        patient.setId(2L);
+        patient.setFirstName("Анна");
+        patient.setLastName("Смирнова");
+        patient.setEmail("patient@gmail.com");
+        patient.setUserType("PATIENT");
+        patient.setEnabled(true);
+        patient.setRoles(Set.of(new Role("ROLE_PATIENT")));
+        return patient;
+    }
+
+    private Pet pet() {
+        Pet pet = new Pet();
+        pet.setId(5L);
+        pet.setName("Барсик");
+        pet.setType("Кошка");
+        pet.setColor("Черный");
+        pet.setBreed("Сибирская");
+        pet.setAge(3);
+        return pet;
+    }
+}
@@ -0,0 +1,94 @@
+package com.olegtoropoff.petcareappointment.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class RedisAppointmentChangeRelayTest {
+
+    private static final AppointmentChangedEvent EVENT = new AppointmentChangedEvent(5L, 7L,
+            LocalDate.of(2030, 1, 10), LocalTime.of(10, 0), AppointmentStatus.APPROVED, false, null);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private RedisAppointmentChangeRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new RedisAppointmentChangeRelay(redisTemplate, eventPublisher, objectMapper);
+    }
+
+    @Test
+    void onAppointmentChanged_PublishesChangeToChannel() {
+        relay.onAppointmentChanged(EVENT);
+
+        verify(redisTemplate).convertAndSend(eq(RedisAppointmentChangeRelay.CHANNEL), anyString());
+    }
+
+    @Test
+    void onAppointmentChanged_WhenRedisFails_DoesNotThrow() {
+        when(redisTemplate.convertAndSend(anyString(), any())).thenThrow(new IllegalStateException("Redis is down"));
+
+        assertDoesNotThrow(() -> relay.onAppointmentChanged(EVENT));
+    }
+
+    @Test
+    void onMessage_WhenSentByAnotherInstance_PublishesChangeWithoutRelayingItBack() throws Exception {
+        String payload = objectMapper.writeValueAsString(
+                new RedisAppointmentChangeRelay.RelayedChange("another-instance", EVENT));
+        doAnswer(invocation -> {
+            relay.onAppointmentChanged(invocation.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(any(Object.class));
+
+        relay.onMessage(message(payload), null);
+
+        verify(eventPublisher).publishEvent(EVENT);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void onMessage_WhenSentByThisInstance_IgnoresChange() {
+        relay.onAppointmentChanged(EVENT);
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(RedisAppointmentChangeRelay.CHANNEL), payload.capture());
+
+        relay.onMessage(message(payload.getValue()), null);
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private DefaultMessage message(String payload) {
+        return new DefaultMessage(RedisAppointmentChangeRelay.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
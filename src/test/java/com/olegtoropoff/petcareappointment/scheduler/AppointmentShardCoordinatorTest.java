@@ -0,0 +1,101 @@
+package com.olegtoropoff.petcareappointment.scheduler;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Tag("unit")
+class AppointmentShardCoordinatorTest {
+
+    @Test
+    void maintainLeases_WhenSingleShard_OnlyOneNodeBecomesLeader() {
+        LeaseRegistry leaseRegistry = new InMemoryLeaseRegistry();
+        AppointmentShardCoordinator first = new AppointmentShardCoordinator(leaseRegistry, 1, 0, 30);
+        AppointmentShardCoordinator second = new AppointmentShardCoordinator(leaseRegistry, 1, 0, 30);
+
+        assertEquals(Set.of(0), first.maintainLeases());
+        assertTrue(second.maintainLeases().isEmpty());
+        assertTrue(first.maintainLeases().isEmpty());
+        assertEquals(Set.of(0), first.getOwnedShards());
+        assertTrue(second.getOwnedShards().isEmpty());
+    }
+
+    @Test
+    void maintainLeases_WhenShardLimitSet_SplitsShardsBetweenNodes() {
+        LeaseRegistry leaseRegistry = new InMemoryLeaseRegistry();
+        AppointmentShardCoordinator first = new AppointmentShardCoordinator(leaseRegistry, 4, 2, 30);
+        AppointmentShardCoordinator second = new AppointmentShardCoordinator(leaseRegistry, 4, 2, 30);
+
+        first.maintainLeases();
+        second.maintainLeases();
+
+        Set<Integer> allShards = new HashSet<>(first.getOwnedShards());
+        allShards.addAll(second.getOwnedShards());
+        assertEquals(2, first.getOwnedShards().size());
+        assertEquals(2, second.getOwnedShards().size());
+        assertEquals(Set.of(0, 1, 2, 3), allShards);
+    }
+
+    @Test
+    void maintainLeases_WhenOwnerReleasesShards_OtherNodeTakesOver() {
+        LeaseRegistry leaseRegistry = new InMemoryLeaseRegistry();
+        AppointmentShardCoordinator first = new AppointmentShardCoordinator(leaseRegistry, 2, 0, 30);
+        AppointmentShardCoordinator second = new AppointmentShardCoordinator(leaseRegistry, 2, 0, 30);
+        first.maintainLeases();
+        assertTrue(second.maintainLeases().isEmpty());
+
+        first.releaseAll();
+
+        assertEquals(Set.of(0, 1), second.maintainLeases());
+        assertTrue(first.getOwnedShards().isEmpty());
+    }
+
+    @Test
+    void maintainLeases_WhenLeaseExpires_OtherNodeTakesOver() throws InterruptedException {
+        LeaseRegistry leaseRegistry = new InMemoryLeaseRegistry();
+        AppointmentShardCoordinator first = new AppointmentShardCoordinator(leaseRegistry, 1, 0, 0);
+        AppointmentShardCoordinator second = new AppointmentShardCoordinator(leaseRegistry, 1, 0, 30);
+        first.maintainLeases();
+        Thread.sleep(5);
+
+        assertEquals(Set.of(0), second.maintainLeases());
+        first.maintainLeases();
+        assertTrue(first.getOwnedShards().isEmpty());
+    }
+
+    @Test
+    void owns_WhenShardLimitSet_MatchesOwnedShardsOnly() {
+        LeaseRegistry leaseRegistry = new InMemoryLeaseRegistry();
+        AppointmentShardCoordinator first = new AppointmentShardCoordinator(leaseRegistry, 4, 2, 30);
+        AppointmentShardCoordinator second = new AppointmentShardCoordinator(leaseRegistry, 4, 2, 30);
+        first.maintainLeases();
+        second.maintainLeases();
+
+        for (long appointmentId = 0; appointmentId < 8; appointmentId++) {
+            int shard = (int) (appointmentId % 4);
+            assertEquals(first.getOwnedShards().contains(shard), first.owns(appointmentId));
+            assertNotEquals(first.owns(appointmentId), second.owns(appointmentId));
+        }
+        assertFalse(first.owns(null));
+    }
+
+    @Test
+    void maintainLeases_WhenRegistryUnavailable_DropsAllShards() {
+        LeaseRegistry leaseRegistry = mock(LeaseRegistry.class);
+        when(leaseRegistry.tryAcquire(anyString(), anyString(), any())).thenReturn(true);
+        AppointmentShardCoordinator coordinator = new AppointmentShardCoordinator(leaseRegistry, 2, 0, 30);
+        coordinator.maintainLeases();
+        when(leaseRegistry.renew(anyString(), anyString(), any())).thenThrow(new IllegalStateException("down"));
+
+        assertTrue(coordinator.maintainLeases().isEmpty());
+        assertTrue(coordinator.getOwnedShards().isEmpty());
+    }
+}
@@ -0,0 +1,228 @@
+package com.olegtoropoff.petcareappointment.scheduler;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatusTransition;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VeterinarianService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class AppointmentStatusSchedulerTest {
+
+    @InjectMocks
+    private AppointmentStatusScheduler appointmentStatusScheduler;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private AppointmentShardCoordinator shardCoordinator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void nextTransition_WhenWaitingForApproval_DueAtStart() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        AppointmentStatusScheduler.ScheduledTransition result = AppointmentStatusScheduler.nextTransition(
+                1L, 7L, AppointmentStatus.WAITING_FOR_APPROVAL, start, LocalDateTime.now());
+
+        assertEquals(AppointmentStatusTransition.WAITING_FOR_APPROVAL_TO_NOT_APPROVED, result.transition());
+        assertEquals(start, result.dueAt());
+    }
+
+    @Test
+    void nextTransition_WhenApprovedAndInFuture_DueNow() {
+        LocalDateTime now = LocalDateTime.now();
+
+        AppointmentStatusScheduler.ScheduledTransition result = AppointmentStatusScheduler.nextTransition(
+                1L, 7L, AppointmentStatus.APPROVED, now.plusHours(3), now);
+
+        assertEquals(AppointmentStatusTransition.APPROVED_TO_UP_COMING, result.transition());
+        assertEquals(now, result.dueAt());
+    }
+
+    @Test
+    void nextTransition_WhenApprovedAndInPast_ReturnsNull() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertNull(AppointmentStatusScheduler.nextTransition(1L, 7L, AppointmentStatus.APPROVED, now.minusHours(3), now));
+    }
+
+    @Test
+    void nextTransition_WhenOnGoing_DueAtEnd() {
+        LocalDateTime start = LocalDateTime.now();
+
+        AppointmentStatusScheduler.ScheduledTransition result = AppointmentStatusScheduler.nextTransition(
+                1L, 7L, AppointmentStatus.ON_GOING, start, start);
+
+        assertEquals(AppointmentStatusTransition.ON_GOING_TO_COMPLETED, result.transition());
+        assertEquals(start.plusMinutes(VeterinarianService.APPOINTMENT_DURATION_MINUTES), result.dueAt());
+    }
+
+    @Test
+    void nextTransition_WhenTerminalStatus_ReturnsNull() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertNull(AppointmentStatusScheduler.nextTransition(1L, 7L, AppointmentStatus.COMPLETED, now, now));
+        assertNull(AppointmentStatusScheduler.nextTransition(1L, 7L, AppointmentStatus.CANCELLED, now, now));
+        assertNull(AppointmentStatusScheduler.nextTransition(1L, 7L, AppointmentStatus.NOT_APPROVED, now, now));
+    }
+
+    @Test
+    void schedule_WhenRescheduled_ReplacesPendingTransition() {
+        Appointment appointment = appointment(1L, AppointmentStatus.WAITING_FOR_APPROVAL, LocalDate.now().plusDays(1));
+        appointmentStatusScheduler.schedule(appointment);
+
+        appointment.setStatus(AppointmentStatus.CANCELLED);
+        appointmentStatusScheduler.schedule(appointment);
+
+        assertEquals(0, appointmentStatusScheduler.getPendingCount());
+    }
+
+    @Test
+    void fire_WhenTransitionSuperseded_SkipsUpdate() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        appointmentStatusScheduler.schedule(appointment(1L, AppointmentStatus.WAITING_FOR_APPROVAL, date));
+        AppointmentStatusScheduler.ScheduledTransition stale = AppointmentStatusScheduler.nextTransition(
+                1L, 7L, AppointmentStatus.WAITING_FOR_APPROVAL, LocalDateTime.of(date, LocalTime.of(9, 0)), LocalDateTime.now());
+
+        appointmentStatusScheduler.fire(stale);
+
+        verify(appointmentRepository, never()).updateStatusById(anyLong(), any(), any());
+        assertEquals(1, appointmentStatusScheduler.getPendingCount());
+    }
+
+    @Test
+    void fire_WhenPendingTransition_UpdatesStatusAndChainsNext() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        Appointment appointment = appointment(1L, AppointmentStatus.UP_COMING, date);
+        appointmentStatusScheduler.schedule(appointment);
+        AppointmentStatusScheduler.ScheduledTransition pending = AppointmentStatusScheduler.nextTransition(
+                1L, 7L, AppointmentStatus.UP_COMING, LocalDateTime.of(date, appointment.getAppointmentTime()), LocalDateTime.now());
+        when(appointmentRepository.updateStatusById(1L, AppointmentStatus.UP_COMING, AppointmentStatus.ON_GOING))
+                .thenReturn(1);
+
+        appointmentStatusScheduler.fire(pending);
+
+        verify(appointmentRepository, times(1)).updateStatusById(1L, AppointmentStatus.UP_COMING, AppointmentStatus.ON_GOING);
+        verify(eventPublisher).publishEvent(AppointmentChangedEvent.statusChanged(
+                1L, 7L, date, appointment.getAppointmentTime(), AppointmentStatus.ON_GOING));
+        assertEquals(1, appointmentStatusScheduler.getPendingCount());
+    }
+
+    @Test
+    void onAppointmentChanged_WhenChangePublishedByFire_DoesNotQueueTransitionAgain() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        Appointment appointment = appointment(1L, AppointmentStatus.UP_COMING, date);
+        appointmentStatusScheduler.schedule(appointment);
+        AppointmentStatusScheduler.ScheduledTransition pending = AppointmentStatusScheduler.nextTransition(
+                1L, 7L, AppointmentStatus.UP_COMING, LocalDateTime.of(date, appointment.getAppointmentTime()), LocalDateTime.now());
+        when(appointmentRepository.updateStatusById(1L, AppointmentStatus.UP_COMING, AppointmentStatus.ON_GOING))
+                .thenReturn(1);
+        when(shardCoordinator.owns(1L)).thenReturn(true);
+        doAnswer(invocation -> {
+            appointmentStatusScheduler.onAppointmentChanged(invocation.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(any(Object.class));
+
+        appointmentStatusScheduler.fire(pending);
+
+        assertEquals(1, appointmentStatusScheduler.getPendingCount());
+        assertEquals(2, appointmentStatusScheduler.getQueuedCount());
+    }
+
+    @Test
+    void fire_WhenStatusChangedConcurrently_DoesNotChainNext() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        Appointment appointment = appointment(1L, AppointmentStatus.WAITING_FOR_APPROVAL, date);
+        appointmentStatusScheduler.schedule(appointment);
+        AppointmentStatusScheduler.ScheduledTransition pending = AppointmentStatusScheduler.nextTransition(
+                1L, 7L, AppointmentStatus.WAITING_FOR_APPROVAL, LocalDateTime.of(date, appointment.getAppointmentTime()), LocalDateTime.now());
+        when(appointmentRepository.updateStatusById(1L, AppointmentStatus.WAITING_FOR_APPROVAL, AppointmentStatus.NOT_APPROVED))
+                .thenReturn(0);
+
+        appointmentStatusScheduler.fire(pending);
+
+        verifyNoInteractions(eventPublisher);
+        assertEquals(0, appointmentStatusScheduler.getPendingCount());
+    }
+
+    @Test
+    void rebuild_WhenLiveAppointmentsExist_SchedulesThem() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        when(appointmentRepository.findByStatusInAndShardIn(anyList(), eq(1), eq(List.of(0)))).thenReturn(List.of(
+                appointment(1L, AppointmentStatus.WAITING_FOR_APPROVAL, date),
+                appointment(2L, AppointmentStatus.UP_COMING, date),
+                appointment(3L, AppointmentStatus.APPROVED, LocalDate.now().minusDays(1))));
+
+        int pendingCount = appointmentStatusScheduler.rebuild(1, List.of(0));
+
+        assertEquals(2, pendingCount);
+    }
+
+    @Test
+    void onAppointmentChanged_WhenShardOwned_SchedulesTransition() {
+        when(shardCoordinator.owns(1L)).thenReturn(true);
+
+        appointmentStatusScheduler.onAppointmentChanged(
+                AppointmentChangedEvent.changed(appointment(1L, AppointmentStatus.WAITING_FOR_APPROVAL, LocalDate.now().plusDays(1))));
+
+        assertEquals(1, appointmentStatusScheduler.getPendingCount());
+    }
+
+    @Test
+    void onAppointmentChanged_WhenShardNotOwned_LeavesAppointmentToOwner() {
+        when(shardCoordinator.owns(1L)).thenReturn(false);
+
+        appointmentStatusScheduler.onAppointmentChanged(
+                AppointmentChangedEvent.changed(appointment(1L, AppointmentStatus.WAITING_FOR_APPROVAL, LocalDate.now().plusDays(1))));
+
+        assertEquals(0, appointmentStatusScheduler.getPendingCount());
+    }
+
+    @Test
+    void dropUnownedShards_RemovesTransitionsOfLostShards() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        appointmentStatusScheduler.schedule(appointment(1L, AppointmentStatus.WAITING_FOR_APPROVAL, date));
+        appointmentStatusScheduler.schedule(appointment(2L, AppointmentStatus.UP_COMING, date));
+        when(shardCoordinator.owns(1L)).thenReturn(false);
+        when(shardCoordinator.owns(2L)).thenReturn(true);
+
+        int dropped = appointmentStatusScheduler.dropUnownedShards();
+
+        assertEquals(1, dropped);
+        assertEquals(1, appointmentStatusScheduler.getPendingCount());
+    }
+
+    private Appointment appointment(Long id, AppointmentStatus status, LocalDate date) {
+        Appointment appointment = new Appointment();
+        appointment.setId(id);
+        appointment.setVeterinarian(new User());
+        appointment.getVeterinarian().setId(7L);
+        appointment.setStatus(status);
+        appointment.setAppointmentDate(date);
+        appointment.setAppointmentTime(LocalTime.of(10, 0));
+        return appointment;
+    }
+}
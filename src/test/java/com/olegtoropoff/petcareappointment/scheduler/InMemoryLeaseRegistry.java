@@ -0,0 +1,81 @@
+package com.olegtoropoff.petcareappointment.scheduler;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process {@link LeaseRegistry} used by the tests in place of the Redis-backed registry.
+ * <p>
+ * Leases are only shared between components of the same instance. Picked up by the component scan of the
+ * integration tests, which run in the "test" profile.
+ */
+@Profile("test")
+@Component
+public class InMemoryLeaseRegistry implements LeaseRegistry {
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryAcquire(String key, String owner, Duration ttl) {
+        long now = System.currentTimeMillis();
+        AtomicBoolean acquired = new AtomicBoolean();
+        leases.compute(key, (k, current) -> {
+            if (current != null && current.expiresAt() > now) {
+                return current;
+            }
+            acquired.set(true);
+            return new Lease(owner, now + ttl.toMillis());
+        });
+        return acquired.get();
+    }
+
+    @Override
+    public synchronized boolean tryAcquireUnlessConflicting(String key, List<String> conflictingKeys, String owner,
+                                                            Duration ttl) {
+        List<String> keys = new ArrayList<>(conflictingKeys);
+        keys.add(key);
+        if (findOwners(keys).stream().anyMatch(current -> current != null && !current.equals(owner))) {
+            return false;
+        }
+        leases.put(key, new Lease(owner, System.currentTimeMillis() + ttl.toMillis()));
+        return true;
+    }
+
+    @Override
+    public boolean renew(String key, String owner, Duration ttl) {
+        long now = System.currentTimeMillis();
+        AtomicBoolean renewed = new AtomicBoolean();
+        leases.computeIfPresent(key, (k, current) -> {
+            if (!current.owner().equals(owner) || current.expiresAt() <= now) {
+                return current;
+            }
+            renewed.set(true);
+            return new Lease(owner, now + ttl.toMillis());
+        });
+        return renewed.get();
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        leases.computeIfPresent(key, (k, current) -> current.owner().equals(owner) ? null : current);
+    }
+
+    @Override
+    public List<String> findOwners(List<String> keys) {
+        long now = System.currentTimeMillis();
+        return keys.stream()
+                .map(leases::get)
+                .map(lease -> lease != null && lease.expiresAt() > now ? lease.owner() : null)
+                .toList();
+    }
+
+    private record Lease(String owner, long expiresAt) {
+    }
+}
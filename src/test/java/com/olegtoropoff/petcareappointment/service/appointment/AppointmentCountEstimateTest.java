@@ -0,0 +1,86 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class AppointmentCountEstimateTest {
+
+    private static final Duration TTL = Duration.ofSeconds(60);
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    private MutableClock clock;
+    private AppointmentCountEstimate countEstimate;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-03-01T10:00:00Z"));
+        countEstimate = new AppointmentCountEstimate(appointmentRepository, TTL, clock);
+    }
+
+    @Test
+    void get_WithinTtl_ServesCachedCount() {
+        when(appointmentRepository.count()).thenReturn(5L, 6L);
+
+        assertEquals(5L, countEstimate.get());
+        clock.advance(TTL.minusSeconds(1));
+        assertEquals(5L, countEstimate.get());
+
+        verify(appointmentRepository, times(1)).count();
+    }
+
+    @Test
+    void get_AfterTtl_CountsAgain() {
+        when(appointmentRepository.count()).thenReturn(5L, 6L);
+
+        assertEquals(5L, countEstimate.get());
+        clock.advance(TTL);
+        assertEquals(6L, countEstimate.get());
+
+        verify(appointmentRepository, times(2)).count();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSearchProjection;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class AppointmentSearchIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 1);
+
+    @InjectMocks
+    private AppointmentSearchIndex searchIndex;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Test
+    void search_BeforeRebuild_ReturnsEmptyResult() {
+        assertTrue(searchIndex.search("gmail").isEmpty());
+    }
+
+    @Test
+    void search_MatchesEmailSubstringsOfBothParticipantsNewestFirst() {
+        when(appointmentRepository.findAllSearchEntries()).thenReturn(List.of(
+                row(1L, "11111111111111111111", DATE, LocalTime.of(10, 0), 2L, "alexey@gmail.com", 7L, "vet.ivan@yandex.ru"),
+                row(2L, "22222222222222222222", DATE, LocalTime.of(12, 0), 3L, "maria@mail.ru", 7L, "vet.ivan@yandex.ru"),
+                row(3L, "33333333333333333333", DATE.plusDays(1), LocalTime.of(9, 0), 3L, "maria@mail.ru", 8L, "vet.olga@gmail.com")));
+        searchIndex.rebuild();
+
+        assertEquals(Optional.of(List.of(3L, 1L)), searchIndex.search("gmail.com"));
+        assertEquals(Optional.of(List.of(2L, 1L)), searchIndex.search("vet.ivan"));
+        assertEquals(Optional.of(List.of(3L, 2L)), searchIndex.search("maria@"));
+        assertEquals(Optional.of(List.of()), searchIndex.search("nobody"));
+    }
+
+    @Test
+    void search_MatchesAppointmentNumberSubstringsAndShortTerms() {
+        when(appointmentRepository.findAllSearchEntries()).thenReturn(List.of(
+                row(1L, "12345678901234567890", DATE, LocalTime.of(10, 0), 2L, "a@gmail.com", 7L, "v@yandex.ru"),
+                row(2L, "99999999999999999999", DATE, LocalTime.of(11, 0), 2L, "a@gmail.com", 7L, "v@yandex.ru")));
+        searchIndex.rebuild();
+
+        assertEquals(Optional.of(List.of(1L)), searchIndex.search("4567890"));
+        assertEquals(Optional.of(List.of(2L)), searchIndex.search("99"));
+        assertEquals(Optional.of(List.of(2L, 1L)), searchIndex.search("@"));
+    }
+
+    @Test
+    void onAppointmentChanged_IndexesBookedAndRemovesDeletedAppointments() {
+        when(appointmentRepository.findAllSearchEntries()).thenReturn(List.of(
+                row(1L, "11111111111111111111", DATE, LocalTime.of(10, 0), 2L, "alexey@gmail.com", 7L, "vet@yandex.ru")));
+        searchIndex.rebuild();
+        when(appointmentRepository.findSearchEntryById(2L)).thenReturn(Optional.of(
+                row(2L, "22222222222222222222", DATE, LocalTime.of(11, 0), 4L, "new.patient@gmail.com", 7L, "vet@yandex.ru")));
+
+        searchIndex.onAppointmentChanged(event(2L, LocalTime.of(11, 0), false));
+        assertEquals(Optional.of(List.of(2L, 1L)), searchIndex.search("gmail"));
+
+        searchIndex.onAppointmentChanged(event(1L, LocalTime.of(10, 0), true));
+        assertEquals(Optional.of(List.of(2L)), searchIndex.search("gmail"));
+        assertEquals(Optional.of(List.of()), searchIndex.search("alexey"));
+    }
+
+    @Test
+    void onAppointmentChanged_WhenOnlyStatusChanged_SkipsDatabaseLookup() {
+        when(appointmentRepository.findAllSearchEntries()).thenReturn(List.of(
+                row(1L, "11111111111111111111", DATE, LocalTime.of(10, 0), 2L, "alexey@gmail.com", 7L, "vet@yandex.ru")));
+        searchIndex.rebuild();
+
+        searchIndex.onAppointmentChanged(event(1L, LocalTime.of(10, 0), false));
+
+        verify(appointmentRepository, never()).findSearchEntryById(any());
+    }
+
+    @Test
+    void grams_SplitsValueIntoDistinctOverlappingGrams() {
+        assertEquals(Set.of("aaa"), AppointmentSearchIndex.grams("aaaa"));
+        assertEquals(List.of("abc", "bcd"), List.copyOf(AppointmentSearchIndex.grams("abcd")));
+        assertTrue(AppointmentSearchIndex.grams("ab").isEmpty());
+    }
+
+    private AppointmentChangedEvent event(Long appointmentId, LocalTime time, boolean deleted) {
+        return new AppointmentChangedEvent(appointmentId, 7L, DATE, time, AppointmentStatus.APPROVED, deleted, null);
+    }
+
+    private AppointmentSearchProjection row(Long id, String appointmentNo, LocalDate date, LocalTime time,
+                                            Long patientId, String patientEmail, Long vetId, String vetEmail) {
+        return new AppointmentSearchProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getAppointmentNo() {
+                return appointmentNo;
+            }
+
+            @Override
+            public LocalDate getAppointmentDate() {
+                return date;
+            }
+
+            @Override
+            public LocalTime getAppointmentTime() {
+                return time;
+            }
+
+            @Override
+            public Long getPatientId() {
+                return patientId;
+            }
+
+            @Override
+            public String getPatientEmail() {
+                return patientEmail;
+            }
+
+            @Override
+            public Long getVeterinarianId() {
+                return vetId;
+            }
+
+            @Override
+            public String getVeterinarianEmail() {
+                return vetEmail;
+            }
+        };
+    }
+}
@@ -1,35 +1,59 @@
 package com.olegtoropoff.petcareappointment.service.appointment;
 
 import com.olegtoropoff.petcareappointment.dto.AppointmentDto;
+import com.olegtoropoff.petcareappointment.dto.AppointmentDtoMapper;
+import com.olegtoropoff.petcareappointment.dto.CursorPageDto;
 import com.olegtoropoff.petcareappointment.dto.EntityConverter;
+import com.olegtoropoff.petcareappointment.dto.PetDtoMapper;
+import com.olegtoropoff.petcareappointment.dto.ProjectionConverter;
+import com.olegtoropoff.petcareappointment.dto.UserDtoMapper;
 import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatusTransition;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import com.olegtoropoff.petcareappointment.exception.AppointmentConflictException;
+import com.olegtoropoff.petcareappointment.exception.AppointmentNumberConflictException;
 import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
 import com.olegtoropoff.petcareappointment.model.Appointment;
 import com.olegtoropoff.petcareappointment.model.Pet;
 import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSummaryProjection;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSlotProjection;
+import com.olegtoropoff.petcareappointment.projection.BookingEligibilityProjection;
+import com.olegtoropoff.petcareappointment.projection.PetSummaryProjection;
+import com.olegtoropoff.petcareappointment.projection.UserSummaryProjection;
 import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import com.olegtoropoff.petcareappointment.repository.PetRepository;
 import com.olegtoropoff.petcareappointment.repository.UserRepository;
 import com.olegtoropoff.petcareappointment.request.AppointmentUpdateRequest;
 import com.olegtoropoff.petcareappointment.request.BookAppointmentRequest;
 import com.olegtoropoff.petcareappointment.service.pet.IPetService;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VeterinarianService;
 import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -47,33 +71,80 @@ class AppointmentServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PetRepository petRepository;
+
     @Mock
     private IPetService petService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ISlotReservationService slotReservationService;
+
+    @Mock
+    private SlotHoldRegistry slotHoldRegistry;
+
+    @Mock
+    private AppointmentNumberGenerator appointmentNumberGenerator;
+
+    @Mock
+    private AppointmentCountEstimate appointmentCountEstimate;
+
+    @Mock
+    private AppointmentSearchIndex appointmentSearchIndex;
+
     @Spy
-    private ModelMapper modelMapper = new ModelMapper();
+    private EntityConverter<Appointment, AppointmentDto> entityConverter = new EntityConverter<>(
+            List.of(new AppointmentDtoMapper(new UserDtoMapper(), new PetDtoMapper())));
 
     @Spy
-    private EntityConverter<Appointment, AppointmentDto> entityConverter = new EntityConverter<>(new ModelMapper());
+    private ProjectionConverter projectionConverter = new ProjectionConverter();
 
     @Test
     void getUserAppointments_WhenValid_ReturnsAppointmentDtoList() {
-        Long userId = 1L;
-        Appointment appointment = new Appointment();
-        appointment.setId(1L);
-        Pet pet = new Pet();
-        pet.setId(1L);
-        pet.setName("Buddy");
-        appointment.setPets(List.of(pet));
-        when(appointmentRepository.findAllByUserId(userId)).thenReturn(List.of(appointment));
+        Long userId = 2L;
+        AppointmentSummaryProjection appointment = mock(AppointmentSummaryProjection.class);
+        when(appointment.getId()).thenReturn(1L);
+        when(appointment.getPatientId()).thenReturn(userId);
+        when(appointment.getVeterinarianId()).thenReturn(7L);
+        UserSummaryProjection patient = userSummary(userId, "Bob");
+        UserSummaryProjection veterinarian = userSummary(7L, "John");
+        PetSummaryProjection pet = mock(PetSummaryProjection.class);
+        when(pet.getAppointmentId()).thenReturn(1L);
+        when(pet.getName()).thenReturn("Buddy");
+        when(appointmentRepository.findSummariesByUserId(userId)).thenReturn(List.of(appointment));
+        when(userRepository.findSummariesByIdIn(Set.of(userId, 7L))).thenReturn(List.of(patient, veterinarian));
+        when(petRepository.findSummariesByAppointmentIdIn(List.of(1L))).thenReturn(List.of(pet));
 
         List<AppointmentDto> result = appointmentService.getUserAppointments(userId);
 
         assertEquals(1, result.size());
-        assertNotNull(result.get(0).getPets());
-        assertEquals(pet.getName(), result.get(0).getPets().get(0).getName());
-        verify(appointmentRepository, times(1)).findAllByUserId(userId);
-        verify(entityConverter, times(1)).mapEntityToDto(appointment, AppointmentDto.class);
+        assertEquals("Bob", result.get(0).getPatient().getFirstName());
+        assertEquals("John", result.get(0).getVeterinarian().getFirstName());
+        assertEquals(1, result.get(0).getPets().size());
+        assertEquals("Buddy", result.get(0).getPets().get(0).getName());
+        verify(appointmentRepository, times(1)).findSummariesByUserId(userId);
+        verifyNoInteractions(entityConverter);
+    }
+
+    @Test
+    void getUserAppointments_WhenNoAppointments_SkipsParticipantAndPetQueries() {
+        Long userId = 2L;
+        when(appointmentRepository.findSummariesByUserId(userId)).thenReturn(List.of());
+
+        List<AppointmentDto> result = appointmentService.getUserAppointments(userId);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(userRepository, petRepository);
+    }
+
+    private UserSummaryProjection userSummary(Long id, String firstName) {
+        UserSummaryProjection row = mock(UserSummaryProjection.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getFirstName()).thenReturn(firstName);
+        return row;
     }
 
     @Test
@@ -81,12 +152,10 @@ class AppointmentServiceTest {
         Long senderId = 1L;
         User sender = new User();
         sender.setId(senderId);
-        sender.setUserType("PATIENT");
 
         Long recipientId = 2L;
         User recipient = new User();
         recipient.setId(recipientId);
-        recipient.setUserType("VET");
 
         Appointment appointment = new Appointment();
         appointment.setAppointmentDate(LocalDate.now());
@@ -97,29 +166,141 @@ class AppointmentServiceTest {
         request.setAppointment(appointment);
         request.setPets(pets);
 
-        when(userRepository.findById(senderId)).thenReturn(Optional.of(sender));
-        when(userRepository.findById(recipientId)).thenReturn(Optional.of(recipient));
-        when(petService.savePetForAppointment(pets)).thenReturn(pets);
-        when(appointmentRepository.save(any(Appointment.class))).thenReturn(appointment);
+        when(appointmentRepository.findBookingEligibility(eq(senderId), eq(recipientId), anyList()))
+                .thenReturn(Optional.of(bookingEligibility("PATIENT", true, 1)));
+        when(userRepository.getReferenceById(senderId)).thenReturn(sender);
+        when(userRepository.getReferenceById(recipientId)).thenReturn(recipient);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(appointment);
+        when(appointmentNumberGenerator.nextAppointmentNo()).thenReturn("00000000000000000000");
 
         Appointment result = appointmentService.createAppointment(request, senderId, recipientId);
 
         assertNotNull(result);
+        assertEquals("00000000000000000000", result.getAppointmentNo());
         assertEquals(appointment.getAppointmentDate(), result.getAppointmentDate());
         assertEquals(appointment.getAppointmentTime(), result.getAppointmentTime());
-        verify(userRepository, times(2)).findById(anyLong());
-        verify(petService, times(1)).savePetForAppointment(pets);
-        verify(appointmentRepository, times(1)).save(any(Appointment.class));
+        assertSame(sender, result.getPatient());
+        assertSame(recipient, result.getVeterinarian());
+        assertEquals(pets, result.getPets());
+        assertSame(appointment, pets.get(0).getAppointment());
+        verify(userRepository, never()).findById(anyLong());
+        verifyNoInteractions(petService);
+        verify(appointmentRepository, times(1)).saveAndFlush(any(Appointment.class));
+        verify(slotReservationService, times(1)).reserve(appointment);
+        verify(slotHoldRegistry, times(1)).release(senderId, recipientId,
+                appointment.getAppointmentDate(), appointment.getAppointmentTime());
+        verify(eventPublisher, times(1)).publishEvent(AppointmentChangedEvent.changed(appointment));
+    }
+
+    @Test
+    void createAppointment_WhenSlotHeldByAnotherPatient_ThrowsExceptionWithoutSaving() {
+        Long senderId = 1L;
+        Long recipientId = 2L;
+
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(LocalDate.now().plusDays(1));
+        appointment.setAppointmentTime(LocalTime.of(12, 0));
+
+        BookAppointmentRequest request = new BookAppointmentRequest();
+        request.setAppointment(appointment);
+        request.setPets(List.of(new Pet()));
+
+        when(appointmentRepository.findBookingEligibility(eq(senderId), eq(recipientId), anyList()))
+                .thenReturn(Optional.of(bookingEligibility("PATIENT", true, 0)));
+        when(slotHoldRegistry.isHeldByAnotherPatient(senderId, recipientId,
+                appointment.getAppointmentDate(), appointment.getAppointmentTime())).thenReturn(true);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> appointmentService.createAppointment(request, senderId, recipientId));
+
+        assertEquals(FeedBackMessage.SLOT_HELD_BY_ANOTHER_PATIENT, exception.getMessage());
+        verifyNoInteractions(petService);
+        verify(appointmentRepository, never()).saveAndFlush(any(Appointment.class));
+    }
+
+    @Test
+    void createAppointment_WhenSlotAlreadyReserved_ThrowsExceptionAndPublishesNothing() {
+        Long senderId = 1L;
+        Long recipientId = 2L;
+
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(LocalDate.now().plusDays(1));
+        appointment.setAppointmentTime(LocalTime.of(12, 0));
+        List<Pet> pets = List.of(new Pet());
+
+        BookAppointmentRequest request = new BookAppointmentRequest();
+        request.setAppointment(appointment);
+        request.setPets(pets);
+
+        when(appointmentRepository.findBookingEligibility(eq(senderId), eq(recipientId), anyList()))
+                .thenReturn(Optional.of(bookingEligibility("PATIENT", true, 0)));
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(appointment);
+        doThrow(new IllegalStateException(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED))
+                .when(slotReservationService).reserve(appointment);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> appointmentService.createAppointment(request, senderId, recipientId));
+
+        assertEquals(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED, exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createAppointment_WhenAppointmentNoTaken_ThrowsAppointmentNumberConflictException() {
+        Long senderId = 1L;
+        Long recipientId = 2L;
+
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(LocalDate.now().plusDays(1));
+        appointment.setAppointmentTime(LocalTime.of(12, 0));
+
+        BookAppointmentRequest request = new BookAppointmentRequest();
+        request.setAppointment(appointment);
+        request.setPets(List.of(new Pet()));
+
+        when(appointmentRepository.findBookingEligibility(eq(senderId), eq(recipientId), anyList()))
+                .thenReturn(Optional.of(bookingEligibility("PATIENT", true, 0)));
+        when(appointmentNumberGenerator.nextAppointmentNo()).thenReturn("00000000000000000000");
+        when(appointmentRepository.saveAndFlush(appointment)).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException(
+                        "Duplicate entry '00000000000000000000' for key 'appointment.uk_appointment_appointment_no'")));
+
+        assertThrows(AppointmentNumberConflictException.class,
+                () -> appointmentService.createAppointment(request, senderId, recipientId));
+
+        verifyNoInteractions(slotReservationService, eventPublisher);
+    }
+
+    @Test
+    void createAppointment_WhenOtherConstraintViolated_RethrowsViolation() {
+        Long senderId = 1L;
+        Long recipientId = 2L;
+
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(LocalDate.now().plusDays(1));
+        appointment.setAppointmentTime(LocalTime.of(12, 0));
+
+        BookAppointmentRequest request = new BookAppointmentRequest();
+        request.setAppointment(appointment);
+        request.setPets(List.of(new Pet()));
+
+        when(appointmentRepository.findBookingEligibility(eq(senderId), eq(recipientId), anyList()))
+                .thenReturn(Optional.of(bookingEligibility("PATIENT", true, 0)));
+        when(appointmentRepository.saveAndFlush(appointment)).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Column 'sender' cannot be null")));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> appointmentService.createAppointment(request, senderId, recipientId));
+
+        verifyNoInteractions(slotReservationService, eventPublisher);
     }
 
     @Test
     void createAppointment_WhenSenderIsVet_ThrowsException() {
         Long senderId = 1L;
         Long recipientId = 2L;
-        User sender = new User();
-        sender.setId(senderId);
-        sender.setUserType("VET");
-        when(userRepository.findById(senderId)).thenReturn(Optional.of(sender));
+        when(appointmentRepository.findBookingEligibility(eq(senderId), eq(recipientId), anyList()))
+                .thenReturn(Optional.of(bookingEligibility("VET", true, 0)));
 
         BookAppointmentRequest request = new BookAppointmentRequest();
 
@@ -127,7 +308,95 @@ class AppointmentServiceTest {
                 appointmentService.createAppointment(request, senderId, recipientId));
 
         assertEquals(FeedBackMessage.VET_APPOINTMENT_NOT_ALLOWED, exception.getMessage());
-        verify(userRepository, times(1)).findById(senderId);
+        verify(appointmentRepository, never()).saveAndFlush(any(Appointment.class));
+    }
+
+    @Test
+    void createAppointment_WhenTooManyActiveAppointments_ThrowsException() {
+        Long senderId = 1L;
+        Long recipientId = 2L;
+        when(appointmentRepository.findBookingEligibility(eq(senderId), eq(recipientId), anyList()))
+                .thenReturn(Optional.of(bookingEligibility("PATIENT", true, 2)));
+
+        BookAppointmentRequest request = new BookAppointmentRequest();
+
+        Exception exception = assertThrows(IllegalStateException.class, () ->
+                appointmentService.createAppointment(request, senderId, recipientId));
+
+        assertEquals(FeedBackMessage.TOO_MANY_ACTIVE_APPOINTMENTS, exception.getMessage());
+        verify(appointmentRepository, never()).saveAndFlush(any(Appointment.class));
+    }
+
+    @Test
+    void createAppointment_WhenRecipientNotFound_ThrowsResourceNotFoundException() {
+        Long senderId = 1L;
+        Long recipientId = 100L;
+        when(appointmentRepository.findBookingEligibility(eq(senderId), eq(recipientId), anyList()))
+                .thenReturn(Optional.of(bookingEligibility("PATIENT", false, 0)));
+
+        BookAppointmentRequest request = new BookAppointmentRequest();
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () ->
+                appointmentService.createAppointment(request, senderId, recipientId));
+
+        assertEquals(FeedBackMessage.SENDER_RECIPIENT_NOT_FOUND, exception.getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getAppointmentsAfter_WhenNoCursor_ReturnsFirstPageWithNextCursor() {
+        Appointment first = appointmentAt(3L, LocalDate.of(2025, 3, 2), LocalTime.of(11, 0));
+        Appointment second = appointmentAt(2L, LocalDate.of(2025, 3, 2), LocalTime.of(10, 0));
+        Appointment third = appointmentAt(1L, LocalDate.of(2025, 3, 1), LocalTime.of(10, 0));
+        when(appointmentRepository.findFirstPage(PageRequest.ofSize(3))).thenReturn(List.of(first, second, third));
+
+        CursorPageDto<AppointmentDto> result = appointmentService.getAppointmentsAfter("", 2, false);
+
+        assertEquals(List.of(3L, 2L), result.getContent().stream().map(AppointmentDto::getId).toList());
+        assertEquals(new AppointmentCursor(second.getAppointmentDate(), second.getAppointmentTime(), 2L),
+                AppointmentCursor.decode(result.getNextCursor()));
+        assertNull(result.getTotalElements());
+        verifyNoInteractions(appointmentCountEstimate);
+    }
+
+    @Test
+    void getAppointmentsAfter_WhenCursorGiven_SeeksPastCursorAndIncludesEstimatedTotal() {
+        AppointmentCursor cursor = new AppointmentCursor(LocalDate.of(2025, 3, 2), LocalTime.of(10, 0), 2L);
+        Appointment last = appointmentAt(1L, LocalDate.of(2025, 3, 1), LocalTime.of(10, 0));
+        when(appointmentRepository.findPageAfter(cursor.appointmentDate(), cursor.appointmentTime(), cursor.id(),
+                PageRequest.ofSize(3))).thenReturn(List.of(last));
+        when(appointmentCountEstimate.get()).thenReturn(3L);
+
+        CursorPageDto<AppointmentDto> result = appointmentService.getAppointmentsAfter(cursor.encode(), 2, true);
+
+        assertEquals(List.of(1L), result.getContent().stream().map(AppointmentDto::getId).toList());
+        assertNull(result.getNextCursor());
+        assertEquals(3L, result.getTotalElements());
+    }
+
+    @Test
+    void getAppointmentsAfter_WhenCursorMalformed_ThrowsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.getAppointmentsAfter("not-a-cursor", 10, false));
+
+        assertEquals(FeedBackMessage.INVALID_APPOINTMENT_CURSOR, exception.getMessage());
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void getAppointmentsAfter_WhenSizeOutOfRange_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> appointmentService.getAppointmentsAfter("", 0, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.getAppointmentsAfter("", AppointmentService.MAX_CURSOR_PAGE_SIZE + 1, false));
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    private Appointment appointmentAt(Long id, LocalDate date, LocalTime time) {
+        Appointment appointment = new Appointment();
+        appointment.setId(id);
+        appointment.setAppointmentDate(date);
+        appointment.setAppointmentTime(time);
+        return appointment;
     }
 
     @Test
@@ -142,7 +411,71 @@ class AppointmentServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         verify(appointmentRepository, times(1)).findAll(pageable);
-        verify(modelMapper, times(1)).map(appointment, AppointmentDto.class);
+        verify(entityConverter, times(1)).mapEntityToDto(appointment, AppointmentDto.class);
+    }
+
+    @Test
+    void searchAppointments_WhenSearchIsAppointmentNumber_LooksUpByNumber() {
+        String appointmentNo = "00000000000000000000";
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentNo(appointmentNo);
+        when(appointmentNumberGenerator.isValid(appointmentNo)).thenReturn(true);
+        when(appointmentRepository.findByAppointmentNo(appointmentNo)).thenReturn(Optional.of(appointment));
+
+        Page<AppointmentDto> result = appointmentService.searchAppointments(appointmentNo, Pageable.ofSize(10));
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(appointmentNo, result.getContent().get(0).getAppointmentNo());
+        verify(appointmentRepository, never()).searchAppointments(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void searchAppointments_WhenAppointmentNumberRequestedBeyondFirstPage_ReturnsEmptyPage() {
+        String appointmentNo = "00000000000000000000";
+        when(appointmentNumberGenerator.isValid(appointmentNo)).thenReturn(true);
+        when(appointmentRepository.findByAppointmentNo(appointmentNo)).thenReturn(Optional.of(new Appointment()));
+
+        Page<AppointmentDto> result = appointmentService.searchAppointments(appointmentNo, PageRequest.of(1, 10));
+
+        assertEquals(1, result.getTotalElements());
+        assertTrue(result.getContent().isEmpty());
+    }
+
+    @Test
+    void searchAppointments_WhenIndexBuilt_LoadsRequestedPageByIdInIndexOrder() {
+        when(appointmentSearchIndex.search("gmail")).thenReturn(Optional.of(List.of(5L, 4L, 3L, 2L, 1L)));
+        when(appointmentRepository.findAllWithParticipantsByIdIn(List.of(3L, 2L)))
+                .thenReturn(List.of(appointmentAt(2L, LocalDate.of(2025, 3, 1), LocalTime.of(10, 0)),
+                        appointmentAt(3L, LocalDate.of(2025, 3, 2), LocalTime.of(10, 0))));
+
+        Page<AppointmentDto> result = appointmentService.searchAppointments("GMAIL", PageRequest.of(1, 2));
+
+        assertEquals(5, result.getTotalElements());
+        assertEquals(List.of(3L, 2L), result.getContent().stream().map(AppointmentDto::getId).toList());
+        verify(appointmentRepository, never()).searchAppointments(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void searchAppointments_WhenPageBeyondMatches_ReturnsEmptyPageWithoutLoading() {
+        when(appointmentSearchIndex.search("gmail")).thenReturn(Optional.of(List.of(1L)));
+
+        Page<AppointmentDto> result = appointmentService.searchAppointments("gmail", PageRequest.of(3, 10));
+
+        assertEquals(1, result.getTotalElements());
+        assertTrue(result.getContent().isEmpty());
+        verify(appointmentRepository, never()).findAllWithParticipantsByIdIn(any());
+    }
+
+    @Test
+    void searchAppointments_WhenIndexNotBuilt_FallsBackToDatabaseSearch() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(appointmentSearchIndex.search("gmail")).thenReturn(Optional.empty());
+        when(appointmentRepository.searchAppointments("gmail", pageable)).thenReturn(new PageImpl<>(List.of(new Appointment())));
+
+        Page<AppointmentDto> result = appointmentService.searchAppointments("gmail", pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verify(appointmentRepository).searchAppointments("gmail", pageable);
     }
 
     @Test
@@ -157,6 +490,7 @@ class AppointmentServiceTest {
 
         verify(appointmentRepository, times(1)).findById(appointmentId);
         verify(appointmentRepository, times(1)).delete(appointment);
+        verify(eventPublisher, times(1)).publishEvent(AppointmentChangedEvent.deleted(appointment));
     }
 
     @Test
@@ -182,11 +516,29 @@ class AppointmentServiceTest {
         appointment.setAppointmentTime(LocalTime.of(15, 0));
 
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
+        when(appointmentRepository.updateStatusById(1L, AppointmentStatus.APPROVED, AppointmentStatus.UP_COMING)).thenReturn(1);
+
+        appointmentService.setAppointmentStatus(1L);
+
+        verify(appointmentRepository, times(1)).updateStatusById(1L, AppointmentStatus.APPROVED, AppointmentStatus.UP_COMING);
+        verify(eventPublisher).publishEvent(AppointmentChangedEvent.statusChanged(1L, null,
+                appointment.getAppointmentDate(), appointment.getAppointmentTime(), AppointmentStatus.UP_COMING));
+    }
+
+    @Test
+    void setAppointmentStatus_WhenStatusChangedConcurrently_PublishesNoEvent() {
+        Appointment appointment = new Appointment();
+        appointment.setId(1L);
+        appointment.setStatus(AppointmentStatus.APPROVED);
+        appointment.setAppointmentDate(LocalDate.now().plusDays(1));
+        appointment.setAppointmentTime(LocalTime.of(15, 0));
+
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
+        when(appointmentRepository.updateStatusById(1L, AppointmentStatus.APPROVED, AppointmentStatus.UP_COMING)).thenReturn(0);
 
         appointmentService.setAppointmentStatus(1L);
 
-        assertEquals(AppointmentStatus.UP_COMING, appointment.getStatus());
-        verify(appointmentRepository, times(1)).save(appointment);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -201,8 +553,7 @@ class AppointmentServiceTest {
 
         appointmentService.setAppointmentStatus(2L);
 
-        assertEquals(AppointmentStatus.ON_GOING, appointment.getStatus());
-        verify(appointmentRepository, times(1)).save(appointment);
+        verify(appointmentRepository, times(1)).updateStatusById(2L, AppointmentStatus.UP_COMING, AppointmentStatus.ON_GOING);
     }
 
     @Test
@@ -217,8 +568,7 @@ class AppointmentServiceTest {
 
         appointmentService.setAppointmentStatus(3L);
 
-        assertEquals(AppointmentStatus.COMPLETED, appointment.getStatus());
-        verify(appointmentRepository, times(1)).save(appointment);
+        verify(appointmentRepository, times(1)).updateStatusById(3L, AppointmentStatus.ON_GOING, AppointmentStatus.COMPLETED);
     }
 
     @Test
@@ -233,8 +583,7 @@ class AppointmentServiceTest {
 
         appointmentService.setAppointmentStatus(4L);
 
-        assertEquals(AppointmentStatus.NOT_APPROVED, appointment.getStatus());
-        verify(appointmentRepository, times(1)).save(appointment);
+        verify(appointmentRepository, times(1)).updateStatusById(4L, AppointmentStatus.WAITING_FOR_APPROVAL, AppointmentStatus.NOT_APPROVED);
     }
 
     @Test
@@ -249,8 +598,7 @@ class AppointmentServiceTest {
 
         appointmentService.setAppointmentStatus(5L);
 
-        assertEquals(AppointmentStatus.APPROVED, appointment.getStatus());
-        verify(appointmentRepository, times(1)).save(appointment);
+        verify(appointmentRepository, never()).updateStatusById(anyLong(), any(), any());
     }
 
     @Test
@@ -264,6 +612,68 @@ class AppointmentServiceTest {
         verify(appointmentRepository, never()).save(any(Appointment.class));
     }
 
+    @Test
+    void updateAppointmentStatuses_AppliesEachTransitionOnceAndReturnsCounts() {
+        when(appointmentRepository.updateStatusForAppointmentsStartingAfter(
+                eq(AppointmentStatus.APPROVED), eq(AppointmentStatus.UP_COMING), any(LocalDate.class), any(LocalTime.class), eq(1), eq(List.of(0)), any(LocalDateTime.class)))
+                .thenReturn(3);
+        when(appointmentRepository.updateStatusForAppointmentsStartingBetween(
+                eq(AppointmentStatus.UP_COMING), eq(AppointmentStatus.ON_GOING), any(LocalDate.class), any(LocalTime.class), any(LocalTime.class), eq(1), eq(List.of(0)), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(appointmentRepository.updateStatusForAppointmentsStartingBefore(
+                eq(AppointmentStatus.ON_GOING), eq(AppointmentStatus.COMPLETED), any(LocalDate.class), any(LocalTime.class), eq(1), eq(List.of(0)), any(LocalDateTime.class)))
+                .thenReturn(2);
+        when(appointmentRepository.updateStatusForAppointmentsStartingBefore(
+                eq(AppointmentStatus.WAITING_FOR_APPROVAL), eq(AppointmentStatus.NOT_APPROVED), any(LocalDate.class), any(LocalTime.class), eq(1), eq(List.of(0)), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        Map<AppointmentStatusTransition, Integer> result = appointmentService.updateAppointmentStatuses(1, List.of(0));
+
+        assertEquals(4, result.size());
+        assertEquals(3, result.get(AppointmentStatusTransition.APPROVED_TO_UP_COMING));
+        assertEquals(1, result.get(AppointmentStatusTransition.UP_COMING_TO_ON_GOING));
+        assertEquals(2, result.get(AppointmentStatusTransition.ON_GOING_TO_COMPLETED));
+        assertEquals(0, result.get(AppointmentStatusTransition.WAITING_FOR_APPROVAL_TO_NOT_APPROVED));
+        verify(appointmentRepository, never()).findById(anyLong());
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
+    @Test
+    void updateAppointmentStatuses_PublishesChangeOfEachMovedAppointment() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        AppointmentSlotProjection first = slot(1L, date, LocalTime.of(10, 0));
+        AppointmentSlotProjection second = slot(2L, date, LocalTime.of(11, 0));
+        ArgumentCaptor<LocalDateTime> changedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(appointmentRepository.updateStatusForAppointmentsStartingAfter(
+                eq(AppointmentStatus.APPROVED), eq(AppointmentStatus.UP_COMING), any(LocalDate.class), any(LocalTime.class), eq(1), eq(List.of(0)), changedAt.capture()))
+                .thenReturn(2);
+        when(appointmentRepository.findSlotsByStatusChange(eq(AppointmentStatus.UP_COMING), any(LocalDateTime.class), eq(1), eq(List.of(0))))
+                .thenReturn(List.of(first, second));
+
+        appointmentService.updateAppointmentStatuses(1, List.of(0));
+
+        verify(appointmentRepository).findSlotsByStatusChange(AppointmentStatus.UP_COMING, changedAt.getValue(), 1, List.of(0));
+        verify(appointmentRepository, never()).findSlotsByStatusChange(eq(AppointmentStatus.ON_GOING), any(), anyInt(), any());
+        verify(eventPublisher).publishEvent(AppointmentChangedEvent.statusChanged(1L, 7L, date, LocalTime.of(10, 0), AppointmentStatus.UP_COMING));
+        verify(eventPublisher).publishEvent(AppointmentChangedEvent.statusChanged(2L, 7L, date, LocalTime.of(11, 0), AppointmentStatus.UP_COMING));
+    }
+
+    @Test
+    void updateAppointmentStatuses_CompletesOnlyAppointmentsThatEndedBeforeNow() {
+        LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS).minusMinutes(VeterinarianService.APPOINTMENT_DURATION_MINUTES);
+
+        appointmentService.updateAppointmentStatuses(1, List.of(0));
+
+        ArgumentCaptor<LocalDate> dateCaptor = ArgumentCaptor.forClass(LocalDate.class);
+        ArgumentCaptor<LocalTime> timeCaptor = ArgumentCaptor.forClass(LocalTime.class);
+        verify(appointmentRepository).updateStatusForAppointmentsStartingBefore(
+                eq(AppointmentStatus.ON_GOING), eq(AppointmentStatus.COMPLETED), dateCaptor.capture(), timeCaptor.capture(), eq(1), eq(List.of(0)), any(LocalDateTime.class));
+        LocalDateTime cutoff = LocalDateTime.of(dateCaptor.getValue(), timeCaptor.getValue());
+        LocalDateTime after = LocalDateTime.now().minusMinutes(VeterinarianService.APPOINTMENT_DURATION_MINUTES);
+        assertFalse(cutoff.isBefore(before));
+        assertFalse(cutoff.isAfter(after));
+    }
+
     @Test
     void updateAppointment_WhenValid_ReturnsUpdatedAppointment() {
         Long appointmentId = 1L;
@@ -275,6 +685,7 @@ class AppointmentServiceTest {
         Appointment existingAppointment = new Appointment();
         existingAppointment.setId(appointmentId);
         existingAppointment.setStatus(AppointmentStatus.WAITING_FOR_APPROVAL);
+        existingAppointment.setAppointmentDate(LocalDate.parse("2024-12-30"));
 
         when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(existingAppointment));
         when(appointmentRepository.save(any(Appointment.class))).thenReturn(existingAppointment);
@@ -285,6 +696,10 @@ class AppointmentServiceTest {
         assertEquals(LocalTime.parse(request.getAppointmentTime()), updatedAppointmentDto.getAppointmentTime());
         assertEquals(request.getReason(), updatedAppointmentDto.getReason());
         verify(appointmentRepository, times(1)).save(existingAppointment);
+        verify(slotReservationService, times(1)).release(appointmentId);
+        verify(slotReservationService, times(1)).reserve(existingAppointment);
+        verify(eventPublisher, times(1)).publishEvent(
+                AppointmentChangedEvent.rescheduled(existingAppointment, LocalDate.parse("2024-12-30")));
     }
 
     @Test
@@ -334,26 +749,61 @@ class AppointmentServiceTest {
         Long appointmentId = 1L;
         Appointment appointment = new Appointment();
         appointment.setId(appointmentId);
-        appointment.setStatus(AppointmentStatus.WAITING_FOR_APPROVAL);
+        appointment.setStatus(AppointmentStatus.CANCELLED);
 
+        when(appointmentRepository.updateStatusById(eq(appointmentId), eq(AppointmentStatus.WAITING_FOR_APPROVAL),
+                eq(AppointmentStatus.CANCELLED), any(LocalDateTime.class))).thenReturn(1);
         when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(appointment));
-        when(appointmentRepository.saveAndFlush(appointment)).thenReturn(appointment);
 
         AppointmentDto result = appointmentService.cancelAppointment(appointmentId);
 
         assertEquals(AppointmentStatus.CANCELLED, result.getStatus());
-        verify(appointmentRepository, times(1)).saveAndFlush(appointment);
+        verify(appointmentRepository, never()).findStatusChangedSinceById(anyLong(), any());
+        verify(slotReservationService, times(1)).release(appointmentId);
+        verify(eventPublisher, times(1)).publishEvent(AppointmentChangedEvent.changed(appointment));
     }
 
     @Test
     void cancelAppointment_WhenInvalid_ThrowsException() {
         Long appointmentId = 1L;
 
-        when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.empty());
+        when(appointmentRepository.updateStatusById(eq(appointmentId), any(), any(), any(LocalDateTime.class))).thenReturn(0);
+        when(appointmentRepository.findStatusChangedSinceById(eq(appointmentId), any())).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(IllegalStateException.class, () -> appointmentService.cancelAppointment(appointmentId));
 
         assertEquals(FeedBackMessage.APPOINTMENT_UPDATE_NOT_ALLOWED, exception.getMessage());
+        verifyNoInteractions(slotReservationService, eventPublisher);
+    }
+
+    @Test
+    void cancelAppointment_WhenNotWaitingForApproval_ThrowsIllegalStateException() {
+        Long appointmentId = 1L;
+
+        when(appointmentRepository.updateStatusById(eq(appointmentId), any(), any(), any(LocalDateTime.class))).thenReturn(0);
+        when(appointmentRepository.findStatusChangedSinceById(eq(appointmentId), any())).thenReturn(Optional.of(false));
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> appointmentService.cancelAppointment(appointmentId));
+
+        assertEquals(FeedBackMessage.APPOINTMENT_UPDATE_NOT_ALLOWED, exception.getMessage());
+        verify(appointmentRepository, never()).findById(any());
+        verifyNoInteractions(slotReservationService, eventPublisher);
+    }
+
+    @Test
+    void cancelAppointment_WhenChangedConcurrently_ThrowsAppointmentConflictException() {
+        Long appointmentId = 1L;
+        ArgumentCaptor<LocalDateTime> changedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        when(appointmentRepository.updateStatusById(eq(appointmentId), any(), any(), changedAt.capture())).thenReturn(0);
+        when(appointmentRepository.findStatusChangedSinceById(eq(appointmentId), since.capture())).thenReturn(Optional.of(true));
+
+        Exception exception = assertThrows(AppointmentConflictException.class, () -> appointmentService.cancelAppointment(appointmentId));
+
+        assertEquals(FeedBackMessage.APPOINTMENT_CHANGED_CONCURRENTLY, exception.getMessage());
+        assertEquals(changedAt.getValue().minus(AppointmentService.CONCURRENT_CHANGE_WINDOW), since.getValue());
+        verifyNoInteractions(slotReservationService, eventPublisher);
     }
 
     @Test
@@ -361,16 +811,41 @@ class AppointmentServiceTest {
         Long appointmentId = 1L;
         Appointment appointment = new Appointment();
         appointment.setId(appointmentId);
-        appointment.setStatus(AppointmentStatus.WAITING_FOR_APPROVAL);
+        appointment.setStatus(AppointmentStatus.APPROVED);
 
+        when(appointmentRepository.updateStatusById(eq(appointmentId), eq(AppointmentStatus.WAITING_FOR_APPROVAL),
+                eq(AppointmentStatus.APPROVED), any(LocalDateTime.class))).thenReturn(1);
         when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(appointment));
-        when(appointmentRepository.saveAndFlush(appointment)).thenReturn(appointment);
 
         AppointmentDto result = appointmentService.approveAppointment(appointmentId);
 
         assertEquals(AppointmentStatus.APPROVED, result.getStatus());
         verify(appointmentRepository, times(1)).findById(appointmentId);
-        verify(appointmentRepository, times(1)).saveAndFlush(appointment);
+        verify(eventPublisher, times(1)).publishEvent(AppointmentChangedEvent.changed(appointment));
+    }
+
+    @Test
+    void approveAppointment_WhenNotWaitingForApproval_ThrowsIllegalStateException() {
+        Long appointmentId = 1L;
+
+        when(appointmentRepository.updateStatusById(eq(appointmentId), any(), any(), any(LocalDateTime.class))).thenReturn(0);
+        when(appointmentRepository.findStatusChangedSinceById(eq(appointmentId), any())).thenReturn(Optional.of(false));
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> appointmentService.approveAppointment(appointmentId));
+
+        assertEquals(FeedBackMessage.OPERATION_NOT_ALLOWED, exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void approveAppointment_WhenChangedConcurrently_ThrowsAppointmentConflictException() {
+        Long appointmentId = 1L;
+
+        when(appointmentRepository.updateStatusById(eq(appointmentId), any(), any(), any(LocalDateTime.class))).thenReturn(0);
+        when(appointmentRepository.findStatusChangedSinceById(eq(appointmentId), any())).thenReturn(Optional.of(true));
+
+        assertThrows(AppointmentConflictException.class, () -> appointmentService.approveAppointment(appointmentId));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -378,16 +853,17 @@ class AppointmentServiceTest {
         Long appointmentId = 1L;
         Appointment appointment = new Appointment();
         appointment.setId(appointmentId);
-        appointment.setStatus(AppointmentStatus.WAITING_FOR_APPROVAL);
+        appointment.setStatus(AppointmentStatus.NOT_APPROVED);
 
+        when(appointmentRepository.updateStatusById(eq(appointmentId), eq(AppointmentStatus.WAITING_FOR_APPROVAL),
+                eq(AppointmentStatus.NOT_APPROVED), any(LocalDateTime.class))).thenReturn(1);
         when(appointmentRepository.findById(appointmentId)).thenReturn(Optional.of(appointment));
-        when(appointmentRepository.saveAndFlush(appointment)).thenReturn(appointment);
 
         AppointmentDto result = appointmentService.declineAppointment(appointmentId);
 
         assertEquals(AppointmentStatus.NOT_APPROVED, result.getStatus());
         verify(appointmentRepository, times(1)).findById(appointmentId);
-        verify(appointmentRepository, times(1)).saveAndFlush(appointment);
+        verify(slotReservationService, times(1)).release(appointmentId);
     }
 
     @Test
@@ -402,4 +878,52 @@ class AppointmentServiceTest {
         assertEquals(List.of(id1, id2, id3), result);
         verify(appointmentRepository, times(1)).findAllIds();
     }
+
+    private BookingEligibilityProjection bookingEligibility(String senderType, boolean recipientExists, long activeAppointments) {
+        return new BookingEligibilityProjection() {
+            @Override
+            public String getSenderType() {
+                return senderType;
+            }
+
+            @Override
+            public boolean getRecipientExists() {
+                return recipientExists;
+            }
+
+            @Override
+            public long getActiveAppointments() {
+                return activeAppointments;
+            }
+        };
+    }
+
+    private AppointmentSlotProjection slot(Long id, LocalDate date, LocalTime time) {
+        return new AppointmentSlotProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getVeterinarianId() {
+                return 7L;
+            }
+
+            @Override
+            public LocalDate getAppointmentDate() {
+                return date;
+            }
+
+            @Override
+            public LocalTime getAppointmentTime() {
+                return time;
+            }
+
+            @Override
+            public AppointmentStatus getStatus() {
+                return AppointmentStatus.UP_COMING;
+            }
+        };
+    }
 }
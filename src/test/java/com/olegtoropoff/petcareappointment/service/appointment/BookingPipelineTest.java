@@ -0,0 +1,242 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.exception.AppointmentNumberConflictException;
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.model.Pet;
+import com.olegtoropoff.petcareappointment.request.BookAppointmentRequest;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VetAvailabilityIndex;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VeterinarianService;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class BookingPipelineTest {
+
+    private static final Long PATIENT_ID = 2L;
+    private static final Long OTHER_PATIENT_ID = 3L;
+    private static final Long VET_ID = 9L;
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+    @Mock
+    private IAppointmentService appointmentService;
+
+    @Mock
+    private VetAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingPipeline bookingPipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (bookingPipeline != null) {
+            bookingPipeline.destroy();
+        }
+    }
+
+    @Test
+    void book_WhenPipelineDisabled_CreatesAppointmentInCallingThread() {
+        bookingPipeline = new BookingPipeline(appointmentService, availabilityIndex, transactionManager, false, 8, 16);
+        BookAppointmentRequest request = bookingRequest(LocalTime.of(10, 0));
+        Appointment appointment = new Appointment();
+        when(appointmentService.createAppointment(request, PATIENT_ID, VET_ID)).thenReturn(appointment);
+
+        CompletableFuture<Appointment> result = bookingPipeline.book(request, PATIENT_ID, VET_ID);
+
+        assertTrue(result.isDone());
+        assertSame(appointment, result.join());
+        verifyNoInteractions(availabilityIndex, transactionManager);
+    }
+
+    @Test
+    void book_WhenPipelineDisabledAndBookingRejected_ReturnsFailedFuture() {
+        bookingPipeline = new BookingPipeline(appointmentService, availabilityIndex, transactionManager, false, 8, 16);
+        BookAppointmentRequest request = bookingRequest(LocalTime.of(10, 0));
+        when(appointmentService.createAppointment(request, PATIENT_ID, VET_ID))
+                .thenThrow(new IllegalStateException(FeedBackMessage.TOO_MANY_ACTIVE_APPOINTMENTS));
+
+        CompletableFuture<Appointment> result = bookingPipeline.book(request, PATIENT_ID, VET_ID);
+
+        assertEquals(FeedBackMessage.TOO_MANY_ACTIVE_APPOINTMENTS, failureOf(result).getMessage());
+    }
+
+    @Test
+    void book_WhenAppointmentNoTaken_BooksAgainWithClearedIds() {
+        bookingPipeline = new BookingPipeline(appointmentService, availabilityIndex, transactionManager, false, 8, 16);
+        BookAppointmentRequest request = bookingRequest(LocalTime.of(10, 0));
+        Appointment appointment = new Appointment();
+        when(appointmentService.createAppointment(request, PATIENT_ID, VET_ID)).thenAnswer(invocation -> {
+            request.getAppointment().setId(100L);
+            throw new AppointmentNumberConflictException("Appointment number 1 is already taken", null);
+        }).thenReturn(appointment);
+
+        CompletableFuture<Appointment> result = bookingPipeline.book(request, PATIENT_ID, VET_ID);
+
+        assertSame(appointment, result.join());
+        verify(appointmentService, times(2)).createAppointment(request, PATIENT_ID, VET_ID);
+        assertNull(request.getAppointment().getId());
+    }
+
+    @Test
+    void book_WhenAppointmentNoTakenOnEveryAttempt_ReturnsFailedFuture() {
+        bookingPipeline = new BookingPipeline(appointmentService, availabilityIndex, transactionManager, false, 8, 16);
+        BookAppointmentRequest request = bookingRequest(LocalTime.of(10, 0));
+        when(appointmentService.createAppointment(request, PATIENT_ID, VET_ID))
+                .thenThrow(new AppointmentNumberConflictException("Appointment number 1 is already taken", null));
+
+        CompletableFuture<Appointment> result = bookingPipeline.book(request, PATIENT_ID, VET_ID);
+
+        assertInstanceOf(AppointmentNumberConflictException.class, failureOf(result));
+        verify(appointmentService, times(BookingPipeline.MAX_APPOINTMENT_NO_ATTEMPTS))
+                .createAppointment(request, PATIENT_ID, VET_ID);
+    }
+
+    @Test
+    void book_WhenSlotBlockedInIndexAndDatabase_RejectsWithoutCreatingAppointment() throws Exception {
+        bookingPipeline = new BookingPipeline(appointmentService, availabilityIndex, transactionManager, true, 1, 16);
+        LocalTime time = LocalTime.of(10, 0);
+        int slotBit = 1 << VeterinarianService.BOOKING_SLOTS.indexOf(time);
+        when(availabilityIndex.getBlockedSlots(VET_ID, DATE)).thenReturn(OptionalInt.of(slotBit));
+        when(availabilityIndex.refresh(VET_ID, DATE)).thenReturn(slotBit);
+
+        CompletableFuture<Appointment> result = bookingPipeline.book(bookingRequest(time), PATIENT_ID, VET_ID);
+
+        assertEquals(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED, failureOf(result).getMessage());
+        verifyNoInteractions(appointmentService, transactionManager);
+    }
+
+    @Test
+    void book_WhenSlotBlockedOnlyInStaleIndex_CreatesAppointment() throws Exception {
+        bookingPipeline = new BookingPipeline(appointmentService, availabilityIndex, transactionManager, true, 1, 16);
+        LocalTime time = LocalTime.of(10, 0);
+        BookAppointmentRequest request = bookingRequest(time);
+        Appointment appointment = new Appointment();
+        when(availabilityIndex.getBlockedSlots(VET_ID, DATE))
+                .thenReturn(OptionalInt.of(1 << VeterinarianService.BOOKING_SLOTS.indexOf(time)));
+        when(availabilityIndex.refresh(VET_ID, DATE)).thenReturn(0);
+        when(appointmentService.createAppointment(request, PATIENT_ID, VET_ID)).thenReturn(appointment);
+
+        CompletableFuture<Appointment> result = bookingPipeline.book(request, PATIENT_ID, VET_ID);
+
+        assertSame(appointment, result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void book_WhenSlotBlockedInIndex_ConfirmsDayOncePerBatch() throws Exception {
+        bookingPipeline = new BookingPipeline(appointmentService, availabilityIndex, transactionManager, true, 1, 16);
+        CountDownLatch release = blockWorker();
+        LocalTime time = LocalTime.of(10, 0);
+        int slotBit = 1 << VeterinarianService.BOOKING_SLOTS.indexOf(time);
+        when(availabilityIndex.getBlockedSlots(VET_ID, DATE)).thenReturn(OptionalInt.of(slotBit));
+        when(availabilityIndex.refresh(VET_ID, DATE)).thenReturn(slotBit);
+
+        CompletableFuture<Appointment> firstResult = bookingPipeline.book(bookingRequest(time), PATIENT_ID, VET_ID);
+        CompletableFuture<Appointment> secondResult = bookingPipeline.book(bookingRequest(time), OTHER_PATIENT_ID, VET_ID);
+        release.countDown();
+
+        assertEquals(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED, failureOf(firstResult).getMessage());
+        assertEquals(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED, failureOf(secondResult).getMessage());
+        verify(availabilityIndex, times(1)).refresh(VET_ID, DATE);
+    }
+
+    @Test
+    void book_WhenSameSlotRequestedTwiceInBatch_CommitsFirstAndRejectsSecond() throws Exception {
+        bookingPipeline = new BookingPipeline(appointmentService, availabilityIndex, transactionManager, true, 1, 16);
+        CountDownLatch release = blockWorker();
+        BookAppointmentRequest first = bookingRequest(LocalTime.of(11, 0));
+        BookAppointmentRequest second = bookingRequest(LocalTime.of(11, 0));
+        Appointment appointment = new Appointment();
+        when(appointmentService.createAppointment(first, PATIENT_ID, VET_ID)).thenReturn(appointment);
+
+        CompletableFuture<Appointment> firstResult = bookingPipeline.book(first, PATIENT_ID, VET_ID);
+        CompletableFuture<Appointment> secondResult = bookingPipeline.book(second, OTHER_PATIENT_ID, VET_ID);
+        release.countDown();
+
+        assertSame(appointment, firstResult.get(5, TimeUnit.SECONDS));
+        assertEquals(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED, failureOf(secondResult).getMessage());
+        verify(appointmentService, never()).createAppointment(second, OTHER_PATIENT_ID, VET_ID);
+    }
+
+    @Test
+    void book_WhenBatchFails_CommitsBookingsOneByOne() throws Exception {
+        bookingPipeline = new BookingPipeline(appointmentService, availabilityIndex, transactionManager, true, 1, 16);
+        CountDownLatch release = blockWorker();
+        BookAppointmentRequest rejected = bookingRequest(LocalTime.of(12, 0));
+        BookAppointmentRequest accepted = bookingRequest(LocalTime.of(14, 0));
+        Appointment appointment = new Appointment();
+        List<Long> idsOnCreate = new ArrayList<>();
+        when(appointmentService.createAppointment(rejected, PATIENT_ID, VET_ID)).thenAnswer(invocation -> {
+            idsOnCreate.add(rejected.getAppointment().getId());
+            rejected.getAppointment().setId(100L);
+            throw new IllegalStateException(FeedBackMessage.TOO_MANY_ACTIVE_APPOINTMENTS);
+        });
+        when(appointmentService.createAppointment(accepted, OTHER_PATIENT_ID, VET_ID)).thenReturn(appointment);
+
+        CompletableFuture<Appointment> rejectedResult = bookingPipeline.book(rejected, PATIENT_ID, VET_ID);
+        CompletableFuture<Appointment> acceptedResult = bookingPipeline.book(accepted, OTHER_PATIENT_ID, VET_ID);
+        release.countDown();
+
+        assertSame(appointment, acceptedResult.get(5, TimeUnit.SECONDS));
+        assertEquals(FeedBackMessage.TOO_MANY_ACTIVE_APPOINTMENTS, failureOf(rejectedResult).getMessage());
+        verify(appointmentService, times(2)).createAppointment(rejected, PATIENT_ID, VET_ID);
+        verify(transactionManager).rollback(any());
+        assertEquals(Arrays.asList(null, null), idsOnCreate);
+    }
+
+    /**
+     * Submits a booking on another date whose creation waits for the returned latch,
+     * so the bookings submitted afterward are processed as one batch.
+     */
+    private CountDownLatch blockWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BookAppointmentRequest blocking = bookingRequest(LocalTime.of(9, 0));
+        blocking.getAppointment().setAppointmentDate(DATE.plusDays(1));
+        when(appointmentService.createAppointment(blocking, PATIENT_ID, VET_ID)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new Appointment();
+        });
+        bookingPipeline.book(blocking, PATIENT_ID, VET_ID);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private BookAppointmentRequest bookingRequest(LocalTime time) {
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(DATE);
+        appointment.setAppointmentTime(time);
+        BookAppointmentRequest request = new BookAppointmentRequest();
+        request.setAppointment(appointment);
+        request.setPets(List.of(new Pet()));
+        return request;
+    }
+
+    private Throwable failureOf(CompletableFuture<Appointment> result) {
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        return exception.getCause();
+    }
+}
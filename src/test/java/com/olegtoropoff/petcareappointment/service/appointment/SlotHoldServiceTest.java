@@ -0,0 +1,189 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
+import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.repository.UserRepository;
+import com.olegtoropoff.petcareappointment.scheduler.InMemoryLeaseRegistry;
+import com.olegtoropoff.petcareappointment.service.veterinarian.IVeterinarianService;
+import com.olegtoropoff.petcareappointment.service.veterinarian.VetAvailabilityCache;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class SlotHoldServiceTest {
+
+    private static final Long PATIENT_ID = 2L;
+    private static final Long OTHER_PATIENT_ID = 3L;
+    private static final Long VET_ID = 9L;
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+    private static final LocalTime TIME = LocalTime.of(12, 0);
+
+    @Mock
+    private IVeterinarianService veterinarianService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private VetAvailabilityCache availabilityCache;
+
+    private SlotHoldRegistry slotHoldRegistry;
+    private SlotHoldService slotHoldService;
+
+    @BeforeEach
+    void setUp() {
+        slotHoldRegistry = new SlotHoldRegistry(new InMemoryLeaseRegistry(), 5);
+        slotHoldService = new SlotHoldService(slotHoldRegistry, veterinarianService, userRepository, availabilityCache);
+    }
+
+    @Test
+    void holdSlot_WhenSlotAvailable_HoldsSlotAndEvictsCachedTimes() {
+        mockUsers();
+        when(veterinarianService.getAvailableTimeForBookAppointment(VET_ID, DATE)).thenReturn(List.of(TIME));
+
+        LocalDateTime expiresAt = slotHoldService.holdSlot(PATIENT_ID, VET_ID, DATE, TIME);
+
+        assertTrue(expiresAt.isAfter(LocalDateTime.now().plusMinutes(4)));
+        assertEquals(Map.of(TIME, PATIENT_ID), slotHoldRegistry.findHolds(VET_ID, DATE));
+        verify(availabilityCache).evictAvailableTimes(VET_ID, DATE);
+    }
+
+    @Test
+    void holdSlot_WhenSlotAlreadyHeldByPatient_ExtendsHoldWithoutCheckingAvailability() {
+        mockUsers();
+        slotHoldRegistry.hold(PATIENT_ID, VET_ID, DATE, TIME);
+
+        slotHoldService.holdSlot(PATIENT_ID, VET_ID, DATE, TIME);
+
+        verifyNoInteractions(veterinarianService);
+        assertEquals(Map.of(TIME, PATIENT_ID), slotHoldRegistry.findHolds(VET_ID, DATE));
+    }
+
+    @Test
+    void holdSlot_WhenSlotNotAvailable_ThrowsIllegalStateException() {
+        mockUsers();
+        when(veterinarianService.getAvailableTimeForBookAppointment(VET_ID, DATE)).thenReturn(List.of());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> slotHoldService.holdSlot(PATIENT_ID, VET_ID, DATE, TIME));
+
+        assertEquals(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED, exception.getMessage());
+        assertTrue(slotHoldRegistry.findHolds(VET_ID, DATE).isEmpty());
+    }
+
+    @Test
+    void holdSlot_WhenUserIsVeterinarian_ThrowsIllegalStateException() {
+        User vet = new User();
+        vet.setUserType("VET");
+        when(userRepository.findById(VET_ID)).thenReturn(Optional.of(vet));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> slotHoldService.holdSlot(VET_ID, VET_ID, DATE, TIME));
+
+        assertEquals(FeedBackMessage.VET_APPOINTMENT_NOT_ALLOWED, exception.getMessage());
+    }
+
+    @Test
+    void holdSlot_WhenVeterinarianNotFound_ThrowsResourceNotFoundException() {
+        User patient = new User();
+        patient.setUserType("PATIENT");
+        when(userRepository.findById(PATIENT_ID)).thenReturn(Optional.of(patient));
+        when(userRepository.existsById(VET_ID)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> slotHoldService.holdSlot(PATIENT_ID, VET_ID, DATE, TIME));
+    }
+
+    @Test
+    void releaseSlot_RemovesOnlyOwnHold() {
+        slotHoldRegistry.hold(OTHER_PATIENT_ID, VET_ID, DATE, TIME);
+
+        slotHoldService.releaseSlot(PATIENT_ID, VET_ID, DATE, TIME);
+        assertEquals(Map.of(TIME, OTHER_PATIENT_ID), slotHoldRegistry.findHolds(VET_ID, DATE));
+
+        slotHoldService.releaseSlot(OTHER_PATIENT_ID, VET_ID, DATE, TIME);
+        assertTrue(slotHoldRegistry.findHolds(VET_ID, DATE).isEmpty());
+    }
+
+    @Test
+    void isHeldByAnotherPatient_DetectsHoldsOnOverlappingSlots() {
+        slotHoldRegistry.hold(OTHER_PATIENT_ID, VET_ID, DATE, TIME);
+
+        assertTrue(slotHoldRegistry.isHeldByAnotherPatient(PATIENT_ID, VET_ID, DATE, TIME));
+        assertTrue(slotHoldRegistry.isHeldByAnotherPatient(PATIENT_ID, VET_ID, DATE, LocalTime.of(12, 30)));
+        assertFalse(slotHoldRegistry.isHeldByAnotherPatient(PATIENT_ID, VET_ID, DATE, LocalTime.of(13, 0)));
+        assertFalse(slotHoldRegistry.isHeldByAnotherPatient(OTHER_PATIENT_ID, VET_ID, DATE, TIME));
+    }
+
+    @Test
+    void holdSlot_WhenAdjacentSlotHeldByAnotherPatient_ThrowsIllegalStateException() {
+        mockUsers();
+        LocalTime adjacentTime = TIME.plusMinutes(30);
+        when(veterinarianService.getAvailableTimeForBookAppointment(VET_ID, DATE)).thenReturn(List.of(adjacentTime));
+        slotHoldRegistry.hold(OTHER_PATIENT_ID, VET_ID, DATE, TIME);
+
+        Exception exception = assertThrows(IllegalStateException.class,
+                () -> slotHoldService.holdSlot(PATIENT_ID, VET_ID, DATE, adjacentTime));
+
+        assertEquals(FeedBackMessage.SLOT_HELD_BY_ANOTHER_PATIENT, exception.getMessage());
+        assertEquals(Map.of(TIME, OTHER_PATIENT_ID), slotHoldRegistry.findHolds(VET_ID, DATE));
+    }
+
+    @Test
+    void hold_WhenAdjacentSlotsHeldConcurrently_HoldsOnlyOne() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int attempt = 0; attempt < 50; attempt++) {
+                LocalDate date = DATE.plusDays(attempt);
+                CountDownLatch start = new CountDownLatch(1);
+                Future<Boolean> first = executor.submit(() -> {
+                    start.await();
+                    return slotHoldRegistry.hold(PATIENT_ID, VET_ID, date, TIME);
+                });
+                Future<Boolean> second = executor.submit(() -> {
+                    start.await();
+                    return slotHoldRegistry.hold(OTHER_PATIENT_ID, VET_ID, date, TIME.plusMinutes(30));
+                });
+                start.countDown();
+
+                assertNotEquals(first.get(), second.get());
+                assertEquals(1, slotHoldRegistry.findHolds(VET_ID, date).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void hold_WhenSlotsDoNotOverlap_HoldsBoth() {
+        assertTrue(slotHoldRegistry.hold(PATIENT_ID, VET_ID, DATE, TIME));
+        assertTrue(slotHoldRegistry.hold(OTHER_PATIENT_ID, VET_ID, DATE, TIME.plusMinutes(60)));
+        assertTrue(slotHoldRegistry.hold(PATIENT_ID, VET_ID, DATE, TIME));
+    }
+
+    private void mockUsers() {
+        User patient = new User();
+        patient.setUserType("PATIENT");
+        when(userRepository.findById(PATIENT_ID)).thenReturn(Optional.of(patient));
+        when(userRepository.existsById(VET_ID)).thenReturn(true);
+    }
+}
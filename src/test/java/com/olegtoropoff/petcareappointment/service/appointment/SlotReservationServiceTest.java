@@ -0,0 +1,111 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import com.olegtoropoff.petcareappointment.model.Appointment;
+import com.olegtoropoff.petcareappointment.model.SlotReservation;
+import com.olegtoropoff.petcareappointment.model.User;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import com.olegtoropoff.petcareappointment.repository.SlotReservationRepository;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class SlotReservationServiceTest {
+
+    @InjectMocks
+    private SlotReservationService slotReservationService;
+
+    @Mock
+    private SlotReservationRepository slotReservationRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Test
+    void occupiedSlots_CoversAppointmentAndBufferAfterIt() {
+        assertEquals(List.of(30, 31), SlotReservationService.occupiedSlots(LocalTime.of(15, 0)));
+        assertEquals(List.of(31, 32), SlotReservationService.occupiedSlots(LocalTime.of(15, 30)));
+        assertEquals(List.of(30, 31, 32), SlotReservationService.occupiedSlots(LocalTime.of(15, 10)));
+        assertEquals(List.of(47), SlotReservationService.occupiedSlots(LocalTime.of(23, 30)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void reserve_WhenSlotsAreFree_SavesReservationForEachOccupiedSlot() {
+        Appointment appointment = createAppointment();
+
+        slotReservationService.reserve(appointment);
+
+        ArgumentCaptor<List<SlotReservation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(slotReservationRepository).saveAllAndFlush(captor.capture());
+        List<SlotReservation> reservations = captor.getValue();
+        assertEquals(List.of(24, 25), reservations.stream().map(SlotReservation::getSlot).toList());
+        assertTrue(reservations.stream().allMatch(r -> r.getAppointmentId().equals(1L)
+                && r.getVeterinarianId().equals(9L) && r.getReservationDate().equals(appointment.getAppointmentDate())));
+    }
+
+    @Test
+    void reserve_WhenSlotAlreadyReserved_ThrowsIllegalStateException() {
+        when(slotReservationRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_slot_reservation_vet_date_slot"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> slotReservationService.reserve(createAppointment()));
+
+        assertEquals(FeedBackMessage.APPOINTMENT_SLOT_ALREADY_BOOKED, exception.getMessage());
+    }
+
+    @Test
+    void reserve_WhenAppointmentHasNoVeterinarian_DoesNothing() {
+        Appointment appointment = createAppointment();
+        appointment.setVeterinarian(null);
+
+        slotReservationService.reserve(appointment);
+
+        verifyNoInteractions(slotReservationRepository);
+    }
+
+    @Test
+    void release_DeletesReservationsOfAppointment() {
+        slotReservationService.release(1L);
+
+        verify(slotReservationRepository).deleteByAppointmentId(1L);
+    }
+
+    @Test
+    void onApplicationEvent_WhenNoUnreservedAppointments_SavesNothing() {
+        when(appointmentRepository.findUnreservedSlotsFrom(any(LocalDate.class), anyList()))
+                .thenReturn(Collections.emptyList());
+
+        slotReservationService.onApplicationEvent(null);
+
+        verifyNoInteractions(slotReservationRepository);
+    }
+
+    private Appointment createAppointment() {
+        User veterinarian = new User();
+        veterinarian.setId(9L);
+        Appointment appointment = new Appointment();
+        appointment.setId(1L);
+        appointment.setVeterinarian(veterinarian);
+        appointment.setAppointmentDate(LocalDate.now().plusDays(1));
+        appointment.setAppointmentTime(LocalTime.of(12, 0));
+        return appointment;
+    }
+}
@@ -0,0 +1,114 @@
+package com.olegtoropoff.petcareappointment.service.appointment;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class TimeOrderedAppointmentNumberGeneratorTest {
+
+    private static final long NOW = TimeOrderedAppointmentNumberGenerator.EPOCH + 1_000_000L;
+
+    @Test
+    void nextAppointmentNo_ReturnsTwentyDigitsWithValidCheckDigit() {
+        TimeOrderedAppointmentNumberGenerator generator = new TimeOrderedAppointmentNumberGenerator(7);
+
+        String appointmentNo = generator.nextAppointmentNo();
+
+        assertEquals(20, appointmentNo.length());
+        assertTrue(appointmentNo.chars().allMatch(Character::isDigit));
+        assertTrue(generator.isValid(appointmentNo));
+    }
+
+    @Test
+    void isValid_WhenDigitChanged_ReturnsFalse() {
+        TimeOrderedAppointmentNumberGenerator generator = new TimeOrderedAppointmentNumberGenerator(7);
+        String appointmentNo = generator.nextAppointmentNo();
+        char changed = appointmentNo.charAt(10) == '9' ? '0' : (char) (appointmentNo.charAt(10) + 1);
+
+        assertFalse(generator.isValid(appointmentNo.substring(0, 10) + changed + appointmentNo.substring(11)));
+        assertFalse(generator.isValid("1234567890"));
+        assertFalse(generator.isValid("abc"));
+        assertFalse(generator.isValid(null));
+    }
+
+    @Test
+    void nextAppointmentNo_WhenClockMovesBackwards_KeepsIncreasing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedAppointmentNumberGenerator generator = new TimeOrderedAppointmentNumberGenerator(3, clock::get);
+
+        String first = generator.nextAppointmentNo();
+        clock.set(NOW - 5_000);
+        String second = generator.nextAppointmentNo();
+
+        assertTrue(second.compareTo(first) > 0);
+    }
+
+    @Test
+    void nextAppointmentNo_WhenSequenceExhausted_MovesToNextMillisecond() {
+        TimeOrderedAppointmentNumberGenerator generator = new TimeOrderedAppointmentNumberGenerator(3, () -> NOW);
+        int perMillisecond = 1 << TimeOrderedAppointmentNumberGenerator.SEQUENCE_BITS;
+
+        String previous = generator.nextAppointmentNo();
+        for (int i = 1; i <= perMillisecond * 2; i++) {
+            String next = generator.nextAppointmentNo();
+            assertTrue(next.compareTo(previous) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void constructor_WhenNodeIdTooLarge_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeOrderedAppointmentNumberGenerator(TimeOrderedAppointmentNumberGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void nextAppointmentNo_WhenManyNodesAndThreadsGenerate_NumbersAreUniqueAndIncreasePerThread() throws Exception {
+        int nodes = 4;
+        int threadsPerNode = 2;
+        int numbersPerThread = 25_000;
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(nodes * threadsPerNode);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int node = 0; node < nodes; node++) {
+                TimeOrderedAppointmentNumberGenerator generator = new TimeOrderedAppointmentNumberGenerator(node);
+                for (int thread = 0; thread < threadsPerNode; thread++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        String previous = "";
+                        for (int i = 0; i < numbersPerThread; i++) {
+                            String next = generator.nextAppointmentNo();
+                            if (next.compareTo(previous) <= 0 || !issued.add(next)) {
+                                return false;
+                            }
+                            previous = next;
+                        }
+                        return true;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(60, TimeUnit.SECONDS));
+            }
+            assertEquals(nodes * threadsPerNode * numbersPerThread, issued.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
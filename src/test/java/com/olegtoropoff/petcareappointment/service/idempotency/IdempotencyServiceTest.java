@@ -0,0 +1,184 @@
+package com.olegtoropoff.petcareappointment.service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olegtoropoff.petcareappointment.response.CustomApiResponse;
+import com.olegtoropoff.petcareappointment.utils.FeedBackMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Tag("unit")
+class IdempotencyServiceTest {
+
+    private InMemoryIdempotencyStore idempotencyStore;
+    private IdempotencyService idempotencyService;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new InMemoryIdempotencyStore();
+        idempotencyService = new IdempotencyService(idempotencyStore, new ObjectMapper(), 24);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void execute_WhenKeyMissing_ExecutesEveryRequest() {
+        idempotencyService.execute("cancel:1", null, request(HttpStatus.OK));
+        idempotencyService.execute("cancel:1", " ", request(HttpStatus.OK));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_WhenRetriedWithSameKey_ReturnsStoredResponseWithoutExecuting() {
+        ResponseEntity<CustomApiResponse> first = idempotencyService.execute("cancel:1", "key", request(HttpStatus.OK));
+        ResponseEntity<CustomApiResponse> retry = idempotencyService.execute("cancel:1", "key", request(HttpStatus.OK));
+
+        assertEquals(1, executions.get());
+        assertEquals(first.getStatusCode(), retry.getStatusCode());
+        assertEquals(first.getBody().getMessage(), retry.getBody().getMessage());
+        assertEquals(Map.of("id", 1), retry.getBody().getData());
+    }
+
+    @Test
+    void execute_WhenSameKeyUsedForAnotherOperation_ExecutesRequest() {
+        idempotencyService.execute("cancel:1", "key", request(HttpStatus.OK));
+        idempotencyService.execute("cancel:2", "key", request(HttpStatus.OK));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_WhenRequestFailedWithServerError_ExecutesRetry() {
+        idempotencyService.execute("cancel:1", "key", request(HttpStatus.INTERNAL_SERVER_ERROR));
+        ResponseEntity<CustomApiResponse> retry = idempotencyService.execute("cancel:1", "key", request(HttpStatus.OK));
+
+        assertEquals(2, executions.get());
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+    }
+
+    @Test
+    void execute_WhenRequestWithSameKeyInProgress_ReturnsConflict() {
+        idempotencyStore.putIfAbsent("idempotency:cancel:1:key", "IN_PROGRESS", Duration.ofMinutes(1));
+
+        ResponseEntity<CustomApiResponse> response = idempotencyService.execute("cancel:1", "key", request(HttpStatus.OK));
+
+        assertEquals(0, executions.get());
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(FeedBackMessage.REQUEST_ALREADY_IN_PROGRESS, response.getBody().getMessage());
+    }
+
+    @Test
+    void execute_WhenStoreUnavailable_ExecutesRequestWithoutReplay() {
+        IdempotencyStore failingStore = mock(IdempotencyStore.class);
+        when(failingStore.putIfAbsent(anyString(), anyString(), any())).thenThrow(new IllegalStateException("Redis is down"));
+        idempotencyService = new IdempotencyService(failingStore, new ObjectMapper(), 24);
+
+        ResponseEntity<CustomApiResponse> response = idempotencyService.execute("cancel:1", "key", request(HttpStatus.OK));
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void execute_WhenResponseCannotBeStored_ReturnsResponse() {
+        IdempotencyStore failingStore = mock(IdempotencyStore.class);
+        when(failingStore.putIfAbsent(anyString(), anyString(), any())).thenReturn(true);
+        doThrow(new IllegalStateException("Redis is down")).when(failingStore).put(anyString(), anyString(), any());
+        doThrow(new IllegalStateException("Redis is down")).when(failingStore).remove(anyString());
+        idempotencyService = new IdempotencyService(failingStore, new ObjectMapper(), 24);
+
+        ResponseEntity<CustomApiResponse> response = idempotencyService.execute("cancel:1", "key", request(HttpStatus.OK));
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void executeAsync_WhenStoreUnavailable_ExecutesRequestWithoutReplay() {
+        IdempotencyStore failingStore = mock(IdempotencyStore.class);
+        when(failingStore.putIfAbsent(anyString(), anyString(), any())).thenThrow(new IllegalStateException("Redis is down"));
+        idempotencyService = new IdempotencyService(failingStore, new ObjectMapper(), 24);
+
+        ResponseEntity<CustomApiResponse> response = idempotencyService.executeAsync("book:1", "key",
+                () -> CompletableFuture.completedFuture(request(HttpStatus.OK).get())).join();
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void execute_WhenSharedStoreUnavailable_ReplaysResponseFromFallbackStore() {
+        IdempotencyStore failingStore = mock(IdempotencyStore.class);
+        when(failingStore.putIfAbsent(anyString(), anyString(), any())).thenThrow(new IllegalStateException("Redis is down"));
+        doThrow(new IllegalStateException("Redis is down")).when(failingStore).put(anyString(), anyString(), any());
+        IdempotencyService service = new IdempotencyService(
+                new FallbackIdempotencyStore(failingStore, idempotencyStore), new ObjectMapper(), 24);
+
+        service.execute("cancel:1", "key", request(HttpStatus.OK));
+        ResponseEntity<CustomApiResponse> retry = service.execute("cancel:1", "key", request(HttpStatus.OK));
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+    }
+
+    @Test
+    void fallbackStore_WhenSharedStoreBack_SeesEntriesWrittenDuringOutage() {
+        IdempotencyStore sharedStore = mock(IdempotencyStore.class);
+        FallbackIdempotencyStore store = new FallbackIdempotencyStore(sharedStore, idempotencyStore);
+        when(sharedStore.putIfAbsent(anyString(), anyString(), any())).thenThrow(new IllegalStateException("Redis is down"));
+        assertTrue(store.putIfAbsent("key", "value", Duration.ofMinutes(1)));
+
+        reset(sharedStore);
+
+        assertFalse(store.putIfAbsent("key", "value", Duration.ofMinutes(1)));
+        assertEquals("value", store.get("key").orElseThrow());
+        verify(sharedStore, never()).putIfAbsent(anyString(), anyString(), any());
+    }
+
+    @Test
+    void inMemoryStore_WhenPurged_KeepsLiveEntries() {
+        idempotencyStore.put("expired", "value", Duration.ZERO);
+        idempotencyStore.put("live", "value", Duration.ofMinutes(1));
+
+        idempotencyStore.purgeExpired();
+
+        assertTrue(idempotencyStore.get("expired").isEmpty());
+        assertEquals("value", idempotencyStore.get("live").orElseThrow());
+    }
+
+    @Test
+    void inMemoryStore_WhenEntryExpired_TreatsKeyAsAbsent() {
+        idempotencyStore.put("key", "value", Duration.ZERO);
+
+        assertTrue(idempotencyStore.get("key").isEmpty());
+        assertTrue(idempotencyStore.putIfAbsent("key", "value", Duration.ofMinutes(1)));
+    }
+
+    private Supplier<ResponseEntity<CustomApiResponse>> request(HttpStatus status) {
+        return () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(status).body(new CustomApiResponse("message", Map.of("id", 1)));
+        };
+    }
+}
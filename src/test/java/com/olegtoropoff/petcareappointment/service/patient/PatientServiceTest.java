@@ -1,10 +1,9 @@
 package com.olegtoropoff.petcareappointment.service.patient;
 
-import com.olegtoropoff.petcareappointment.dto.EntityConverter;
+import com.olegtoropoff.petcareappointment.dto.ProjectionConverter;
 import com.olegtoropoff.petcareappointment.dto.UserDto;
-import com.olegtoropoff.petcareappointment.model.Patient;
-import com.olegtoropoff.petcareappointment.model.User;
-import com.olegtoropoff.petcareappointment.repository.PatientRepository;
+import com.olegtoropoff.petcareappointment.projection.UserSummaryProjection;
+import com.olegtoropoff.petcareappointment.repository.UserRepository;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,10 +11,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,36 +27,37 @@ class PatientServiceTest {
     private PatientService patientService;
 
     @Mock
-    private PatientRepository patientRepository;
+    private UserRepository userRepository;
 
     @Spy
-    private EntityConverter<User, UserDto> entityConverter = new EntityConverter<>(new ModelMapper());
+    private ProjectionConverter projectionConverter = new ProjectionConverter();
 
     @Test
     void getPatients_Success() {
-        Patient patient = new Patient();
-        patient.setFirstName("Bob");
+        UserSummaryProjection row = mock(UserSummaryProjection.class);
+        when(row.getId()).thenReturn(2L);
+        when(row.getFirstName()).thenReturn("Bob");
+        when(row.getRoleName()).thenReturn("ROLE_PATIENT");
 
-        when(patientRepository.findAll()).thenReturn(List.of(patient));
+        when(userRepository.findPatientSummaries()).thenReturn(List.of(row));
 
         List<UserDto> result = patientService.getPatients();
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(patient.getFirstName(), result.get(0).getFirstName());
-        verify(patientRepository).findAll();
-        verify(entityConverter).mapEntityToDto(patient, UserDto.class);
+        assertEquals("Bob", result.get(0).getFirstName());
+        assertEquals(Set.of("ROLE_PATIENT"), result.get(0).getRoles());
+        verify(userRepository).findPatientSummaries();
     }
 
     @Test
     void getPatients_ReturnsEmptyList_WhenNoPatientsExist() {
-        when(patientRepository.findAll()).thenReturn(Collections.emptyList());
+        when(userRepository.findPatientSummaries()).thenReturn(Collections.emptyList());
 
         List<UserDto> result = patientService.getPatients();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(patientRepository).findAll();
-        verifyNoInteractions(entityConverter);
+        verify(userRepository).findPatientSummaries();
     }
 }
@@ -2,6 +2,7 @@ package com.olegtoropoff.petcareappointment.service.pet;
 
 import com.olegtoropoff.petcareappointment.dto.EntityConverter;
 import com.olegtoropoff.petcareappointment.dto.PetDto;
+import com.olegtoropoff.petcareappointment.dto.PetDtoMapper;
 import com.olegtoropoff.petcareappointment.exception.PetDeletionNotAllowedException;
 import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
 import com.olegtoropoff.petcareappointment.model.Appointment;
@@ -16,7 +17,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -37,7 +37,7 @@ class PetServiceTest {
     private PetRepository petRepository;
 
     @Spy
-    private EntityConverter<Pet, PetDto> entityConverter = new EntityConverter<>(new ModelMapper());
+    private EntityConverter<Pet, PetDto> entityConverter = new EntityConverter<>(List.of(new PetDtoMapper()));
 
     private Pet pet;
 
@@ -2,8 +2,11 @@ package com.olegtoropoff.petcareappointment.service.user;
 
 import com.olegtoropoff.petcareappointment.dto.EntityConverter;
 import com.olegtoropoff.petcareappointment.dto.UserDto;
+import com.olegtoropoff.petcareappointment.dto.UserDtoMapper;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
 import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
 import com.olegtoropoff.petcareappointment.factory.UserFactory;
+import com.olegtoropoff.petcareappointment.model.Appointment;
 import com.olegtoropoff.petcareappointment.model.Photo;
 import com.olegtoropoff.petcareappointment.model.User;
 import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
@@ -22,9 +25,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -47,7 +51,7 @@ class UserServiceTest {
     private IAppointmentService appointmentService;
 
     @Spy
-    private EntityConverter<User, UserDto> entityConverter = new EntityConverter<>(new ModelMapper());
+    private EntityConverter<User, UserDto> entityConverter = new EntityConverter<>(List.of(new UserDtoMapper()));
 
     @Mock
     private ReviewRepository reviewRepository;
@@ -61,6 +65,9 @@ class UserServiceTest {
     @Mock
     private IReviewService reviewService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Test
     void register_WhenValid_ReturnsUser() {
         RegistrationRequest request = new RegistrationRequest();
@@ -180,13 +187,17 @@ class UserServiceTest {
     void deleteById_WhenUserExists_DeletesUser() {
         Long userId = 1L;
         User user = new User();
+        Appointment appointment = new Appointment();
+        appointment.setId(5L);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(appointmentRepository.findAllByUserId(userId)).thenReturn(List.of(appointment));
 
         userService.deleteById(userId);
 
         verify(userRepository, times(1)).deleteById(userId);
         verify(reviewRepository, times(1)).deleteAll(anyList());
-        verify(appointmentRepository, times(1)).deleteAll(anyList());
+        verify(appointmentRepository, times(1)).deleteAll(List.of(appointment));
+        verify(eventPublisher).publishEvent(AppointmentChangedEvent.deleted(appointment));
     }
 
     @Test
@@ -221,7 +232,7 @@ class UserServiceTest {
         Long userId = 1L;
         User user = createUser(userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findWithDetailsById(userId)).thenReturn(Optional.of(user));
         when(appointmentService.getUserAppointments(userId)).thenReturn(Collections.emptyList());
         when(reviewService.findAllReviewsByUserId(userId)).thenReturn(Collections.emptyList());
 
@@ -229,7 +240,7 @@ class UserServiceTest {
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
-        verify(userRepository, times(1)).findById(userId);
+        verify(userRepository, times(1)).findWithDetailsById(userId);
         verify(entityConverter, times(1)).mapEntityToDto(user, UserDto.class);
         verify(appointmentService, times(1)).getUserAppointments(userId);
     }
@@ -2,6 +2,7 @@ package com.olegtoropoff.petcareappointment.service.vetbiography;
 
 import com.olegtoropoff.petcareappointment.dto.EntityConverter;
 import com.olegtoropoff.petcareappointment.dto.VetBiographyDto;
+import com.olegtoropoff.petcareappointment.dto.VetBiographyDtoMapper;
 import com.olegtoropoff.petcareappointment.exception.ResourceNotFoundException;
 import com.olegtoropoff.petcareappointment.model.VetBiography;
 import com.olegtoropoff.petcareappointment.model.Veterinarian;
@@ -15,8 +16,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,7 +37,7 @@ class VetBiographyServiceTest {
     private VeterinarianRepository veterinarianRepository;
 
     @Spy
-    private EntityConverter<VetBiography, VetBiographyDto> entityConverter = new EntityConverter<>(new ModelMapper());
+    private EntityConverter<VetBiography, VetBiographyDto> entityConverter = new EntityConverter<>(List.of(new VetBiographyDtoMapper()));
 
     @Test
     void getVetBiographyByVetId_Success() {
@@ -0,0 +1,90 @@
+package com.olegtoropoff.petcareappointment.service.veterinarian;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import com.olegtoropoff.petcareappointment.repository.VeterinarianRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class VetAvailabilityCacheTest {
+
+    @Mock
+    private VeterinarianRepository veterinarianRepository;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private VetAvailabilityCache availabilityCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(VetAvailabilityCache.AVAILABLE_TIMES, VetAvailabilityCache.AVAILABLE_VETERINARIANS);
+        availabilityCache = new VetAvailabilityCache(cacheManager, veterinarianRepository);
+    }
+
+    @Test
+    void isCacheable_OnlyFutureDatesAndBookingSlots() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        assertTrue(VetAvailabilityCache.isCacheable(tomorrow, null));
+        assertTrue(VetAvailabilityCache.isCacheable(tomorrow, LocalTime.of(14, 30)));
+        assertFalse(VetAvailabilityCache.isCacheable(tomorrow, LocalTime.of(14, 15)));
+        assertFalse(VetAvailabilityCache.isCacheable(LocalDate.now(), null));
+        assertFalse(VetAvailabilityCache.isCacheable(null, null));
+    }
+
+    @Test
+    void onAppointmentChanged_EvictsOnlyEntriesOfVeterinarianAndDate() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalDate otherDate = date.plusDays(1);
+        when(veterinarianRepository.findSpecializationById(7L)).thenReturn(Optional.of("Хирург"));
+        Cache availableTimes = cacheManager.getCache(VetAvailabilityCache.AVAILABLE_TIMES);
+        Cache availableVets = cacheManager.getCache(VetAvailabilityCache.AVAILABLE_VETERINARIANS);
+        availableTimes.put(VetAvailabilityCache.availableTimesKey(7L, date), List.of());
+        availableTimes.put(VetAvailabilityCache.availableTimesKey(7L, otherDate), List.of());
+        availableTimes.put(VetAvailabilityCache.availableTimesKey(8L, date), List.of());
+        availableVets.put(VetAvailabilityCache.availableVeterinariansKey("Хирург", date, LocalTime.of(15, 0)), List.of());
+        availableVets.put(VetAvailabilityCache.availableVeterinariansKey("Терапевт", date, LocalTime.of(15, 0)), List.of());
+
+        availabilityCache.onAppointmentChanged(event(date, null));
+
+        assertNull(availableTimes.get(VetAvailabilityCache.availableTimesKey(7L, date)));
+        assertNotNull(availableTimes.get(VetAvailabilityCache.availableTimesKey(7L, otherDate)));
+        assertNotNull(availableTimes.get(VetAvailabilityCache.availableTimesKey(8L, date)));
+        assertNull(availableVets.get(VetAvailabilityCache.availableVeterinariansKey("Хирург", date, LocalTime.of(15, 0))));
+        assertNotNull(availableVets.get(VetAvailabilityCache.availableVeterinariansKey("Терапевт", date, LocalTime.of(15, 0))));
+    }
+
+    @Test
+    void onAppointmentChanged_WhenRescheduled_EvictsPreviousDate() {
+        LocalDate date = LocalDate.now().plusDays(2);
+        LocalDate previousDate = LocalDate.now().plusDays(1);
+        when(veterinarianRepository.findSpecializationById(7L)).thenReturn(Optional.of("Хирург"));
+        Cache availableTimes = cacheManager.getCache(VetAvailabilityCache.AVAILABLE_TIMES);
+        availableTimes.put(VetAvailabilityCache.availableTimesKey(7L, date), List.of());
+        availableTimes.put(VetAvailabilityCache.availableTimesKey(7L, previousDate), List.of());
+
+        availabilityCache.onAppointmentChanged(event(date, previousDate));
+
+        assertNull(availableTimes.get(VetAvailabilityCache.availableTimesKey(7L, date)));
+        assertNull(availableTimes.get(VetAvailabilityCache.availableTimesKey(7L, previousDate)));
+    }
+
+    private AppointmentChangedEvent event(LocalDate date, LocalDate previousDate) {
+        return new AppointmentChangedEvent(1L, 7L, date, LocalTime.of(15, 0), AppointmentStatus.APPROVED, false, previousDate);
+    }
+}
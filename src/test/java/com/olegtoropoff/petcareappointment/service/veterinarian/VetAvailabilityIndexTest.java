@@ -0,0 +1,138 @@
+package com.olegtoropoff.petcareappointment.service.veterinarian;
+
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
+import com.olegtoropoff.petcareappointment.event.AppointmentChangedEvent;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSlotProjection;
+import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class VetAvailabilityIndexTest {
+
+    @InjectMocks
+    private VetAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Test
+    void blockedSlotMask_MatchesOverlapRuleForEverySlot() {
+        LocalTime appointmentTime = LocalTime.of(12, 15);
+
+        int mask = VetAvailabilityIndex.blockedSlotMask(AppointmentStatus.APPROVED, appointmentTime);
+
+        for (int slot = 0; slot < VeterinarianService.BOOKING_SLOTS.size(); slot++) {
+            LocalTime slotStart = VeterinarianService.BOOKING_SLOTS.get(slot);
+            boolean overlaps = VeterinarianService.doesAppointmentOverLap(AppointmentStatus.APPROVED, appointmentTime,
+                    slotStart, slotStart.plusMinutes(VeterinarianService.APPOINTMENT_DURATION_MINUTES));
+            assertEquals(overlaps, (mask & (1 << slot)) != 0, "slot " + slotStart);
+        }
+        assertNotEquals(0, mask);
+    }
+
+    @Test
+    void blockedSlotMask_WhenCancelled_BlocksNothing() {
+        assertEquals(0, VetAvailabilityIndex.blockedSlotMask(AppointmentStatus.CANCELLED, LocalTime.of(12, 0)));
+        assertEquals(0, VetAvailabilityIndex.blockedSlotMask(AppointmentStatus.NOT_APPROVED, LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void getBlockedSlots_WhenNotBuilt_ReturnsEmpty() {
+        assertTrue(availabilityIndex.getBlockedSlots(1L, LocalDate.now()).isEmpty());
+    }
+
+    @Test
+    void rebuild_LoadsAppointmentsWithinHorizon() {
+        LocalDate date = LocalDate.now().plusDays(2);
+        AppointmentSlotProjection appointment = slot(10L, 1L, date, LocalTime.of(10, 0));
+        when(appointmentRepository.findSlotsByAppointmentDateBetween(any(LocalDate.class), any(LocalDate.class), anyList()))
+                .thenReturn(List.of(appointment));
+
+        availabilityIndex.rebuild();
+
+        assertEquals(OptionalInt.of(VetAvailabilityIndex.blockedSlotMask(AppointmentStatus.APPROVED, LocalTime.of(10, 0))),
+                availabilityIndex.getBlockedSlots(1L, date));
+        assertEquals(OptionalInt.of(0), availabilityIndex.getBlockedSlots(2L, date));
+        assertTrue(availabilityIndex.getBlockedSlots(1L, LocalDate.now().minusDays(1)).isEmpty());
+        assertTrue(availabilityIndex.getBlockedSlots(1L,
+                LocalDate.now().plusDays(VetAvailabilityIndex.BOOKING_HORIZON_DAYS + 1)).isEmpty());
+    }
+
+    @Test
+    void onAppointmentChanged_AppliesBookingRescheduleAndCancellation() {
+        when(appointmentRepository.findSlotsByAppointmentDateBetween(any(LocalDate.class), any(LocalDate.class), anyList()))
+                .thenReturn(List.of());
+        availabilityIndex.rebuild();
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalDate newDate = LocalDate.now().plusDays(3);
+        int morningMask = VetAvailabilityIndex.blockedSlotMask(AppointmentStatus.WAITING_FOR_APPROVAL, LocalTime.of(9, 0));
+        int eveningMask = VetAvailabilityIndex.blockedSlotMask(AppointmentStatus.WAITING_FOR_APPROVAL, LocalTime.of(18, 0));
+
+        availabilityIndex.onAppointmentChanged(event(1L, date, LocalTime.of(9, 0), AppointmentStatus.WAITING_FOR_APPROVAL, false));
+        availabilityIndex.onAppointmentChanged(event(2L, date, LocalTime.of(18, 0), AppointmentStatus.WAITING_FOR_APPROVAL, false));
+        assertEquals(OptionalInt.of(morningMask | eveningMask), availabilityIndex.getBlockedSlots(7L, date));
+
+        availabilityIndex.onAppointmentChanged(event(1L, newDate, LocalTime.of(9, 0), AppointmentStatus.WAITING_FOR_APPROVAL, false));
+        assertEquals(OptionalInt.of(eveningMask), availabilityIndex.getBlockedSlots(7L, date));
+        assertEquals(OptionalInt.of(morningMask), availabilityIndex.getBlockedSlots(7L, newDate));
+
+        availabilityIndex.onAppointmentChanged(event(2L, date, LocalTime.of(18, 0), AppointmentStatus.CANCELLED, false));
+        availabilityIndex.onAppointmentChanged(event(1L, newDate, LocalTime.of(9, 0), AppointmentStatus.WAITING_FOR_APPROVAL, true));
+        assertEquals(OptionalInt.of(0), availabilityIndex.getBlockedSlots(7L, date));
+        assertEquals(OptionalInt.of(0), availabilityIndex.getBlockedSlots(7L, newDate));
+    }
+
+    @Test
+    void refresh_ReplacesStaleDayWithDatabaseState() {
+        when(appointmentRepository.findSlotsByAppointmentDateBetween(any(LocalDate.class), any(LocalDate.class), anyList()))
+                .thenReturn(List.of());
+        availabilityIndex.rebuild();
+        LocalDate date = LocalDate.now().plusDays(1);
+        availabilityIndex.onAppointmentChanged(event(1L, date, LocalTime.of(9, 0), AppointmentStatus.WAITING_FOR_APPROVAL, false));
+        AppointmentSlotProjection appointment = mock(AppointmentSlotProjection.class);
+        when(appointment.getId()).thenReturn(2L);
+        when(appointment.getAppointmentTime()).thenReturn(LocalTime.of(18, 0));
+        when(appointment.getStatus()).thenReturn(AppointmentStatus.APPROVED);
+        when(appointmentRepository.findSlotsByVeterinarianIdAndAppointmentDateBetween(7L, date, date, VeterinarianService.NON_BLOCKING_STATUSES))
+                .thenReturn(List.of(appointment));
+        int eveningMask = VetAvailabilityIndex.blockedSlotMask(AppointmentStatus.APPROVED, LocalTime.of(18, 0));
+
+        int blockedSlots = availabilityIndex.refresh(7L, date);
+
+        assertEquals(eveningMask, blockedSlots);
+        assertEquals(OptionalInt.of(eveningMask), availabilityIndex.getBlockedSlots(7L, date));
+        availabilityIndex.onAppointmentChanged(event(2L, date, LocalTime.of(18, 0), AppointmentStatus.CANCELLED, false));
+        assertEquals(OptionalInt.of(0), availabilityIndex.getBlockedSlots(7L, date));
+    }
+
+    private AppointmentChangedEvent event(Long id, LocalDate date, LocalTime time, AppointmentStatus status, boolean deleted) {
+        return new AppointmentChangedEvent(id, 7L, date, time, status, deleted, null);
+    }
+
+    private AppointmentSlotProjection slot(Long id, Long veterinarianId, LocalDate date, LocalTime time) {
+        AppointmentSlotProjection projection = mock(AppointmentSlotProjection.class);
+        when(projection.getId()).thenReturn(id);
+        when(projection.getVeterinarianId()).thenReturn(veterinarianId);
+        when(projection.getAppointmentDate()).thenReturn(date);
+        when(projection.getAppointmentTime()).thenReturn(time);
+        when(projection.getStatus()).thenReturn(AppointmentStatus.APPROVED);
+        return projection;
+    }
+}
@@ -1,12 +1,19 @@
 package com.olegtoropoff.petcareappointment.service.veterinarian;
 
+import com.olegtoropoff.petcareappointment.dto.AvailableSlotDto;
 import com.olegtoropoff.petcareappointment.dto.EntityConverter;
+import com.olegtoropoff.petcareappointment.dto.ProjectionConverter;
 import com.olegtoropoff.petcareappointment.dto.UserDto;
+import com.olegtoropoff.petcareappointment.dto.UserDtoMapper;
+import com.olegtoropoff.petcareappointment.enums.AppointmentStatus;
 import com.olegtoropoff.petcareappointment.model.Appointment;
 import com.olegtoropoff.petcareappointment.model.Veterinarian;
+import com.olegtoropoff.petcareappointment.projection.AppointmentSlotProjection;
+import com.olegtoropoff.petcareappointment.projection.UserSummaryProjection;
 import com.olegtoropoff.petcareappointment.projection.VeterinarianReviewProjection;
 import com.olegtoropoff.petcareappointment.repository.AppointmentRepository;
 import com.olegtoropoff.petcareappointment.repository.VeterinarianRepository;
+import com.olegtoropoff.petcareappointment.service.appointment.SlotHoldRegistry;
 import com.olegtoropoff.petcareappointment.service.review.ReviewService;
 import com.olegtoropoff.petcareappointment.service.user.IUserService;
 import org.junit.jupiter.api.Tag;
@@ -17,7 +24,6 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -25,6 +31,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -48,27 +55,41 @@ class VeterinarianServiceTest {
     @Mock
     private IUserService userService;
 
+    @Mock
+    private VetAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private SlotHoldRegistry slotHoldRegistry;
+
+    @Spy
+    private EntityConverter<Veterinarian, UserDto> entityConverter = new EntityConverter<>(List.of(new UserDtoMapper()));
+
     @Spy
-    private EntityConverter<Veterinarian, UserDto> entityConverter = new EntityConverter<>(new ModelMapper());
+    private ProjectionConverter projectionConverter = new ProjectionConverter();
 
     @Test
     void getAllVeterinariansWithRating_ReturnsMappedUserDtos() {
         Long veterinarianId = 1L;
-        Veterinarian vet = new Veterinarian();
-        vet.setId(veterinarianId);
-        List<Veterinarian> veterinarians = List.of(vet);
+        List<UserSummaryProjection> rows = List.of(createSummary(veterinarianId, "John"));
 
         Map<Long, VeterinarianReviewProjection> statsMap = Map.of(1L, createMockProjection());
 
-        when(veterinarianRepository.findAllByUserTypeAndIsEnabled("VET", true)).thenReturn(veterinarians);
+        when(veterinarianRepository.findSummariesByUserTypeAndIsEnabled("VET", true)).thenReturn(rows);
         when(reviewService.getAverageRatingsAndTotalReviews()).thenReturn(statsMap);
         List<UserDto> result = veterinarianService.getAllVeterinariansWithDetails();
 
-        assertEquals(veterinarians.size(), result.size());
-        assertEquals(veterinarians.get(0).getId(), result.get(0).getId());
+        assertEquals(rows.size(), result.size());
+        assertEquals(veterinarianId, result.get(0).getId());
         assertEquals(4.5, result.get(0).getAverageRating());
         assertEquals(10L, result.get(0).getTotalReviewers());
-        verify(entityConverter).mapEntityToDto(vet, UserDto.class);
+        verify(projectionConverter).mapUsersToDtos(rows);
+    }
+
+    private UserSummaryProjection createSummary(Long id, String firstName) {
+        UserSummaryProjection row = Mockito.mock(UserSummaryProjection.class);
+        Mockito.when(row.getId()).thenReturn(id);
+        Mockito.when(row.getFirstName()).thenReturn(firstName);
+        return row;
     }
 
     private VeterinarianReviewProjection createMockProjection() {
@@ -103,7 +124,8 @@ class VeterinarianServiceTest {
 
         when(veterinarianRepository.existsBySpecialization(specialization)).thenReturn(true);
         when(veterinarianRepository.findBySpecializationAndIsEnabled(specialization, true)).thenReturn(veterinarians);
-        when(appointmentRepository.findByVeterinarianAndAppointmentDate(vet, date)).thenReturn(Collections.emptyList());
+        when(appointmentRepository.findSlotsByVeterinarianIdInAndAppointmentDate(List.of(1L), date, VeterinarianService.NON_BLOCKING_STATUSES))
+                .thenReturn(Collections.emptyList());
 
         List<UserDto> result = veterinarianService.findAvailableVeterinariansForAppointments(specialization, date, time);
 
@@ -113,6 +135,34 @@ class VeterinarianServiceTest {
         verify(entityConverter).mapEntityToDto(vet, UserDto.class);
     }
 
+    @Test
+    void findAvailableVeterinariansForAppointments_WhenNotIndexed_ChecksAllVeterinariansWithOneQuery() {
+        String specialization = "Surgery";
+        LocalDate date = LocalDate.now().plusDays(60);
+        LocalTime time = LocalTime.of(10, 0);
+
+        Veterinarian busyVet = new Veterinarian();
+        busyVet.setId(1L);
+        Veterinarian freeVet = new Veterinarian();
+        freeVet.setId(2L);
+        AppointmentSlotProjection appointment = mock(AppointmentSlotProjection.class);
+        when(appointment.getVeterinarianId()).thenReturn(1L);
+        when(appointment.getAppointmentTime()).thenReturn(LocalTime.of(10, 30));
+        when(appointment.getStatus()).thenReturn(AppointmentStatus.APPROVED);
+
+        when(veterinarianRepository.existsBySpecialization(specialization)).thenReturn(true);
+        when(veterinarianRepository.findBySpecializationAndIsEnabled(specialization, true)).thenReturn(List.of(busyVet, freeVet));
+        when(appointmentRepository.findSlotsByVeterinarianIdInAndAppointmentDate(List.of(1L, 2L), date, VeterinarianService.NON_BLOCKING_STATUSES))
+                .thenReturn(List.of(appointment));
+
+        List<UserDto> result = veterinarianService.findAvailableVeterinariansForAppointments(specialization, date, time);
+
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getId());
+        verify(appointmentRepository, times(1))
+                .findSlotsByVeterinarianIdInAndAppointmentDate(anyCollection(), any(LocalDate.class), anyList());
+    }
+
     @Test
     void aggregateVetsBySpecialization_Success() {
         Object[] entry = new Object[]{"Surgery", 5L};
@@ -144,17 +194,170 @@ class VeterinarianServiceTest {
     }
 
     @Test
-    void getVeterinarians_ReturnsMappedDtos() {
-        Veterinarian vet1 = new Veterinarian();
-        vet1.setId(1L);
-        vet1.setFirstName("John");
-        Veterinarian vet2 = new Veterinarian();
-        vet2.setId(2L);
-        vet2.setFirstName("Jane");
+    void getAvailableTimeForBookAppointment_WhenDateIndexed_SkipsBlockedSlotsWithoutDatabase() {
+        Long vetId = 1L;
+        LocalDate date = LocalDate.now().plusDays(1);
+        int blockedSlots = (1 << VeterinarianService.BOOKING_SLOTS.indexOf(LocalTime.of(9, 0)))
+                           | (1 << VeterinarianService.BOOKING_SLOTS.indexOf(LocalTime.of(9, 30)));
+        when(availabilityIndex.getBlockedSlots(vetId, date)).thenReturn(OptionalInt.of(blockedSlots));
+
+        List<LocalTime> result = veterinarianService.getAvailableTimeForBookAppointment(vetId, date);
+
+        assertEquals(VeterinarianService.BOOKING_SLOTS.size() - 2, result.size());
+        assertEquals(LocalTime.of(10, 0), result.get(0));
+        assertEquals(LocalTime.of(20, 0), result.get(result.size() - 1));
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void getAvailableTimeForBookAppointment_WhenSlotHeld_BlocksHeldSlotAndItsNeighbours() {
+        Long vetId = 1L;
+        LocalDate date = LocalDate.now().plusDays(1);
+        when(availabilityIndex.getBlockedSlots(vetId, date)).thenReturn(OptionalInt.of(0));
+        when(slotHoldRegistry.findHolds(vetId, date)).thenReturn(Map.of(LocalTime.of(12, 0), 2L));
+
+        List<LocalTime> result = veterinarianService.getAvailableTimeForBookAppointment(vetId, date);
+
+        assertEquals(VeterinarianService.BOOKING_SLOTS.size() - 3, result.size());
+        assertFalse(result.contains(LocalTime.of(11, 30)));
+        assertFalse(result.contains(LocalTime.of(12, 0)));
+        assertFalse(result.contains(LocalTime.of(12, 30)));
+    }
+
+    @Test
+    void getAvailableTimesForDateRange_ReturnsSlotsForEveryDayFromOneQuery() {
+        Long vetId = 1L;
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        LocalDate endDate = startDate.plusDays(2);
+        AppointmentSlotProjection appointment = mock(AppointmentSlotProjection.class);
+        when(appointment.getAppointmentDate()).thenReturn(startDate.plusDays(1));
+        when(appointment.getAppointmentTime()).thenReturn(LocalTime.of(15, 0));
+        when(appointment.getStatus()).thenReturn(AppointmentStatus.APPROVED);
+        when(appointmentRepository.findSlotsByVeterinarianIdAndAppointmentDateBetween(
+                vetId, startDate, endDate, VeterinarianService.NON_BLOCKING_STATUSES)).thenReturn(List.of(appointment));
+
+        Map<LocalDate, List<LocalTime>> result = veterinarianService.getAvailableTimesForDateRange(vetId, startDate, endDate);
+
+        assertEquals(List.of(startDate, startDate.plusDays(1), endDate), List.copyOf(result.keySet()));
+        assertEquals(VeterinarianService.BOOKING_SLOTS, result.get(startDate));
+        assertEquals(VeterinarianService.BOOKING_SLOTS, result.get(endDate));
+        List<LocalTime> blockedDay = result.get(startDate.plusDays(1));
+        assertFalse(blockedDay.contains(LocalTime.of(14, 30)));
+        assertFalse(blockedDay.contains(LocalTime.of(15, 30)));
+        assertTrue(blockedDay.contains(LocalTime.of(14, 0)));
+        assertTrue(blockedDay.contains(LocalTime.of(16, 0)));
+        verifyNoInteractions(availabilityIndex);
+    }
 
-        List<Veterinarian> veterinarians = List.of(vet1, vet2);
+    @Test
+    void getAvailableTimesForDateRange_WhenSlotHeld_BlocksHeldSlotAndItsNeighbours() {
+        Long vetId = 1L;
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        LocalDate endDate = startDate.plusDays(1);
+        when(slotHoldRegistry.findHolds(vetId, startDate, endDate))
+                .thenReturn(Map.of(endDate, Map.of(LocalTime.of(12, 0), 2L)));
+
+        Map<LocalDate, List<LocalTime>> result = veterinarianService.getAvailableTimesForDateRange(vetId, startDate, endDate);
+
+        assertEquals(VeterinarianService.BOOKING_SLOTS, result.get(startDate));
+        assertEquals(VeterinarianService.BOOKING_SLOTS.size() - 3, result.get(endDate).size());
+        assertFalse(result.get(endDate).contains(LocalTime.of(11, 30)));
+        assertFalse(result.get(endDate).contains(LocalTime.of(12, 0)));
+        assertFalse(result.get(endDate).contains(LocalTime.of(12, 30)));
+    }
+
+    @Test
+    void getAvailableTimesForDateRange_WhenRangeInvalid_ThrowsIllegalArgumentException() {
+        LocalDate startDate = LocalDate.now();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> veterinarianService.getAvailableTimesForDateRange(1L, startDate, startDate.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> veterinarianService.getAvailableTimesForDateRange(
+                1L, startDate, startDate.plusDays(VetAvailabilityIndex.BOOKING_HORIZON_DAYS + 1)));
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void findEarliestAvailableSlots_MergesVeterinariansInChronologicalOrderAndStopsAtLimit() {
+        String specialization = "Surgery";
+        LocalDate today = LocalDate.now();
+        LocalDate tomorrow = today.plusDays(1);
+        int allSlots = (1 << VeterinarianService.BOOKING_SLOTS.size()) - 1;
+        Veterinarian firstVet = new Veterinarian();
+        firstVet.setId(1L);
+        Veterinarian secondVet = new Veterinarian();
+        secondVet.setId(2L);
+
+        when(veterinarianRepository.existsBySpecialization(specialization)).thenReturn(true);
+        when(veterinarianRepository.findBySpecializationAndIsEnabled(specialization, true)).thenReturn(List.of(firstVet, secondVet));
+        when(availabilityIndex.getBlockedSlots(anyLong(), eq(today))).thenReturn(OptionalInt.of(allSlots));
+        when(availabilityIndex.getBlockedSlots(1L, tomorrow)).thenReturn(OptionalInt.of(1));
+        when(availabilityIndex.getBlockedSlots(2L, tomorrow)).thenReturn(OptionalInt.of(0));
+
+        List<AvailableSlotDto> result = veterinarianService.findEarliestAvailableSlots(specialization, 3);
+
+        assertEquals(3, result.size());
+        assertEquals(new AvailableSlotDto(2L, null, null, tomorrow, LocalTime.of(9, 0)), result.get(0));
+        assertEquals(new AvailableSlotDto(1L, null, null, tomorrow, LocalTime.of(9, 30)), result.get(1));
+        assertEquals(new AvailableSlotDto(2L, null, null, tomorrow, LocalTime.of(9, 30)), result.get(2));
+        verify(availabilityIndex, never()).getBlockedSlots(anyLong(), eq(today.plusDays(2)));
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void findEarliestAvailableSlots_SkipsHeldSlots() {
+        String specialization = "Surgery";
+        LocalDate today = LocalDate.now();
+        LocalDate tomorrow = today.plusDays(1);
+        int allSlots = (1 << VeterinarianService.BOOKING_SLOTS.size()) - 1;
+        Veterinarian veterinarian = new Veterinarian();
+        veterinarian.setId(1L);
+
+        when(veterinarianRepository.existsBySpecialization(specialization)).thenReturn(true);
+        when(veterinarianRepository.findBySpecializationAndIsEnabled(specialization, true)).thenReturn(List.of(veterinarian));
+        when(availabilityIndex.getBlockedSlots(1L, today)).thenReturn(OptionalInt.of(allSlots));
+        when(availabilityIndex.getBlockedSlots(1L, tomorrow)).thenReturn(OptionalInt.of(0));
+        when(slotHoldRegistry.findHolds(1L, today)).thenReturn(Map.of());
+        when(slotHoldRegistry.findHolds(1L, tomorrow)).thenReturn(Map.of(LocalTime.of(9, 0), 2L));
+
+        List<AvailableSlotDto> result = veterinarianService.findEarliestAvailableSlots(specialization, 1);
+
+        assertEquals(List.of(new AvailableSlotDto(1L, null, null, tomorrow, LocalTime.of(10, 0))), result);
+    }
+
+    @Test
+    void findEarliestAvailableSlots_WhenLimitOutOfRange_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> veterinarianService.findEarliestAvailableSlots("Surgery", 0));
+        assertThrows(IllegalArgumentException.class, () -> veterinarianService.findEarliestAvailableSlots(
+                "Surgery", VeterinarianService.MAX_EARLIEST_SLOTS + 1));
+        verifyNoInteractions(veterinarianRepository);
+    }
+
+    @Test
+    void findAvailableVeterinariansForAppointments_WhenSlotBlockedInIndex_ExcludesVeterinarian() {
+        String specialization = "Surgery";
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalTime time = LocalTime.of(10, 0);
+
+        Veterinarian vet = new Veterinarian();
+        vet.setId(1L);
+
+        when(veterinarianRepository.existsBySpecialization(specialization)).thenReturn(true);
+        when(veterinarianRepository.findBySpecializationAndIsEnabled(specialization, true)).thenReturn(List.of(vet));
+        when(availabilityIndex.getBlockedSlots(1L, date))
+                .thenReturn(OptionalInt.of(1 << VeterinarianService.BOOKING_SLOTS.indexOf(time)));
+
+        List<UserDto> result = veterinarianService.findAvailableVeterinariansForAppointments(specialization, date, time);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void getVeterinarians_ReturnsMappedDtos() {
+        List<UserSummaryProjection> rows = List.of(createSummary(1L, "John"), createSummary(2L, "Jane"));
 
-        when(veterinarianRepository.findAll()).thenReturn(veterinarians);
+        when(veterinarianRepository.findSummaries()).thenReturn(rows);
 
         List<UserDto> result = veterinarianService.getVeterinarians();
 
@@ -163,7 +366,7 @@ class VeterinarianServiceTest {
         assertEquals("John", result.get(0).getFirstName());
         assertEquals("Jane", result.get(1).getFirstName());
 
-        verify(veterinarianRepository).findAll();
+        verify(veterinarianRepository).findSummaries();
     }
 
     @Test
@@ -13,6 +13,7 @@ TRUNCATE TABLE admin;
 TRUNCATE TABLE role;
 TRUNCATE TABLE "user";
 TRUNCATE TABLE photo;
+TRUNCATE TABLE slot_reservation;
 
 -- Enable referential integrity back
 SET REFERENTIAL_INTEGRITY TRUE;
@@ -23,9 +24,6 @@ ALTER TABLE "user" ALTER COLUMN id RESTART WITH 1;
 ALTER TABLE admin ALTER COLUMN admin_id RESTART WITH 1;
 ALTER TABLE patient ALTER COLUMN patient_id RESTART WITH 1;
 ALTER TABLE veterinarian ALTER COLUMN veterinarian_id RESTART WITH 1;
-ALTER TABLE pet ALTER COLUMN id RESTART WITH 1;
-ALTER TABLE appointment ALTER COLUMN id RESTART WITH 1;
-ALTER TABLE review ALTER COLUMN id RESTART WITH 1;
 ALTER TABLE vet_biography ALTER COLUMN id RESTART WITH 1;
 ALTER TABLE photo ALTER COLUMN id RESTART WITH 1;
 
@@ -67,40 +67,40 @@ VALUES (1, 1),
 
 
 -- Reviews
-INSERT INTO review (stars, reviewer_id, veterinarian_id, feedback)
-VALUES (5, 2, 8, 'Отличный специалист! Очень доволен.'),
-       (5, 4, 8, 'Очень внимательная и профессиональная.'),
-       (4, 2, 9, 'Хорошая работа, но клиника могла бы быть удобнее.'),
-       (3, 6, 10, 'Врач компетентен, но общение оставляет желать лучшего.');
+INSERT INTO review (id, stars, reviewer_id, veterinarian_id, feedback)
+VALUES (1, 5, 2, 8, 'Отличный специалист! Очень доволен.'),
+       (2, 5, 4, 8, 'Очень внимательная и профессиональная.'),
+       (3, 4, 2, 9, 'Хорошая работа, но клиника могла бы быть удобнее.'),
+       (4, 3, 6, 10, 'Врач компетентен, но общение оставляет желать лучшего.');
 
 -- Appointments
-INSERT INTO appointment (appointment_date, appointment_time, status, reason, sender, recipient)
-VALUES ('2024-12-01', '10:00:00', 'COMPLETED', 'Плановый осмотр', 2, 7),
-       ('2024-12-01', '15:00:00', 'COMPLETED', 'Плановый осмотр', 2, 8),
-       ('2024-12-01', '15:00:00', 'COMPLETED', 'Плановый осмотр', 2, 9),
-       ('2024-12-06', '11:00:00', 'CANCELLED', 'Вакцинация', 3, 7),
-       ('2024-12-13', '12:00:00', 'ON_GOING', 'Лечение лапы', 4, 8),
-       ('2024-12-15', '13:00:00', 'APPROVED', 'Удаление зубов', 5, 9),
-       ('2024-12-20', '14:00:00', 'WAITING_FOR_APPROVAL', 'УЗИ', 6, 10),
-       ('2024-12-25', '15:00:00', 'WAITING_FOR_APPROVAL', 'Анализы', 2, 8),
-       ('2024-12-30', '16:00:00', 'NOT_APPROVED', 'Обработка раны', 3, 10),
-       ('2025-01-05', '17:00:00', 'UP_COMING', 'Чистка зубов', 4, 9),
-       ('2025-01-05', '17:00:00', 'UP_COMING', 'Повторный осмотр', 2, 11),
-       ('2025-01-05', '15:00:00', 'WAITING_FOR_APPROVAL', 'Анализы', 3, 7),
-       ('2025-01-06', '15:00:00', 'WAITING_FOR_APPROVAL', 'Анализы', 3, 7),
-       ('2025-01-07', '15:00:00', 'WAITING_FOR_APPROVAL', 'Анализы', 3, 7);
+INSERT INTO appointment (id, appointment_date, appointment_time, status, reason, sender, recipient)
+VALUES (1, '2024-12-01', '10:00:00', 'COMPLETED', 'Плановый осмотр', 2, 7),
+       (2, '2024-12-01', '15:00:00', 'COMPLETED', 'Плановый осмотр', 2, 8),
+       (3, '2024-12-01', '15:00:00', 'COMPLETED', 'Плановый осмотр', 2, 9),
+       (4, '2024-12-06', '11:00:00', 'CANCELLED', 'Вакцинация', 3, 7),
+       (5, '2024-12-13', '12:00:00', 'ON_GOING', 'Лечение лапы', 4, 8),
+       (6, '2024-12-15', '13:00:00', 'APPROVED', 'Удаление зубов', 5, 9),
+       (7, '2024-12-20', '14:00:00', 'WAITING_FOR_APPROVAL', 'УЗИ', 6, 10),
+       (8, '2024-12-25', '15:00:00', 'WAITING_FOR_APPROVAL', 'Анализы', 2, 8),
+       (9, '2024-12-30', '16:00:00', 'NOT_APPROVED', 'Обработка раны', 3, 10),
+       (10, '2025-01-05', '17:00:00', 'UP_COMING', 'Чистка зубов', 4, 9),
+       (11, '2025-01-05', '17:00:00', 'UP_COMING', 'Повторный осмотр', 2, 11),
+       (12, '2025-01-05', '15:00:00', 'WAITING_FOR_APPROVAL', 'Анализы', 3, 7),
+       (13, '2025-01-06', '15:00:00', 'WAITING_FOR_APPROVAL', 'Анализы', 3, 7),
+       (14, '2025-01-07', '15:00:00', 'WAITING_FOR_APPROVAL', 'Анализы', 3, 7);
 
 -- Pets
-INSERT INTO pet (name, type, breed, color, age, appointment_id)
-VALUES ('Барсик', 'Кошка','Сибирская', 'Черный', 3, 1),
-       ('Мурка', 'Кошка', 'Мейн-кун', 'Черный', 2, 2),
-       ('Шарик','Собака', 'Лабрадор', 'Белый', 4, 3),
-       ('Белка', 'Собака', 'Чихуахуа', 'Белый', 5, 4),
-       ('Рыжик', 'Кошка', 'Мейн-кун', 'Черный', 3, 5),
-       ('Дружок', 'Собака', 'Дворняжка', 'Черный', 6, 6),
-       ('Тигр', 'Кошка', 'Сибирская', 'Белый', 4, 7),
-       ('Снежинка', 'Собака', 'Лабрадор', 'Белый', 5, 8),
-       ('Мурка', 'Собака', 'Дворняжка', 'Черный', 3, 8);
+INSERT INTO pet (id, name, type, breed, color, age, appointment_id)
+VALUES (1, 'Барсик', 'Кошка','Сибирская', 'Черный', 3, 1),
+       (2, 'Мурка', 'Кошка', 'Мейн-кун', 'Черный', 2, 2),
+       (3, 'Шарик','Собака', 'Лабрадор', 'Белый', 4, 3),
+       (4, 'Белка', 'Собака', 'Чихуахуа', 'Белый', 5, 4),
+       (5, 'Рыжик', 'Кошка', 'Мейн-кун', 'Черный', 3, 5),
+       (6, 'Дружок', 'Собака', 'Дворняжка', 'Черный', 6, 6),
+       (7, 'Тигр', 'Кошка', 'Сибирская', 'Белый', 4, 7),
+       (8, 'Снежинка', 'Собака', 'Лабрадор', 'Белый', 5, 8),
+       (9, 'Мурка', 'Собака', 'Дворняжка', 'Черный', 3, 8);
 
 -- Veterinarian Biographies
 INSERT INTO vet_biography (id, biography, veterinarian_id)
@@ -109,3 +109,12 @@ VALUES (3, 'Дмитрий Сергеев специализируется на
         8),
        (5, 'Валерия Павлова проводит сложные хирургические операции. Опыт работы более 7 лет.', 10);
 
+
+-- Move the pooled id generators past the rows inserted above; they never move back,
+-- so blocks already handed out to a running application are not reused
+UPDATE id_generator SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM appointment))
+WHERE sequence_name = 'appointment';
+UPDATE id_generator SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM pet))
+WHERE sequence_name = 'pet';
+UPDATE id_generator SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM review))
+WHERE sequence_name = 'review';